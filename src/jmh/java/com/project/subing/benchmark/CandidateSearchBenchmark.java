@@ -0,0 +1,48 @@
+package com.project.subing.benchmark;
+
+import com.project.subing.service.CandidateSearchPool;
+import com.project.subing.service.SubscriptionOptimizationService;
+import com.project.subing.service.SubscriptionOptimizationService.CheaperAlternative;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * findCheaperAlternatives 처리량/할당량 벤치마크
+ * 카탈로그 크기, 구독 수, topKPlansPerService에 따른 변화를 측정한다 (-prof gc로 할당률 확인).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class CandidateSearchBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    private int planCount;
+
+    @Param({"1", "10", "50", "200"})
+    private int subscriptionCount;
+
+    @Param({"1", "5", "50"})
+    private int topKPlansPerService;
+
+    private CandidateSearchPool candidateSearchPool;
+    private SubscriptionOptimizationService engine;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        candidateSearchPool = new CandidateSearchPool();
+        engine = SyntheticCatalog.generate(planCount, subscriptionCount)
+                .newEngine(candidateSearchPool, topKPlansPerService, 1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        candidateSearchPool.shutdown();
+    }
+
+    @Benchmark
+    public List<CheaperAlternative> findCheaperAlternatives() {
+        return engine.findCheaperAlternatives(SyntheticCatalog.USER_ID);
+    }
+}
@@ -0,0 +1,50 @@
+package com.project.subing.benchmark;
+
+import com.project.subing.service.CandidateSearchPool;
+import com.project.subing.service.SubscriptionOptimizationService;
+import com.project.subing.service.SubscriptionOptimizationService.CheaperAlternative;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * selectPortfolioOptimizedAlternatives 벤치마크
+ * 후보 목록은 Setup에서 한 번 계산해 두고 포트폴리오 선택 단계만 측정한다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class PortfolioOptimizerBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int planCount;
+
+    @Param({"1", "10", "50", "200"})
+    private int subscriptionCount;
+
+    @Param({"5"})
+    private int topKPlansPerService;
+
+    private CandidateSearchPool candidateSearchPool;
+    private SubscriptionOptimizationService engine;
+    private List<CheaperAlternative> alternatives;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        candidateSearchPool = new CandidateSearchPool();
+        engine = SyntheticCatalog.generate(planCount, subscriptionCount)
+                .newEngine(candidateSearchPool, topKPlansPerService, 1);
+        alternatives = engine.findCheaperAlternatives(SyntheticCatalog.USER_ID);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        candidateSearchPool.shutdown();
+    }
+
+    @Benchmark
+    public List<CheaperAlternative> selectPortfolioOptimizedAlternatives() {
+        return engine.selectPortfolioOptimizedAlternatives(alternatives);
+    }
+}
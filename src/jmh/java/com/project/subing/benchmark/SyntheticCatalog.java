@@ -0,0 +1,141 @@
+package com.project.subing.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.subing.config.OptimizationEngineProperties;
+import com.project.subing.domain.common.BillingCycle;
+import com.project.subing.domain.common.ServiceCategory;
+import com.project.subing.domain.service.entity.ServiceEntity;
+import com.project.subing.domain.service.entity.SubscriptionPlan;
+import com.project.subing.domain.subscription.entity.UserSubscription;
+import com.project.subing.repository.SubscriptionPlanRepository;
+import com.project.subing.repository.UserSubscriptionRepository;
+import com.project.subing.service.CandidateSearchPool;
+import com.project.subing.service.OptimizationCandidateStateStore;
+import com.project.subing.service.OptimizationEngineConfigService;
+import com.project.subing.service.OptimizationEnginePolicy;
+import com.project.subing.service.PlanPriceIndex;
+import com.project.subing.service.SubscriptionOptimizationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 벤치마크용 합성 카탈로그 + Mock 저장소 기반 최적화 엔진 구성
+ * 고정 시드를 사용해 실행마다 같은 데이터가 만들어진다.
+ */
+final class SyntheticCatalog {
+
+    static final long USER_ID = 1L;
+
+    private static final int PLANS_PER_SERVICE = 4;
+    private static final long SEED = 20_240_101L;
+
+    private final List<ServiceEntity> services = new ArrayList<>();
+    private final List<SubscriptionPlan> plans = new ArrayList<>();
+    private final List<UserSubscription> subscriptions = new ArrayList<>();
+
+    private SyntheticCatalog() {
+    }
+
+    /**
+     * @param planCount         전체 플랜 수 (서비스당 4개, 카테고리는 순환 배정)
+     * @param subscriptionCount 사용자 1명의 활성 유료 구독 수
+     */
+    static SyntheticCatalog generate(int planCount, int subscriptionCount) {
+        SyntheticCatalog catalog = new SyntheticCatalog();
+        SplittableRandom random = new SplittableRandom(SEED);
+        ServiceCategory[] categories = ServiceCategory.values();
+
+        int serviceCount = Math.max(1, planCount / PLANS_PER_SERVICE);
+        long planId = 1L;
+        for (int s = 0; s < serviceCount; s++) {
+            ServiceEntity service = ServiceEntity.builder()
+                    .id((long) s + 1)
+                    .serviceName("service-" + s)
+                    .category(categories[s % categories.length])
+                    .build();
+            catalog.services.add(service);
+
+            int plansForService = Math.min(PLANS_PER_SERVICE, planCount - s * PLANS_PER_SERVICE);
+            for (int p = 0; p < Math.max(1, plansForService); p++) {
+                catalog.plans.add(SubscriptionPlan.builder()
+                        .id(planId++)
+                        .service(service)
+                        .planName("plan-" + s + "-" + p)
+                        .monthlyPrice(randomPrice(random))
+                        .build());
+            }
+        }
+
+        for (int i = 0; i < subscriptionCount; i++) {
+            ServiceEntity service = catalog.services.get(random.nextInt(catalog.services.size()));
+            boolean yearly = random.nextInt(5) == 0;
+            int monthlyPrice = randomPrice(random) + 5_000;
+            catalog.subscriptions.add(UserSubscription.builder()
+                    .id((long) i + 1)
+                    .service(service)
+                    .planName("current-" + i)
+                    .monthlyPrice(yearly ? monthlyPrice * 12 : monthlyPrice)
+                    .billingDate(1 + random.nextInt(28))
+                    .billingCycle(yearly ? BillingCycle.YEARLY : BillingCycle.MONTHLY)
+                    .isActive(true)
+                    .build());
+        }
+        return catalog;
+    }
+
+    private static int randomPrice(SplittableRandom random) {
+        return 1_000 + random.nextInt(300) * 100;
+    }
+
+    /**
+     * Mock 저장소로 구성한 최적화 엔진 (DB 접근 없이 순수 엔진 처리량 측정)
+     * 탐색 풀은 호출 측이 소유하며 TearDown에서 종료해야 한다.
+     */
+    SubscriptionOptimizationService newEngine(CandidateSearchPool candidateSearchPool,
+                                              int topKPlansPerService, int parallelism) {
+        UserSubscriptionRepository userSubscriptionRepository = mock(UserSubscriptionRepository.class);
+        when(userSubscriptionRepository.findByUserIdAndIsActiveTrueWithService(anyLong())).thenReturn(subscriptions);
+
+        SubscriptionPlanRepository subscriptionPlanRepository = mock(SubscriptionPlanRepository.class);
+        when(subscriptionPlanRepository.findAllWithService()).thenReturn(plans);
+
+        OptimizationEngineConfigService configService = mock(OptimizationEngineConfigService.class);
+        when(configService.getEffectivePolicy()).thenReturn(policy(topKPlansPerService, parallelism));
+
+        PlanPriceIndex planPriceIndex = new PlanPriceIndex(subscriptionPlanRepository);
+        planPriceIndex.snapshot();
+
+        return new SubscriptionOptimizationService(
+                userSubscriptionRepository,
+                planPriceIndex,
+                candidateSearchPool,
+                new OptimizationCandidateStateStore(new OptimizationEngineProperties(), new SimpleMeterRegistry()),
+                configService,
+                new ObjectMapper()
+        );
+    }
+
+    static OptimizationEnginePolicy policy(int topKPlansPerService, int parallelism) {
+        return new OptimizationEnginePolicy(
+                12,      // yearlyDivisor
+                0,       // sameServiceSwitchCost
+                2000,    // crossServiceBaseSwitchCost
+                2000,    // yearlyBillingPenalty
+                1000,    // crossCategoryPenalty
+                3,       // maxChangesPerRun
+                topKPlansPerService,
+                10_000,  // candidateSearchTimeoutMs (벤치마크에서는 타임아웃으로 잘리지 않도록 넉넉히)
+                10_000,  // portfolioOptimizeTimeoutMs
+                30_000,  // runtimeCacheTtlMs
+                parallelism,
+                false    // trackingEnabled
+        );
+    }
+}
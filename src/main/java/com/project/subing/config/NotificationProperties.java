@@ -0,0 +1,36 @@
+package com.project.subing.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "notification")
+public class NotificationProperties {
+
+    private Batch batch = new Batch();
+    private UnreadCounter unreadCounter = new UnreadCounter();
+
+    @Getter
+    @Setter
+    public static class Batch {
+        // 한 번에 읽어 처리하는 사용자 수 (청크마다 영속성 컨텍스트를 비움)
+        private int chunkSize = 500;
+        // user_id 해시(나머지) 파티션 수 (파티션마다 임대를 따로 잡아 여러 인스턴스가 나눠 처리, 1이면 한 인스턴스만 실행)
+        private int partitions = 1;
+    }
+
+    @Getter
+    @Setter
+    public static class UnreadCounter {
+        // 읽지 않은 알림 개수를 메모리에 보관할 최대 사용자 수 (초과 시 오래된 사용자부터 제거, 다음 조회 때 DB에서 다시 읽음)
+        private int maxUsers = 100_000;
+        // DB에서 읽은 후 보관 시간 (지나면 다음 조회 때 다시 읽음 - 다른 인스턴스 변경이 보이기까지의 최대 지연)
+        private int ttlSeconds = 60;
+        // 보관 중인 카운터를 DB 집계로 보정하는 주기 (다른 인스턴스의 변경/롤백 반영)
+        private long reconcileIntervalMillis = 300_000;
+    }
+}
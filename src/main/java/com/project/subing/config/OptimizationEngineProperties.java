@@ -15,6 +15,9 @@ public class OptimizationEngineProperties {
     private Portfolio portfolio = new Portfolio();
     private Performance performance = new Performance();
     private Tracking tracking = new Tracking();
+    private SuggestionCache suggestionCache = new SuggestionCache();
+    private Batch batch = new Batch();
+    private Incremental incremental = new Incremental();
 
     @Getter
     @Setter
@@ -39,6 +42,7 @@ public class OptimizationEngineProperties {
         private int candidateSearchTimeoutMs = 100;
         private int portfolioOptimizeTimeoutMs = 30;
         private int runtimeCacheTtlMs = 30000;
+        private int parallelism = 1;
     }
 
     @Getter
@@ -46,4 +50,29 @@ public class OptimizationEngineProperties {
     public static class Tracking {
         private boolean enabled = true;
     }
+
+    @Getter
+    @Setter
+    public static class SuggestionCache {
+        private boolean enabled = true;
+        private int maxSize = 10000;
+        private int ttlSeconds = 600;
+    }
+
+    @Getter
+    @Setter
+    public static class Batch {
+        private boolean enabled = true;
+        private String cron = "0 0 3 * * *";
+        private int chunkSize = 200;
+        private int topAlternatives = 3;
+    }
+
+    @Getter
+    @Setter
+    public static class Incremental {
+        private boolean enabled = true;
+        private int maxUsers = 10000;
+        private int ttlSeconds = 1800;
+    }
 }
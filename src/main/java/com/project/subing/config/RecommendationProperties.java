@@ -0,0 +1,134 @@
+package com.project.subing.config;
+
+import com.project.subing.domain.user.entity.UserTier;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "recommendation")
+public class RecommendationProperties {
+
+    private Cache cache = new Cache();
+    private SingleFlight singleFlight = new SingleFlight();
+    private Prompt prompt = new Prompt();
+    private Execution execution = new Execution();
+    private Admission admission = new Admission();
+    private WriteBehind writeBehind = new WriteBehind();
+    private Experiment experiment = new Experiment();
+    private Fallback fallback = new Fallback();
+
+    @Getter
+    @Setter
+    public static class Cache {
+        private boolean enabled = true;
+        // 응답 추정 크기(byte) 합계 상한
+        private long maxWeightBytes = 8 * 1024 * 1024;
+        private int ttlMinutes = 60;
+    }
+
+    @Getter
+    @Setter
+    public static class SingleFlight {
+        private boolean enabled = true;
+        // 선행 호출 결과를 기다리는 최대 시간 (초과 시 직접 호출)
+        private int waitTimeoutSeconds = 60;
+    }
+
+    @Getter
+    @Setter
+    public static class Prompt {
+        // 관심 분야에 해당하는 카테고리의 서비스만 목록에 포함
+        private boolean filterByInterests = true;
+        // 필터 결과가 이보다 적으면 나머지 카테고리 서비스로 채움
+        private int minServices = 8;
+        // 시스템 프롬프트 포함 입력 토큰 추정치 상한
+        private int maxInputTokens = 3000;
+        private int maxDescriptionLength = 60;
+    }
+
+    @Getter
+    @Setter
+    public static class Execution {
+        // AUTO: Java 21 이상이면 VIRTUAL, 아니면 BOUNDED_ELASTIC
+        private Mode mode = Mode.AUTO;
+        // 동시에 열려 있는 GPT 스트림 수 (스트림 종료/취소까지 자리 유지)
+        private int maxConcurrency = 16;
+        // 실행 대기 상한 (초과 시 거절)
+        private int maxQueued = 64;
+
+        public enum Mode {
+            AUTO, VIRTUAL, BOUNDED_ELASTIC
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Admission {
+        private boolean enabled = true;
+        // 전체 동시 GPT 추천 상한
+        private int globalMaxConcurrent = 32;
+        // 등급별 동시 GPT 추천 상한
+        private Map<UserTier, Integer> tierMaxConcurrent = new EnumMap<>(Map.of(
+                UserTier.FREE, 8,
+                UserTier.PRO, 24
+        ));
+        // 자리가 없을 때 기다리는 최대 시간 (0이면 즉시 거절)
+        private long maxWaitMillis = 200;
+        // 429 응답의 Retry-After (초)
+        private int retryAfterSeconds = 5;
+    }
+
+    @Getter
+    @Setter
+    public static class WriteBehind {
+        // false면 같은 JDBC 경로로 즉시 저장
+        private boolean enabled = true;
+        // 대기 큐 상한 (가득 차면 호출 스레드에서 직접 저장)
+        private int capacity = 10_000;
+        // 이 개수만큼 쌓이면 주기와 무관하게 즉시 flush
+        private int batchSize = 200;
+        private long flushIntervalMillis = 500;
+    }
+
+    @Getter
+    @Setter
+    public static class Experiment {
+        // 프롬프트 버전 배분 전략
+        private Strategy strategy = Strategy.THOMPSON;
+        // EPSILON_GREEDY에서 무작위 탐색 비율
+        private double epsilon = 0.1;
+        // 모든 버전이 이 노출 수에 도달할 때까지는 균등 배분
+        private long minImpressions = 200;
+        // 메모리 카운터를 롤업 테이블에 반영하는 주기
+        private long flushIntervalMillis = 60_000;
+
+        public enum Strategy {
+            UNIFORM, EPSILON_GREEDY, THOMPSON
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Fallback {
+        // false면 GPT 실패/지연 시 기존처럼 오류 응답
+        private boolean enabled = true;
+        // GPT 응답(스트리밍은 첫 청크) 대기 상한 - 초과 시 로컬 추천으로 응답
+        private long sloMillis = 3_000;
+        private int maxItems = 3;
+        // 연속 실패(지연 포함)가 이 횟수에 도달하면 회로 열림
+        private int failureThreshold = 5;
+        // 회로가 열려 있는 시간 (이후 1건만 시험 호출)
+        private int openDurationSeconds = 30;
+        // 시험 호출이 이 시간 안에 성공/실패로 끝나지 않으면 새 시험 호출 허용
+        private long trialTimeoutMillis = 60_000;
+        // 로컬 추천 후보(서비스 목록/리뷰 평점) 스냅샷 재구축 주기
+        private long ratingRefreshMillis = 600_000;
+    }
+}
@@ -0,0 +1,22 @@
+package com.project.subing.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "scheduler")
+public class SchedulerProperties {
+
+    private Lease lease = new Lease();
+
+    @Getter
+    @Setter
+    public static class Lease {
+        // 작업 임대 유지 시간 (청크마다 연장, 인스턴스가 죽으면 이 시간 뒤 다른 인스턴스가 이어받음)
+        private int ttlSeconds = 600;
+    }
+}
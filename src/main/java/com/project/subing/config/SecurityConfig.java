@@ -59,6 +59,9 @@ public class SecurityConfig {
                     "/api/v1/reviews/*"
                 ).permitAll()
                 .requestMatchers(HttpMethod.GET, "/api/v1/preferences/questions").permitAll()
+                // 헬스체크는 허용, 그 외 Actuator 지표는 ADMIN 역할 필요
+                .requestMatchers("/actuator/health").permitAll()
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
                 // 관리자 API는 ADMIN 역할 필요
                 .requestMatchers("/api/v1/admin/**").hasRole("ADMIN")
                 // 나머지 API는 인증 필요
@@ -5,7 +5,10 @@ import com.project.subing.dto.optimization.OptimizationEngineConfigAuditResponse
 import com.project.subing.dto.optimization.OptimizationEngineConfigResponse;
 import com.project.subing.dto.optimization.OptimizationEngineConfigUpdateRequest;
 import com.project.subing.dto.optimization.OptimizationEnginePolicyResponse;
+import com.project.subing.dto.optimization.OptimizationSimulationRequest;
+import com.project.subing.dto.optimization.OptimizationSimulationResponse;
 import com.project.subing.service.OptimizationEngineConfigService;
+import com.project.subing.service.OptimizationSimulationService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -23,6 +26,7 @@ import java.util.List;
 public class AdminOptimizationConfigController {
 
     private final OptimizationEngineConfigService optimizationEngineConfigService;
+    private final OptimizationSimulationService optimizationSimulationService;
 
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
@@ -63,6 +67,17 @@ public class AdminOptimizationConfigController {
         return ResponseEntity.ok(ApiResponse.success(buildResponse(), "최적화 정책 캐시를 새로고침했습니다."));
     }
 
+    /**
+     * 후보 override를 저장하지 않고 전체 사용자에 적용해 본 결과 (dry-run)
+     */
+    @PostMapping("/simulate")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<OptimizationSimulationResponse>> simulateOptimizationConfig(
+            @Valid @RequestBody OptimizationSimulationRequest request) {
+        OptimizationSimulationResponse response = optimizationSimulationService.simulate(request.getOverrides());
+        return ResponseEntity.ok(ApiResponse.success(response, "최적화 정책 시뮬레이션을 완료했습니다."));
+    }
+
     @GetMapping("/audits")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<ApiResponse<List<OptimizationEngineConfigAuditResponse>>> getOptimizationConfigAudits(
@@ -0,0 +1,36 @@
+package com.project.subing.controller;
+
+import com.project.subing.dto.common.ApiResponse;
+import com.project.subing.dto.recommendation.PromptExperimentResponse;
+import com.project.subing.service.PromptExperimentService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@Tag(name = "관리자 - 프롬프트 실험", description = "프롬프트 버전 실험 현황 (ADMIN)")
+@RestController
+@RequestMapping("/api/v1/admin/prompt-experiments")
+@RequiredArgsConstructor
+public class AdminPromptExperimentController {
+
+    private final PromptExperimentService promptExperimentService;
+
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<PromptExperimentResponse>> getPromptExperiments() {
+        return ResponseEntity.ok(ApiResponse.success(promptExperimentService.getReport(), "프롬프트 실험 현황을 조회했습니다."));
+    }
+
+    /**
+     * 메모리 카운터를 즉시 롤업 테이블에 반영
+     */
+    @PostMapping("/flush")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<PromptExperimentResponse>> flushPromptExperiments() {
+        promptExperimentService.flush();
+        return ResponseEntity.ok(ApiResponse.success(promptExperimentService.getReport(), "프롬프트 실험 집계를 반영했습니다."));
+    }
+}
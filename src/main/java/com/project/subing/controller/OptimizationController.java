@@ -4,8 +4,11 @@ import com.project.subing.dto.common.ApiResponse;
 import com.project.subing.dto.optimization.CheaperAlternativeResponse;
 import com.project.subing.dto.optimization.DuplicateServiceGroupResponse;
 import com.project.subing.dto.optimization.OptimizationEventRequest;
+import com.project.subing.dto.optimization.OptimizationSavingsSummaryResponse;
 import com.project.subing.dto.optimization.OptimizationSuggestionResponse;
 import jakarta.validation.Valid;
+import com.project.subing.service.OptimizationBatchService;
+import com.project.subing.service.OptimizationSuggestionCache;
 import com.project.subing.service.SubscriptionOptimizationService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -13,9 +16,7 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import io.swagger.v3.oas.annotations.tags.Tag;
-import java.util.Comparator;
 import java.util.List;
-import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Tag(name = "구독 최적화", description = "중복 감지 및 대안 제안")
@@ -25,51 +26,53 @@ import java.util.stream.Collectors;
 public class OptimizationController {
 
     private final SubscriptionOptimizationService optimizationService;
+    private final OptimizationSuggestionCache suggestionCache;
+    private final OptimizationBatchService optimizationBatchService;
 
     @GetMapping("/suggestions")
     public ResponseEntity<ApiResponse<OptimizationSuggestionResponse>> getOptimizationSuggestions(
             @AuthenticationPrincipal Long userId) {
 
-        List<SubscriptionOptimizationService.DuplicateServiceGroup> duplicates =
-                optimizationService.detectDuplicateServices(userId);
-        List<DuplicateServiceGroupResponse> duplicateResponses = duplicates.stream()
+        OptimizationSuggestionResponse response = suggestionCache.get(userId, () -> buildSuggestions(userId));
+        return ResponseEntity.ok(ApiResponse.success(response, "최적화 제안을 생성했습니다."));
+    }
+
+    private OptimizationSuggestionResponse buildSuggestions(Long userId) {
+        SubscriptionOptimizationService.OptimizationPipelineResult result =
+                optimizationService.runOptimizationPipeline(userId);
+
+        List<DuplicateServiceGroupResponse> duplicateResponses = result.getDuplicateServices().stream()
                 .map(DuplicateServiceGroupResponse::from)
                 .collect(Collectors.toList());
-
-        List<SubscriptionOptimizationService.CheaperAlternative> alternatives =
-                optimizationService.findCheaperAlternatives(userId);
-        List<CheaperAlternativeResponse> alternativeResponses = alternatives.stream()
+        List<CheaperAlternativeResponse> alternativeResponses = result.getCheaperAlternatives().stream()
                 .map(CheaperAlternativeResponse::from)
                 .collect(Collectors.toList());
-
-        List<SubscriptionOptimizationService.CheaperAlternative> optimizedAlternatives =
-                optimizationService.selectPortfolioOptimizedAlternatives(alternatives);
-        List<CheaperAlternativeResponse> optimizedAlternativeResponses = optimizedAlternatives.stream()
+        List<CheaperAlternativeResponse> optimizedAlternativeResponses = result.getPortfolio().getSelected().stream()
                 .map(CheaperAlternativeResponse::from)
                 .collect(Collectors.toList());
 
         // 전역 최적화 결과 기준 총 잠재 절약 금액
-        int totalPotentialSavings = optimizedAlternativeResponses.stream()
-                .collect(Collectors.groupingBy(
-                        alt -> alt.getCurrentSubscription().getId(),
-                        Collectors.maxBy(Comparator.comparingInt(CheaperAlternativeResponse::getNetSavings))
-                ))
-                .values().stream()
-                .filter(Optional::isPresent)
-                .mapToInt(opt -> opt.get().getNetSavings())
-                .sum();
+        int totalPotentialSavings = result.getTotalPotentialSavings();
 
         String summary = generateSummary(duplicateResponses.size(), optimizedAlternativeResponses.size(), totalPotentialSavings);
 
-        OptimizationSuggestionResponse response = OptimizationSuggestionResponse.builder()
+        return OptimizationSuggestionResponse.builder()
                 .duplicateServices(duplicateResponses)
                 .cheaperAlternatives(alternativeResponses)
                 .optimizedAlternatives(optimizedAlternativeResponses)
                 .totalPotentialSavings(totalPotentialSavings)
+                .portfolioProvenOptimal(result.getPortfolio().isProvenOptimal())
                 .summary(summary)
                 .build();
+    }
 
-        return ResponseEntity.ok(ApiResponse.success(response, "최적화 제안을 생성했습니다."));
+    @GetMapping("/savings-summary")
+    public ResponseEntity<ApiResponse<OptimizationSavingsSummaryResponse>> getSavingsSummary(
+            @AuthenticationPrincipal Long userId) {
+
+        return optimizationBatchService.getSummary(userId)
+                .map(summary -> ResponseEntity.ok(ApiResponse.success(summary, "절약 요약을 조회했습니다.")))
+                .orElseGet(() -> ResponseEntity.ok(ApiResponse.success(null, "아직 계산된 절약 요약이 없습니다.")));
     }
 
     @GetMapping("/duplicates")
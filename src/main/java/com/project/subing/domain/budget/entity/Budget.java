@@ -10,6 +10,8 @@ import org.hibernate.annotations.SQLRestriction;
 @Entity
 @Table(name = "budgets", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"user_id", "year", "month"})
+}, indexes = {
+    @Index(name = "idx_budget_year_month_user", columnList = "year, month, user_id")
 })
 @SQLDelete(sql = "UPDATE budgets SET del_yn = 'Y' WHERE id = ?")
 @SQLRestriction("del_yn = 'N'")
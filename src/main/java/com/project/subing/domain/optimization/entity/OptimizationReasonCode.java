@@ -0,0 +1,64 @@
+package com.project.subing.domain.optimization.entity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 최적화 대안 사유 코드
+ * 후보 탐색 단계에서는 int 비트마스크로만 다루고, 응답 변환 시 문자열 목록으로 바꾼다.
+ */
+public enum OptimizationReasonCode {
+    SAME_SERVICE_DOWNGRADE,
+    CATEGORY_SWITCH,
+    YEARLY_BILLING_NORMALIZED,
+    MONTHLY_BILLING_BASE,
+    SWITCH_COST_APPLIED,
+    HIGH_CONFIDENCE,
+    MEDIUM_CONFIDENCE,
+    LOW_CONFIDENCE;
+
+    // 마스크별 문자열 목록 (선언 순서 유지, 불변 목록을 미리 만들어 공유)
+    private static final List<List<String>> CODES_BY_MASK;
+
+    static {
+        OptimizationReasonCode[] values = values();
+        List<List<String>> codesByMask = new ArrayList<>(1 << values.length);
+        for (int mask = 0; mask < (1 << values.length); mask++) {
+            List<String> codes = new ArrayList<>();
+            for (OptimizationReasonCode code : values) {
+                if ((mask & code.bit()) != 0) {
+                    codes.add(code.name());
+                }
+            }
+            codesByMask.add(List.copyOf(codes));
+        }
+        CODES_BY_MASK = List.copyOf(codesByMask);
+    }
+
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    public boolean isSet(int mask) {
+        return (mask & bit()) != 0;
+    }
+
+    public static List<String> toCodes(int mask) {
+        return CODES_BY_MASK.get(mask & (CODES_BY_MASK.size() - 1));
+    }
+
+    public static int toMask(List<String> codes) {
+        int mask = 0;
+        if (codes == null) {
+            return mask;
+        }
+        for (String code : codes) {
+            try {
+                mask |= valueOf(code).bit();
+            } catch (IllegalArgumentException ignored) {
+                // 알 수 없는 코드는 무시
+            }
+        }
+        return mask;
+    }
+}
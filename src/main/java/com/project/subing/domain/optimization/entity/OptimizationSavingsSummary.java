@@ -0,0 +1,64 @@
+package com.project.subing.domain.optimization.entity;
+
+import com.project.subing.domain.common.BaseEntity;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 사용자별 최적화 절약 요약 (배치 사전 계산 결과)
+ * 대시보드에서 요청 시점 탐색 없이 잠재 절약 금액을 조회하기 위해 사용
+ */
+@Entity
+@Table(
+        name = "optimization_savings_summaries",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_opt_savings_summary_user", columnNames = {"user_id"})
+        }
+)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class OptimizationSavingsSummary extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "total_potential_savings", nullable = false)
+    private Integer totalPotentialSavings;
+
+    @Column(name = "alternative_count", nullable = false)
+    private Integer alternativeCount;
+
+    @Column(name = "duplicate_category_count", nullable = false)
+    private Integer duplicateCategoryCount;
+
+    @Column(name = "top_alternatives", columnDefinition = "TEXT")
+    private String topAlternatives;  // JSON 형태로 저장
+
+    @Column(name = "proven_optimal", nullable = false)
+    private Boolean provenOptimal;
+
+    @Column(name = "computed_at", nullable = false)
+    private LocalDateTime computedAt;
+
+    public void update(int totalPotentialSavings, int alternativeCount, int duplicateCategoryCount,
+                       String topAlternatives, boolean provenOptimal, LocalDateTime computedAt) {
+        this.totalPotentialSavings = totalPotentialSavings;
+        this.alternativeCount = alternativeCount;
+        this.duplicateCategoryCount = duplicateCategoryCount;
+        this.topAlternatives = topAlternatives;
+        this.provenOptimal = provenOptimal;
+        this.computedAt = computedAt;
+    }
+}
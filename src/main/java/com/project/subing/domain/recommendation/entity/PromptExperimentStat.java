@@ -0,0 +1,48 @@
+package com.project.subing.domain.recommendation.entity;
+
+import com.project.subing.domain.common.BaseEntity;
+import com.project.subing.domain.recommendation.enums.PromptVersion;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 프롬프트 버전별 실험 누적 집계 (롤업)
+ * 노출/클릭/피드백 원본 행을 GROUP BY 하지 않고 버전당 1행의 카운터로 성과를 조회하기 위해 사용
+ */
+@Entity
+@Table(
+        name = "prompt_experiment_stats",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_prompt_experiment_stat_version", columnNames = {"prompt_version"})
+        }
+)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class PromptExperimentStat extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "prompt_version", nullable = false, length = 20)
+    private PromptVersion promptVersion;
+
+    @Column(nullable = false)
+    private Long impressions;  // 저장된 추천 결과 수
+
+    @Column(nullable = false)
+    private Long clicks;
+
+    @Column(name = "helpful_count", nullable = false)
+    private Long helpfulCount;
+
+    @Column(name = "not_helpful_count", nullable = false)
+    private Long notHelpfulCount;
+}
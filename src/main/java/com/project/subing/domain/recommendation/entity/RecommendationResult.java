@@ -16,8 +16,13 @@ import java.time.LocalDateTime;
 @Builder
 public class RecommendationResult {
 
+    public static final String ID_SEQUENCE = "recommendation_results_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // 저장 전에 ID를 응답으로 내보내기 위해 시퀀스 사용 (RecommendationWriteBehind가 블록 단위로 선할당)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "recommendation_result_id")
+    @SequenceGenerator(name = "recommendation_result_id", sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
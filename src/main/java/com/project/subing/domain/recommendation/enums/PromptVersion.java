@@ -68,12 +68,4 @@ public enum PromptVersion {
     public String getSystemPrompt() {
         return systemPrompt;
     }
-
-    /**
-     * A/B 테스트를 위한 랜덤 버전 선택
-     * V1: 50%, V2: 50%
-     */
-    public static PromptVersion random() {
-        return Math.random() < 0.5 ? V1 : V2;
-    }
 }
\ No newline at end of file
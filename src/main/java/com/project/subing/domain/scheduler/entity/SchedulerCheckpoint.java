@@ -0,0 +1,78 @@
+package com.project.subing.domain.scheduler.entity;
+
+import com.project.subing.domain.common.BaseEntity;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * 스케줄러 배치 진행 체크포인트
+ * 청크가 끝날 때마다 마지막으로 처리한 user_id를 기록해, 실행이 중단되면 같은 날 재실행 시 그 다음부터 이어서 처리
+ */
+@Entity
+@Table(
+        name = "scheduler_checkpoints",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_scheduler_checkpoint_job", columnNames = {"job_name"})
+        }
+)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class SchedulerCheckpoint extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_name", nullable = false, length = 100)
+    private String jobName;
+
+    @Column(name = "run_date", nullable = false)
+    private LocalDate runDate;  // 처리 기준일
+
+    @Column(name = "last_user_id", nullable = false)
+    private Long lastUserId;
+
+    @Column(name = "processed_users", nullable = false)
+    private Long processedUsers;
+
+    @Column(nullable = false)
+    private Boolean completed;
+
+    /**
+     * 새 기준일로 처음부터 시작
+     */
+    public void restart(LocalDate runDate) {
+        this.runDate = runDate;
+        this.lastUserId = 0L;
+        this.processedUsers = 0L;
+        this.completed = false;
+    }
+
+    public void advance(Long lastUserId, int users) {
+        this.lastUserId = lastUserId;
+        this.processedUsers += users;
+    }
+
+    public void complete() {
+        this.completed = true;
+    }
+
+    /**
+     * 같은 기준일의 미완료 실행인지 (이어서 처리 대상)
+     */
+    public boolean isResumable(LocalDate runDate) {
+        return runDate.equals(this.runDate) && !Boolean.TRUE.equals(completed);
+    }
+
+    public boolean isCompletedOn(LocalDate runDate) {
+        return runDate.equals(this.runDate) && Boolean.TRUE.equals(completed);
+    }
+}
@@ -0,0 +1,43 @@
+package com.project.subing.domain.scheduler.entity;
+
+import com.project.subing.domain.common.BaseEntity;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 스케줄러 작업 임대(lease)
+ * 여러 인스턴스 중 lease_until이 지나지 않은 소유자(owner)만 해당 작업(또는 파티션)을 실행
+ * 획득/연장/반납은 SchedulerLeaseManager가 조건부 UPDATE로 원자적으로 처리
+ */
+@Entity
+@Table(
+        name = "scheduler_leases",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_scheduler_lease_name", columnNames = {"lease_name"})
+        }
+)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class SchedulerLease extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "lease_name", nullable = false, length = 100)
+    private String leaseName;
+
+    @Column(nullable = false, length = 200)
+    private String owner;  // 인스턴스 식별자 (호스트명:임의값)
+
+    @Column(name = "lease_until", nullable = false)
+    private LocalDateTime leaseUntil;
+}
@@ -0,0 +1,31 @@
+package com.project.subing.domain.service.entity;
+
+import com.project.subing.service.event.CatalogChangedEvent;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * 서비스/요금제 엔티티 변경 감지 리스너
+ * 관리자 API뿐 아니라 Repository 직접 저장까지 모든 쓰기 경로에서 카탈로그 변경 이벤트를 발행
+ */
+@RequiredArgsConstructor
+public class CatalogChangeListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onCatalogChanged(Object entity) {
+        Long serviceId = null;
+        if (entity instanceof ServiceEntity service) {
+            serviceId = service.getId();
+        } else if (entity instanceof SubscriptionPlan plan && plan.getService() != null) {
+            serviceId = plan.getService().getId();
+        }
+        eventPublisher.publishEvent(new CatalogChangedEvent(serviceId));
+    }
+}
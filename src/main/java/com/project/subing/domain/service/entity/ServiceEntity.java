@@ -9,6 +9,7 @@ import org.hibernate.annotations.SQLRestriction;
 
 @Entity
 @Table(name = "services")
+@EntityListeners(CatalogChangeListener.class)
 @SQLDelete(sql = "UPDATE services SET del_yn = 'Y' WHERE id = ?")
 @SQLRestriction("del_yn = 'N'")
 @Getter
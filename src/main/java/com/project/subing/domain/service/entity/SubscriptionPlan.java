@@ -8,6 +8,7 @@ import org.hibernate.annotations.SQLRestriction;
 
 @Entity
 @Table(name = "subscription_plans")
+@EntityListeners(CatalogChangeListener.class)
 @SQLDelete(sql = "UPDATE subscription_plans SET del_yn = 'Y' WHERE id = ?")
 @SQLRestriction("del_yn = 'N'")
 @Getter
@@ -17,7 +17,8 @@ import java.time.YearMonth;
 @Table(name = "user_subscriptions", indexes = {
     @Index(name = "idx_us_user_id", columnList = "user_id"),
     @Index(name = "idx_us_user_active", columnList = "user_id, is_active"),
-    @Index(name = "idx_us_active", columnList = "is_active")
+    @Index(name = "idx_us_active", columnList = "is_active"),
+    @Index(name = "idx_us_active_billing_date", columnList = "is_active, billing_date")
 })
 @SQLDelete(sql = "UPDATE user_subscriptions SET del_yn = 'Y' WHERE id = ?")
 @SQLRestriction("del_yn = 'N'")
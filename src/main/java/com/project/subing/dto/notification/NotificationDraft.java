@@ -0,0 +1,21 @@
+package com.project.subing.dto.notification;
+
+import com.project.subing.domain.notification.entity.NotificationType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 일괄 생성할 알림 1건 (NotificationService.createNotifications 입력)
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class NotificationDraft {
+
+    private final Long userId;
+    private final NotificationType type;
+    private final String title;
+    private final String message;
+    private final Long relatedSubscriptionId;  // null이면 중복 검사 대상 아님
+}
@@ -22,6 +22,7 @@ public class OptimizationEnginePolicyResponse {
     private Integer candidateSearchTimeoutMs;
     private Integer portfolioOptimizeTimeoutMs;
     private Integer runtimeCacheTtlMs;
+    private Integer parallelism;
     private Boolean trackingEnabled;
 
     public static OptimizationEnginePolicyResponse from(OptimizationEnginePolicy policy) {
@@ -36,6 +37,7 @@ public class OptimizationEnginePolicyResponse {
                 .candidateSearchTimeoutMs(policy.getCandidateSearchTimeoutMs())
                 .portfolioOptimizeTimeoutMs(policy.getPortfolioOptimizeTimeoutMs())
                 .runtimeCacheTtlMs(policy.getRuntimeCacheTtlMs())
+                .parallelism(policy.getParallelism())
                 .trackingEnabled(policy.isTrackingEnabled())
                 .build();
     }
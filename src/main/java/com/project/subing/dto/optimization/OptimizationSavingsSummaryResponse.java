@@ -0,0 +1,40 @@
+package com.project.subing.dto.optimization;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OptimizationSavingsSummaryResponse {
+
+    private Integer totalPotentialSavings;
+    private Integer alternativeCount;
+    private Integer duplicateCategoryCount;
+    private List<TopAlternative> topAlternatives;
+    private Boolean provenOptimal;
+    private LocalDateTime computedAt;
+
+    /**
+     * 요약에 저장되는 상위 대안 (JSON 직렬화 대상)
+     */
+    @Getter
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TopAlternative {
+        private Long subscriptionId;
+        private String currentServiceName;
+        private Long alternativeServiceId;
+        private String alternativeServiceName;
+        private String alternativePlanName;
+        private Boolean isSameService;
+        private Integer netSavings;
+    }
+}
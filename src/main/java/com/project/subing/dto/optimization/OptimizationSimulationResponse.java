@@ -0,0 +1,67 @@
+package com.project.subing.dto.optimization;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OptimizationSimulationResponse {
+
+    private Map<String, String> overrides;
+    private OptimizationEnginePolicyResponse baselinePolicy;
+    private OptimizationEnginePolicyResponse candidatePolicy;
+
+    // 스냅샷 규모
+    private Integer userCount;
+    private Integer subscriptionCount;
+    private Integer planCount;
+    private Long planIndexVersion;
+
+    private PolicyOutcome baseline;
+    private PolicyOutcome candidate;
+    private OutcomeDelta delta;
+
+    // 절약 합계 또는 제안 건수가 달라진 사용자 수
+    private Integer changedUserCount;
+    private Long elapsedMs;
+
+    /**
+     * 정책 1개를 전체 사용자에 적용한 집계 결과
+     */
+    @Getter
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PolicyOutcome {
+        private Long totalPotentialSavings;
+        private Integer usersWithSuggestions;
+        private Integer suggestionCount;
+        private Integer candidateCount;
+        private Integer downgradeCount;
+        private Integer switchCount;
+        private Double averageConfidence;
+        // HIGH(80+) / MEDIUM(60~79) / LOW(60 미만) 제안 건수
+        private Map<String, Integer> confidenceDistribution;
+        private Integer notProvenOptimalUsers;
+    }
+
+    /**
+     * 후보 정책 - 현재 정책
+     */
+    @Getter
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class OutcomeDelta {
+        private Long totalPotentialSavings;
+        private Integer usersWithSuggestions;
+        private Integer suggestionCount;
+        private Double averageConfidence;
+    }
+}
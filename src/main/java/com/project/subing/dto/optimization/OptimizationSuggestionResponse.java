@@ -17,5 +17,6 @@ public class OptimizationSuggestionResponse {
     private List<CheaperAlternativeResponse> cheaperAlternatives;
     private List<CheaperAlternativeResponse> optimizedAlternatives;
     private Integer totalPotentialSavings;
+    private Boolean portfolioProvenOptimal;
     private String summary;
 }
@@ -0,0 +1,40 @@
+package com.project.subing.dto.recommendation;
+
+import com.project.subing.domain.recommendation.enums.PromptVersion;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PromptExperimentResponse {
+
+    private String strategy;
+    private Double epsilon;
+    private Long minImpressions;
+    private LocalDateTime lastFlushedAt;     // 롤업 테이블에 마지막으로 반영한 시각
+    private List<VersionStat> versions;
+
+    @Getter
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class VersionStat {
+        private PromptVersion promptVersion;
+        private String description;
+        private Long impressions;
+        private Long clicks;
+        private Long helpfulCount;
+        private Long notHelpfulCount;
+        private Double clickThroughRate;
+        private Double helpfulRate;
+        private Double expectedReward;          // 클릭률 사후 평균
+        private Double allocationProbability;   // 현재 카운터 기준 추정 배분 비율
+    }
+}
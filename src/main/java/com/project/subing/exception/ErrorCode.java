@@ -49,12 +49,14 @@ public enum ErrorCode {
     INVALID_RATING("422", "평점은 1~5 사이의 값이어야 합니다"),
     DUPLICATE_REVIEW("422", "이미 해당 서비스에 리뷰를 작성하셨습니다"),
     MISSING_SERVICES("422", "일부 서비스를 찾을 수 없습니다"),
+    SIMULATION_ALREADY_RUNNING("422", "이미 실행 중인 정책 시뮬레이션이 있습니다"),
 
     // ============================================================
     // 429 Too Many Requests - 사용량 제한 초과
     // ============================================================
     GPT_RECOMMENDATION_LIMIT_EXCEEDED("429", "GPT 추천 사용 횟수를 초과했습니다"),
     OPTIMIZATION_CHECK_LIMIT_EXCEEDED("429", "최적화 체크 사용 횟수를 초과했습니다"),
+    RECOMMENDATION_CAPACITY_EXCEEDED("429", "추천 요청이 많아 처리하지 못했습니다"),
 
     // ============================================================
     // 500 Internal Server Error - 서버 내부 오류
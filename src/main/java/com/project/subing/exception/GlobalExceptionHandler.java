@@ -6,9 +6,11 @@ import com.project.subing.exception.business.BusinessRuleViolationException;
 import com.project.subing.exception.business.InvalidCredentialsException;
 import com.project.subing.exception.entity.EntityNotFoundException;
 import com.project.subing.exception.external.ExternalApiException;
+import com.project.subing.exception.tier.RecommendationCapacityExceededException;
 import com.project.subing.exception.tier.TierLimitExceededException;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -121,6 +123,31 @@ public class GlobalExceptionHandler {
                         .build());
     }
 
+    /**
+     * RecommendationCapacityExceededException 처리
+     * HTTP Status: 429 Too Many Requests (+ Retry-After 헤더)
+     */
+    @ExceptionHandler(RecommendationCapacityExceededException.class)
+    public ResponseEntity<ApiResponse<ErrorResponse>> handleRecommendationCapacityExceeded(
+            RecommendationCapacityExceededException e,
+            HttpServletRequest request) {
+
+        log.warn("[429] Recommendation capacity exceeded: {} | Path: {} | User: {}",
+                e.getMessage(), request.getRequestURI(), request.getUserPrincipal());
+
+        ErrorResponse errorResponse = ErrorResponse.from(e, request.getRequestURI());
+
+        return ResponseEntity
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(ApiResponse.<ErrorResponse>builder()
+                        .success(false)
+                        .data(errorResponse)
+                        .message(errorResponse.getMessage())
+                        .timestamp(errorResponse.getTimestamp())
+                        .build());
+    }
+
     /**
      * TierLimitExceededException 처리
      * HTTP Status: 429 Too Many Requests
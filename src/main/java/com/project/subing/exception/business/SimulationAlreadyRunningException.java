@@ -0,0 +1,15 @@
+package com.project.subing.exception.business;
+
+import com.project.subing.exception.ErrorCode;
+
+/**
+ * 정책 시뮬레이션이 이미 실행 중일 때 발생하는 예외
+ *
+ * HTTP Status: 422 Unprocessable Entity
+ */
+public class SimulationAlreadyRunningException extends BusinessRuleViolationException {
+
+    public SimulationAlreadyRunningException() {
+        super(ErrorCode.SIMULATION_ALREADY_RUNNING);
+    }
+}
@@ -0,0 +1,24 @@
+package com.project.subing.exception.tier;
+
+import com.project.subing.exception.ErrorCode;
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * GPT 추천 동시 처리 한도(등급별/전체) 초과 시 발생하는 예외
+ *
+ * HTTP Status: 429 Too Many Requests (Retry-After 헤더 포함)
+ */
+@Getter
+public class RecommendationCapacityExceededException extends TierLimitExceededException {
+
+    private final int retryAfterSeconds;
+
+    public RecommendationCapacityExceededException(String scope, int retryAfterSeconds) {
+        super(ErrorCode.RECOMMENDATION_CAPACITY_EXCEEDED,
+              "추천 요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해주세요.",
+              Map.of("scope", scope, "retryAfterSeconds", retryAfterSeconds));
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,7 +24,19 @@ public interface BudgetRepository extends JpaRepository<Budget, Long> {
 
     boolean existsByUser_IdAndYearAndMonth(Long userId, Integer year, Integer month);
 
-    // 스케줄러용: 특정 년월 예산을 User와 함께 조회
-    @Query("SELECT b FROM Budget b JOIN FETCH b.user WHERE b.year = :year AND b.month = :month")
-    List<Budget> findByYearAndMonthWithUser(@Param("year") Integer year, @Param("month") Integer month);
+    // 알림 배치용: 특정 년월 예산이 있는 사용자 ID 키셋 페이지 (user_id 오름차순, user_id % partitionCount 파티션)
+    @Query("SELECT b.user.id FROM Budget b " +
+           "WHERE b.year = :year AND b.month = :month AND b.user.id > :lastUserId " +
+           "AND MOD(b.user.id, :partitionCount) = :partitionIndex " +
+           "ORDER BY b.user.id")
+    List<Long> findUserIdsByYearAndMonthAfter(@Param("year") Integer year, @Param("month") Integer month,
+                                              @Param("lastUserId") Long lastUserId,
+                                              @Param("partitionCount") Integer partitionCount,
+                                              @Param("partitionIndex") Integer partitionIndex,
+                                              Pageable pageable);
+
+    // 알림 배치용: 사용자 묶음의 특정 년월 예산 조회
+    @Query("SELECT b FROM Budget b WHERE b.year = :year AND b.month = :month AND b.user.id IN :userIds")
+    List<Budget> findByYearAndMonthAndUserIdIn(@Param("year") Integer year, @Param("month") Integer month,
+                                               @Param("userIds") Collection<Long> userIds);
 }
@@ -2,8 +2,11 @@ package com.project.subing.repository;
 
 import com.project.subing.domain.notification.entity.Notification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -16,4 +19,15 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     Long countByUser_IdAndIsReadFalse(Long userId);
 
     boolean existsByUser_IdAndRelatedSubscriptionIdAndType(Long userId, Long subscriptionId, com.project.subing.domain.notification.entity.NotificationType type);
-}
\ No newline at end of file
+
+    // 일괄 생성용: 사용자/구독 묶음에 이미 존재하는 알림 키 (userId, relatedSubscriptionId, type)
+    @Query("SELECT n.user.id, n.relatedSubscriptionId, n.type FROM Notification n " +
+           "WHERE n.user.id IN :userIds AND n.relatedSubscriptionId IN :subscriptionIds")
+    List<Object[]> findExistingKeys(@Param("userIds") Collection<Long> userIds,
+                                    @Param("subscriptionIds") Collection<Long> subscriptionIds);
+
+    // 일괄 생성용: 사용자별 읽지 않은 알림 개수 (userId, count)
+    @Query("SELECT n.user.id, COUNT(n) FROM Notification n " +
+           "WHERE n.user.id IN :userIds AND n.isRead = false GROUP BY n.user.id")
+    List<Object[]> countUnreadByUserIds(@Param("userIds") Collection<Long> userIds);
+}
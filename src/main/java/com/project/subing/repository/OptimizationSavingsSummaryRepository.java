@@ -0,0 +1,26 @@
+package com.project.subing.repository;
+
+import com.project.subing.domain.optimization.entity.OptimizationSavingsSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OptimizationSavingsSummaryRepository extends JpaRepository<OptimizationSavingsSummary, Long> {
+
+    Optional<OptimizationSavingsSummary> findByUserId(Long userId);
+
+    List<OptimizationSavingsSummary> findByUserIdIn(Collection<Long> userIds);
+
+    // 배치 완료 후: 이번 실행에서 갱신되지 않은(유료 활성 구독이 없어진) 사용자의 요약 삭제
+    @Modifying
+    @Query("DELETE FROM OptimizationSavingsSummary s WHERE s.computedAt < :computedAt")
+    int deleteByComputedAtBefore(@Param("computedAt") LocalDateTime computedAt);
+}
@@ -0,0 +1,34 @@
+package com.project.subing.repository;
+
+import com.project.subing.domain.recommendation.entity.PromptExperimentStat;
+import com.project.subing.domain.recommendation.enums.PromptVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface PromptExperimentStatRepository extends JpaRepository<PromptExperimentStat, Long> {
+
+    /**
+     * 버전별 카운터에 증분 반영 (여러 인스턴스가 동시에 flush해도 합산되도록 UPDATE ... = x + delta)
+     * @return 갱신된 행 수 (0이면 아직 행이 없음)
+     */
+    @Modifying
+    @Query("UPDATE PromptExperimentStat s SET " +
+           "s.impressions = s.impressions + :impressions, " +
+           "s.clicks = s.clicks + :clicks, " +
+           "s.helpfulCount = s.helpfulCount + :helpful, " +
+           "s.notHelpfulCount = s.notHelpfulCount + :notHelpful, " +
+           "s.updatedAt = :now " +
+           "WHERE s.promptVersion = :promptVersion")
+    int addCounts(@Param("promptVersion") PromptVersion promptVersion,
+                  @Param("impressions") long impressions,
+                  @Param("clicks") long clicks,
+                  @Param("helpful") long helpful,
+                  @Param("notHelpful") long notHelpful,
+                  @Param("now") LocalDateTime now);
+}
@@ -1,10 +1,14 @@
 package com.project.subing.repository;
 
 import com.project.subing.domain.recommendation.entity.RecommendationResult;
+import com.project.subing.domain.recommendation.enums.PromptVersion;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface RecommendationResultRepository extends JpaRepository<RecommendationResult, Long> {
@@ -12,4 +16,14 @@ public interface RecommendationResultRepository extends JpaRepository<Recommenda
     List<RecommendationResult> findByUser_IdOrderByCreatedAtDesc(Long userId);
 
     List<RecommendationResult> findTop5ByUser_IdOrderByCreatedAtDesc(Long userId);
+
+    // 소유자 확인용 (엔티티 로딩 없이 user_id, prompt_version만 조회)
+    @Query("SELECT r.user.id AS userId, r.promptVersion AS promptVersion FROM RecommendationResult r WHERE r.id = :id")
+    Optional<OwnerAndPromptVersion> findOwnerAndPromptVersionById(@Param("id") Long id);
+
+    interface OwnerAndPromptVersion {
+        Long getUserId();
+
+        PromptVersion getPromptVersion();
+    }
 }
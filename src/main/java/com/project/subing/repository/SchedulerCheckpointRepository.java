@@ -0,0 +1,13 @@
+package com.project.subing.repository;
+
+import com.project.subing.domain.scheduler.entity.SchedulerCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface SchedulerCheckpointRepository extends JpaRepository<SchedulerCheckpoint, Long> {
+
+    Optional<SchedulerCheckpoint> findByJobName(String jobName);
+}
@@ -28,6 +28,10 @@ public interface ServiceReviewRepository extends JpaRepository<ServiceReview, Lo
     // 서비스별 리뷰 개수 조회
     Long countByServiceId(Long serviceId);
 
+    // 전체 서비스의 평균 평점/리뷰 수 일괄 조회 [serviceId, avgRating, reviewCount]
+    @Query("SELECT r.service.id, AVG(r.rating), COUNT(r) FROM ServiceReview r GROUP BY r.service.id")
+    List<Object[]> findRatingSummaries();
+
     // 사용자가 해당 서비스에 리뷰를 작성했는지 확인
     boolean existsByUserIdAndServiceId(Long userId, Long serviceId);
 }
\ No newline at end of file
@@ -24,4 +24,8 @@ public interface SubscriptionPlanRepository extends JpaRepository<SubscriptionPl
            "JOIN FETCH sp.service s " +
            "WHERE s.category IN :categories")
     List<SubscriptionPlan> findByServiceCategoryIn(@Param("categories") Collection<ServiceCategory> categories);
+
+    // 요금제 가격 인덱스 구축용: 전체 플랜을 Service와 함께 일괄 조회
+    @Query("SELECT sp FROM SubscriptionPlan sp JOIN FETCH sp.service")
+    List<SubscriptionPlan> findAllWithService();
 }
@@ -1,12 +1,15 @@
 package com.project.subing.repository;
 
+import com.project.subing.domain.common.BillingCycle;
 import com.project.subing.domain.common.ServiceCategory;
 import com.project.subing.domain.subscription.entity.UserSubscription;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -42,9 +45,43 @@ public interface UserSubscriptionRepository extends JpaRepository<UserSubscripti
            "WHERE us.user.id = :userId AND us.isActive = true")
     List<UserSubscription> findByUserIdAndIsActiveTrueWithService(@Param("userId") Long userId);
 
-    // 스케줄러용: 활성 구독을 Service, User와 함께 조회
-    @Query("SELECT us FROM UserSubscription us JOIN FETCH us.service JOIN FETCH us.user WHERE us.isActive = true")
-    List<UserSubscription> findAllActiveWithServiceAndUser();
+    // 알림 배치용: 활성 구독 보유 사용자 ID 키셋 페이지 (user_id 오름차순, user_id % partitionCount 파티션)
+    @Query("SELECT DISTINCT us.user.id FROM UserSubscription us " +
+           "WHERE us.isActive = true AND us.user.id > :lastUserId " +
+           "AND MOD(us.user.id, :partitionCount) = :partitionIndex " +
+           "ORDER BY us.user.id")
+    List<Long> findActiveUserIdsAfter(@Param("lastUserId") Long lastUserId,
+                                      @Param("partitionCount") Integer partitionCount,
+                                      @Param("partitionIndex") Integer partitionIndex,
+                                      Pageable pageable);
+
+    // 알림 배치용: 사용자 묶음의 활성 구독을 Service와 함께 조회 (user_id 순)
+    @Query("SELECT us FROM UserSubscription us " +
+           "JOIN FETCH us.service " +
+           "WHERE us.user.id IN :userIds AND us.isActive = true " +
+           "ORDER BY us.user.id, us.id")
+    List<UserSubscription> findActiveWithServiceByUserIdIn(@Param("userIds") Collection<Long> userIds);
+
+    // 알림 배치용: 결제일(일자)이 범위에 드는 활성 구독 키셋 페이지 (idx_us_active_billing_date, user_id 파티션)
+    @Query("SELECT us FROM UserSubscription us " +
+           "JOIN FETCH us.service " +
+           "WHERE us.isActive = true AND us.billingDate BETWEEN :fromDay AND :toDay " +
+           "AND us.billingCycle IN :billingCycles AND us.id > :lastId " +
+           "AND MOD(us.user.id, :partitionCount) = :partitionIndex " +
+           "ORDER BY us.id")
+    List<UserSubscription> findActiveByBillingDayBetween(@Param("fromDay") Integer fromDay,
+                                                         @Param("toDay") Integer toDay,
+                                                         @Param("billingCycles") Collection<BillingCycle> billingCycles,
+                                                         @Param("lastId") Long lastId,
+                                                         @Param("partitionCount") Integer partitionCount,
+                                                         @Param("partitionIndex") Integer partitionIndex,
+                                                         Pageable pageable);
+
+    // 알림 배치용: 사용자별 활성 구독 월 합계 (userId, sum)
+    @Query("SELECT us.user.id, SUM(us.monthlyPrice) FROM UserSubscription us " +
+           "WHERE us.user.id IN :userIds AND us.isActive = true " +
+           "GROUP BY us.user.id")
+    List<Object[]> sumActiveMonthlyPriceByUserIdIn(@Param("userIds") Collection<Long> userIds);
 
     // 관리자용: 모든 구독을 Service와 함께 조회 (LAZY 로딩 방지)
     @Query("SELECT DISTINCT us FROM UserSubscription us LEFT JOIN FETCH us.service")
@@ -58,4 +95,17 @@ public interface UserSubscriptionRepository extends JpaRepository<UserSubscripti
     @Query("SELECT s.category, COUNT(us) FROM UserSubscription us " +
            "JOIN us.service s WHERE us.isActive = true GROUP BY s.category")
     List<Object[]> countActiveSubscriptionsByCategory();
+
+    // 최적화 배치/정책 시뮬레이션용: 유료 활성 구독 보유 사용자 ID 키셋 페이지 (user_id 오름차순)
+    @Query("SELECT DISTINCT us.user.id FROM UserSubscription us " +
+           "WHERE us.isActive = true AND us.monthlyPrice > 0 AND us.user.id > :lastUserId " +
+           "ORDER BY us.user.id")
+    List<Long> findActivePaidUserIdsAfter(@Param("lastUserId") Long lastUserId, Pageable pageable);
+
+    // 최적화 배치/정책 시뮬레이션용: 사용자 묶음의 유료 활성 구독을 Service와 함께 조회
+    @Query("SELECT us FROM UserSubscription us " +
+           "JOIN FETCH us.service s " +
+           "WHERE us.user.id IN :userIds AND us.isActive = true AND us.monthlyPrice > 0 " +
+           "ORDER BY us.user.id, us.id")
+    List<UserSubscription> findActivePaidWithServiceByUserIdIn(@Param("userIds") Collection<Long> userIds);
 }
@@ -2,6 +2,9 @@ package com.project.subing.repository;
 
 import com.project.subing.domain.user.entity.UserTierUsage;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -14,4 +17,21 @@ public interface UserTierUsageRepository extends JpaRepository<UserTierUsage, Lo
 
     // 특정 사용자의 특정 년월 사용량 존재 여부
     boolean existsByUserIdAndYearAndMonth(Long userId, int year, int month);
+
+    // GPT 추천 사용량 선점 (한도 미만일 때만 증가, 동시 요청 간 원자적)
+    @Modifying
+    @Query("UPDATE UserTierUsage u SET u.gptRecommendationCount = u.gptRecommendationCount + 1, " +
+           "u.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE u.userId = :userId AND u.year = :year AND u.month = :month " +
+           "AND u.gptRecommendationCount < :limit")
+    int reserveGptRecommendation(@Param("userId") Long userId, @Param("year") int year,
+                                 @Param("month") int month, @Param("limit") int limit);
+
+    // 선점한 GPT 추천 사용량 반환
+    @Modifying
+    @Query("UPDATE UserTierUsage u SET u.gptRecommendationCount = u.gptRecommendationCount - 1, " +
+           "u.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE u.userId = :userId AND u.year = :year AND u.month = :month " +
+           "AND u.gptRecommendationCount > 0")
+    int refundGptRecommendation(@Param("userId") Long userId, @Param("year") int year, @Param("month") int month);
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.project.subing.scheduler;
+
+import com.project.subing.service.LocalFallbackRecommender;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class LocalFallbackRecommenderScheduler {
+
+    private final LocalFallbackRecommender localFallbackRecommender;
+
+    /**
+     * 주기적으로(기본 10분) 로컬 추천 후보의 리뷰 평점을 다시 읽어 스냅샷 교체
+     * 인스턴스별 메모리 스냅샷이므로 임대 없이 모든 인스턴스에서 실행 (실패 시 기존 스냅샷 유지)
+     */
+    @Scheduled(fixedDelayString = "${recommendation.fallback.rating-refresh-millis:600000}",
+            initialDelayString = "${recommendation.fallback.rating-refresh-millis:600000}")
+    @PreAuthorize("permitAll()")
+    public void refreshFallbackCandidates() {
+        localFallbackRecommender.refresh();
+    }
+}
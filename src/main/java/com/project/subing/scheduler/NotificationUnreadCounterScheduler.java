@@ -0,0 +1,31 @@
+package com.project.subing.scheduler;
+
+import com.project.subing.service.NotificationUnreadCounter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationUnreadCounterScheduler {
+
+    private final NotificationUnreadCounter notificationUnreadCounter;
+
+    /**
+     * 주기적으로(기본 5분) 메모리의 읽지 않은 알림 개수를 DB 집계로 보정
+     * 인스턴스별 메모리 카운터이므로 임대 없이 모든 인스턴스에서 실행
+     */
+    @Scheduled(fixedDelayString = "${notification.unread-counter.reconcile-interval-millis:300000}",
+            initialDelayString = "${notification.unread-counter.reconcile-interval-millis:300000}")
+    @PreAuthorize("permitAll()")
+    public void reconcileUnreadCounters() {
+        try {
+            notificationUnreadCounter.reconcile();
+        } catch (Exception e) {
+            log.error("읽지 않은 알림 카운터 보정 실패", e);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.project.subing.scheduler;
+
+import com.project.subing.config.OptimizationEngineProperties;
+import com.project.subing.service.OptimizationBatchService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OptimizationBatchScheduler {
+
+    private final OptimizationBatchService optimizationBatchService;
+    private final OptimizationEngineProperties optimizationEngineProperties;
+    private final SchedulerLeaseManager schedulerLeaseManager;
+
+    private static final String LEASE_NAME = "optimization.batch";
+
+    /**
+     * 매일 새벽(기본 03:00): 전체 사용자 최적화 절약 요약 사전 계산
+     * 여러 인스턴스 중 임대를 잡은 한 곳만 실행 (늦게 깨어난 인스턴스가 다시 돌지 않도록 임대는 만료까지 유지)
+     */
+    @Scheduled(cron = "${optimization.engine.batch.cron:0 0 3 * * *}")
+    @PreAuthorize("permitAll()")
+    public void runDailyOptimizationBatch() {
+        if (!optimizationEngineProperties.getBatch().isEnabled()) {
+            return;
+        }
+        if (!schedulerLeaseManager.tryAcquire(LEASE_NAME)) {
+            log.info("최적화 배치 - 다른 인스턴스가 실행 중");
+            return;
+        }
+
+        try {
+            optimizationBatchService.runBatch();
+        } catch (Exception e) {
+            log.error("최적화 배치 실패", e);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.project.subing.scheduler;
+
+import com.project.subing.service.PromptExperimentService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PromptExperimentFlushScheduler {
+
+    private final PromptExperimentService promptExperimentService;
+
+    /**
+     * 주기적으로(기본 1분) 프롬프트 실험 카운터를 롤업 테이블에 반영
+     */
+    @Scheduled(fixedDelayString = "${recommendation.experiment.flush-interval-millis:60000}",
+            initialDelayString = "${recommendation.experiment.flush-interval-millis:60000}")
+    @PreAuthorize("permitAll()")
+    public void flushPromptExperimentStats() {
+        try {
+            promptExperimentService.flush();
+        } catch (Exception e) {
+            log.error("프롬프트 실험 집계 반영 실패", e);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.project.subing.scheduler;
+
+import com.project.subing.config.SchedulerProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 다중 인스턴스 스케줄러 실행자 선출 (scheduler_leases 임대 테이블)
+ *
+ * 모든 인스턴스에서 같은 @Scheduled가 동시에 실행되므로, 작업(또는 파티션) 이름별 임대를 잡은 인스턴스만 실행한다.
+ * - 획득: 만료됐거나 내가 가진 임대를 조건부 UPDATE로 가져오고, 행이 없으면 INSERT (유니크 충돌 시 실패)
+ * - 연장: 청크마다 소유자 조건 UPDATE, 0건이면 임대를 잃은 것이므로 작업을 멈춰야 함
+ * - 반납: 만료 시각을 현재로 당겨 다른 인스턴스가 바로 가져갈 수 있게 함
+ * PostgreSQL advisory lock은 세션(커넥션) 단위라 커넥션 풀과 맞지 않고 H2에서 쓸 수 없어 임대 테이블을 사용한다.
+ * 인스턴스 간 시계 차이는 ttlSeconds보다 충분히 작다고 가정한다.
+ */
+@Slf4j
+@Component
+public class SchedulerLeaseManager {
+
+    private static final String ACQUIRE_SQL =
+            "UPDATE scheduler_leases SET owner = ?, lease_until = ?, updated_at = ? "
+                    + "WHERE lease_name = ? AND (lease_until < ? OR owner = ?)";
+    private static final String INSERT_SQL =
+            "INSERT INTO scheduler_leases (lease_name, owner, lease_until, created_at, updated_at) "
+                    + "VALUES (?, ?, ?, ?, ?)";
+    private static final String RENEW_SQL =
+            "UPDATE scheduler_leases SET lease_until = ?, updated_at = ? WHERE lease_name = ? AND owner = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long ttlSeconds;
+    private final String ownerId;
+
+    @Autowired
+    public SchedulerLeaseManager(JdbcTemplate jdbcTemplate, SchedulerProperties schedulerProperties) {
+        this(jdbcTemplate, schedulerProperties, defaultOwnerId());
+    }
+
+    SchedulerLeaseManager(JdbcTemplate jdbcTemplate, SchedulerProperties schedulerProperties, String ownerId) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttlSeconds = Math.max(1, schedulerProperties.getLease().getTtlSeconds());
+        this.ownerId = ownerId;
+    }
+
+    /**
+     * 임대 획득 (이미 내가 가진 임대면 연장)
+     */
+    public boolean tryAcquire(String leaseName) {
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp nowTimestamp = Timestamp.valueOf(now);
+        Timestamp until = Timestamp.valueOf(now.plusSeconds(ttlSeconds));
+
+        int updated = jdbcTemplate.update(ACQUIRE_SQL, ownerId, until, nowTimestamp, leaseName, nowTimestamp, ownerId);
+        if (updated > 0) {
+            return true;
+        }
+
+        try {
+            jdbcTemplate.update(INSERT_SQL, leaseName, ownerId, until, nowTimestamp, nowTimestamp);
+            return true;
+        } catch (DuplicateKeyException e) {
+            // 다른 인스턴스가 유효한 임대를 가지고 있음 (또는 동시에 먼저 INSERT함)
+            return false;
+        }
+    }
+
+    /**
+     * 임대 연장 (소유자가 아니면 false)
+     */
+    public boolean renew(String leaseName) {
+        LocalDateTime now = LocalDateTime.now();
+        int updated = jdbcTemplate.update(RENEW_SQL,
+                Timestamp.valueOf(now.plusSeconds(ttlSeconds)), Timestamp.valueOf(now), leaseName, ownerId);
+        if (updated == 0) {
+            log.warn("스케줄러 임대 상실 - lease: {}, owner: {}", leaseName, ownerId);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 임대 반납 (내 임대일 때만)
+     */
+    public void release(String leaseName) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update(RENEW_SQL, now, now, leaseName, ownerId);
+    }
+
+    public String getOwnerId() {
+        return ownerId;
+    }
+
+    private static String defaultOwnerId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown";
+        }
+        return host + ":" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
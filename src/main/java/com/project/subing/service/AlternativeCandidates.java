@@ -0,0 +1,237 @@
+package com.project.subing.service;
+
+import com.project.subing.domain.optimization.entity.OptimizationReasonCode;
+import com.project.subing.domain.service.entity.ServiceEntity;
+import com.project.subing.domain.service.entity.SubscriptionPlan;
+import com.project.subing.domain.subscription.entity.UserSubscription;
+import com.project.subing.service.SubscriptionOptimizationService.CheaperAlternative;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 대안 후보 버퍼 (후보 1건 = 배열 인덱스 1개)
+ *
+ * 후보 탐색/포트폴리오 단계는 원시 배열과 사유 코드 비트마스크만 사용하고,
+ * CheaperAlternative DTO는 응답에 실제로 필요한 후보에 대해서만 materialize()로 만든다.
+ * 구독/서비스/플랜은 기존 엔티티 참조만 보관하므로 후보당 추가 객체 할당이 없다.
+ */
+public final class AlternativeCandidates {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int SAME_SERVICE_BIT = OptimizationReasonCode.SAME_SERVICE_DOWNGRADE.bit();
+
+    private int size;
+    private UserSubscription[] subscriptions;
+    private ServiceEntity[] services;
+    private SubscriptionPlan[] plans;
+    private int[] currentCosts;
+    private int[] alternativeCosts;
+    private int[] switchCosts;
+    private int[] netSavings;
+    private int[] confidenceScores;
+    private int[] reasonMasks;
+    private CheaperAlternative[] materialized;
+
+    public AlternativeCandidates() {
+        this(INITIAL_CAPACITY);
+    }
+
+    private AlternativeCandidates(int capacity) {
+        int initial = Math.max(1, capacity);
+        subscriptions = new UserSubscription[initial];
+        services = new ServiceEntity[initial];
+        plans = new SubscriptionPlan[initial];
+        currentCosts = new int[initial];
+        alternativeCosts = new int[initial];
+        switchCosts = new int[initial];
+        netSavings = new int[initial];
+        confidenceScores = new int[initial];
+        reasonMasks = new int[initial];
+    }
+
+    /**
+     * 이미 만들어진 DTO 목록을 버퍼로 변환 (materialize 시 원본 객체를 그대로 반환)
+     */
+    public static AlternativeCandidates from(List<CheaperAlternative> alternatives) {
+        AlternativeCandidates candidates = new AlternativeCandidates(alternatives.size());
+        for (CheaperAlternative alternative : alternatives) {
+            int mask = OptimizationReasonCode.toMask(alternative.getReasonCodes());
+            mask = alternative.isSameService() ? mask | SAME_SERVICE_BIT : mask & ~SAME_SERVICE_BIT;
+            candidates.add(alternative.getCurrentSubscription(), alternative.getAlternativeService(),
+                    alternative.getAlternativePlan(), alternative.getCurrentPrice(), alternative.getAlternativePrice(),
+                    alternative.getSwitchCost(), alternative.getNetSavings(), alternative.getConfidenceScore(), mask);
+        }
+        candidates.materialized = alternatives.toArray(new CheaperAlternative[0]);
+        return candidates;
+    }
+
+    public void add(UserSubscription subscription, ServiceEntity service, SubscriptionPlan plan,
+                    int currentCost, int alternativeCost, int switchCost, int netSaving,
+                    int confidenceScore, int reasonMask) {
+        ensureCapacity(size + 1);
+        subscriptions[size] = subscription;
+        services[size] = service;
+        plans[size] = plan;
+        currentCosts[size] = currentCost;
+        alternativeCosts[size] = alternativeCost;
+        switchCosts[size] = switchCost;
+        netSavings[size] = netSaving;
+        confidenceScores[size] = confidenceScore;
+        reasonMasks[size] = reasonMask;
+        size++;
+    }
+
+    public void addAll(AlternativeCandidates other) {
+        if (other.size == 0) {
+            return;
+        }
+        ensureCapacity(size + other.size);
+        System.arraycopy(other.subscriptions, 0, subscriptions, size, other.size);
+        System.arraycopy(other.services, 0, services, size, other.size);
+        System.arraycopy(other.plans, 0, plans, size, other.size);
+        System.arraycopy(other.currentCosts, 0, currentCosts, size, other.size);
+        System.arraycopy(other.alternativeCosts, 0, alternativeCosts, size, other.size);
+        System.arraycopy(other.switchCosts, 0, switchCosts, size, other.size);
+        System.arraycopy(other.netSavings, 0, netSavings, size, other.size);
+        System.arraycopy(other.confidenceScores, 0, confidenceScores, size, other.size);
+        System.arraycopy(other.reasonMasks, 0, reasonMasks, size, other.size);
+        size += other.size;
+        materialized = null;
+    }
+
+    /**
+     * 표시 순서 정렬: 동일 서비스 다운그레이드 우선, 그 안에서 순절약 내림차순 (동률은 입력 순서 유지)
+     * 정렬 키를 long 하나에 packing(그룹 1bit | 반전 순절약 31bit | 원래 위치 31bit)해 박싱 없이 정렬한다.
+     */
+    public void sortForDisplay() {
+        if (size < 2) {
+            return;
+        }
+        long[] keys = new long[size];
+        for (int i = 0; i < size; i++) {
+            long group = isSameService(i) ? 0L : 1L;
+            long invertedNetSavings = Integer.MAX_VALUE - Math.max(0, netSavings[i]);
+            keys[i] = (group << 62) | (invertedNetSavings << 31) | i;
+        }
+        Arrays.sort(keys);
+
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = (int) (keys[i] & Integer.MAX_VALUE);
+        }
+        subscriptions = permute(subscriptions, order);
+        services = permute(services, order);
+        plans = permute(plans, order);
+        currentCosts = permute(currentCosts, order);
+        alternativeCosts = permute(alternativeCosts, order);
+        switchCosts = permute(switchCosts, order);
+        netSavings = permute(netSavings, order);
+        confidenceScores = permute(confidenceScores, order);
+        reasonMasks = permute(reasonMasks, order);
+        if (materialized != null) {
+            materialized = permute(materialized, order);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public UserSubscription subscriptionAt(int index) {
+        return subscriptions[index];
+    }
+
+    public ServiceEntity serviceAt(int index) {
+        return services[index];
+    }
+
+    public SubscriptionPlan planAt(int index) {
+        return plans[index];
+    }
+
+    public boolean isSameService(int index) {
+        return (reasonMasks[index] & SAME_SERVICE_BIT) != 0;
+    }
+
+    public int netSavingsAt(int index) {
+        return netSavings[index];
+    }
+
+    public int confidenceScoreAt(int index) {
+        return confidenceScores[index];
+    }
+
+    /**
+     * 후보 1건을 DTO로 변환 (같은 인덱스는 같은 객체를 반환)
+     */
+    public CheaperAlternative materialize(int index) {
+        if (materialized == null) {
+            materialized = new CheaperAlternative[subscriptions.length];
+        }
+        CheaperAlternative alternative = materialized[index];
+        if (alternative == null) {
+            alternative = new CheaperAlternative(
+                    subscriptions[index], services[index], plans[index],
+                    currentCosts[index], alternativeCosts[index],
+                    currentCosts[index] - alternativeCosts[index], isSameService(index),
+                    switchCosts[index], netSavings[index], confidenceScores[index],
+                    OptimizationReasonCode.toCodes(reasonMasks[index])
+            );
+            materialized[index] = alternative;
+        }
+        return alternative;
+    }
+
+    public List<CheaperAlternative> materializeAll() {
+        if (size == 0) {
+            return Collections.emptyList();
+        }
+        List<CheaperAlternative> alternatives = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            alternatives.add(materialize(i));
+        }
+        return alternatives;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= subscriptions.length) {
+            return;
+        }
+        int capacity = Math.max(required, subscriptions.length * 2);
+        subscriptions = Arrays.copyOf(subscriptions, capacity);
+        services = Arrays.copyOf(services, capacity);
+        plans = Arrays.copyOf(plans, capacity);
+        currentCosts = Arrays.copyOf(currentCosts, capacity);
+        alternativeCosts = Arrays.copyOf(alternativeCosts, capacity);
+        switchCosts = Arrays.copyOf(switchCosts, capacity);
+        netSavings = Arrays.copyOf(netSavings, capacity);
+        confidenceScores = Arrays.copyOf(confidenceScores, capacity);
+        reasonMasks = Arrays.copyOf(reasonMasks, capacity);
+        if (materialized != null) {
+            materialized = Arrays.copyOf(materialized, capacity);
+        }
+    }
+
+    private <T> T[] permute(T[] values, int[] order) {
+        T[] permuted = values.clone();
+        for (int i = 0; i < order.length; i++) {
+            permuted[i] = values[order[i]];
+        }
+        return permuted;
+    }
+
+    private int[] permute(int[] values, int[] order) {
+        int[] permuted = values.clone();
+        for (int i = 0; i < order.length; i++) {
+            permuted[i] = values[order[i]];
+        }
+        return permuted;
+    }
+}
@@ -0,0 +1,63 @@
+package com.project.subing.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 최적화 후보 탐색 전용 ForkJoin 풀
+ *
+ * 1~2 vCPU 배포 환경(SerialGC)에 맞춰 코어 수와 MAX_PARALLELISM 중 작은 값으로 제한한다.
+ * 공용 풀(commonPool)과 분리해 다른 병렬 스트림 작업과 경합하지 않도록 한다.
+ */
+@Slf4j
+@Component
+public class CandidateSearchPool {
+
+    public static final int MAX_PARALLELISM = 4;
+
+    private final ForkJoinPool pool;
+
+    public CandidateSearchPool() {
+        this(Math.min(MAX_PARALLELISM, Runtime.getRuntime().availableProcessors()));
+    }
+
+    // 테스트용: 코어 수와 무관하게 병렬도 지정
+    CandidateSearchPool(int parallelism) {
+        parallelism = Math.max(1, parallelism);
+        AtomicInteger threadSequence = new AtomicInteger();
+        this.pool = new ForkJoinPool(
+                parallelism,
+                forkJoinPool -> {
+                    ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+                    thread.setName("optimization-search-" + threadSequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                null,
+                false
+        );
+        log.info("최적화 후보 탐색 풀 초기화 - parallelism: {}", parallelism);
+    }
+
+    /**
+     * 정책 병렬도와 풀 크기 중 실제 사용 가능한 병렬도
+     */
+    public int effectiveParallelism(int requested) {
+        return Math.max(1, Math.min(requested, pool.getParallelism()));
+    }
+
+    public ForkJoinTask<?> submit(Runnable task) {
+        return pool.submit(task);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+}
@@ -1,15 +1,12 @@
 package com.project.subing.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.subing.config.RecommendationProperties;
 import com.project.subing.domain.preference.entity.UserPreference;
-import com.project.subing.domain.recommendation.entity.RecommendationClick;
-import com.project.subing.domain.recommendation.entity.RecommendationFeedback;
 import com.project.subing.domain.recommendation.entity.RecommendationResult;
 import com.project.subing.domain.recommendation.enums.PromptVersion;
-import com.project.subing.domain.service.entity.ServiceEntity;
-import com.project.subing.domain.service.entity.SubscriptionPlan;
-import com.project.subing.domain.user.entity.User;
 import com.project.subing.dto.recommendation.QuizRequest;
+import com.project.subing.dto.recommendation.RecommendationItem;
 import com.project.subing.dto.recommendation.RecommendationResponse;
 import com.project.subing.exception.auth.UnauthorizedAccessException;
 import com.project.subing.exception.entity.RecommendationNotFoundException;
@@ -17,11 +14,8 @@ import com.project.subing.exception.entity.ServiceNotFoundException;
 import com.project.subing.exception.entity.UserNotFoundException;
 import com.project.subing.exception.external.GptApiException;
 import com.project.subing.exception.external.GptParsingException;
-import com.project.subing.repository.RecommendationClickRepository;
-import com.project.subing.repository.RecommendationFeedbackRepository;
 import com.project.subing.repository.RecommendationResultRepository;
 import com.project.subing.repository.ServiceRepository;
-import com.project.subing.repository.SubscriptionPlanRepository;
 import com.project.subing.repository.UserPreferenceRepository;
 import com.project.subing.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -31,25 +25,24 @@ import org.springframework.ai.chat.prompt.Prompt;
 import org.springframework.ai.chat.messages.Message;
 import org.springframework.ai.chat.messages.SystemMessage;
 import org.springframework.ai.chat.messages.UserMessage;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import reactor.core.publisher.Flux;
-
-import jakarta.annotation.PreDestroy;
+import reactor.core.publisher.Mono;
 
 import reactor.core.Disposable;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -61,50 +54,123 @@ public class GPTRecommendationService {
     private final UserRepository userRepository;
     private final UserPreferenceRepository userPreferenceRepository;
     private final RecommendationResultRepository recommendationResultRepository;
-    private final RecommendationFeedbackRepository recommendationFeedbackRepository;
-    private final RecommendationClickRepository recommendationClickRepository;
-    private final SubscriptionPlanRepository subscriptionPlanRepository;
+    private final ServicePriceSummaryCache servicePriceSummaryCache;
+    private final RecommendationCache recommendationCache;
+    private final RecommendationSingleFlight recommendationSingleFlight;
+    private final RecommendationPromptBuilder recommendationPromptBuilder;
+    private final RecommendationExecutor recommendationExecutor;
+    private final RecommendationAdmission recommendationAdmission;
+    private final RecommendationWriteBehind recommendationWriteBehind;
+    private final PromptExperimentService promptExperimentService;
+    private final GptCircuitBreaker gptCircuitBreaker;
+    private final LocalFallbackRecommender localFallbackRecommender;
+    private final RecommendationProperties recommendationProperties;
     private final ObjectMapper objectMapper = new ObjectMapper();
-    // 바운디드 큐(4개) + CallerRunsPolicy로 메모리 보호
-    private final ExecutorService executorService = new ThreadPoolExecutor(
-            2, 2, 60, TimeUnit.SECONDS,
-            new ArrayBlockingQueue<>(4),
-            new ThreadPoolExecutor.CallerRunsPolicy()
-    );
-
-    private volatile List<ServiceEntity> cachedServiceList;
-    private volatile long serviceListCacheTime;
-    private static final long SERVICE_LIST_CACHE_TTL_MS = 600_000; // 10분
-
-    @PreDestroy
-    public void shutdown() {
-        executorService.shutdown();
-    }
+
+    // 로컬 추천 대체 사유 (메트릭 태그)
+    private static final String FALLBACK_CIRCUIT_OPEN = "circuit_open";
+    private static final String FALLBACK_SLOW = "slow";
+    private static final String FALLBACK_ERROR = "error";
 
     public RecommendationResponse getRecommendations(Long userId, QuizRequest quiz) {
+        // 0. 수락 제어 (월 한도/동시 처리 한도 초과 시 429)
+        try (RecommendationAdmission.Permit permit = recommendationAdmission.acquire(userId)) {
+            return generateForUser(userId, quiz, permit);
+        }
+    }
+
+    private RecommendationResponse generateForUser(Long userId, QuizRequest quiz, RecommendationAdmission.Permit permit) {
         // 0-1. 사용자 성향 데이터 조회 (Optional)
         UserPreference userPreference = userPreferenceRepository.findFirstByUserIdOrderByCreatedAtDesc(userId).orElse(null);
 
-        // 0-2. A/B 테스트를 위한 랜덤 프롬프트 버전 선택
-        PromptVersion promptVersion = PromptVersion.random();
+        // 0-2. 프롬프트 버전 선택 (실험 성과 기반 배분)
+        PromptVersion promptVersion = promptExperimentService.choose();
+
+        // 1. 캐시된 추천 결과 조회 (없으면 GPT API 호출) - 같은 퀴즈 지문의 다른 사용자 결과도 공유
+        String cacheKey = recommendationCache.keyOf(quiz, userPreference, promptVersion);
+        RecommendationResponse result = recommendationCache.find(cacheKey).orElse(null);
+        String fallbackReason = null;
+        if (result == null) {
+            RecommendationProperties.Fallback fallback = recommendationProperties.getFallback();
+            if (!fallback.isEnabled()) {
+                result = callGptShared(cacheKey, quiz, userPreference, promptVersion);
+            } else if (!gptCircuitBreaker.allowRequest()) {
+                fallbackReason = FALLBACK_CIRCUIT_OPEN;
+            } else {
+                // SLO 안에 응답이 없으면 로컬 추천으로 응답 (GPT 호출은 계속 진행되어 완료 시 캐시에 저장)
+                CompletableFuture<RecommendationResponse> future = recommendationExecutor.supplyAccepted(
+                        () -> callGptShared(cacheKey, quiz, userPreference, promptVersion));
+                try {
+                    result = future.get(fallback.getSloMillis(), TimeUnit.MILLISECONDS);
+                } catch (TimeoutException e) {
+                    // 계속 진행되는 GPT 호출도 동시 처리 한도에 포함되도록 완료 시점에 자리 반환
+                    permit.releaseOnCompletion(future);
+                    fallbackReason = FALLBACK_SLOW;
+                } catch (ExecutionException e) {
+                    if (!(e.getCause() instanceof GptApiException) && !(e.getCause() instanceof GptParsingException)) {
+                        throw e.getCause() instanceof RuntimeException runtimeException
+                                ? runtimeException : new CompletionException(e.getCause());
+                    }
+                    fallbackReason = FALLBACK_ERROR;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    permit.releaseOnCompletion(future);
+                    fallbackReason = FALLBACK_ERROR;
+                }
+            }
+        } else {
+            log.info("[GPT 추천] 캐시 적중 - promptVersion: {}", promptVersion);
+        }
 
-        // 1. 캐시된 추천 결과 조회 (없으면 GPT API 호출)
-        RecommendationResponse result = getRecommendationFromCache(userId, quiz, userPreference, promptVersion);
+        // 1-1. GPT 지연/장애 시 로컬 추천으로 대체 (GPT 사용량/프롬프트 실험 집계에서 제외)
+        if (fallbackReason != null) {
+            log.warn("[GPT 추천] 로컬 추천으로 대체 - reason: {}", fallbackReason);
+            result = localFallbackRecommender.recommend(quiz, userPreference, fallbackReason);
+        }
+        PromptVersion savedPromptVersion = fallbackReason == null ? promptVersion : null;
 
         // 2. 가격 정보 추가
         enrichPriceInfo(result);
 
         // 3. DB에 저장하고 recommendationId 세팅
-        Long recommendationId = saveRecommendationResult(userId, quiz, result, promptVersion);
+        Long recommendationId = saveRecommendationResult(userId, quiz, result, savedPromptVersion);
         result.setRecommendationId(recommendationId);
+        if (savedPromptVersion != null) {
+            permit.commitUsage();
+        }
 
         return result;
     }
 
-    @Cacheable(value = "gptRecommendations", key = "#userId + '_' + #quiz.hashCode() + '_' + (#userPreference != null ? #userPreference.id : 'no-pref') + '_' + #promptVersion.name()")
-    public RecommendationResponse getRecommendationFromCache(Long userId, QuizRequest quiz, UserPreference userPreference, PromptVersion promptVersion) {
+    /**
+     * GPT 호출 (같은 키로 진행 중인 호출이 있으면 그 결과를 함께 사용)
+     * 실패와 SLO 초과 응답은 회로 차단기에 실패로 기록한다.
+     */
+    private RecommendationResponse callGptShared(String cacheKey, QuizRequest quiz, UserPreference userPreference,
+                                                 PromptVersion promptVersion) {
+        return recommendationSingleFlight.call(cacheKey, () -> {
+            long startedAtNs = System.nanoTime();
+            RecommendationResponse generated;
+            try {
+                generated = generateRecommendation(quiz, userPreference, promptVersion);
+            } catch (RuntimeException e) {
+                gptCircuitBreaker.recordFailure();
+                throw e;
+            }
+            long elapsedMs = (System.nanoTime() - startedAtNs) / 1_000_000;
+            if (elapsedMs > recommendationProperties.getFallback().getSloMillis()) {
+                gptCircuitBreaker.recordFailure();
+            } else {
+                gptCircuitBreaker.recordSuccess();
+            }
+            recommendationCache.put(cacheKey, generated);
+            return generated;
+        });
+    }
+
+    private RecommendationResponse generateRecommendation(QuizRequest quiz, UserPreference userPreference, PromptVersion promptVersion) {
         // 1. 프롬프트 생성
-        String prompt = buildPrompt(quiz, userPreference);
+        String prompt = recommendationPromptBuilder.build(quiz, userPreference, promptVersion);
         log.debug("[GPT 추천] 프롬프트 미리보기: {}...", prompt.substring(0, Math.min(500, prompt.length())));
 
         // 2. GPT API 호출
@@ -122,125 +188,173 @@ public class GPTRecommendationService {
      * SSE를 통한 스트리밍 추천 (실시간 타이핑 효과)
      */
     public SseEmitter getRecommendationsStream(Long userId, QuizRequest quiz) {
-        // SSE Emitter 생성 (타임아웃 2분)
+        // 수락 제어 - 거절은 SSE 시작 전에 429로 응답
+        RecommendationAdmission.Permit permit = recommendationAdmission.acquire(userId);
+
+        // SSE Emitter 생성 (타임아웃 2분) - 어떤 이유로든 종료되면 자리 반환
         SseEmitter emitter = new SseEmitter(120_000L);
+        emitter.onCompletion(permit::release);
 
         // Reactor 구독 추적 (클라이언트 연결 끊김 시 스트림 취소용)
         AtomicReference<Disposable> disposableRef = new AtomicReference<>();
 
-        // 비동기 처리
-        executorService.execute(() -> {
-            try {
-                // 1. 사용자 성향 데이터 조회
-                UserPreference userPreference = userPreferenceRepository.findFirstByUserIdOrderByCreatedAtDesc(userId).orElse(null);
-
-                // 2. 프롬프트 버전 선택
-                PromptVersion promptVersion = PromptVersion.random();
-
-                // 3. 프롬프트 생성
-                String prompt = buildPrompt(quiz, userPreference);
-                log.debug("[GPT 스트리밍] 프롬프트 미리보기: {}...", prompt.substring(0, Math.min(500, prompt.length())));
-                String systemPrompt = promptVersion.getSystemPrompt();
-
-                List<Message> messages = List.of(
-                        new SystemMessage(systemPrompt),
-                        new UserMessage(prompt)
-                );
-
-                Prompt gptPrompt = new Prompt(messages);
-
-                // 4. GPT 스트리밍 호출
-                Flux<String> streamFlux = chatModel.stream(gptPrompt)
-                        .map(chatResponse -> {
-                            if (chatResponse.getResult() != null &&
-                                chatResponse.getResult().getOutput() != null &&
-                                chatResponse.getResult().getOutput().getText() != null) {
-                                return chatResponse.getResult().getOutput().getText();
-                            }
-                            return "";
-                        });
-
-                // 5. 전체 응답 누적용
-                StringBuilder fullResponse = new StringBuilder();
-
-                // 6. 각 청크를 SSE로 전송 (Disposable 추적)
-                Disposable disposable = streamFlux.subscribe(
-                        chunk -> {
-                            try {
-                                if (chunk != null && !chunk.isEmpty()) {
-                                    fullResponse.append(chunk);
-                                    emitter.send(SseEmitter.event()
-                                            .name("message")
-                                            .data(chunk));
-                                }
-                            } catch (IOException e) {
-                                emitter.completeWithError(e);
-                            }
-                        },
-                        error -> {
-                            try {
-                                emitter.send(SseEmitter.event()
-                                        .name("error")
-                                        .data("GPT API 호출 실패: " + error.getMessage()));
-                            } catch (IOException e) {
-                                // ignore
-                            }
-                            emitter.completeWithError(error);
-                        },
-                        () -> {
-                            // 완료 시 - DB 작업은 Reactor 스레드에서 블로킹하면 안 됨
-                            String responseText = fullResponse.toString();
-                            log.info("[스트리밍 완료] 전체 응답 길이: {}", responseText.length());
-
-                            executorService.execute(() -> {
+        // 비동기 처리 (동시 실행/대기 한도 초과 시 거절 - 요청 스레드에서 대신 실행하지 않음)
+        try {
+            recommendationExecutor.executeUntilReleased(release -> {
+                // 스트림을 구독하기 전에 끝나면 여기서, 구독 후에는 스트림 종료/취소 시 실행 자리 반환
+                boolean streaming = false;
+                try {
+                    // 1. 사용자 성향 데이터 조회
+                    UserPreference userPreference = userPreferenceRepository.findFirstByUserIdOrderByCreatedAtDesc(userId).orElse(null);
+
+                    // 2. 프롬프트 버전 선택 (실험 성과 기반 배분)
+                    PromptVersion promptVersion = promptExperimentService.choose();
+
+                    // 2-1. 공유 캐시 적중 시 GPT 호출 없이 결과만 전송
+                    String cacheKey = recommendationCache.keyOf(quiz, userPreference, promptVersion);
+                    RecommendationResponse cached = recommendationCache.find(cacheKey).orElse(null);
+                    if (cached != null) {
+                        log.info("[GPT 스트리밍] 캐시 적중 - promptVersion: {}", promptVersion);
+                        sendCompletedResult(emitter, userId, quiz, cached, promptVersion, true, permit);
+                        return;
+                    }
+
+                    // 2-2. 회로가 열려 있으면 GPT 호출 없이 로컬 추천 전송
+                    boolean fallbackEnabled = recommendationProperties.getFallback().isEnabled();
+                    if (fallbackEnabled && !gptCircuitBreaker.allowRequest()) {
+                        sendFallbackResult(emitter, userId, quiz, userPreference, FALLBACK_CIRCUIT_OPEN, permit);
+                        return;
+                    }
+
+                    // 3. 프롬프트 생성
+                    String prompt = recommendationPromptBuilder.build(quiz, userPreference, promptVersion);
+                    log.debug("[GPT 스트리밍] 프롬프트 미리보기: {}...", prompt.substring(0, Math.min(500, prompt.length())));
+                    String systemPrompt = promptVersion.getSystemPrompt();
+
+                    List<Message> messages = List.of(
+                            new SystemMessage(systemPrompt),
+                            new UserMessage(prompt)
+                    );
+
+                    Prompt gptPrompt = new Prompt(messages);
+
+                    // 4. GPT 스트리밍 호출 (같은 키로 진행 중인 스트림이 있으면 합류 - 지난 청크부터 재생)
+                    Flux<String> streamFlux = recommendationSingleFlight.stream(cacheKey, () -> {
+                        Flux<String> source = chatModel.stream(gptPrompt)
+                                .map(chatResponse -> {
+                                    if (chatResponse.getResult() != null &&
+                                        chatResponse.getResult().getOutput() != null &&
+                                        chatResponse.getResult().getOutput().getText() != null) {
+                                        return chatResponse.getResult().getOutput().getText();
+                                    }
+                                    return "";
+                                });
+                        if (fallbackEnabled) {
+                            // 첫 청크가 SLO 안에 오지 않으면 TimeoutException (이후 청크 간격은 제한하지 않음)
+                            source = source.timeout(
+                                    Mono.delay(Duration.ofMillis(recommendationProperties.getFallback().getSloMillis())),
+                                    chunk -> Mono.never());
+                        }
+                        // 모든 구독자가 떠나 취소되면 결과가 없으므로 시험 호출 자리만 반환
+                        return source
+                                .doOnComplete(gptCircuitBreaker::recordSuccess)
+                                .doOnError(error -> gptCircuitBreaker.recordFailure())
+                                .doOnCancel(gptCircuitBreaker::recordCancel);
+                    }).doFinally(signal -> release.run());
+
+                    // 5. 전체 응답 누적용 + 원소 단위 증분 파서 (가격 정보는 메모리 요약 캐시에서 보강)
+                    StringBuilder fullResponse = new StringBuilder();
+                    RecommendationItemStreamParser itemParser = new RecommendationItemStreamParser(objectMapper);
+
+                    // 6. 각 청크를 SSE로 전송 (Disposable 추적)
+                    Disposable disposable = streamFlux.subscribe(
+                            chunk -> {
                                 try {
-                                    String correctedJson = fixKoreanSpacing(responseText);
-                                    RecommendationResponse parsedResponse = parseResponse(correctedJson);
-                                    log.info("[GPT 스트리밍] 파싱된 추천 개수: {}", parsedResponse.getRecommendations().size());
-
-                                    enrichPriceInfo(parsedResponse);
-
-                                    Long recommendationId = saveRecommendationResult(userId, quiz, parsedResponse, promptVersion);
-                                    parsedResponse.setRecommendationId(recommendationId);
-
-                                    if (recommendationId != null) {
-                                        log.info("[GPT 스트리밍] DB 저장 완료, recommendationId: {}", recommendationId);
-                                    } else {
-                                        log.warn("[GPT 스트리밍] DB 저장 실패, recommendationId가 null");
+                                    if (chunk != null && !chunk.isEmpty()) {
+                                        fullResponse.append(chunk);
+                                        emitter.send(SseEmitter.event()
+                                                .name("message")
+                                                .data(chunk));
+
+                                        // 완성된 추천 원소는 전체 응답을 기다리지 않고 바로 전송
+                                        for (RecommendationItem item : itemParser.feed(chunk)) {
+                                            servicePriceSummaryCache.applyTo(item);
+                                            sendItem(emitter, item);
+                                        }
                                     }
-
-                                    String enrichedJson = objectMapper.writeValueAsString(parsedResponse);
-
-                                    emitter.send(SseEmitter.event()
-                                            .name("result")
-                                            .data(enrichedJson));
-
-                                    emitter.send(SseEmitter.event()
-                                            .name("done")
-                                            .data("complete"));
-
-                                    emitter.complete();
-                                } catch (Exception e) {
-                                    log.error("[스트리밍 완료 에러]", e);
+                                } catch (IOException e) {
                                     emitter.completeWithError(e);
                                 }
-                            });
-                        }
-                );
-
-                disposableRef.set(disposable);
-
-            } catch (Exception e) {
-                try {
-                    emitter.send(SseEmitter.event()
-                            .name("error")
-                            .data("추천 생성 실패: " + e.getMessage()));
-                } catch (IOException ioException) {
-                    // ignore
+                            },
+                            error -> {
+                                // 아직 아무 청크도 보내지 않았으면 로컬 추천으로 대체 (DB 저장은 Reactor 스레드 밖에서)
+                                if (fallbackEnabled && fullResponse.length() == 0) {
+                                    String reason = error instanceof TimeoutException ? FALLBACK_SLOW : FALLBACK_ERROR;
+                                    recommendationExecutor.continueWith(
+                                            () -> sendFallbackResult(emitter, userId, quiz, userPreference, reason, permit));
+                                    return;
+                                }
+                                try {
+                                    emitter.send(SseEmitter.event()
+                                            .name("error")
+                                            .data("GPT API 호출 실패: " + error.getMessage()));
+                                } catch (IOException e) {
+                                    // ignore
+                                }
+                                emitter.completeWithError(error);
+                            },
+                            () -> {
+                                // 완료 시 - DB 작업은 Reactor 스레드에서 블로킹하면 안 됨
+                                String responseText = fullResponse.toString();
+                                log.info("[스트리밍 완료] 전체 응답 길이: {}", responseText.length());
+
+                                recommendationExecutor.continueWith(() -> {
+                                    try {
+                                        String correctedJson = fixKoreanSpacing(responseText);
+                                        RecommendationResponse parsedResponse = parseResponse(correctedJson);
+                                        log.info("[GPT 스트리밍] 파싱된 추천 개수: {}", parsedResponse.getRecommendations().size());
+
+                                        recommendationCache.put(cacheKey, parsedResponse);
+                                        sendCompletedResult(emitter, userId, quiz, parsedResponse, promptVersion, false, permit);
+                                    } catch (Exception e) {
+                                        log.error("[스트리밍 완료 에러]", e);
+                                        emitter.completeWithError(e);
+                                    }
+                                });
+                            }
+                    );
+
+                    streaming = true;
+                    disposableRef.set(disposable);
+
+                } catch (Exception e) {
+                    try {
+                        emitter.send(SseEmitter.event()
+                                .name("error")
+                                .data("추천 생성 실패: " + e.getMessage()));
+                    } catch (IOException ioException) {
+                        // ignore
+                    }
+                    emitter.completeWithError(e);
+                } finally {
+                    if (!streaming) {
+                        release.run();
+                    }
                 }
-                emitter.completeWithError(e);
+            });
+        } catch (RejectedExecutionException e) {
+            permit.release();
+            log.warn("[GPT 스트리밍] 실행 한도 초과로 요청 거절");
+            try {
+                emitter.send(SseEmitter.event()
+                        .name("error")
+                        .data("요청이 많아 추천을 시작하지 못했습니다. 잠시 후 다시 시도해주세요."));
+            } catch (IOException ioException) {
+                // ignore
             }
-        });
+            emitter.complete();
+            return emitter;
+        }
 
         // 타임아웃/에러 시 Reactor 스트림도 취소 (GPT 호출 중단)
         emitter.onTimeout(() -> {
@@ -264,162 +378,122 @@ public class GPTRecommendationService {
         return emitter;
     }
 
-    @Transactional(readOnly = true)
-    public List<RecommendationResult> getRecommendationHistory(Long userId) {
-        return recommendationResultRepository.findTop5ByUser_IdOrderByCreatedAtDesc(userId);
-    }
+    /**
+     * 가격 보강 → DB 저장 → result/done 이벤트 전송 후 스트림 종료
+     * (캐시 적중처럼 스트리밍을 거치지 않은 경우 item 이벤트도 함께 전송)
+     * promptVersion이 null이면 로컬 추천이므로 GPT 사용량을 확정하지 않는다 (선점분은 release 시 반환).
+     */
+    private void sendCompletedResult(SseEmitter emitter, Long userId, QuizRequest quiz,
+                                     RecommendationResponse response, PromptVersion promptVersion,
+                                     boolean sendItems, RecommendationAdmission.Permit permit) throws IOException {
+        enrichPriceInfo(response);
+        if (promptVersion != null) {
+            permit.commitUsage();
+        }
 
-    @Transactional
-    public void saveFeedback(Long recommendationId, Long userId, Boolean isHelpful, String comment) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException(userId));
+        if (sendItems && response.getRecommendations() != null) {
+            for (RecommendationItem item : response.getRecommendations()) {
+                sendItem(emitter, item);
+            }
+        }
 
-        RecommendationResult recommendationResult = recommendationResultRepository.findById(recommendationId)
-                .orElseThrow(() -> new RecommendationNotFoundException(recommendationId));
+        Long recommendationId = saveRecommendationResult(userId, quiz, response, promptVersion);
+        response.setRecommendationId(recommendationId);
 
-        if (!recommendationResult.getUser().getId().equals(userId)) {
-            throw new UnauthorizedAccessException("해당 추천 결과에 대한 피드백 권한이 없습니다.");
+        if (recommendationId != null) {
+            log.info("[GPT 스트리밍] DB 저장 완료, recommendationId: {}", recommendationId);
+        } else {
+            log.warn("[GPT 스트리밍] DB 저장 실패, recommendationId가 null");
         }
 
-        // 이미 피드백을 남긴 경우 업데이트
-        RecommendationFeedback feedback = recommendationFeedbackRepository
-                .findByRecommendationResult_IdAndUser_Id(recommendationId, userId)
-                .orElse(null);
-
-        if (feedback == null) {
-            feedback = RecommendationFeedback.builder()
-                    .recommendationResult(recommendationResult)
-                    .user(user)
-                    .isHelpful(isHelpful)
-                    .comment(comment)
-                    .build();
-        }
+        String enrichedJson = objectMapper.writeValueAsString(response);
 
-        recommendationFeedbackRepository.save(feedback);
-    }
+        emitter.send(SseEmitter.event()
+                .name("result")
+                .data(enrichedJson));
 
-    /**
-     * 추천 결과 클릭 추적
-     * (프론트엔드에서 사용자가 추천 서비스를 클릭했을 때 호출)
-     */
-    @Transactional
-    public void trackClick(Long recommendationId, Long userId, Long serviceId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException(userId));
+        emitter.send(SseEmitter.event()
+                .name("done")
+                .data("complete"));
 
-        RecommendationResult recommendationResult = recommendationResultRepository.findById(recommendationId)
-                .orElseThrow(() -> new RecommendationNotFoundException(recommendationId));
+        emitter.complete();
+    }
 
-        if (!recommendationResult.getUser().getId().equals(userId)) {
-            throw new UnauthorizedAccessException("해당 추천 결과에 대한 클릭 기록 권한이 없습니다.");
+    private void sendFallbackResult(SseEmitter emitter, Long userId, QuizRequest quiz,
+                                    UserPreference userPreference, String reason,
+                                    RecommendationAdmission.Permit permit) {
+        log.warn("[GPT 스트리밍] 로컬 추천으로 대체 - reason: {}", reason);
+        try {
+            RecommendationResponse fallback = localFallbackRecommender.recommend(quiz, userPreference, reason);
+            sendCompletedResult(emitter, userId, quiz, fallback, null, true, permit);
+        } catch (Exception e) {
+            log.error("[GPT 스트리밍] 로컬 추천 전송 실패", e);
+            emitter.completeWithError(e);
         }
+    }
 
-        ServiceEntity service = serviceRepository.findById(serviceId)
-                .orElseThrow(() -> new ServiceNotFoundException(serviceId));
-
-        RecommendationClick click = RecommendationClick.builder()
-                .recommendationResult(recommendationResult)
-                .user(user)
-                .service(service)
-                .build();
+    private void sendItem(SseEmitter emitter, RecommendationItem item) throws IOException {
+        emitter.send(SseEmitter.event()
+                .name("item")
+                .data(objectMapper.writeValueAsString(item)));
+    }
 
-        recommendationClickRepository.save(click);
+    @Transactional(readOnly = true)
+    public List<RecommendationResult> getRecommendationHistory(Long userId) {
+        return recommendationResultRepository.findTop5ByUser_IdOrderByCreatedAtDesc(userId);
     }
 
-    private List<ServiceEntity> getCachedServiceList() {
-        long now = System.currentTimeMillis();
-        if (cachedServiceList == null || now - serviceListCacheTime > SERVICE_LIST_CACHE_TTL_MS) {
-            cachedServiceList = serviceRepository.findAll();
-            serviceListCacheTime = now;
+    /**
+     * 피드백 저장 (권한 확인 후 write-behind 큐에 적재)
+     */
+    @Transactional(readOnly = true)
+    public void saveFeedback(Long recommendationId, Long userId, Boolean isHelpful, String comment) {
+        if (!userRepository.existsById(userId)) {
+            throw new UserNotFoundException(userId);
         }
-        return cachedServiceList;
+        PromptVersion promptVersion = checkOwnership(recommendationId, userId, "해당 추천 결과에 대한 피드백 권한이 없습니다.");
+
+        // 이미 피드백을 남긴 경우 기존 피드백 유지 (저장 시 중복 제외)
+        recommendationWriteBehind.enqueueFeedback(recommendationId, userId, isHelpful, comment);
+        promptExperimentService.recordFeedback(promptVersion, isHelpful);
     }
 
-    private String buildPrompt(QuizRequest quiz, UserPreference userPreference) {
-        List<ServiceEntity> services = getCachedServiceList();
-
-        StringBuilder serviceList = new StringBuilder();
-        for (int i = 0; i < services.size(); i++) {
-            ServiceEntity service = services.get(i);
-            serviceList.append(String.format("%d. [ID: %d] %s - %s - %s\n",
-                    i + 1,
-                    service.getId(),
-                    service.getServiceName(),
-                    service.getCategory(),
-                    service.getDescription() != null ? service.getDescription() : "서비스 설명 없음"
-            ));
+    /**
+     * 추천 결과 클릭 추적
+     * (프론트엔드에서 사용자가 추천 서비스를 클릭했을 때 호출)
+     */
+    @Transactional(readOnly = true)
+    public void trackClick(Long recommendationId, Long userId, Long serviceId) {
+        if (!userRepository.existsById(userId)) {
+            throw new UserNotFoundException(userId);
         }
+        PromptVersion promptVersion = checkOwnership(recommendationId, userId, "해당 추천 결과에 대한 클릭 기록 권한이 없습니다.");
 
-        // 성향 데이터 섹션 생성
-        StringBuilder preferenceSection = new StringBuilder();
-        if (userPreference != null) {
-            preferenceSection.append("\n사용자 성향 프로필:\n");
-            preferenceSection.append(String.format("- 프로필 타입: %s (%s)\n",
-                userPreference.getProfileType().name(),
-                userPreference.getProfileType().getDisplayName()));
-            preferenceSection.append(String.format("- 콘텐츠 소비 점수: %d/100\n", userPreference.getContentScore()));
-            preferenceSection.append(String.format("- 가성비 선호 점수: %d/100\n", userPreference.getPriceSensitivityScore()));
-            preferenceSection.append(String.format("- 건강 관심 점수: %d/100\n", userPreference.getHealthScore()));
-            preferenceSection.append(String.format("- 자기계발 점수: %d/100\n", userPreference.getSelfDevelopmentScore()));
-            preferenceSection.append(String.format("- 디지털 도구 점수: %d/100\n", userPreference.getDigitalToolScore()));
-
-            if (userPreference.getInterestedCategories() != null) {
-                preferenceSection.append(String.format("- 관심 카테고리: %s\n", userPreference.getInterestedCategories()));
-            }
-            if (userPreference.getBudgetRange() != null) {
-                preferenceSection.append(String.format("- 예산 범위: %s\n", userPreference.getBudgetRange()));
-            }
-
-            preferenceSection.append("\n위 성향 데이터를 적극 활용하여 사용자에게 가장 적합한 서비스를 추천해주세요.\n");
+        if (!serviceRepository.existsById(serviceId)) {
+            throw new ServiceNotFoundException(serviceId);
         }
 
-        return String.format("""
-            사용자 입력:
-            - 관심 분야: %s
-            - 월 예산: %,d원
-            - 사용 목적: %s
-            - 중요도: %s
-            %s
-            사용 가능한 서비스 목록:
-            %s
-
-            상위 3-5개 서비스를 JSON 형식으로 추천해주세요.
-
-            중요: JSON만 응답하세요. 마크다운 코드블록(```)이나 설명 텍스트를 포함하지 마세요.
-            반드시 아래 출력 형식을 따라주세요.
-            한글 문장(mainReason, pros, cons, tip, summary, alternatives)은 올바른 띄어쓰기를 적용하세요.
-
-            출력 형식:
-            {
-              "recommendations": [
-                {
-                  "serviceId": 숫자 (필수: 위 서비스 목록의 [ID: X] 값을 정확히 사용),
-                  "serviceName": "서비스명",
-                  "score": 0-100 점수,
-                  "mainReason": "추천 이유",
-                  "pros": ["장점1", "장점2", "장점3"],
-                  "cons": ["단점1", "단점2"],
-                  "tip": "실용적인 팁"
-                }
-              ],
-              "summary": "전체 요약",
-              "alternatives": "대안 제안"
-            }
+        recommendationWriteBehind.enqueueClick(recommendationId, userId, serviceId);
+        promptExperimentService.recordClick(promptVersion);
+    }
 
-            중요: serviceId는 반드시 위 서비스 목록의 [ID: X] 값을 정확하게 사용하세요.
-
-            한글 띄어쓰기 규칙 (반드시 준수):
-            ❌ 잘못된 예: "구글드라이브는클라우드저장소와파일공유가매우유용하며업무효율성을높일수있습니다"
-            ✅ 올바른 예: "구글드라이브는 클라우드 저장소와 파일 공유가 매우 유용하며 업무 효율성을 높일 수 있습니다"
-            모든 한글 값(mainReason, pros, cons, tip, summary, alternatives)에 적용하세요.
-            """,
-                String.join(", ", quiz.getInterests()),
-                quiz.getBudget(),
-                quiz.getPurposeLabel(),
-                quiz.getPrioritiesFormatted(),
-                preferenceSection.toString(),
-                serviceList.toString()
-        );
+    // 아직 저장 대기 중인 결과는 메모리에서, 그 외에는 user_id/prompt_version만 조회해 소유자 확인
+    private PromptVersion checkOwnership(Long recommendationId, Long userId, String message) {
+        Long ownerId = recommendationWriteBehind.findPendingOwner(recommendationId);
+        PromptVersion promptVersion;
+        if (ownerId != null) {
+            promptVersion = recommendationWriteBehind.findPendingPromptVersion(recommendationId);
+        } else {
+            RecommendationResultRepository.OwnerAndPromptVersion owner = recommendationResultRepository
+                    .findOwnerAndPromptVersionById(recommendationId)
+                    .orElseThrow(() -> new RecommendationNotFoundException(recommendationId));
+            ownerId = owner.getUserId();
+            promptVersion = owner.getPromptVersion();
+        }
+        if (!ownerId.equals(userId)) {
+            throw new UnauthorizedAccessException(message);
+        }
+        return promptVersion;
     }
 
     private String callGPTAPI(String prompt, PromptVersion promptVersion) {
@@ -481,28 +555,18 @@ public class GPTRecommendationService {
     }
 
     /**
-     * 추천 결과를 DB에 저장하고 저장된 ID를 반환
-     * @return 저장된 RecommendationResult의 ID (저장 실패 시 null)
+     * 추천 결과 저장을 예약하고 선할당된 ID를 반환 (실제 insert는 write-behind)
+     * @return RecommendationResult의 ID (직렬화 실패 시 null)
      */
     private Long saveRecommendationResult(Long userId, QuizRequest quiz, RecommendationResponse result, PromptVersion promptVersion) {
         try {
-            User user = userRepository.findById(userId)
-                    .orElseThrow(() -> new UserNotFoundException(userId));
-
+            // 응답 객체는 이후에도 변경되므로 지금 시점의 내용을 직렬화해 적재
             String quizJson = objectMapper.writeValueAsString(quiz);
             String resultJson = objectMapper.writeValueAsString(result);
 
-            RecommendationResult entity = RecommendationResult.builder()
-                    .user(user)
-                    .quizData(quizJson)
-                    .resultData(resultJson)
-                    .promptVersion(promptVersion) // A/B 테스트용 프롬프트 버전 저장
-                    .build();
-
-            RecommendationResult saved = recommendationResultRepository.save(entity);
-            return saved.getId();
-        } catch (UserNotFoundException e) {
-            throw e;
+            Long recommendationId = recommendationWriteBehind.enqueueResult(userId, quizJson, resultJson, promptVersion);
+            promptExperimentService.recordImpression(promptVersion);
+            return recommendationId;
         } catch (Exception e) {
             log.error("[추천 결과 저장 실패]", e);
             return null;
@@ -510,66 +574,15 @@ public class GPTRecommendationService {
     }
 
     /**
-     * 추천 결과에 가격 정보 추가 (배치 쿼리로 N+1 방지)
+     * 추천 결과에 가격 정보 추가 (서비스별 가격 요약 캐시 조회만 수행)
      */
     private void enrichPriceInfo(RecommendationResponse response) {
-        if (response.getRecommendations() == null || response.getRecommendations().isEmpty()) {
+        if (response.getRecommendations() == null) {
             return;
         }
 
-        // 모든 serviceId를 한 번에 수집하여 배치 쿼리
-        List<Long> serviceIds = response.getRecommendations().stream()
-                .map(com.project.subing.dto.recommendation.RecommendationItem::getServiceId)
-                .filter(id -> id != null)
-                .collect(Collectors.toList());
-
-        if (serviceIds.isEmpty()) {
-            return;
-        }
-
-        // 1번의 쿼리로 모든 플랜 조회
-        Map<Long, List<SubscriptionPlan>> plansByServiceId = subscriptionPlanRepository
-                .findByServiceIdIn(serviceIds).stream()
-                .collect(Collectors.groupingBy(plan -> plan.getService().getId()));
-
-        for (com.project.subing.dto.recommendation.RecommendationItem item : response.getRecommendations()) {
-            if (item.getServiceId() == null) {
-                continue;
-            }
-
-            List<SubscriptionPlan> plans = plansByServiceId.getOrDefault(item.getServiceId(), List.of());
-            if (plans.isEmpty()) {
-                continue;
-            }
-
-            boolean hasFreePlan = false;
-            int minPrice = 0;
-            int maxPrice = 0;
-            for (SubscriptionPlan plan : plans) {
-                Integer price = plan.getMonthlyPrice();
-                if (price == null) continue;
-                if (price == 0) {
-                    hasFreePlan = true;
-                } else {
-                    if (minPrice == 0 || price < minPrice) minPrice = price;
-                    if (price > maxPrice) maxPrice = price;
-                }
-            }
-
-            String priceRange;
-            if (hasFreePlan && minPrice > 0) {
-                priceRange = String.format("무료 ~ ₩%,d/월", maxPrice);
-            } else if (hasFreePlan) {
-                priceRange = "무료";
-            } else if (minPrice == maxPrice) {
-                priceRange = String.format("₩%,d/월", minPrice);
-            } else {
-                priceRange = String.format("₩%,d ~ ₩%,d/월", minPrice, maxPrice);
-            }
-
-            item.setMinPrice(minPrice > 0 ? minPrice : null);
-            item.setHasFreePlan(hasFreePlan);
-            item.setPriceRange(priceRange);
+        for (RecommendationItem item : response.getRecommendations()) {
+            servicePriceSummaryCache.applyTo(item);
         }
     }
 }
@@ -0,0 +1,120 @@
+package com.project.subing.service;
+
+import com.project.subing.config.RecommendationProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * GPT 호출 회로 차단기
+ *
+ * 연속 실패(SLO 초과 포함)가 failureThreshold에 도달하면 openDurationSeconds 동안 회로를 열어
+ * GPT를 호출하지 않고 바로 로컬 추천으로 응답하게 한다.
+ * 열린 시간이 지나면 시험 호출 1건만 허용하고, 성공하면 닫고 실패하면 다시 연다.
+ * 시험 호출이 결과 없이 끝나면(스트림 취소) 자리를 반환하고, trialTimeoutMillis 안에 결과가 없으면
+ * 유실된 것으로 보고 새 시험 호출을 허용한다 (시험 상태에 영구히 머무르지 않도록).
+ */
+@Slf4j
+@Component
+public class GptCircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private static final long NO_TRIAL = 0;
+
+    private final int failureThreshold;
+    private final long openDurationMillis;
+    private final long trialTimeoutMillis;
+    private final LongSupplier clock;
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    // 진행 중인 시험 호출의 시작 시각 (없으면 NO_TRIAL)
+    private final AtomicLong trialStartedAtMillis = new AtomicLong(NO_TRIAL);
+    private volatile long openUntilMillis;
+    private volatile State state = State.CLOSED;
+
+    public GptCircuitBreaker(RecommendationProperties recommendationProperties, MeterRegistry meterRegistry) {
+        this(recommendationProperties, meterRegistry, System::currentTimeMillis);
+    }
+
+    GptCircuitBreaker(RecommendationProperties recommendationProperties, MeterRegistry meterRegistry, LongSupplier clock) {
+        RecommendationProperties.Fallback properties = recommendationProperties.getFallback();
+        this.failureThreshold = Math.max(1, properties.getFailureThreshold());
+        this.openDurationMillis = Math.max(1, properties.getOpenDurationSeconds()) * 1000L;
+        this.trialTimeoutMillis = Math.max(1, properties.getTrialTimeoutMillis());
+        this.clock = clock;
+
+        Gauge.builder("recommendation.gpt.circuit.open", this, breaker -> breaker.state == State.CLOSED ? 0 : 1)
+                .description("GPT 호출 회로 열림 여부 (1: 열림/시험 중)")
+                .register(meterRegistry);
+    }
+
+    /**
+     * GPT 호출 가능 여부 (열린 상태면 false, 시험 상태에서는 1건만 true)
+     */
+    public boolean allowRequest() {
+        State current = state;
+        if (current == State.CLOSED) {
+            return true;
+        }
+        long now = clock.getAsLong();
+        if (current == State.OPEN && now < openUntilMillis) {
+            return false;
+        }
+        // 열린 시간이 지났으면 시험 호출 1건만 통과 (진행 중인 시험이 시간을 넘겼으면 새 시험으로 교체)
+        long trialStartedAt = trialStartedAtMillis.get();
+        if (trialStartedAt != NO_TRIAL && now - trialStartedAt < trialTimeoutMillis) {
+            return false;
+        }
+        if (trialStartedAtMillis.compareAndSet(trialStartedAt, now)) {
+            if (trialStartedAt != NO_TRIAL) {
+                log.warn("[GPT 회로] 시험 호출이 {}ms 안에 끝나지 않음 - 새 시험 호출 허용", trialTimeoutMillis);
+            }
+            state = State.HALF_OPEN;
+            return true;
+        }
+        return false;
+    }
+
+    public void recordSuccess() {
+        consecutiveFailures.set(0);
+        if (state != State.CLOSED) {
+            state = State.CLOSED;
+            trialStartedAtMillis.set(NO_TRIAL);
+            log.info("[GPT 회로] 시험 호출 성공 - 회로 닫힘");
+        }
+    }
+
+    /**
+     * 결과 없이 끝난 호출 (스트림 취소 등) - 성공/실패로 보지 않고 시험 자리만 반환
+     */
+    public void recordCancel() {
+        if (state == State.HALF_OPEN) {
+            trialStartedAtMillis.set(NO_TRIAL);
+        }
+    }
+
+    public void recordFailure() {
+        int failures = consecutiveFailures.incrementAndGet();
+        if (state == State.HALF_OPEN || failures >= failureThreshold) {
+            boolean wasClosed = state == State.CLOSED;
+            openUntilMillis = clock.getAsLong() + openDurationMillis;
+            state = State.OPEN;
+            trialStartedAtMillis.set(NO_TRIAL);
+            if (wasClosed) {
+                log.warn("[GPT 회로] 연속 실패 {}회 - {}ms 동안 회로 열림", failures, openDurationMillis);
+            }
+        }
+    }
+
+    public State getState() {
+        return state;
+    }
+}
@@ -0,0 +1,367 @@
+package com.project.subing.service;
+
+import com.project.subing.config.RecommendationProperties;
+import com.project.subing.domain.common.ServiceCategory;
+import com.project.subing.domain.preference.entity.UserPreference;
+import com.project.subing.domain.service.entity.ServiceEntity;
+import com.project.subing.dto.recommendation.PriorityDto;
+import com.project.subing.dto.recommendation.QuizRequest;
+import com.project.subing.dto.recommendation.RecommendationItem;
+import com.project.subing.dto.recommendation.RecommendationResponse;
+import com.project.subing.repository.ServiceRepository;
+import com.project.subing.repository.ServiceReviewRepository;
+import com.project.subing.service.event.CatalogChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * GPT 지연/장애 시 사용하는 로컬 추천기 (네트워크 호출 없음)
+ *
+ * 관심 분야 ↔ 카테고리 일치, 성향 점수, 예산 대비 요금(ServicePriceSummaryCache), 리뷰 평균 평점으로
+ * 서비스별 점수를 매겨 상위 maxItems개를 GPT 응답과 같은 RecommendationResponse 형태로 만든다.
+ * 서비스 목록과 평점은 메모리 스냅샷을 사용한다. 스냅샷은 기동 완료 시 구축하고, 카탈로그 변경 커밋 후와
+ * 평점 갱신 주기(fallback.ratingRefreshMillis, LocalFallbackRecommenderScheduler)마다 요청 경로 밖에서 다시 만든다.
+ * 따라서 요청 시점에는 DB 조회 없이 수 ms 안에 응답한다. 같은 입력이면 항상 같은 결과를 낸다.
+ */
+@Slf4j
+@Component
+public class LocalFallbackRecommender {
+
+    // 점수 배점 (합계 100)
+    private static final double INTEREST_WEIGHT = 35;
+    private static final double AFFINITY_WEIGHT = 15;
+    private static final double BUDGET_WEIGHT = 30;
+    private static final double RATING_WEIGHT = 20;
+
+    // 리뷰가 적은 서비스의 평점 보정 (사전 평균 3.5점, 리뷰 5건 가중)
+    private static final double RATING_PRIOR_MEAN = 3.5;
+    private static final double RATING_PRIOR_COUNT = 5;
+
+    private static final String SUMMARY = "AI 추천 응답이 지연되어 관심 분야, 예산, 이용자 평점을 기준으로 먼저 골라 드린 추천입니다.";
+
+    private final ServiceRepository serviceRepository;
+    private final ServiceReviewRepository serviceReviewRepository;
+    private final ServicePriceSummaryCache servicePriceSummaryCache;
+    private final int maxItems;
+    // AFTER_COMMIT/스케줄러 스레드에서도 세션이 분리되도록 새 트랜잭션에서 조회
+    private final TransactionTemplate rebuildTransaction;
+
+    private volatile Snapshot snapshot;
+    private final Map<String, Counter> servedCounters = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public LocalFallbackRecommender(ServiceRepository serviceRepository,
+                                    ServiceReviewRepository serviceReviewRepository,
+                                    ServicePriceSummaryCache servicePriceSummaryCache,
+                                    RecommendationProperties recommendationProperties,
+                                    MeterRegistry meterRegistry,
+                                    TransactionTemplate transactionTemplate) {
+        this.serviceRepository = serviceRepository;
+        this.serviceReviewRepository = serviceReviewRepository;
+        this.servicePriceSummaryCache = servicePriceSummaryCache;
+        this.maxItems = Math.max(1, recommendationProperties.getFallback().getMaxItems());
+        this.meterRegistry = meterRegistry;
+        this.rebuildTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.rebuildTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.rebuildTransaction.setReadOnly(true);
+    }
+
+    /**
+     * 로컬 추천 생성 (가격 정보는 호출 측에서 enrichPriceInfo로 보강)
+     * @param reason 메트릭 태그 (circuit_open, slow, error)
+     */
+    public RecommendationResponse recommend(QuizRequest quiz, UserPreference userPreference, String reason) {
+        servedCounters.computeIfAbsent(reason, tag -> Counter.builder("recommendation.fallback.served")
+                .tag("reason", tag)
+                .description("로컬 추천으로 대체 응답한 건수")
+                .register(meterRegistry)).increment();
+
+        Set<ServiceCategory> interests = RecommendationPromptBuilder.resolveCategories(quiz.getInterests());
+        int budget = quiz.getBudget() != null ? quiz.getBudget() : 0;
+        double priceWeight = Math.max(priorityWeight(quiz, "price", "가격", "가성비", "저렴"),
+                userPreference != null ? userPreference.getPriceSensitivityScore() / 100.0 : 0);
+        double qualityWeight = 0.6 + 0.4 * priorityWeight(quiz, "quality", "품질", "평점", "리뷰", "만족");
+
+        List<Scored> scored = new ArrayList<>();
+        for (Candidate candidate : snapshot().candidates) {
+            scored.add(score(candidate, interests, budget, priceWeight, qualityWeight, userPreference));
+        }
+        scored.sort(Comparator.comparingDouble((Scored s) -> s.score).reversed()
+                .thenComparing(s -> s.candidate.serviceId));
+
+        List<RecommendationItem> items = new ArrayList<>();
+        for (int i = 0; i < Math.min(maxItems, scored.size()); i++) {
+            items.add(toItem(scored.get(i), budget));
+        }
+
+        return RecommendationResponse.builder()
+                .recommendations(items)
+                .summary(SUMMARY)
+                .alternatives(alternatives(scored))
+                .build();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        rebuild();
+    }
+
+    /**
+     * 서비스 목록/평점 스냅샷 재구축 (평점 갱신 스케줄러용)
+     * 실패하면 기존 스냅샷을 유지하고 다음 주기에 다시 시도한다.
+     */
+    public void refresh() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.error("로컬 추천 후보 재구축 실패 - 기존 후보 유지", e);
+        }
+    }
+
+    /**
+     * 카탈로그 변경 커밋 후 즉시 재구축 (조회 경로에서 재구축하지 않음)
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        refresh();
+    }
+
+    private Scored score(Candidate candidate, Set<ServiceCategory> interests, int budget,
+                         double priceWeight, double qualityWeight, UserPreference userPreference) {
+        Scored scored = new Scored(candidate);
+
+        // 1. 관심 분야 일치
+        if (candidate.category != null && interests.contains(candidate.category)) {
+            scored.score += INTEREST_WEIGHT;
+            scored.interestMatched = true;
+        }
+
+        // 2. 성향 점수 (성향 데이터가 없으면 중간값)
+        double affinity = affinity(candidate.category, userPreference);
+        scored.score += AFFINITY_WEIGHT * affinity;
+        scored.affinityHigh = userPreference != null && affinity >= 0.7;
+
+        // 3. 예산 대비 최저 요금 (무료 플랜이 있으면 0원)
+        ServicePriceSummaryCache.ServicePriceSummary price = servicePriceSummaryCache.find(candidate.serviceId);
+        if (price == null) {
+            scored.score += BUDGET_WEIGHT * 0.3;
+        } else {
+            scored.hasFreePlan = price.isHasFreePlan();
+            int entryPrice = price.isHasFreePlan() || price.getMinPrice() == null ? 0 : price.getMinPrice();
+            scored.entryPrice = entryPrice;
+            if (budget <= 0) {
+                scored.score += BUDGET_WEIGHT * 0.3;
+            } else if (entryPrice <= budget) {
+                scored.withinBudget = true;
+                double headroom = 1.0 - (double) entryPrice / budget;
+                scored.score += BUDGET_WEIGHT * (0.6 + 0.4 * headroom * priceWeight);
+            } else {
+                double overRatio = Math.min(1.0, (double) (entryPrice - budget) / budget);
+                scored.score += BUDGET_WEIGHT * 0.3 * (1.0 - overRatio);
+            }
+        }
+
+        // 4. 리뷰 평균 평점 (리뷰 수가 적으면 사전 평균 쪽으로 보정)
+        double smoothed = (candidate.averageRating * candidate.reviewCount + RATING_PRIOR_MEAN * RATING_PRIOR_COUNT)
+                / (candidate.reviewCount + RATING_PRIOR_COUNT);
+        scored.score += RATING_WEIGHT * (smoothed / 5.0) * qualityWeight;
+
+        return scored;
+    }
+
+    // 카테고리별로 관련 있는 성향 점수 (0~1)
+    private static double affinity(ServiceCategory category, UserPreference preference) {
+        if (preference == null || category == null) {
+            return 0.5;
+        }
+        int score = switch (category) {
+            case OTT, MUSIC -> preference.getContentScore();
+            case NEWS_READING -> Math.max(preference.getContentScore(), preference.getSelfDevelopmentScore());
+            case AI, PRODUCTIVITY -> Math.max(preference.getDigitalToolScore(), preference.getSelfDevelopmentScore());
+            case CLOUD, DESIGN -> preference.getDigitalToolScore();
+            case LIFE -> preference.getHealthScore();
+            default -> 50;
+        };
+        return Math.max(0, Math.min(100, score)) / 100.0;
+    }
+
+    // 중요도 항목 중 키워드가 포함된 것의 순위 가중치 (1순위 1.0, 2순위 0.7, 3순위 0.4, 없으면 0)
+    private static double priorityWeight(QuizRequest quiz, String... keywords) {
+        if (quiz.getPriorities() == null) {
+            return 0;
+        }
+        double weight = 0;
+        for (PriorityDto priority : quiz.getPriorities()) {
+            String text = ((priority.getValue() != null ? priority.getValue() : "") + " "
+                    + (priority.getLabel() != null ? priority.getLabel() : "")).toLowerCase(Locale.ROOT);
+            for (String keyword : keywords) {
+                if (text.contains(keyword)) {
+                    int rank = priority.getRank() != null ? priority.getRank() : 3;
+                    weight = Math.max(weight, Math.max(0.4, 1.0 - 0.3 * (rank - 1)));
+                    break;
+                }
+            }
+        }
+        return weight;
+    }
+
+    private RecommendationItem toItem(Scored scored, int budget) {
+        Candidate candidate = scored.candidate;
+        String categoryName = candidate.category != null ? candidate.category.getDescription() : "기타";
+
+        List<String> reasons = new ArrayList<>();
+        List<String> pros = new ArrayList<>();
+        if (scored.interestMatched) {
+            reasons.add("관심 분야(" + categoryName + ")와 일치");
+            pros.add("관심 있는 " + categoryName + " 분야의 서비스예요");
+        }
+        if (scored.hasFreePlan) {
+            reasons.add("무료 플랜 제공");
+            pros.add("무료 플랜이 있어 부담 없이 시작할 수 있어요");
+        } else if (scored.withinBudget) {
+            reasons.add("월 예산 안에서 이용 가능");
+            pros.add(String.format("월 예산(₩%,d) 안에서 이용할 수 있어요", budget));
+        }
+        if (candidate.reviewCount > 0) {
+            reasons.add(String.format("이용자 평균 평점 %.1f점", candidate.averageRating));
+            pros.add(String.format("이용자 평균 평점이 %.1f점이에요", candidate.averageRating));
+        }
+        if (scored.affinityHigh) {
+            reasons.add("성향 프로필과 잘 맞음");
+            pros.add("성향 테스트 결과와 잘 맞는 서비스예요");
+        }
+        if (reasons.isEmpty()) {
+            reasons.add(categoryName + " 분야에서 조건에 가장 가까운 서비스");
+        }
+        if (pros.size() < 3 && candidate.description != null && !candidate.description.isBlank()) {
+            pros.add(candidate.description);
+        }
+
+        List<String> cons = new ArrayList<>();
+        if (!scored.withinBudget && !scored.hasFreePlan && scored.entryPrice > 0 && budget > 0) {
+            cons.add(String.format("최저 요금(₩%,d)이 월 예산을 넘어요", scored.entryPrice));
+        }
+        if (candidate.reviewCount < 3) {
+            cons.add("아직 이용자 리뷰가 많지 않아요");
+        }
+        if (cons.isEmpty()) {
+            cons.add("세부 요금제 조건은 공식 사이트에서 확인이 필요해요");
+        }
+
+        return RecommendationItem.builder()
+                .serviceId(candidate.serviceId)
+                .serviceName(candidate.serviceName)
+                .score((int) Math.round(Math.max(0, Math.min(100, scored.score))))
+                .mainReason(String.join(" · ", reasons))
+                .pros(pros.size() > 3 ? new ArrayList<>(pros.subList(0, 3)) : pros)
+                .cons(cons.size() > 2 ? new ArrayList<>(cons.subList(0, 2)) : cons)
+                .tip(scored.hasFreePlan
+                        ? "무료 플랜으로 먼저 사용해 본 뒤 유료 전환을 결정해 보세요."
+                        : "첫 달은 가장 저렴한 요금제로 시작해 실제 사용량을 확인해 보세요.")
+                .build();
+    }
+
+    private String alternatives(List<Scored> scored) {
+        if (scored.size() <= maxItems) {
+            return null;
+        }
+        List<String> names = new ArrayList<>();
+        for (int i = maxItems; i < Math.min(maxItems + 2, scored.size()); i++) {
+            names.add(scored.get(i).candidate.serviceName);
+        }
+        return String.join(", ", names) + "도 함께 고려해 볼 수 있어요.";
+    }
+
+    private Snapshot snapshot() {
+        Snapshot local = snapshot;
+        if (local != null) {
+            return local;
+        }
+        // 기동 완료 전 조회만 여기서 구축
+        synchronized (this) {
+            return snapshot != null ? snapshot : rebuild();
+        }
+    }
+
+    private synchronized Snapshot rebuild() {
+        Snapshot rebuilt = rebuildTransaction.execute(status -> build());
+        snapshot = rebuilt;
+        return rebuilt;
+    }
+
+    private Snapshot build() {
+        Map<Long, double[]> ratings = new HashMap<>();
+        for (Object[] row : serviceReviewRepository.findRatingSummaries()) {
+            Long serviceId = (Long) row[0];
+            double average = row[1] != null ? ((Number) row[1]).doubleValue() : 0;
+            long count = row[2] != null ? ((Number) row[2]).longValue() : 0;
+            ratings.put(serviceId, new double[]{average, count});
+        }
+
+        List<Candidate> candidates = new ArrayList<>();
+        for (ServiceEntity service : serviceRepository.findAll()) {
+            if (Boolean.FALSE.equals(service.getIsActive())) {
+                continue;
+            }
+            double[] rating = ratings.getOrDefault(service.getId(), new double[]{0, 0});
+            candidates.add(new Candidate(service.getId(), service.getServiceName(), service.getCategory(),
+                    service.getDescription(), rating[0], (long) rating[1]));
+        }
+
+        log.info("로컬 추천 후보 구축 완료 - 서비스 수: {}", candidates.size());
+        return new Snapshot(List.copyOf(candidates));
+    }
+
+    private static final class Snapshot {
+        private final List<Candidate> candidates;
+
+        private Snapshot(List<Candidate> candidates) {
+            this.candidates = candidates;
+        }
+    }
+
+    private static final class Candidate {
+        private final Long serviceId;
+        private final String serviceName;
+        private final ServiceCategory category;
+        private final String description;
+        private final double averageRating;
+        private final long reviewCount;
+
+        private Candidate(Long serviceId, String serviceName, ServiceCategory category, String description,
+                          double averageRating, long reviewCount) {
+            this.serviceId = serviceId;
+            this.serviceName = serviceName;
+            this.category = category;
+            this.description = description;
+            this.averageRating = averageRating;
+            this.reviewCount = reviewCount;
+        }
+    }
+
+    // 요청 1건 안에서만 쓰는 점수 계산 결과
+    private static final class Scored {
+        private final Candidate candidate;
+        private double score;
+        private boolean interestMatched;
+        private boolean affinityHigh;
+        private boolean hasFreePlan;
+        private boolean withinBudget;
+        private int entryPrice;
+
+        private Scored(Candidate candidate) {
+            this.candidate = candidate;
+        }
+    }
+}
@@ -0,0 +1,433 @@
+package com.project.subing.service;
+
+import com.project.subing.config.NotificationProperties;
+import com.project.subing.domain.budget.entity.Budget;
+import com.project.subing.domain.common.BillingCycle;
+import com.project.subing.domain.notification.entity.NotificationType;
+import com.project.subing.domain.scheduler.entity.SchedulerCheckpoint;
+import com.project.subing.domain.subscription.entity.UserSubscription;
+import com.project.subing.dto.notification.NotificationDraft;
+import com.project.subing.repository.BudgetRepository;
+import com.project.subing.repository.SchedulerCheckpointRepository;
+import com.project.subing.repository.UserSubscriptionRepository;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+/**
+ * 구독 알림 배치 (일일/주간)
+ *
+ * - 결제 예정/구독 갱신: 대상 날짜가 결제일(billing_date)인 활성 구독만 인덱스(is_active, billing_date)로 조회한다.
+ *   작업량은 전체 구독 수가 아니라 보낼 알림 수에 비례하며, 재실행되어도 중복 방지로 한 번만 생성된다.
+ * - 예산 초과: 이번 달 예산이 있는 사용자만 user_id 키셋 페이지(chunkSize명) 단위로 읽어 구독 합계와 비교한다.
+ * - 미사용 구독(주간): 활성 구독 보유 사용자를 user_id 키셋 페이지 단위로 읽어 처리한다.
+ * 청크 조회는 짧은 트랜잭션에서 끝나 영속성 컨텍스트가 청크마다 비워지므로 힙 사용량은 사용자 수와 무관하다.
+ * 사용자 청크 작업은 청크를 마칠 때마다 체크포인트(scheduler_checkpoints)에 마지막 user_id를 기록하고,
+ * 같은 기준일에 다시 실행되면 그 다음 사용자부터 이어서 처리한다 (이미 완료된 기준일은 건너뜀).
+ * 알림은 청크(페이지)마다 NotificationService.createNotifications로 한 번에 생성한다.
+ * 여러 인스턴스에서는 user_id % count 파티션별로 나눠 실행하며, 파티션마다 체크포인트를 따로 둔다.
+ * 청크마다 heartbeat(임대 연장)를 호출하고, false면 다른 인스턴스가 이어받도록 완료 처리 없이 멈춘다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationBatchService {
+
+    public static final String DAILY_JOB = "notification.daily";
+    public static final String WEEKLY_JOB = "notification.weekly";
+
+    private static final int UNUSED_THRESHOLD_DAYS = 90;
+
+    // 연간 결제의 다음 결제일은 1년 뒤이므로 결제 예정 알림은 월간 결제만 대상
+    static final List<BillingCycle> PAYMENT_DUE_CYCLES = List.of(BillingCycle.MONTHLY);
+    static final List<BillingCycle> RENEWAL_CYCLES = List.of(BillingCycle.values());
+
+    private final UserSubscriptionRepository userSubscriptionRepository;
+    private final BudgetRepository budgetRepository;
+    private final SchedulerCheckpointRepository schedulerCheckpointRepository;
+    private final NotificationService notificationService;
+    private final NotificationProperties notificationProperties;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * 일일 알림: 결제 예정, 구독 갱신, 예산 초과 (단일 인스턴스)
+     */
+    public int runDaily(LocalDate today) {
+        return runDaily(today, Partition.SINGLE, () -> true);
+    }
+
+    /**
+     * 일일 알림 (파티션 1개)
+     *
+     * @param heartbeat 청크마다 호출, false면 중단 (임대 상실)
+     */
+    public int runDaily(LocalDate today, Partition partition, BooleanSupplier heartbeat) {
+        String jobName = partition.jobName(DAILY_JOB);
+        if (isCompleted(jobName, today)) {
+            log.info("알림 배치 이미 완료 - job: {}, runDate: {}", jobName, today);
+            return 0;
+        }
+
+        long startedAtMs = System.currentTimeMillis();
+        LocalDate in3Days = today.plusDays(3);
+        LocalDate tomorrow = today.plusDays(1);
+
+        List<BillingPass> passes = List.of(
+                new BillingPass(in3Days, PAYMENT_DUE_CYCLES,
+                        subscription -> paymentDueDraft(subscription, in3Days, NotificationType.PAYMENT_DUE_3DAYS)),
+                new BillingPass(tomorrow, PAYMENT_DUE_CYCLES,
+                        subscription -> paymentDueDraft(subscription, tomorrow, NotificationType.PAYMENT_DUE_1DAY)),
+                new BillingPass(today, RENEWAL_CYCLES, this::renewalDraft));
+
+        int billingNotifications = 0;
+        for (BillingPass pass : passes) {
+            // 패스마다 먼저 임대 확인 - 잃었으면 이어받은 인스턴스와 겹치지 않게 바로 중단
+            if (!heartbeat.getAsBoolean()) {
+                log.warn("알림 배치 중단 (임대 상실) - job: {}, 생성 알림: {}", jobName, billingNotifications);
+                return 0;
+            }
+            billingNotifications += notifyBillingDay(pass.targetDate, pass.billingCycles, partition, heartbeat,
+                    pass.toDraft);
+        }
+        log.info("결제일 알림 완료 - job: {}, 생성 알림: {}, 소요: {}ms",
+                jobName, billingNotifications, System.currentTimeMillis() - startedAtMs);
+        if (!heartbeat.getAsBoolean()) {
+            log.warn("알림 배치 중단 (임대 상실) - job: {}", jobName);
+            return 0;
+        }
+
+        return run(jobName, today, heartbeat,
+                (cursor, size) -> readBudgetChunk(today, partition, cursor, size),
+                this::checkBudgetExceededNotifications);
+    }
+
+    /**
+     * 주간 알림: 장기(미사용 의심) 구독 (단일 인스턴스)
+     */
+    public int runWeekly(LocalDate today) {
+        return runWeekly(today, Partition.SINGLE, () -> true);
+    }
+
+    /**
+     * 주간 알림 (파티션 1개)
+     *
+     * @param heartbeat 청크마다 호출, false면 중단 (임대 상실)
+     */
+    public int runWeekly(LocalDate today, Partition partition, BooleanSupplier heartbeat) {
+        return run(partition.jobName(WEEKLY_JOB), today, heartbeat,
+                (cursor, size) -> readSubscriptionChunk(partition, cursor, size),
+                (chunk, drafts) -> checkUnusedSubscriptionNotifications(chunk.subscriptions, today, drafts));
+    }
+
+    /**
+     * 해당 날짜에 도래하는 결제일(1-31) 범위
+     * 말일에는 그 달에 없는 결제일(예: 30일인 달의 31일)도 말일로 당겨 결제되므로 31일까지 포함
+     */
+    static int[] billingDayRange(LocalDate date) {
+        int day = date.getDayOfMonth();
+        return new int[]{day, day == date.lengthOfMonth() ? 31 : day};
+    }
+
+    // 대상 날짜가 결제일인 활성 구독을 구독 ID 키셋 페이지로 읽어 알림 생성 (다음 페이지 전 임대 확인)
+    private int notifyBillingDay(LocalDate targetDate, List<BillingCycle> billingCycles, Partition partition,
+                                 BooleanSupplier heartbeat, Function<UserSubscription, NotificationDraft> toDraft) {
+        int chunkSize = chunkSize();
+        int[] dayRange = billingDayRange(targetDate);
+        long lastId = 0L;
+        int created = 0;
+
+        while (true) {
+            long cursor = lastId;
+            List<UserSubscription> page = transactionTemplate.execute(status ->
+                    userSubscriptionRepository.findActiveByBillingDayBetween(
+                            dayRange[0], dayRange[1], billingCycles, cursor,
+                            partition.count, partition.index, PageRequest.of(0, chunkSize)));
+            if (page.isEmpty()) {
+                break;
+            }
+
+            List<NotificationDraft> drafts = new ArrayList<>(page.size());
+            for (UserSubscription subscription : page) {
+                drafts.add(toDraft.apply(subscription));
+            }
+            try {
+                created += notificationService.createNotifications(drafts);
+            } catch (Exception e) {
+                log.error("결제일 알림 일괄 생성 실패 - 대상일: {}, 구독: {}~{}", targetDate,
+                        page.get(0).getId(), page.get(page.size() - 1).getId(), e);
+            }
+
+            lastId = page.get(page.size() - 1).getId();
+            if (page.size() < chunkSize || !heartbeat.getAsBoolean()) {
+                break;
+            }
+        }
+        return created;
+    }
+
+    private int run(String jobName, LocalDate today, BooleanSupplier heartbeat, ChunkReader reader,
+                    BiConsumer<Chunk, List<NotificationDraft>> collector) {
+        int chunkSize = chunkSize();
+        SchedulerCheckpoint checkpoint = loadCheckpoint(jobName, today);
+        if (checkpoint.isCompletedOn(today)) {
+            log.info("알림 배치 이미 완료 - job: {}, runDate: {}", jobName, today);
+            return 0;
+        }
+
+        long lastUserId = checkpoint.getLastUserId();
+        if (lastUserId > 0) {
+            log.info("알림 배치 이어서 실행 - job: {}, runDate: {}, lastUserId: {}", jobName, today, lastUserId);
+        }
+
+        long startedAtMs = System.currentTimeMillis();
+        int processedUsers = 0;
+        int chunks = 0;
+        int createdNotifications = 0;
+
+        while (true) {
+            long cursor = lastUserId;
+            Chunk chunk = transactionTemplate.execute(status -> reader.read(cursor, chunkSize));
+            if (chunk.userIds.isEmpty()) {
+                break;
+            }
+
+            createdNotifications += createAll(jobName, chunk, collector);
+
+            chunks++;
+            processedUsers += chunk.userIds.size();
+            lastUserId = chunk.userIds.get(chunk.userIds.size() - 1);
+            saveProgress(jobName, lastUserId, chunk.userIds.size(), false);
+
+            if (chunk.userIds.size() < chunkSize) {
+                break;
+            }
+            if (!heartbeat.getAsBoolean()) {
+                log.warn("알림 배치 중단 (임대 상실) - job: {}, lastUserId: {}", jobName, lastUserId);
+                return processedUsers;
+            }
+        }
+
+        saveProgress(jobName, lastUserId, 0, true);
+        log.info("알림 배치 완료 - job: {}, 처리 사용자: {}, 청크: {}, 생성 알림: {}, 소요: {}ms",
+                jobName, processedUsers, chunks, createdNotifications, System.currentTimeMillis() - startedAtMs);
+        return processedUsers;
+    }
+
+    private int chunkSize() {
+        return Math.max(1, notificationProperties.getBatch().getChunkSize());
+    }
+
+    // 청크 1개의 알림을 한 트랜잭션으로 일괄 생성 (실패 시 해당 청크만 건너뜀)
+    private int createAll(String jobName, Chunk chunk, BiConsumer<Chunk, List<NotificationDraft>> collector) {
+        List<NotificationDraft> drafts = new ArrayList<>();
+        try {
+            collector.accept(chunk, drafts);
+            return drafts.isEmpty() ? 0 : notificationService.createNotifications(drafts);
+        } catch (Exception e) {
+            log.error("알림 일괄 생성 실패 - job: {}, 사용자: {}~{}, 알림 수: {}", jobName,
+                    chunk.userIds.get(0), chunk.userIds.get(chunk.userIds.size() - 1), drafts.size(), e);
+            return 0;
+        }
+    }
+
+    private boolean isCompleted(String jobName, LocalDate today) {
+        return schedulerCheckpointRepository.findByJobName(jobName)
+                .map(checkpoint -> checkpoint.isCompletedOn(today))
+                .orElse(false);
+    }
+
+    // 체크포인트 조회 (없거나 다른 기준일이면 처음부터)
+    private SchedulerCheckpoint loadCheckpoint(String jobName, LocalDate today) {
+        return transactionTemplate.execute(status -> {
+            SchedulerCheckpoint checkpoint = schedulerCheckpointRepository.findByJobName(jobName)
+                    .orElseGet(() -> SchedulerCheckpoint.builder()
+                            .jobName(jobName)
+                            .runDate(today)
+                            .lastUserId(0L)
+                            .processedUsers(0L)
+                            .completed(false)
+                            .build());
+            if (!checkpoint.isResumable(today) && !checkpoint.isCompletedOn(today)) {
+                checkpoint.restart(today);
+            }
+            return schedulerCheckpointRepository.save(checkpoint);
+        });
+    }
+
+    private void saveProgress(String jobName, long lastUserId, int users, boolean completed) {
+        transactionTemplate.executeWithoutResult(status -> schedulerCheckpointRepository.findByJobName(jobName)
+                .ifPresent(checkpoint -> {
+                    checkpoint.advance(lastUserId, users);
+                    if (completed) {
+                        checkpoint.complete();
+                    }
+                }));
+    }
+
+    // 예산 청크: 이번 달 예산이 있는 사용자 ID → 예산 → 사용자별 활성 구독 월 합계 (GROUP BY)
+    private Chunk readBudgetChunk(LocalDate today, Partition partition, long cursor, int chunkSize) {
+        List<Long> userIds = budgetRepository.findUserIdsByYearAndMonthAfter(
+                today.getYear(), today.getMonthValue(), cursor, partition.count, partition.index,
+                PageRequest.of(0, chunkSize));
+        if (userIds.isEmpty()) {
+            return Chunk.empty();
+        }
+        List<Budget> budgets = budgetRepository.findByYearAndMonthAndUserIdIn(
+                today.getYear(), today.getMonthValue(), userIds);
+        Map<Long, Long> expenses = new HashMap<>();
+        for (Object[] row : userSubscriptionRepository.sumActiveMonthlyPriceByUserIdIn(userIds)) {
+            expenses.put((Long) row[0], ((Number) row[1]).longValue());
+        }
+        return new Chunk(userIds, List.of(), budgets, expenses);
+    }
+
+    // 구독 청크: 활성 구독 보유 사용자 ID → 구독(Service JOIN FETCH)
+    private Chunk readSubscriptionChunk(Partition partition, long cursor, int chunkSize) {
+        List<Long> userIds = userSubscriptionRepository.findActiveUserIdsAfter(
+                cursor, partition.count, partition.index, PageRequest.of(0, chunkSize));
+        if (userIds.isEmpty()) {
+            return Chunk.empty();
+        }
+        return new Chunk(userIds, userSubscriptionRepository.findActiveWithServiceByUserIdIn(userIds),
+                List.of(), Map.of());
+    }
+
+    private void checkBudgetExceededNotifications(Chunk chunk, List<NotificationDraft> drafts) {
+        for (Budget budget : chunk.budgets) {
+            Long userId = budget.getUser().getId();
+            Long totalExpense = chunk.expenses.getOrDefault(userId, 0L);
+            Long budgetLimit = budget.getMonthlyLimit();
+
+            if (totalExpense > budgetLimit) {
+                drafts.add(NotificationDraft.builder()
+                        .userId(userId)
+                        .type(NotificationType.BUDGET_EXCEEDED)
+                        .title("예산 초과 알림")
+                        .message(String.format("이번 달 구독 지출(%,d원)이 설정한 예산(%,d원)을 %,d원 초과했습니다.",
+                                totalExpense, budgetLimit, totalExpense - budgetLimit))
+                        .build());
+            }
+        }
+    }
+
+    private void checkUnusedSubscriptionNotifications(List<UserSubscription> activeSubscriptions, LocalDate today,
+                                                      List<NotificationDraft> drafts) {
+        LocalDate thresholdDate = today.minusDays(UNUSED_THRESHOLD_DAYS);
+
+        for (UserSubscription subscription : activeSubscriptions) {
+            if (!subscription.getCreatedAt().toLocalDate().isBefore(thresholdDate)) {
+                continue;
+            }
+            long daysActive = ChronoUnit.DAYS.between(subscription.getCreatedAt().toLocalDate(), today);
+
+            drafts.add(draft(subscription, NotificationType.UNUSED_SUBSCRIPTION,
+                    "장기 구독 확인 필요",
+                    String.format("%s 구독을 %d일째 사용 중입니다. 계속 사용하시나요? 불필요한 구독은 해지하여 비용을 절약하세요.",
+                            subscription.getService().getServiceName(), daysActive)));
+        }
+    }
+
+    private NotificationDraft paymentDueDraft(UserSubscription subscription, LocalDate billingDate,
+                                              NotificationType type) {
+        boolean threeDays = type == NotificationType.PAYMENT_DUE_3DAYS;
+        return draft(subscription, type,
+                threeDays ? "결제일 3일 전 알림" : "결제일 1일 전 알림",
+                String.format(threeDays ? "%s 구독이 3일 후(%s)에 결제됩니다. 금액: %,d원" : "%s 구독이 내일(%s) 결제됩니다. 금액: %,d원",
+                        subscription.getService().getServiceName(),
+                        billingDate,
+                        subscription.getMonthlyPrice()));
+    }
+
+    private NotificationDraft renewalDraft(UserSubscription subscription) {
+        return draft(subscription, NotificationType.SUBSCRIPTION_RENEWAL,
+                "구독 갱신 완료",
+                String.format("%s 구독이 오늘 갱신되었습니다. 결제 금액: %,d원",
+                        subscription.getService().getServiceName(),
+                        subscription.getMonthlyPrice()));
+    }
+
+    private static NotificationDraft draft(UserSubscription subscription, NotificationType type,
+                                           String title, String message) {
+        return NotificationDraft.builder()
+                .userId(subscription.getUser().getId())
+                .type(type)
+                .title(title)
+                .message(message)
+                .relatedSubscriptionId(subscription.getId())
+                .build();
+    }
+
+    /**
+     * user_id % count == index 인 사용자 묶음
+     */
+    @Getter
+    public static class Partition {
+        public static final Partition SINGLE = new Partition(0, 1);
+
+        private final int index;
+        private final int count;
+
+        public Partition(int index, int count) {
+            if (count < 1 || index < 0 || index >= count) {
+                throw new IllegalArgumentException("잘못된 파티션: " + index + "/" + count);
+            }
+            this.index = index;
+            this.count = count;
+        }
+
+        /**
+         * 파티션별 체크포인트/임대 이름 (단일 파티션은 기존 작업 이름 그대로)
+         */
+        public String jobName(String baseJobName) {
+            return count == 1 ? baseJobName : baseJobName + "#" + index + "/" + count;
+        }
+    }
+
+    // 결제일 알림 1회분 (대상 날짜, 결제 주기, 알림 내용)
+    private static class BillingPass {
+        private final LocalDate targetDate;
+        private final List<BillingCycle> billingCycles;
+        private final Function<UserSubscription, NotificationDraft> toDraft;
+
+        private BillingPass(LocalDate targetDate, List<BillingCycle> billingCycles,
+                            Function<UserSubscription, NotificationDraft> toDraft) {
+            this.targetDate = targetDate;
+            this.billingCycles = billingCycles;
+            this.toDraft = toDraft;
+        }
+    }
+
+    @FunctionalInterface
+    private interface ChunkReader {
+        Chunk read(long cursor, int chunkSize);
+    }
+
+    private static class Chunk {
+        private final List<Long> userIds;
+        private final List<UserSubscription> subscriptions;
+        private final List<Budget> budgets;
+        private final Map<Long, Long> expenses;  // 사용자 ID → 활성 구독 월 합계
+
+        private Chunk(List<Long> userIds, List<UserSubscription> subscriptions, List<Budget> budgets,
+                      Map<Long, Long> expenses) {
+            this.userIds = userIds;
+            this.subscriptions = subscriptions;
+            this.budgets = budgets;
+            this.expenses = expenses;
+        }
+
+        private static Chunk empty() {
+            return new Chunk(List.of(), List.of(), List.of(), Map.of());
+        }
+    }
+}
@@ -3,16 +3,30 @@ package com.project.subing.service;
 import com.project.subing.domain.notification.entity.Notification;
 import com.project.subing.domain.notification.entity.NotificationType;
 import com.project.subing.domain.user.entity.User;
+import com.project.subing.dto.notification.NotificationDraft;
 import com.project.subing.exception.auth.UnauthorizedAccessException;
 import com.project.subing.exception.entity.NotificationNotFoundException;
 import com.project.subing.exception.entity.UserNotFoundException;
 import com.project.subing.repository.NotificationRepository;
 import com.project.subing.repository.UserRepository;
+import com.project.subing.service.event.NotificationsCreatedEvent;
+import com.project.subing.service.event.UnreadCountChangedEvent;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.*;
 
 @Service
 @RequiredArgsConstructor
@@ -22,6 +36,13 @@ public class NotificationService {
     private final NotificationRepository notificationRepository;
     private final UserRepository userRepository;
     private final NotificationWebSocketService notificationWebSocketService;
+    private final NotificationUnreadCounter notificationUnreadCounter;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private static final String INSERT_NOTIFICATION_SQL =
+            "INSERT INTO notifications (user_id, type, title, message, is_read, related_subscription_id, created_at) "
+                    + "VALUES (?, ?, ?, ?, false, ?, ?)";
 
     public Notification createNotification(Long userId, NotificationType type, String title,
                                           String message, Long relatedSubscriptionId) {
@@ -48,13 +69,133 @@ public class NotificationService {
         // WebSocket을 통해 실시간 알림 전송
         notificationWebSocketService.sendNotificationToUser(userId, savedNotification);
 
-        // 읽지 않은 알림 개수 업데이트 전송
-        Long unreadCount = getUnreadCount(userId);
-        notificationWebSocketService.sendUnreadCountToUser(userId, unreadCount);
+        // 읽지 않은 알림 개수는 커밋 후 카운터에 반영하고 전송
+        eventPublisher.publishEvent(UnreadCountChangedEvent.adjust(userId, 1));
 
         return savedNotification;
     }
 
+    /**
+     * 알림 일괄 생성 (스케줄러용)
+     *
+     * 건별 생성(사용자 조회, 중복 검사, INSERT, WebSocket 전송, 읽지 않은 개수 조회)을 묶음 단위로 처리한다.
+     * - 존재하지 않는(탈퇴한) 사용자 제외는 사용자 조회 1번, 중복 검사는 묶음 전체에 대해 쿼리 1번
+     * - INSERT는 JDBC 배치 (IDENTITY 전략이라 Hibernate 배치가 동작하지 않음)
+     * - 읽지 않은 개수 카운터 반영과 WebSocket 전송은 커밋 이후 이벤트로 처리 (롤백된 알림은 반영/전송하지 않음,
+     *   카운터가 없는 사용자만 GROUP BY 쿼리 1번으로 채움)
+     *
+     * @return 실제로 생성된 알림 수
+     */
+    public int createNotifications(List<NotificationDraft> drafts) {
+        if (drafts.isEmpty()) {
+            return 0;
+        }
+
+        Set<Long> userIds = new HashSet<>();
+        Set<Long> subscriptionIds = new HashSet<>();
+        for (NotificationDraft draft : drafts) {
+            userIds.add(draft.getUserId());
+            if (draft.getRelatedSubscriptionId() != null) {
+                subscriptionIds.add(draft.getRelatedSubscriptionId());
+            }
+        }
+
+        // 단건 생성과 같은 WebSocket 메시지 형태(user 포함)를 위해 ID만이 아니라 사용자를 함께 조회
+        Map<Long, User> existingUsers = new HashMap<>();
+        for (User user : userRepository.findAllById(userIds)) {
+            existingUsers.put(user.getId(), user);
+        }
+        Set<Long> existingUserIds = existingUsers.keySet();
+
+        // 중복 알림 방지 키: 사용자 + 구독 + 타입 (묶음 안의 중복도 함께 제거)
+        Set<String> seenKeys = new HashSet<>();
+        if (!subscriptionIds.isEmpty() && !existingUserIds.isEmpty()) {
+            for (Object[] row : notificationRepository.findExistingKeys(existingUserIds, subscriptionIds)) {
+                seenKeys.add(dedupKey((Long) row[0], (Long) row[1], (NotificationType) row[2]));
+            }
+        }
+
+        List<NotificationDraft> accepted = new ArrayList<>();
+        for (NotificationDraft draft : drafts) {
+            if (!existingUserIds.contains(draft.getUserId())) {
+                continue;
+            }
+            if (draft.getRelatedSubscriptionId() != null
+                    && !seenKeys.add(dedupKey(draft.getUserId(), draft.getRelatedSubscriptionId(), draft.getType()))) {
+                continue;
+            }
+            accepted.add(draft);
+        }
+        if (accepted.isEmpty()) {
+            return 0;
+        }
+
+        LocalDateTime createdAt = LocalDateTime.now();
+        List<Long> ids = insertAll(accepted, createdAt);
+
+        // WebSocket 전송용 (단건 생성 경로와 같은 형태)
+        Map<Long, List<Notification>> createdByUser = new LinkedHashMap<>();
+        for (int i = 0; i < accepted.size(); i++) {
+            NotificationDraft draft = accepted.get(i);
+            createdByUser.computeIfAbsent(draft.getUserId(), id -> new ArrayList<>()).add(Notification.builder()
+                    .id(ids.get(i))
+                    .user(existingUsers.get(draft.getUserId()))
+                    .type(draft.getType())
+                    .title(draft.getTitle())
+                    .message(draft.getMessage())
+                    .relatedSubscriptionId(draft.getRelatedSubscriptionId())
+                    .createdAt(createdAt)
+                    .build());
+        }
+
+        Map<Long, Long> createdCounts = new HashMap<>();
+        createdByUser.forEach((userId, notifications) -> createdCounts.put(userId, (long) notifications.size()));
+
+        eventPublisher.publishEvent(new NotificationsCreatedEvent(createdByUser, createdCounts));
+        return accepted.size();
+    }
+
+    // JDBC 배치 INSERT 후 생성된 ID를 입력 순서대로 반환
+    private List<Long> insertAll(List<NotificationDraft> drafts, LocalDateTime createdAt) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        Timestamp createdAtTimestamp = Timestamp.valueOf(createdAt);
+
+        jdbcTemplate.batchUpdate(
+                con -> con.prepareStatement(INSERT_NOTIFICATION_SQL, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        NotificationDraft draft = drafts.get(i);
+                        ps.setLong(1, draft.getUserId());
+                        ps.setString(2, draft.getType().name());
+                        ps.setString(3, draft.getTitle());
+                        ps.setString(4, draft.getMessage());
+                        if (draft.getRelatedSubscriptionId() != null) {
+                            ps.setLong(5, draft.getRelatedSubscriptionId());
+                        } else {
+                            ps.setNull(5, Types.BIGINT);
+                        }
+                        ps.setTimestamp(6, createdAtTimestamp);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return drafts.size();
+                    }
+                },
+                keyHolder);
+
+        List<Long> ids = new ArrayList<>(drafts.size());
+        for (Map<String, Object> keys : keyHolder.getKeyList()) {
+            ids.add(((Number) keys.values().iterator().next()).longValue());
+        }
+        return ids;
+    }
+
+    private static String dedupKey(Long userId, Long subscriptionId, NotificationType type) {
+        return userId + ":" + subscriptionId + ":" + type.name();
+    }
+
     @Transactional(readOnly = true)
     public List<Notification> getNotifications(Long userId) {
         return notificationRepository.findByUser_IdOrderByCreatedAtDesc(userId);
@@ -65,9 +206,10 @@ public class NotificationService {
         return notificationRepository.findByUser_IdAndIsReadFalseOrderByCreatedAtDesc(userId);
     }
 
-    @Transactional(readOnly = true)
+    // 메모리 카운터 조회 (카운터가 없거나 만료됐을 때만 DB 조회, 트랜잭션 불필요)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Long getUnreadCount(Long userId) {
-        return notificationRepository.countByUser_IdAndIsReadFalse(userId);
+        return notificationUnreadCounter.get(userId);
     }
 
     public void markAsRead(Long notificationId, Long userId) {
@@ -78,18 +220,22 @@ public class NotificationService {
             throw new UnauthorizedAccessException("알림 읽기 권한이 없습니다.", userId);
         }
 
+        // 이미 읽은 알림이면 개수 변화 없음
+        if (Boolean.TRUE.equals(notification.getIsRead())) {
+            notificationWebSocketService.sendUnreadCountToUser(userId, notificationUnreadCounter.get(userId));
+            return;
+        }
         notification.markAsRead();
 
-        // 읽지 않은 알림 개수 업데이트 전송
-        Long unreadCount = getUnreadCount(userId);
-        notificationWebSocketService.sendUnreadCountToUser(userId, unreadCount);
+        // 읽지 않은 알림 개수는 커밋 후 카운터에 반영하고 전송
+        eventPublisher.publishEvent(UnreadCountChangedEvent.adjust(userId, -1));
     }
 
     public void markAllAsRead(Long userId) {
         List<Notification> unreadNotifications = getUnreadNotifications(userId);
         unreadNotifications.forEach(Notification::markAsRead);
 
-        // 읽지 않은 알림 개수 업데이트 전송 (모두 읽음 처리 후 0이 됨)
-        notificationWebSocketService.sendUnreadCountToUser(userId, 0L);
+        // 커밋 후 카운터를 0으로 설정하고 전송
+        eventPublisher.publishEvent(UnreadCountChangedEvent.reset(userId));
     }
 }
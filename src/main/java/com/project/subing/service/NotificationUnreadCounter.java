@@ -0,0 +1,155 @@
+package com.project.subing.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project.subing.config.NotificationProperties;
+import com.project.subing.repository.NotificationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 사용자별 읽지 않은 알림 개수 카운터 (메모리)
+ *
+ * 처음 조회할 때만 DB에서 개수를 읽어 두고, 이후 생성/읽음/모두 읽음 시 원자적으로 증감한다.
+ * REST 조회와 WebSocket 개수 전송은 쿼리 없이 카운터 값만 읽는다.
+ * - 증감은 알림을 바꾼 트랜잭션이 커밋된 뒤(AFTER_COMMIT 이벤트)에만 일어나므로 롤백된 변경은 반영되지 않는다.
+ *   카운터가 없으면 그때 DB를 읽어 채운다 (변경이 이미 커밋된 값이므로 증감을 따로 더하지 않음).
+ * - 인스턴스마다 따로 가진 값이라 다른 인스턴스에서의 변경은 보이지 않는다.
+ *   DB에서 읽은 뒤 ttlSeconds가 지나면 버리고 다음 조회 때 다시 읽으며(expireAfterWrite),
+ *   그 전에도 주기적 보정(reconcile)에서 DB 집계로 맞추므로 어긋남은 두 주기 중 짧은 쪽으로 제한된다.
+ * - 보관 사용자 수는 maxUsers로 제한하며, 밀려난 사용자는 다음 조회 때 다시 DB에서 읽는다.
+ */
+@Slf4j
+@Component
+public class NotificationUnreadCounter {
+
+    private static final int RECONCILE_BATCH_SIZE = 500;
+
+    private final NotificationRepository notificationRepository;
+    private final Cache<Long, AtomicLong> counters;
+
+    public NotificationUnreadCounter(NotificationRepository notificationRepository,
+                                     NotificationProperties notificationProperties) {
+        NotificationProperties.UnreadCounter properties = notificationProperties.getUnreadCounter();
+        this.notificationRepository = notificationRepository;
+        this.counters = Caffeine.newBuilder()
+                .maximumSize(Math.max(1, properties.getMaxUsers()))
+                .expireAfterWrite(Duration.ofSeconds(Math.max(1, properties.getTtlSeconds())))
+                .build();
+    }
+
+    /**
+     * 읽지 않은 알림 개수 (카운터가 없으면 DB에서 읽어 채움)
+     */
+    public long get(Long userId) {
+        return counters.get(userId, this::load).get();
+    }
+
+    /**
+     * 개수 증감 후 현재 값 반환
+     */
+    public long adjust(Long userId, long delta) {
+        AtomicLong counter = counters.getIfPresent(userId);
+        if (counter == null) {
+            return get(userId);
+        }
+        long value = counter.addAndGet(delta);
+        if (value < 0) {
+            // 다른 인스턴스에서 읽음 처리된 알림을 다시 읽음 처리한 경우 등 (보정 전까지 0으로 고정)
+            counter.compareAndSet(value, 0);
+            return 0;
+        }
+        return value;
+    }
+
+    /**
+     * 여러 사용자 개수 증감 (카운터가 없는 사용자는 GROUP BY 쿼리 1번으로 채움)
+     *
+     * @return 사용자 ID → 현재 값
+     */
+    public Map<Long, Long> adjustAll(Map<Long, Long> deltas) {
+        Map<Long, Long> result = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        deltas.forEach((userId, delta) -> {
+            if (counters.getIfPresent(userId) != null) {
+                result.put(userId, adjust(userId, delta));
+            } else {
+                missing.add(userId);
+            }
+        });
+
+        if (!missing.isEmpty()) {
+            Map<Long, Long> loaded = countFromDatabase(missing);
+            for (Long userId : missing) {
+                long count = loaded.getOrDefault(userId, 0L);
+                counters.put(userId, new AtomicLong(count));
+                result.put(userId, count);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 모두 읽음 처리 후 0으로 설정
+     */
+    public void reset(Long userId) {
+        counters.put(userId, new AtomicLong(0));
+    }
+
+    /**
+     * 보관 중인 카운터를 DB 집계로 보정
+     * 조회와 반영 사이에 증감된 카운터는 건너뛰고 다음 주기에 다시 맞춘다.
+     *
+     * @return 값이 달라 보정된 사용자 수
+     */
+    public int reconcile() {
+        List<Long> userIds = new ArrayList<>(counters.asMap().keySet());
+        int corrected = 0;
+
+        for (int from = 0; from < userIds.size(); from += RECONCILE_BATCH_SIZE) {
+            List<Long> batch = userIds.subList(from, Math.min(from + RECONCILE_BATCH_SIZE, userIds.size()));
+
+            Map<Long, Long> before = new HashMap<>();
+            for (Long userId : batch) {
+                AtomicLong counter = counters.getIfPresent(userId);
+                if (counter != null) {
+                    before.put(userId, counter.get());
+                }
+            }
+
+            Map<Long, Long> actual = countFromDatabase(before.keySet());
+            for (Map.Entry<Long, Long> entry : before.entrySet()) {
+                long expected = actual.getOrDefault(entry.getKey(), 0L);
+                AtomicLong counter = counters.getIfPresent(entry.getKey());
+                if (counter != null && entry.getValue() != expected
+                        && counter.compareAndSet(entry.getValue(), expected)) {
+                    corrected++;
+                }
+            }
+        }
+
+        if (corrected > 0) {
+            log.info("읽지 않은 알림 카운터 보정 - 대상: {}, 보정: {}", userIds.size(), corrected);
+        }
+        return corrected;
+    }
+
+    private AtomicLong load(Long userId) {
+        return new AtomicLong(notificationRepository.countByUser_IdAndIsReadFalse(userId));
+    }
+
+    private Map<Long, Long> countFromDatabase(Collection<Long> userIds) {
+        Map<Long, Long> counts = new HashMap<>();
+        if (userIds.isEmpty()) {
+            return counts;
+        }
+        for (Object[] row : notificationRepository.countUnreadByUserIds(userIds)) {
+            counts.put((Long) row[0], (Long) row[1]);
+        }
+        return counts;
+    }
+}
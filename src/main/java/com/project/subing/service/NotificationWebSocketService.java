@@ -1,10 +1,16 @@
 package com.project.subing.service;
 
 import com.project.subing.domain.notification.entity.Notification;
+import com.project.subing.service.event.NotificationsCreatedEvent;
+import com.project.subing.service.event.UnreadCountChangedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
 
 /**
  * WebSocket을 통한 실시간 알림 전송 서비스
@@ -15,6 +21,7 @@ import org.springframework.stereotype.Service;
 public class NotificationWebSocketService {
 
     private final SimpMessagingTemplate messagingTemplate;
+    private final NotificationUnreadCounter notificationUnreadCounter;
 
     /**
      * 특정 사용자에게 실시간 알림 전송
@@ -63,4 +70,33 @@ public class NotificationWebSocketService {
                     userId, e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 일괄 생성된 알림 전송 (커밋 이후)
+     * 읽지 않은 개수 카운터에 생성 개수를 더한 뒤, 알림별 전송 후 사용자별 읽지 않은 개수를 한 번씩 전송
+     *
+     * @param event 생성된 알림과 사용자별 생성 개수
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onNotificationsCreated(NotificationsCreatedEvent event) {
+        Map<Long, Long> unreadCounts = notificationUnreadCounter.adjustAll(event.getCreatedCounts());
+        event.getNotificationsByUser().forEach((userId, notifications) ->
+                notifications.forEach(notification -> sendNotificationToUser(userId, notification)));
+        unreadCounts.forEach(this::sendUnreadCountToUser);
+    }
+
+    /**
+     * 읽지 않은 알림 개수 변경 반영 후 전송 (커밋 이후)
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUnreadCountChanged(UnreadCountChangedEvent event) {
+        long unreadCount;
+        if (event.isReset()) {
+            notificationUnreadCounter.reset(event.getUserId());
+            unreadCount = 0;
+        } else {
+            unreadCount = notificationUnreadCounter.adjust(event.getUserId(), event.getDelta());
+        }
+        sendUnreadCountToUser(event.getUserId(), unreadCount);
+    }
+}
@@ -0,0 +1,212 @@
+package com.project.subing.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.subing.config.OptimizationEngineProperties;
+import com.project.subing.domain.optimization.entity.OptimizationSavingsSummary;
+import com.project.subing.domain.subscription.entity.UserSubscription;
+import com.project.subing.dto.optimization.OptimizationSavingsSummaryResponse;
+import com.project.subing.dto.optimization.OptimizationSavingsSummaryResponse.TopAlternative;
+import com.project.subing.repository.OptimizationSavingsSummaryRepository;
+import com.project.subing.repository.UserSubscriptionRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 전체 사용자 최적화 배치
+ *
+ * user_id 키셋 페이지 단위로 유료 활성 구독을 읽어 사용자별 파이프라인을 실행하고 절약 요약을 저장한다.
+ * 정책과 가격 인덱스 스냅샷은 실행당 한 번만 준비하며, 청크마다 트랜잭션을 커밋하고
+ * 영속성 컨텍스트를 비워 사용자 수와 무관하게 힙 사용량을 일정하게 유지한다.
+ * 끝까지 실행되면 이번 실행 시각 이전에 계산된 요약(유료 활성 구독이 없어진 사용자)을 삭제한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OptimizationBatchService {
+
+    private static final TypeReference<List<TopAlternative>> TOP_ALTERNATIVES_TYPE = new TypeReference<>() {};
+
+    private final UserSubscriptionRepository userSubscriptionRepository;
+    private final OptimizationSavingsSummaryRepository optimizationSavingsSummaryRepository;
+    private final SubscriptionOptimizationService subscriptionOptimizationService;
+    private final OptimizationEngineConfigService optimizationEngineConfigService;
+    private final PlanPriceIndex planPriceIndex;
+    private final OptimizationEngineProperties optimizationEngineProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * 배치 실행
+     *
+     * @return 요약을 저장한 사용자 수
+     */
+    public int runBatch() {
+        OptimizationEngineProperties.Batch batch = optimizationEngineProperties.getBatch();
+        int chunkSize = Math.max(1, batch.getChunkSize());
+        int topN = Math.max(1, batch.getTopAlternatives());
+
+        OptimizationEnginePolicy policy = optimizationEngineConfigService.getEffectivePolicy();
+        PlanPriceIndex.Snapshot index = planPriceIndex.snapshot();
+        LocalDateTime computedAt = LocalDateTime.now();
+        long startedAtMs = System.currentTimeMillis();
+
+        log.info("최적화 배치 시작 - chunkSize: {}, indexVersion: {}", chunkSize, index.getVersion());
+
+        long lastUserId = 0L;
+        int processedUsers = 0;
+        int chunks = 0;
+
+        while (true) {
+            final long cursor = lastUserId;
+            ChunkResult result = transactionTemplate.execute(status ->
+                    processChunk(cursor, chunkSize, topN, policy, index, computedAt));
+            if (result == null || result.userCount == 0) {
+                break;
+            }
+
+            chunks++;
+            processedUsers += result.userCount;
+            lastUserId = result.lastUserId;
+
+            if (result.userCount < chunkSize) {
+                break;
+            }
+        }
+
+        // 전체 실행이 끝났을 때만: 이번 실행에서 갱신되지 않은 요약은 구독을 모두 해지한 사용자이므로 삭제
+        Integer staleSummaries = transactionTemplate.execute(status ->
+                optimizationSavingsSummaryRepository.deleteByComputedAtBefore(computedAt));
+
+        log.info("최적화 배치 완료 - 처리 사용자: {}, 청크: {}, 삭제한 오래된 요약: {}, 소요: {}ms",
+                processedUsers, chunks, staleSummaries, System.currentTimeMillis() - startedAtMs);
+        return processedUsers;
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<OptimizationSavingsSummaryResponse> getSummary(Long userId) {
+        return optimizationSavingsSummaryRepository.findByUserId(userId).map(this::toResponse);
+    }
+
+    private ChunkResult processChunk(long cursor, int chunkSize, int topN, OptimizationEnginePolicy policy,
+                                     PlanPriceIndex.Snapshot index, LocalDateTime computedAt) {
+        // 1. 키셋 페이지: 다음 사용자 묶음 - 1 쿼리
+        List<Long> userIds = userSubscriptionRepository.findActivePaidUserIdsAfter(cursor, PageRequest.of(0, chunkSize));
+        if (userIds.isEmpty()) {
+            return new ChunkResult(0, cursor);
+        }
+
+        // 2. 묶음 전체 구독 (Service JOIN FETCH) - 1 쿼리, user_id 순으로 그룹화
+        Map<Long, List<UserSubscription>> subscriptionsByUserId = userSubscriptionRepository
+                .findActivePaidWithServiceByUserIdIn(userIds).stream()
+                .collect(Collectors.groupingBy(sub -> sub.getUser().getId(), LinkedHashMap::new, Collectors.toList()));
+
+        // 3. 기존 요약 - 1 쿼리
+        Map<Long, OptimizationSavingsSummary> existingByUserId = optimizationSavingsSummaryRepository
+                .findByUserIdIn(userIds).stream()
+                .collect(Collectors.toMap(OptimizationSavingsSummary::getUserId, Function.identity()));
+
+        List<OptimizationSavingsSummary> newSummaries = new ArrayList<>();
+        for (Long userId : userIds) {
+            List<UserSubscription> subscriptions = subscriptionsByUserId.getOrDefault(userId, Collections.emptyList());
+            SubscriptionOptimizationService.OptimizationPipelineResult result =
+                    subscriptionOptimizationService.runOptimizationPipeline(userId, subscriptions, policy, index);
+
+            String topAlternatives = serializeTopAlternatives(result, topN);
+            OptimizationSavingsSummary summary = existingByUserId.get(userId);
+            if (summary == null) {
+                newSummaries.add(OptimizationSavingsSummary.builder()
+                        .userId(userId)
+                        .totalPotentialSavings(result.getTotalPotentialSavings())
+                        .alternativeCount(result.getAlternativeCount())
+                        .duplicateCategoryCount(result.getDuplicateServices().size())
+                        .topAlternatives(topAlternatives)
+                        .provenOptimal(result.getPortfolio().isProvenOptimal())
+                        .computedAt(computedAt)
+                        .build());
+            } else {
+                summary.update(
+                        result.getTotalPotentialSavings(),
+                        result.getAlternativeCount(),
+                        result.getDuplicateServices().size(),
+                        topAlternatives,
+                        result.getPortfolio().isProvenOptimal(),
+                        computedAt
+                );
+            }
+        }
+        optimizationSavingsSummaryRepository.saveAll(newSummaries);
+
+        // 4. 청크 종료: 변경 반영 후 영속성 컨텍스트 비우기 (힙 유지)
+        entityManager.flush();
+        entityManager.clear();
+
+        return new ChunkResult(userIds.size(), userIds.get(userIds.size() - 1));
+    }
+
+    private String serializeTopAlternatives(SubscriptionOptimizationService.OptimizationPipelineResult result, int topN) {
+        List<TopAlternative> topAlternatives = result.getPortfolio().getSelected().stream()
+                .limit(topN)
+                .map(alternative -> TopAlternative.builder()
+                        .subscriptionId(alternative.getCurrentSubscription().getId())
+                        .currentServiceName(alternative.getCurrentSubscription().getService().getServiceName())
+                        .alternativeServiceId(alternative.getAlternativeService().getId())
+                        .alternativeServiceName(alternative.getAlternativeService().getServiceName())
+                        .alternativePlanName(alternative.getAlternativePlan().getPlanName())
+                        .isSameService(alternative.isSameService())
+                        .netSavings(alternative.getNetSavings())
+                        .build())
+                .toList();
+        try {
+            return objectMapper.writeValueAsString(topAlternatives);
+        } catch (JsonProcessingException e) {
+            log.warn("최적화 요약 직렬화 실패", e);
+            return "[]";
+        }
+    }
+
+    private OptimizationSavingsSummaryResponse toResponse(OptimizationSavingsSummary summary) {
+        List<TopAlternative> topAlternatives = Collections.emptyList();
+        if (summary.getTopAlternatives() != null) {
+            try {
+                topAlternatives = objectMapper.readValue(summary.getTopAlternatives(), TOP_ALTERNATIVES_TYPE);
+            } catch (JsonProcessingException e) {
+                log.warn("최적화 요약 역직렬화 실패 - userId: {}", summary.getUserId(), e);
+            }
+        }
+
+        return OptimizationSavingsSummaryResponse.builder()
+                .totalPotentialSavings(summary.getTotalPotentialSavings())
+                .alternativeCount(summary.getAlternativeCount())
+                .duplicateCategoryCount(summary.getDuplicateCategoryCount())
+                .topAlternatives(topAlternatives)
+                .provenOptimal(summary.getProvenOptimal())
+                .computedAt(summary.getComputedAt())
+                .build();
+    }
+
+    private static class ChunkResult {
+        private final int userCount;
+        private final long lastUserId;
+
+        private ChunkResult(int userCount, long lastUserId) {
+            this.userCount = userCount;
+            this.lastUserId = lastUserId;
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.project.subing.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project.subing.config.OptimizationEngineProperties;
+import com.project.subing.domain.common.ServiceCategory;
+import com.project.subing.domain.subscription.entity.UserSubscription;
+import com.project.subing.service.event.CatalogChangedEvent;
+import com.project.subing.service.event.SubscriptionChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 사용자별 최적화 후보 상태 저장소 (증분 재계산용)
+ *
+ * 사용자의 유료 활성 구독과 대안 후보를 카테고리 단위로 보관한다.
+ * 구독 변경 커밋 후에는 해당 카테고리만 dirty로 표시하고,
+ * 다음 파이프라인 실행 시 dirty 카테고리만 다시 조회/탐색한다.
+ * 정책 버전이나 가격 인덱스 버전이 바뀐 상태는 사용하지 않는다 (전체 재계산).
+ * 이벤트를 놓친 상태가 계속 쓰이지 않도록 저장 후 TTL이 지나면 조회 여부와 무관하게 만료시킨다.
+ */
+@Slf4j
+@Component
+public class OptimizationCandidateStateStore {
+
+    private final boolean enabled;
+    private final Cache<Long, UserCandidateState> cache;
+    private final Map<ServiceCategory, Counter> refreshCounters = new EnumMap<>(ServiceCategory.class);
+
+    public OptimizationCandidateStateStore(OptimizationEngineProperties optimizationEngineProperties,
+                                           MeterRegistry meterRegistry) {
+        OptimizationEngineProperties.Incremental properties = optimizationEngineProperties.getIncremental();
+        this.enabled = properties.isEnabled();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(Math.max(1, properties.getMaxUsers()))
+                .expireAfterWrite(Duration.ofSeconds(Math.max(1, properties.getTtlSeconds())))
+                .build();
+        for (ServiceCategory category : ServiceCategory.values()) {
+            refreshCounters.put(category, Counter.builder("optimization.incremental.refresh")
+                    .description("카테고리 후보 재조회/재탐색 횟수")
+                    .tag("category", category.name())
+                    .register(meterRegistry));
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 현재 정책/인덱스 버전과 일치하는 상태만 반환 (없거나 오래된 경우 null)
+     */
+    UserCandidateState get(Long userId, long policyVersion, long indexVersion) {
+        if (!enabled) {
+            return null;
+        }
+        UserCandidateState state = cache.getIfPresent(userId);
+        if (state == null) {
+            return null;
+        }
+        if (state.policyVersion != policyVersion || state.indexVersion != indexVersion) {
+            cache.invalidate(userId);
+            return null;
+        }
+        return state;
+    }
+
+    void put(Long userId, UserCandidateState state) {
+        if (enabled) {
+            cache.put(userId, state);
+        }
+    }
+
+    /**
+     * 카테고리 재계산 기록 (증분 재계산 범위 확인용)
+     */
+    void recordRefresh(ServiceCategory category) {
+        refreshCounters.get(category).increment();
+    }
+
+    public void evictUser(Long userId) {
+        if (userId != null) {
+            cache.invalidate(userId);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSubscriptionChanged(SubscriptionChangedEvent event) {
+        UserCandidateState state = event.getUserId() == null ? null : cache.getIfPresent(event.getUserId());
+        if (state == null) {
+            return;
+        }
+        if (event.getCategory() == null) {
+            evictUser(event.getUserId());
+            return;
+        }
+        state.markDirty(event.getSubscriptionId(), event.getCategory());
+        log.debug("최적화 후보 상태 dirty 표시 - userId: {}, category: {}", event.getUserId(), event.getCategory());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        // 인덱스 버전이 바뀌므로 조회 시에도 걸러지지만, 메모리는 즉시 반환
+        cache.invalidateAll();
+    }
+
+    /**
+     * 사용자 1명의 카테고리별 구독/후보 상태
+     * 읽기/갱신은 상태 객체 단위로 동기화한다 (같은 사용자의 동시 요청만 직렬화됨).
+     * dirty 표시는 커밋 이벤트 스레드에서 락 없이 하므로 파이프라인 실행 중에도 기다리지 않는다.
+     */
+    static final class UserCandidateState {
+        private final long policyVersion;
+        private final long indexVersion;
+        private final Map<ServiceCategory, CategorySlice> slices = new EnumMap<>(ServiceCategory.class);
+        private final Map<Long, ServiceCategory> categoryBySubscriptionId = new ConcurrentHashMap<>();
+        // dirty 카테고리 비트마스크 (ordinal 기준)
+        private final AtomicInteger dirtyMask = new AtomicInteger();
+
+        UserCandidateState(long policyVersion, long indexVersion) {
+            this.policyVersion = policyVersion;
+            this.indexVersion = indexVersion;
+        }
+
+        void markDirty(Long subscriptionId, ServiceCategory category) {
+            int bits = bit(category);
+            // 구독이 다른 카테고리에 있던 경우 이전 카테고리도 함께 재계산
+            ServiceCategory previous = subscriptionId == null ? null : categoryBySubscriptionId.get(subscriptionId);
+            if (previous != null && previous != category) {
+                bits |= bit(previous);
+            }
+            int added = bits;
+            dirtyMask.getAndUpdate(mask -> mask | added);
+        }
+
+        /**
+         * dirty 카테고리 목록을 꺼내고 비운다 (호출 측은 상태 객체 락을 잡고 있어야 함)
+         */
+        Set<ServiceCategory> drainDirtyCategories() {
+            int mask = dirtyMask.getAndSet(0);
+            if (mask == 0) {
+                return Collections.emptySet();
+            }
+            Set<ServiceCategory> drained = EnumSet.noneOf(ServiceCategory.class);
+            for (ServiceCategory category : ServiceCategory.values()) {
+                if ((mask & bit(category)) != 0) {
+                    drained.add(category);
+                }
+            }
+            return drained;
+        }
+
+        private static int bit(ServiceCategory category) {
+            return 1 << category.ordinal();
+        }
+
+        void replaceCategory(ServiceCategory category, List<UserSubscription> subscriptions,
+                             AlternativeCandidates candidates, boolean complete) {
+            CategorySlice previous = slices.remove(category);
+            if (previous != null) {
+                for (UserSubscription subscription : previous.subscriptions) {
+                    categoryBySubscriptionId.remove(subscription.getId());
+                }
+            }
+            if (!subscriptions.isEmpty()) {
+                slices.put(category, new CategorySlice(subscriptions, candidates));
+                for (UserSubscription subscription : subscriptions) {
+                    categoryBySubscriptionId.put(subscription.getId(), category);
+                }
+            }
+            if (!complete) {
+                // 타임아웃으로 일부만 탐색된 카테고리는 다음 실행에서 다시 계산
+                int added = bit(category);
+                dirtyMask.getAndUpdate(mask -> mask | added);
+            }
+        }
+
+        Map<ServiceCategory, CategorySlice> getSlices() {
+            return slices;
+        }
+    }
+
+    static final class CategorySlice {
+        private final List<UserSubscription> subscriptions;
+        private final AlternativeCandidates candidates;
+
+        private CategorySlice(List<UserSubscription> subscriptions, AlternativeCandidates candidates) {
+            this.subscriptions = subscriptions;
+            this.candidates = candidates;
+        }
+
+        List<UserSubscription> getSubscriptions() {
+            return subscriptions;
+        }
+
+        AlternativeCandidates getCandidates() {
+            return candidates;
+        }
+    }
+}
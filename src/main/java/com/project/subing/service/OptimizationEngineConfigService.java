@@ -13,6 +13,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 
 @Service
@@ -32,6 +33,7 @@ public class OptimizationEngineConfigService {
             "performance.candidateSearchTimeoutMs",
             "performance.portfolioOptimizeTimeoutMs",
             "performance.runtimeCacheTtlMs",
+            "performance.parallelism",
             "tracking.enabled"
     );
 
@@ -48,6 +50,7 @@ public class OptimizationEngineConfigService {
     private final OptimizationEngineConfigAuditRepository optimizationEngineConfigAuditRepository;
     private final OptimizationEngineProperties optimizationEngineProperties;
 
+    private final AtomicLong policyVersionSequence = new AtomicLong();
     private volatile CachedPolicySnapshot cache;
 
     public OptimizationEnginePolicy getEffectivePolicy() {
@@ -78,6 +81,39 @@ public class OptimizationEngineConfigService {
         }
     }
 
+    /**
+     * 현재 적용 중인 정책 버전 (활성 override 구성이 바뀔 때마다 증가)
+     * 정책 기반 결과 캐시의 키로 사용한다.
+     */
+    public long getEffectivePolicyVersion() {
+        getEffectivePolicy();
+        CachedPolicySnapshot local = cache;
+        return local != null ? local.version : 0L;
+    }
+
+    /**
+     * 후보 override를 현재 활성 override 위에 적용한 정책 미리보기 (저장하지 않음)
+     * 빈 값은 해당 키의 override 해제로 간주한다.
+     */
+    public OptimizationEnginePolicy previewPolicy(Map<String, String> overrides) {
+        if (overrides == null || overrides.isEmpty()) {
+            throw new IllegalArgumentException("시뮬레이션할 override 항목이 없습니다.");
+        }
+
+        Map<String, String> normalizedOverrides = normalizeOverrides(overrides);
+        validateOverrideKeys(normalizedOverrides.keySet());
+
+        Map<String, String> merged = new LinkedHashMap<>(getCachedSnapshot().activeOverrides);
+        for (Map.Entry<String, String> entry : normalizedOverrides.entrySet()) {
+            if (entry.getValue() == null || entry.getValue().isBlank()) {
+                merged.remove(entry.getKey());
+            } else {
+                merged.put(entry.getKey(), entry.getValue().trim());
+            }
+        }
+        return mergeOverrides(getDefaultPolicy(), merged);
+    }
+
     public OptimizationEnginePolicy getDefaultPolicy() {
         return fromProperties(optimizationEngineProperties);
     }
@@ -322,7 +358,11 @@ public class OptimizationEngineConfigService {
                 );
 
         OptimizationEnginePolicy policy = mergeOverrides(getDefaultPolicy(), activeOverrides);
-        CachedPolicySnapshot snapshot = new CachedPolicySnapshot(policy, activeOverrides, loadedAtEpochMs);
+        CachedPolicySnapshot previous = cache;
+        long version = previous != null && previous.activeOverrides.equals(activeOverrides)
+                ? previous.version
+                : policyVersionSequence.incrementAndGet();
+        CachedPolicySnapshot snapshot = new CachedPolicySnapshot(policy, activeOverrides, loadedAtEpochMs, version);
         cache = snapshot;
         return snapshot;
     }
@@ -342,6 +382,7 @@ public class OptimizationEngineConfigService {
         applyIntOverride(overrides, "performance.candidateSearchTimeoutMs", value -> mutable.candidateSearchTimeoutMs = value, 1, 10_000);
         applyIntOverride(overrides, "performance.portfolioOptimizeTimeoutMs", value -> mutable.portfolioOptimizeTimeoutMs = value, 1, 10_000);
         applyIntOverride(overrides, "performance.runtimeCacheTtlMs", value -> mutable.runtimeCacheTtlMs = value, 1_000, 3_600_000);
+        applyIntOverride(overrides, "performance.parallelism", value -> mutable.parallelism = value, 1, CandidateSearchPool.MAX_PARALLELISM);
 
         if (overrides.containsKey("tracking.enabled")) {
             mutable.trackingEnabled = parseBoolean(overrides.get("tracking.enabled"), "tracking.enabled");
@@ -402,6 +443,7 @@ public class OptimizationEngineConfigService {
                 Math.max(1, properties.getPerformance().getCandidateSearchTimeoutMs()),
                 Math.max(1, properties.getPerformance().getPortfolioOptimizeTimeoutMs()),
                 Math.max(1000, properties.getPerformance().getRuntimeCacheTtlMs()),
+                Math.max(1, Math.min(CandidateSearchPool.MAX_PARALLELISM, properties.getPerformance().getParallelism())),
                 properties.getTracking().isEnabled()
         );
     }
@@ -417,6 +459,7 @@ public class OptimizationEngineConfigService {
         private int candidateSearchTimeoutMs;
         private int portfolioOptimizeTimeoutMs;
         private int runtimeCacheTtlMs;
+        private int parallelism;
         private boolean trackingEnabled;
 
         private MutablePolicy(OptimizationEnginePolicy policy) {
@@ -430,6 +473,7 @@ public class OptimizationEngineConfigService {
             this.candidateSearchTimeoutMs = policy.getCandidateSearchTimeoutMs();
             this.portfolioOptimizeTimeoutMs = policy.getPortfolioOptimizeTimeoutMs();
             this.runtimeCacheTtlMs = policy.getRuntimeCacheTtlMs();
+            this.parallelism = policy.getParallelism();
             this.trackingEnabled = policy.isTrackingEnabled();
         }
 
@@ -445,6 +489,7 @@ public class OptimizationEngineConfigService {
                     candidateSearchTimeoutMs,
                     portfolioOptimizeTimeoutMs,
                     runtimeCacheTtlMs,
+                    parallelism,
                     trackingEnabled
             );
         }
@@ -454,11 +499,14 @@ public class OptimizationEngineConfigService {
         private final OptimizationEnginePolicy policy;
         private final Map<String, String> activeOverrides;
         private final long loadedAtEpochMs;
+        private final long version;
 
-        private CachedPolicySnapshot(OptimizationEnginePolicy policy, Map<String, String> activeOverrides, long loadedAtEpochMs) {
+        private CachedPolicySnapshot(OptimizationEnginePolicy policy, Map<String, String> activeOverrides,
+                                     long loadedAtEpochMs, long version) {
             this.policy = policy;
             this.activeOverrides = Collections.unmodifiableMap(new LinkedHashMap<>(activeOverrides));
             this.loadedAtEpochMs = loadedAtEpochMs;
+            this.version = version;
         }
     }
 }
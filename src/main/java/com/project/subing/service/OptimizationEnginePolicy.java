@@ -17,5 +17,6 @@ public class OptimizationEnginePolicy {
     private final int candidateSearchTimeoutMs;
     private final int portfolioOptimizeTimeoutMs;
     private final int runtimeCacheTtlMs;
+    private final int parallelism;
     private final boolean trackingEnabled;
 }
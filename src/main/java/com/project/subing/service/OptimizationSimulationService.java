@@ -0,0 +1,284 @@
+package com.project.subing.service;
+
+import com.project.subing.config.OptimizationEngineProperties;
+import com.project.subing.domain.subscription.entity.UserSubscription;
+import com.project.subing.dto.optimization.OptimizationEnginePolicyResponse;
+import com.project.subing.dto.optimization.OptimizationSimulationResponse;
+import com.project.subing.dto.optimization.OptimizationSimulationResponse.OutcomeDelta;
+import com.project.subing.dto.optimization.OptimizationSimulationResponse.PolicyOutcome;
+import com.project.subing.exception.business.SimulationAlreadyRunningException;
+import com.project.subing.repository.UserSubscriptionRepository;
+import com.project.subing.service.SubscriptionOptimizationService.CheaperAlternative;
+import com.project.subing.service.SubscriptionOptimizationService.OptimizationPipelineResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 최적화 정책 what-if 시뮬레이션
+ *
+ * 유료 활성 구독을 배치와 같은 user_id 키셋 청크로 적재하고(가격 인덱스는 기존 스냅샷 재사용),
+ * 현재 정책과 후보 정책을 사용자별로 나란히 평가해 집계 차이를 반환한다.
+ * 청크 단위로 평가 후 집계만 남기므로 전체 사용자 수와 무관하게 힙 사용량이 일정하다.
+ * 평가는 DB 접근 없이 후보 탐색 전용 풀에서 사용자 구간 단위로 병렬 수행한다.
+ * 동시에 하나의 시뮬레이션만 실행한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OptimizationSimulationService {
+
+    private static final int HIGH_CONFIDENCE_THRESHOLD = 80;
+    private static final int MEDIUM_CONFIDENCE_THRESHOLD = 60;
+    // 사용자별 계산량 편차를 흡수하도록 병렬도보다 잘게 나눔
+    private static final int SLICES_PER_WORKER = 4;
+
+    private final UserSubscriptionRepository userSubscriptionRepository;
+    private final SubscriptionOptimizationService subscriptionOptimizationService;
+    private final OptimizationEngineConfigService optimizationEngineConfigService;
+    private final PlanPriceIndex planPriceIndex;
+    private final CandidateSearchPool candidateSearchPool;
+    private final OptimizationEngineProperties optimizationEngineProperties;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public OptimizationSimulationResponse simulate(Map<String, String> overrides) {
+        // 잘못된 키/값은 실행 전에 400으로 거절
+        OptimizationEnginePolicy candidatePolicy = optimizationEngineConfigService.previewPolicy(overrides);
+        OptimizationEnginePolicy baselinePolicy = optimizationEngineConfigService.getEffectivePolicy();
+
+        if (!running.compareAndSet(false, true)) {
+            throw new SimulationAlreadyRunningException();
+        }
+        try {
+            long startedAtMs = System.currentTimeMillis();
+
+            int chunkSize = Math.max(1, optimizationEngineProperties.getBatch().getChunkSize());
+            // 가격 인덱스는 무효화된 경우에만 재구축
+            PlanPriceIndex.Snapshot index = planPriceIndex.snapshot();
+
+            SliceResult total = new SliceResult();
+            int userCount = 0;
+            int subscriptionCount = 0;
+            long cursor = 0L;
+            while (true) {
+                // 1. 키셋 페이지: 다음 사용자 묶음 + 묶음 전체 구독 - 2 쿼리
+                List<Long> userIds = userSubscriptionRepository.findActivePaidUserIdsAfter(cursor, PageRequest.of(0, chunkSize));
+                if (userIds.isEmpty()) {
+                    break;
+                }
+                List<UserSubscription> subscriptions = userSubscriptionRepository.findActivePaidWithServiceByUserIdIn(userIds);
+                List<UserSubscriptions> users = groupByUser(subscriptions);
+
+                // 2. 병렬 평가 후 집계만 누적
+                total.merge(evaluate(users, baselinePolicy, candidatePolicy, index));
+                userCount += users.size();
+                subscriptionCount += subscriptions.size();
+
+                cursor = userIds.get(userIds.size() - 1);
+                if (userIds.size() < chunkSize) {
+                    break;
+                }
+            }
+
+            PolicyOutcome baseline = total.baseline.toOutcome();
+            PolicyOutcome candidate = total.candidate.toOutcome();
+            long elapsedMs = System.currentTimeMillis() - startedAtMs;
+
+            log.info("최적화 정책 시뮬레이션 완료 - overrides: {}, 사용자: {}, 구독: {}, 절약 변화: {}원, 소요: {}ms",
+                    overrides, userCount, subscriptionCount,
+                    candidate.getTotalPotentialSavings() - baseline.getTotalPotentialSavings(), elapsedMs);
+
+            return OptimizationSimulationResponse.builder()
+                    .overrides(overrides)
+                    .baselinePolicy(OptimizationEnginePolicyResponse.from(baselinePolicy))
+                    .candidatePolicy(OptimizationEnginePolicyResponse.from(candidatePolicy))
+                    .userCount(userCount)
+                    .subscriptionCount(subscriptionCount)
+                    .planCount(index.getPlanCount())
+                    .planIndexVersion(index.getVersion())
+                    .baseline(baseline)
+                    .candidate(candidate)
+                    .delta(OutcomeDelta.builder()
+                            .totalPotentialSavings(candidate.getTotalPotentialSavings() - baseline.getTotalPotentialSavings())
+                            .usersWithSuggestions(candidate.getUsersWithSuggestions() - baseline.getUsersWithSuggestions())
+                            .suggestionCount(candidate.getSuggestionCount() - baseline.getSuggestionCount())
+                            .averageConfidence(candidate.getAverageConfidence() - baseline.getAverageConfidence())
+                            .build())
+                    .changedUserCount(total.changedUsers)
+                    .elapsedMs(elapsedMs)
+                    .build();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private SliceResult evaluate(List<UserSubscriptions> users, OptimizationEnginePolicy baselinePolicy,
+                                 OptimizationEnginePolicy candidatePolicy, PlanPriceIndex.Snapshot index) {
+        int size = users.size();
+        if (size == 0) {
+            return new SliceResult();
+        }
+
+        int workers = candidateSearchPool.effectiveParallelism(CandidateSearchPool.MAX_PARALLELISM);
+        int sliceCount = Math.min(size, workers * SLICES_PER_WORKER);
+        int sliceSize = (size + sliceCount - 1) / sliceCount;
+
+        List<SliceResult> sliceResults = new ArrayList<>();
+        List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        for (int from = 0; from < size; from += sliceSize) {
+            int sliceFrom = from;
+            int sliceTo = Math.min(size, from + sliceSize);
+            SliceResult sliceResult = new SliceResult();
+            sliceResults.add(sliceResult);
+            tasks.add(candidateSearchPool.submit(() -> {
+                for (int i = sliceFrom; i < sliceTo; i++) {
+                    UserSubscriptions user = users.get(i);
+                    OptimizationPipelineResult before = subscriptionOptimizationService
+                            .runOptimizationPipeline(user.userId, user.subscriptions, baselinePolicy, index);
+                    OptimizationPipelineResult after = subscriptionOptimizationService
+                            .runOptimizationPipeline(user.userId, user.subscriptions, candidatePolicy, index);
+                    sliceResult.add(before, after);
+                }
+            }));
+        }
+        for (ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+
+        SliceResult total = new SliceResult();
+        for (SliceResult sliceResult : sliceResults) {
+            total.merge(sliceResult);
+        }
+        return total;
+    }
+
+    // 조회 결과가 user_id 순이므로 연속 구간 단위로 묶음
+    private List<UserSubscriptions> groupByUser(List<UserSubscription> subscriptions) {
+        List<UserSubscriptions> users = new ArrayList<>();
+        UserSubscriptions current = null;
+        for (UserSubscription subscription : subscriptions) {
+            Long userId = subscription.getUser().getId();
+            if (current == null || !current.userId.equals(userId)) {
+                current = new UserSubscriptions(userId);
+                users.add(current);
+            }
+            current.subscriptions.add(subscription);
+        }
+        return users;
+    }
+
+    private static class UserSubscriptions {
+        private final Long userId;
+        private final List<UserSubscription> subscriptions = new ArrayList<>();
+
+        private UserSubscriptions(Long userId) {
+            this.userId = userId;
+        }
+    }
+
+    /**
+     * 사용자 구간 1개의 집계 (구간별로 한 스레드만 갱신)
+     */
+    private static class SliceResult {
+        private final OutcomeAccumulator baseline = new OutcomeAccumulator();
+        private final OutcomeAccumulator candidate = new OutcomeAccumulator();
+        private int changedUsers;
+
+        private void add(OptimizationPipelineResult before, OptimizationPipelineResult after) {
+            baseline.add(before);
+            candidate.add(after);
+            if (before.getTotalPotentialSavings() != after.getTotalPotentialSavings()
+                    || before.getPortfolio().getSelected().size() != after.getPortfolio().getSelected().size()) {
+                changedUsers++;
+            }
+        }
+
+        private void merge(SliceResult other) {
+            baseline.merge(other.baseline);
+            candidate.merge(other.candidate);
+            changedUsers += other.changedUsers;
+        }
+    }
+
+    private static class OutcomeAccumulator {
+        private long totalPotentialSavings;
+        private int usersWithSuggestions;
+        private int suggestionCount;
+        private int candidateCount;
+        private int downgradeCount;
+        private int switchCount;
+        private long confidenceSum;
+        private int highConfidence;
+        private int mediumConfidence;
+        private int lowConfidence;
+        private int notProvenOptimalUsers;
+
+        private void add(OptimizationPipelineResult result) {
+            List<CheaperAlternative> selected = result.getPortfolio().getSelected();
+            totalPotentialSavings += result.getTotalPotentialSavings();
+            candidateCount += result.getAlternativeCount();
+            if (!selected.isEmpty()) {
+                usersWithSuggestions++;
+            }
+            if (!result.getPortfolio().isProvenOptimal()) {
+                notProvenOptimalUsers++;
+            }
+            for (CheaperAlternative alternative : selected) {
+                suggestionCount++;
+                if (alternative.isSameService()) {
+                    downgradeCount++;
+                } else {
+                    switchCount++;
+                }
+                int confidence = alternative.getConfidenceScore();
+                confidenceSum += confidence;
+                if (confidence >= HIGH_CONFIDENCE_THRESHOLD) {
+                    highConfidence++;
+                } else if (confidence >= MEDIUM_CONFIDENCE_THRESHOLD) {
+                    mediumConfidence++;
+                } else {
+                    lowConfidence++;
+                }
+            }
+        }
+
+        private void merge(OutcomeAccumulator other) {
+            totalPotentialSavings += other.totalPotentialSavings;
+            usersWithSuggestions += other.usersWithSuggestions;
+            suggestionCount += other.suggestionCount;
+            candidateCount += other.candidateCount;
+            downgradeCount += other.downgradeCount;
+            switchCount += other.switchCount;
+            confidenceSum += other.confidenceSum;
+            highConfidence += other.highConfidence;
+            mediumConfidence += other.mediumConfidence;
+            lowConfidence += other.lowConfidence;
+            notProvenOptimalUsers += other.notProvenOptimalUsers;
+        }
+
+        private PolicyOutcome toOutcome() {
+            Map<String, Integer> distribution = new LinkedHashMap<>();
+            distribution.put("HIGH", highConfidence);
+            distribution.put("MEDIUM", mediumConfidence);
+            distribution.put("LOW", lowConfidence);
+
+            return PolicyOutcome.builder()
+                    .totalPotentialSavings(totalPotentialSavings)
+                    .usersWithSuggestions(usersWithSuggestions)
+                    .suggestionCount(suggestionCount)
+                    .candidateCount(candidateCount)
+                    .downgradeCount(downgradeCount)
+                    .switchCount(switchCount)
+                    .averageConfidence(suggestionCount == 0 ? 0.0 : (double) confidenceSum / suggestionCount)
+                    .confidenceDistribution(distribution)
+                    .notProvenOptimalUsers(notProvenOptimalUsers)
+                    .build();
+        }
+    }
+}
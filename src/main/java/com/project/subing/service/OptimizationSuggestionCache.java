@@ -0,0 +1,102 @@
+package com.project.subing.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project.subing.config.OptimizationEngineProperties;
+import com.project.subing.dto.optimization.OptimizationSuggestionResponse;
+import com.project.subing.service.event.CatalogChangedEvent;
+import com.project.subing.service.event.SubscriptionChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * 사용자별 최적화 제안 캐시
+ *
+ * 키: (userId, 정책 버전). 정책 override가 바뀌면 버전이 올라가 이전 결과는 조회되지 않는다.
+ * 무효화:
+ * - 구독 생성/수정/삭제/상태 변경 커밋 후 해당 사용자 항목 제거
+ * - 정책 버전 변경 또는 카탈로그(서비스/요금제) 변경 시 전체 제거
+ */
+@Slf4j
+@Component
+public class OptimizationSuggestionCache {
+
+    private static final String CACHE_NAME = "optimizationSuggestions";
+
+    private final OptimizationEngineConfigService optimizationEngineConfigService;
+    private final boolean enabled;
+    private final Cache<SuggestionKey, OptimizationSuggestionResponse> cache;
+
+    private volatile long lastSeenPolicyVersion = -1L;
+
+    public OptimizationSuggestionCache(OptimizationEngineConfigService optimizationEngineConfigService,
+                                       OptimizationEngineProperties optimizationEngineProperties,
+                                       MeterRegistry meterRegistry) {
+        OptimizationEngineProperties.SuggestionCache properties = optimizationEngineProperties.getSuggestionCache();
+        this.optimizationEngineConfigService = optimizationEngineConfigService;
+        this.enabled = properties.isEnabled();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(Math.max(1, properties.getMaxSize()))
+                .expireAfterWrite(Duration.ofSeconds(Math.max(1, properties.getTtlSeconds())))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * 캐시 조회, 없으면 loader로 계산 후 저장
+     * 같은 키에 대한 동시 요청은 한 번만 계산된다.
+     */
+    public OptimizationSuggestionResponse get(Long userId, Supplier<OptimizationSuggestionResponse> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        long policyVersion = optimizationEngineConfigService.getEffectivePolicyVersion();
+        if (policyVersion != lastSeenPolicyVersion) {
+            // 이전 정책 버전 항목은 더 이상 조회되지 않으므로 메모리에서 즉시 제거
+            cache.invalidateAll();
+            lastSeenPolicyVersion = policyVersion;
+        }
+
+        return cache.get(new SuggestionKey(userId, policyVersion), key -> loader.get());
+    }
+
+    public void evictUser(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        cache.invalidate(new SuggestionKey(userId, lastSeenPolicyVersion));
+    }
+
+    public void evictAll() {
+        cache.invalidateAll();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSubscriptionChanged(SubscriptionChangedEvent event) {
+        evictUser(event.getUserId());
+        log.debug("최적화 제안 캐시 무효화 - userId: {}, subscriptionId: {}", event.getUserId(), event.getSubscriptionId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        evictAll();
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static final class SuggestionKey {
+        private final Long userId;
+        private final long policyVersion;
+    }
+}
@@ -0,0 +1,264 @@
+package com.project.subing.service;
+
+import com.project.subing.domain.common.ServiceCategory;
+import com.project.subing.domain.service.entity.ServiceEntity;
+import com.project.subing.domain.service.entity.SubscriptionPlan;
+import com.project.subing.repository.SubscriptionPlanRepository;
+import com.project.subing.service.event.CatalogChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 최적화 엔진용 요금제 가격 인덱스
+ *
+ * 카테고리 → 서비스 → 플랜(월 가격 오름차순)을 불변 스냅샷으로 메모리에 보관한다.
+ * 카탈로그 변경이 커밋되면 세대 번호만 올려 두고, 다음 조회 시 새 스냅샷을 만들어 원자적으로 교체한다.
+ * 플랜 가격은 모두 월 단위이므로 monthlyPrice를 그대로 정규화 월 비용으로 사용한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PlanPriceIndex {
+
+    private final SubscriptionPlanRepository subscriptionPlanRepository;
+
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong versionSequence = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    /**
+     * 현재 스냅샷 조회 (무효화된 경우에만 재구축, 그 외에는 DB 조회 없음)
+     */
+    public Snapshot snapshot() {
+        Snapshot local = snapshot;
+        if (local != null && local.generation == generation.get()) {
+            return local;
+        }
+
+        synchronized (this) {
+            local = snapshot;
+            long currentGeneration = generation.get();
+            if (local != null && local.generation == currentGeneration) {
+                return local;
+            }
+
+            Snapshot rebuilt = build(currentGeneration);
+            snapshot = rebuilt;
+            return rebuilt;
+        }
+    }
+
+    /**
+     * 카탈로그 변경 커밋 후 인덱스 무효화
+     * 한 트랜잭션에서 여러 플랜이 바뀌어도 재구축은 다음 조회 시 한 번만 수행된다.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        generation.incrementAndGet();
+    }
+
+    private Snapshot build(long currentGeneration) {
+        long startedAtNs = System.nanoTime();
+        List<SubscriptionPlan> plans = subscriptionPlanRepository.findAllWithService();
+
+        Map<Long, ServiceEntity> serviceById = new HashMap<>();
+        Map<Long, List<SubscriptionPlan>> plansByServiceId = new HashMap<>();
+        for (SubscriptionPlan plan : plans) {
+            if (plan.getMonthlyPrice() == null || plan.getService() == null) {
+                continue;
+            }
+            ServiceEntity service = plan.getService();
+            serviceById.putIfAbsent(service.getId(), service);
+            plansByServiceId.computeIfAbsent(service.getId(), id -> new ArrayList<>()).add(plan);
+        }
+
+        Map<Long, ServicePlans> servicePlansById = new HashMap<>();
+        Map<ServiceCategory, List<ServicePlans>> servicesByCategory = new EnumMap<>(ServiceCategory.class);
+        for (Map.Entry<Long, List<SubscriptionPlan>> entry : plansByServiceId.entrySet()) {
+            ServiceEntity service = serviceById.get(entry.getKey());
+            ServicePlans servicePlans = ServicePlans.of(service, entry.getValue());
+            servicePlansById.put(service.getId(), servicePlans);
+            servicesByCategory.computeIfAbsent(service.getCategory(), category -> new ArrayList<>()).add(servicePlans);
+        }
+
+        Map<ServiceCategory, CategoryPlans> categoryPlans = new EnumMap<>(ServiceCategory.class);
+        for (Map.Entry<ServiceCategory, List<ServicePlans>> entry : servicesByCategory.entrySet()) {
+            categoryPlans.put(entry.getKey(), CategoryPlans.of(entry.getValue()));
+        }
+
+        Snapshot built = new Snapshot(
+                versionSequence.incrementAndGet(),
+                currentGeneration,
+                categoryPlans,
+                servicePlansById,
+                plans.size()
+        );
+
+        log.info("요금제 가격 인덱스 구축 완료 - version: {}, 서비스 수: {}, 플랜 수: {}, 소요: {}ms",
+                built.getVersion(), servicePlansById.size(), built.getPlanCount(),
+                (System.nanoTime() - startedAtNs) / 1_000_000);
+        return built;
+    }
+
+    /**
+     * 오름차순 정렬 배열에서 key 이상인 첫 위치 (= key보다 싼 원소 개수)
+     */
+    static int lowerBound(int[] sortedValues, int key) {
+        int low = 0;
+        int high = sortedValues.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedValues[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * 불변 인덱스 스냅샷
+     */
+    public static class Snapshot {
+        private final long version;
+        private final long generation;
+        private final Map<ServiceCategory, CategoryPlans> categoryPlans;
+        private final Map<Long, ServicePlans> servicePlansById;
+        private final int planCount;
+
+        private Snapshot(long version, long generation, Map<ServiceCategory, CategoryPlans> categoryPlans,
+                         Map<Long, ServicePlans> servicePlansById, int planCount) {
+            this.version = version;
+            this.generation = generation;
+            this.categoryPlans = Collections.unmodifiableMap(categoryPlans);
+            this.servicePlansById = Map.copyOf(servicePlansById);
+            this.planCount = planCount;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public int getPlanCount() {
+            return planCount;
+        }
+
+        public CategoryPlans category(ServiceCategory category) {
+            return categoryPlans.getOrDefault(category, CategoryPlans.EMPTY);
+        }
+
+        /**
+         * 서비스별 플랜 조회 (플랜이 없는 서비스는 null)
+         */
+        public ServicePlans service(Long serviceId) {
+            return serviceId == null ? null : servicePlansById.get(serviceId);
+        }
+    }
+
+    /**
+     * 카테고리 내 서비스 목록 (서비스 최저가 오름차순)
+     */
+    public static class CategoryPlans {
+        private static final CategoryPlans EMPTY = new CategoryPlans(new ServicePlans[0], new int[0]);
+
+        private final ServicePlans[] services;
+        private final int[] minPrices;
+
+        private CategoryPlans(ServicePlans[] services, int[] minPrices) {
+            this.services = services;
+            this.minPrices = minPrices;
+        }
+
+        private static CategoryPlans of(List<ServicePlans> servicePlans) {
+            ServicePlans[] sorted = servicePlans.toArray(new ServicePlans[0]);
+            Arrays.sort(sorted, Comparator.comparingInt(ServicePlans::minPrice)
+                    .thenComparing(plans -> plans.getService().getId()));
+
+            int[] minPrices = new int[sorted.length];
+            for (int i = 0; i < sorted.length; i++) {
+                minPrices[i] = sorted[i].minPrice();
+            }
+            return new CategoryPlans(sorted, minPrices);
+        }
+
+        public int size() {
+            return services.length;
+        }
+
+        public ServicePlans serviceAt(int index) {
+            return services[index];
+        }
+
+        /**
+         * 최저가 플랜이 price보다 싼 서비스 개수 (앞에서부터 이 개수만큼이 후보)
+         */
+        public int countServicesCheaperThan(int price) {
+            return lowerBound(minPrices, price);
+        }
+    }
+
+    /**
+     * 서비스 1개의 플랜 목록 (월 가격 오름차순, 가격은 원시 int 배열로 보관)
+     */
+    public static class ServicePlans {
+        private final ServiceEntity service;
+        private final SubscriptionPlan[] plans;
+        private final int[] prices;
+
+        private ServicePlans(ServiceEntity service, SubscriptionPlan[] plans, int[] prices) {
+            this.service = service;
+            this.plans = plans;
+            this.prices = prices;
+        }
+
+        private static ServicePlans of(ServiceEntity service, List<SubscriptionPlan> plans) {
+            SubscriptionPlan[] sorted = plans.toArray(new SubscriptionPlan[0]);
+            Arrays.sort(sorted, Comparator.comparingInt(SubscriptionPlan::getMonthlyPrice)
+                    .thenComparing(SubscriptionPlan::getId));
+
+            int[] prices = new int[sorted.length];
+            for (int i = 0; i < sorted.length; i++) {
+                prices[i] = sorted[i].getMonthlyPrice();
+            }
+            return new ServicePlans(service, sorted, prices);
+        }
+
+        public ServiceEntity getService() {
+            return service;
+        }
+
+        public int size() {
+            return plans.length;
+        }
+
+        public SubscriptionPlan planAt(int index) {
+            return plans[index];
+        }
+
+        public int priceAt(int index) {
+            return prices[index];
+        }
+
+        public int minPrice() {
+            return prices.length == 0 ? Integer.MAX_VALUE : prices[0];
+        }
+
+        public int maxPrice() {
+            return prices.length == 0 ? 0 : prices[prices.length - 1];
+        }
+
+        /**
+         * price보다 싼 플랜 개수 (앞에서부터 이 개수만큼이 후보)
+         */
+        public int countCheaperThan(int price) {
+            return lowerBound(prices, price);
+        }
+    }
+}
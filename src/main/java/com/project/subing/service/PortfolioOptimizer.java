@@ -0,0 +1,325 @@
+package com.project.subing.service;
+
+import com.project.subing.service.SubscriptionOptimizationService.CheaperAlternative;
+
+import java.util.*;
+
+/**
+ * 포트폴리오 최적화기 (분기 한정법)
+ *
+ * 제약:
+ * - 구독 1건당 대안 최대 1개
+ * - 타 서비스 대안은 대안 서비스 1개당 구독 1건만 (동일 서비스 다운그레이드는 충돌 없음)
+ * - 전체 변경 건수 maxChanges 이하
+ * 목표: 순절약 합계 최대화 (동률이면 신뢰도 합계가 높은 조합)
+ *
+ * 탐욕 결과를 초기 해로 두고 탐색하며, 타임아웃 시 그때까지의 최선 해를 반환한다.
+ * 탐색은 AlternativeCandidates의 인덱스로만 진행하고, 선택된 후보만 DTO로 변환한다.
+ */
+public final class PortfolioOptimizer {
+
+    private static final int DEADLINE_CHECK_INTERVAL = 1024;
+
+    private final AlternativeCandidates candidates;
+    private final List<SubscriptionNode> nodes;
+    private final int maxChanges;
+    private final long deadlineNs;
+    private final long[] boundPrefix;
+    private final boolean[] usedServiceSlots;
+
+    private final Option[] currentChoice;
+    private Option[] bestChoice;
+    private long bestValue;
+    private long visitedNodes;
+    private boolean timedOut;
+
+    private PortfolioOptimizer(AlternativeCandidates candidates, List<SubscriptionNode> nodes, int maxChanges,
+                               long deadlineNs, int serviceSlotCount) {
+        this.candidates = candidates;
+        this.nodes = nodes;
+        this.maxChanges = maxChanges;
+        this.deadlineNs = deadlineNs;
+        this.usedServiceSlots = new boolean[serviceSlotCount];
+        this.currentChoice = new Option[nodes.size()];
+
+        // 남은 구독의 최선 값 누적합 (구독은 최선 값 내림차순 정렬되어 있음)
+        this.boundPrefix = new long[nodes.size() + 1];
+        for (int i = 0; i < nodes.size(); i++) {
+            boundPrefix[i + 1] = boundPrefix[i] + nodes.get(i).options[0].value;
+        }
+    }
+
+    /**
+     * 제약 조건하의 최적 대안 조합 선택
+     *
+     * @param alternatives 후보 대안 전체
+     * @param maxChanges   최대 변경 건수
+     * @param timeoutNs    탐색 제한 시간(ns)
+     */
+    public static PortfolioSelection optimize(List<CheaperAlternative> alternatives, int maxChanges, long timeoutNs) {
+        if (alternatives == null || alternatives.isEmpty()) {
+            return new PortfolioSelection(Collections.emptyList(), true, 0);
+        }
+        return optimize(AlternativeCandidates.from(alternatives), maxChanges, timeoutNs);
+    }
+
+    /**
+     * 후보 버퍼 기반 최적 조합 선택 (선택된 후보만 DTO로 변환)
+     */
+    public static PortfolioSelection optimize(AlternativeCandidates candidates, int maxChanges, long timeoutNs) {
+        if (candidates == null || candidates.isEmpty()) {
+            return new PortfolioSelection(Collections.emptyList(), true, 0);
+        }
+
+        long startedAtNs = System.nanoTime();
+        int limit = Math.max(1, maxChanges);
+
+        // 구독 수 × 최대 신뢰도보다 큰 배수로 순절약을 우선, 신뢰도를 보조 기준으로 합산
+        long confidenceScale = 100L * candidates.size() + 1;
+        Map<Long, Integer> serviceSlots = new HashMap<>();
+        List<SubscriptionNode> nodes = buildNodes(candidates, confidenceScale, serviceSlots);
+
+        int[] greedy = selectGreedy(candidates, nodes, limit);
+        if (nodes.isEmpty()) {
+            return new PortfolioSelection(Collections.emptyList(), true, 0);
+        }
+
+        PortfolioOptimizer optimizer = new PortfolioOptimizer(
+                candidates, nodes, limit, startedAtNs + timeoutNs, serviceSlots.size());
+        optimizer.seedIncumbent(greedy);
+        optimizer.search(0, 0, 0L);
+
+        List<CheaperAlternative> selected = optimizer.collectBest();
+        return new PortfolioSelection(selected, !optimizer.timedOut, optimizer.visitedNodes);
+    }
+
+    /**
+     * 구독별 후보 정리
+     * - 동일 서비스 다운그레이드는 충돌이 없으므로 최선 1개만 유지
+     * - 타 서비스 대안은 (구독, 대안 서비스)별 최선 1개만 유지하고, 다운그레이드 최선보다 나쁘면 제외
+     */
+    private static List<SubscriptionNode> buildNodes(AlternativeCandidates candidates, long confidenceScale,
+                                                     Map<Long, Integer> serviceSlots) {
+        Map<Long, Integer> bestSameService = new LinkedHashMap<>();
+        Map<Long, Map<Long, Integer>> bestCrossService = new LinkedHashMap<>();
+
+        for (int i = 0; i < candidates.size(); i++) {
+            Long subscriptionId = candidates.subscriptionAt(i).getId();
+            if (candidates.isSameService(i)) {
+                bestSameService.merge(subscriptionId, i, (a, b) -> pickBetter(candidates, a, b));
+            } else {
+                bestCrossService.computeIfAbsent(subscriptionId, id -> new LinkedHashMap<>())
+                        .merge(candidates.serviceAt(i).getId(), i, (a, b) -> pickBetter(candidates, a, b));
+            }
+        }
+
+        Set<Long> subscriptionIds = new LinkedHashSet<>(bestSameService.keySet());
+        subscriptionIds.addAll(bestCrossService.keySet());
+
+        Comparator<Option> optionOrder = optionOrder(candidates);
+        List<SubscriptionNode> nodes = new ArrayList<>();
+        for (Long subscriptionId : subscriptionIds) {
+            List<Option> options = new ArrayList<>();
+            Integer same = bestSameService.get(subscriptionId);
+            if (same != null) {
+                options.add(new Option(same, valueOf(candidates, same, confidenceScale), -1));
+            }
+            Map<Long, Integer> crossByService =
+                    bestCrossService.getOrDefault(subscriptionId, Collections.emptyMap());
+            for (int cross : crossByService.values()) {
+                if (same != null && pickBetter(candidates, same, cross) == same) {
+                    continue;
+                }
+                int slot = serviceSlots.computeIfAbsent(candidates.serviceAt(cross).getId(), id -> serviceSlots.size());
+                options.add(new Option(cross, valueOf(candidates, cross, confidenceScale), slot));
+            }
+
+            options.sort(optionOrder);
+            nodes.add(new SubscriptionNode(options.toArray(new Option[0])));
+        }
+
+        nodes.sort((a, b) -> optionOrder.compare(a.options[0], b.options[0]));
+        return nodes;
+    }
+
+    /**
+     * 기존 탐욕 방식 (초기 해 및 타임아웃 대비용)
+     *
+     * @return 선택된 후보 인덱스
+     */
+    private static int[] selectGreedy(AlternativeCandidates candidates, List<SubscriptionNode> nodes, int maxChanges) {
+        Set<Long> usedAlternativeServiceIds = new HashSet<>();
+        int[] selected = new int[Math.min(maxChanges, nodes.size())];
+        int count = 0;
+        for (SubscriptionNode node : nodes) {
+            int best = node.options[0].candidate;
+            if (candidates.isSameService(best) || usedAlternativeServiceIds.add(candidates.serviceAt(best).getId())) {
+                selected[count++] = best;
+                if (count >= maxChanges) {
+                    break;
+                }
+            }
+        }
+        return Arrays.copyOf(selected, count);
+    }
+
+    private void seedIncumbent(int[] greedy) {
+        bestChoice = new Option[nodes.size()];
+        bestValue = 0L;
+        boolean[] inGreedy = new boolean[candidates.size()];
+        for (int candidate : greedy) {
+            inGreedy[candidate] = true;
+        }
+        for (int i = 0; i < nodes.size(); i++) {
+            for (Option option : nodes.get(i).options) {
+                if (inGreedy[option.candidate]) {
+                    bestChoice[i] = option;
+                    bestValue += option.value;
+                    break;
+                }
+            }
+        }
+    }
+
+    private void search(int index, int changes, long value) {
+        if (timedOut) {
+            return;
+        }
+        if (++visitedNodes % DEADLINE_CHECK_INTERVAL == 0 && System.nanoTime() > deadlineNs) {
+            timedOut = true;
+            return;
+        }
+
+        if (value > bestValue) {
+            bestValue = value;
+            bestChoice = currentChoice.clone();
+        }
+
+        int remaining = maxChanges - changes;
+        if (index >= nodes.size() || remaining == 0) {
+            return;
+        }
+
+        // 상한: 충돌을 무시하고 남은 구독 중 상위 remaining개의 최선 값을 더한 값
+        int boundEnd = Math.min(nodes.size(), index + remaining);
+        if (value + boundPrefix[boundEnd] - boundPrefix[index] <= bestValue) {
+            return;
+        }
+
+        for (Option option : nodes.get(index).options) {
+            if (option.serviceSlot >= 0) {
+                if (usedServiceSlots[option.serviceSlot]) {
+                    continue;
+                }
+                usedServiceSlots[option.serviceSlot] = true;
+            }
+            currentChoice[index] = option;
+
+            search(index + 1, changes + 1, value + option.value);
+
+            currentChoice[index] = null;
+            if (option.serviceSlot >= 0) {
+                usedServiceSlots[option.serviceSlot] = false;
+            }
+            if (timedOut) {
+                return;
+            }
+        }
+
+        // 이 구독은 변경하지 않는 경우
+        search(index + 1, changes, value);
+    }
+
+    private List<CheaperAlternative> collectBest() {
+        List<CheaperAlternative> selected = new ArrayList<>();
+        for (Option option : bestChoice) {
+            if (option != null) {
+                selected.add(candidates.materialize(option.candidate));
+            }
+        }
+        // 순절약 기준 내림차순 정렬 (다운그레이드 우선)
+        selected.sort((a, b) -> {
+            int netSavingsDiff = Integer.compare(b.getNetSavings(), a.getNetSavings());
+            if (netSavingsDiff != 0) return netSavingsDiff;
+            if (a.isSameService() != b.isSameService()) return a.isSameService() ? -1 : 1;
+            return Integer.compare(b.getConfidenceScore(), a.getConfidenceScore());
+        });
+        return selected;
+    }
+
+    private static long valueOf(AlternativeCandidates candidates, int candidate, long confidenceScale) {
+        return candidates.netSavingsAt(candidate) * confidenceScale + candidates.confidenceScoreAt(candidate);
+    }
+
+    private static int pickBetter(AlternativeCandidates candidates, int a, int b) {
+        int netSavingsDiff = Integer.compare(candidates.netSavingsAt(a), candidates.netSavingsAt(b));
+        if (netSavingsDiff != 0) {
+            return netSavingsDiff >= 0 ? a : b;
+        }
+        if (candidates.isSameService(a) != candidates.isSameService(b)) {
+            return candidates.isSameService(a) ? a : b;
+        }
+        return candidates.confidenceScoreAt(a) >= candidates.confidenceScoreAt(b) ? a : b;
+    }
+
+    private static Comparator<Option> optionOrder(AlternativeCandidates candidates) {
+        return (a, b) -> {
+            int valueDiff = Long.compare(b.value, a.value);
+            if (valueDiff != 0) return valueDiff;
+            if (candidates.isSameService(a.candidate) != candidates.isSameService(b.candidate)) {
+                return candidates.isSameService(a.candidate) ? -1 : 1;
+            }
+            int subscriptionDiff = Long.compare(candidates.subscriptionAt(a.candidate).getId(),
+                    candidates.subscriptionAt(b.candidate).getId());
+            if (subscriptionDiff != 0) return subscriptionDiff;
+            return Long.compare(candidates.planAt(a.candidate).getId(), candidates.planAt(b.candidate).getId());
+        };
+    }
+
+    private static final class SubscriptionNode {
+        private final Option[] options;
+
+        private SubscriptionNode(Option[] options) {
+            this.options = options;
+        }
+    }
+
+    private static final class Option {
+        private final int candidate;
+        private final long value;
+        private final int serviceSlot;
+
+        private Option(int candidate, long value, int serviceSlot) {
+            this.candidate = candidate;
+            this.value = value;
+            this.serviceSlot = serviceSlot;
+        }
+    }
+
+    /**
+     * 포트폴리오 최적화 결과
+     */
+    public static class PortfolioSelection {
+        private final List<CheaperAlternative> selected;
+        private final boolean provenOptimal;
+        private final long visitedNodes;
+
+        public PortfolioSelection(List<CheaperAlternative> selected, boolean provenOptimal, long visitedNodes) {
+            this.selected = List.copyOf(selected);
+            this.provenOptimal = provenOptimal;
+            this.visitedNodes = visitedNodes;
+        }
+
+        public List<CheaperAlternative> getSelected() {
+            return selected;
+        }
+
+        public boolean isProvenOptimal() {
+            return provenOptimal;
+        }
+
+        public long getVisitedNodes() {
+            return visitedNodes;
+        }
+    }
+}
@@ -0,0 +1,333 @@
+package com.project.subing.service;
+
+import com.project.subing.config.RecommendationProperties;
+import com.project.subing.config.RecommendationProperties.Experiment.Strategy;
+import com.project.subing.domain.recommendation.entity.PromptExperimentStat;
+import com.project.subing.domain.recommendation.enums.PromptVersion;
+import com.project.subing.dto.recommendation.PromptExperimentResponse;
+import com.project.subing.repository.PromptExperimentStatRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 프롬프트 버전 실험 (온라인 밴딧 배분 + 메모리 집계)
+ *
+ * - 노출(저장된 추천 결과)/클릭/피드백은 버전별 메모리 카운터에만 더하고, 주기적으로 롤업 테이블에 증분 반영한다.
+ * - 반영 후 롤업 테이블을 다시 읽어 다른 인스턴스의 증분까지 배분에 사용한다.
+ * - 배분 전략: THOMPSON(클릭률 Beta 사후분포 샘플링), EPSILON_GREEDY, UNIFORM.
+ *   모든 버전이 minImpressions에 도달하기 전까지는 전략과 무관하게 균등 배분한다.
+ * - 조회는 버전당 카운터만 읽으므로 원본 클릭/피드백 행 수와 무관하다.
+ * 보상은 추천 1건이 클릭을 받았는지(Bernoulli)로 보되, 노출당 클릭 수로 근사하고 노출 수를 넘지 않게 자른다.
+ */
+@Slf4j
+@Service
+public class PromptExperimentService {
+
+    private static final PromptVersion[] VERSIONS = PromptVersion.values();
+    private static final int ALLOCATION_SAMPLES = 2_000;
+
+    private final PromptExperimentStatRepository promptExperimentStatRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final RecommendationProperties.Experiment properties;
+
+    private final Map<PromptVersion, VersionCounters> counters = new EnumMap<>(PromptVersion.class);
+    private final Object flushLock = new Object();
+    private volatile boolean loaded;
+    private volatile LocalDateTime lastFlushedAt;
+
+    public PromptExperimentService(PromptExperimentStatRepository promptExperimentStatRepository,
+                                   TransactionTemplate transactionTemplate,
+                                   RecommendationProperties recommendationProperties) {
+        this.promptExperimentStatRepository = promptExperimentStatRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = recommendationProperties.getExperiment();
+        for (PromptVersion version : VERSIONS) {
+            counters.put(version, new VersionCounters());
+        }
+    }
+
+    /**
+     * 이번 요청에 사용할 프롬프트 버전 선택
+     */
+    public PromptVersion choose() {
+        ensureLoaded();
+        return select(ThreadLocalRandom.current());
+    }
+
+    public void recordImpression(PromptVersion version) {
+        if (version != null) {
+            counters.get(version).pendingImpressions.increment();
+        }
+    }
+
+    public void recordClick(PromptVersion version) {
+        if (version != null) {
+            counters.get(version).pendingClicks.increment();
+        }
+    }
+
+    public void recordFeedback(PromptVersion version, Boolean isHelpful) {
+        if (version == null || isHelpful == null) {
+            return;
+        }
+        VersionCounters versionCounters = counters.get(version);
+        if (isHelpful) {
+            versionCounters.pendingHelpful.increment();
+        } else {
+            versionCounters.pendingNotHelpful.increment();
+        }
+    }
+
+    /**
+     * 버전별 실험 현황 (메모리 카운터 기준, 원본 행 집계 없음)
+     */
+    public PromptExperimentResponse getReport() {
+        ensureLoaded();
+
+        // 현재 카운터로 배분 확률 추정 (전략과 같은 선택 로직을 반복 실행)
+        Map<PromptVersion, Integer> selections = new EnumMap<>(PromptVersion.class);
+        Random random = new Random();
+        for (int i = 0; i < ALLOCATION_SAMPLES; i++) {
+            selections.merge(select(random), 1, Integer::sum);
+        }
+
+        List<PromptExperimentResponse.VersionStat> versions = new ArrayList<>();
+        for (PromptVersion version : VERSIONS) {
+            VersionCounters c = counters.get(version);
+            long impressions = c.impressions();
+            long clicks = c.clicks();
+            long helpful = c.helpful();
+            long notHelpful = c.notHelpful();
+            long feedbacks = helpful + notHelpful;
+
+            versions.add(PromptExperimentResponse.VersionStat.builder()
+                    .promptVersion(version)
+                    .description(version.getDescription())
+                    .impressions(impressions)
+                    .clicks(clicks)
+                    .helpfulCount(helpful)
+                    .notHelpfulCount(notHelpful)
+                    .clickThroughRate(impressions > 0 ? (double) clicks / impressions : 0.0)
+                    .helpfulRate(feedbacks > 0 ? (double) helpful / feedbacks : 0.0)
+                    .expectedReward(posteriorMean(c))
+                    .allocationProbability(selections.getOrDefault(version, 0) / (double) ALLOCATION_SAMPLES)
+                    .build());
+        }
+
+        return PromptExperimentResponse.builder()
+                .strategy(properties.getStrategy().name())
+                .epsilon(properties.getEpsilon())
+                .minImpressions(properties.getMinImpressions())
+                .lastFlushedAt(lastFlushedAt)
+                .versions(versions)
+                .build();
+    }
+
+    /**
+     * 메모리 증분을 롤업 테이블에 반영하고 전체 누적값을 다시 읽음
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            ensureLoaded();
+
+            Map<PromptVersion, long[]> deltas = new EnumMap<>(PromptVersion.class);
+            for (PromptVersion version : VERSIONS) {
+                long[] delta = counters.get(version).drainPending();
+                if (delta[0] != 0 || delta[1] != 0 || delta[2] != 0 || delta[3] != 0) {
+                    deltas.put(version, delta);
+                }
+            }
+
+            try {
+                LocalDateTime now = LocalDateTime.now();
+                List<PromptExperimentStat> stats = transactionTemplate.execute(status -> {
+                    deltas.forEach((version, delta) -> {
+                        int updated = promptExperimentStatRepository.addCounts(
+                                version, delta[0], delta[1], delta[2], delta[3], now);
+                        if (updated == 0) {
+                            promptExperimentStatRepository.save(PromptExperimentStat.builder()
+                                    .promptVersion(version)
+                                    .impressions(delta[0])
+                                    .clicks(delta[1])
+                                    .helpfulCount(delta[2])
+                                    .notHelpfulCount(delta[3])
+                                    .build());
+                        }
+                    });
+                    return promptExperimentStatRepository.findAll();
+                });
+                applyPersisted(stats);
+                lastFlushedAt = now;
+            } catch (RuntimeException e) {
+                // 반영 실패 시 증분을 되돌려 다음 주기에 다시 시도
+                deltas.forEach((version, delta) -> counters.get(version).restorePending(delta));
+                log.error("[프롬프트 실험] 집계 반영 실패 - 다음 주기에 재시도", e);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (flushLock) {
+            if (loaded) {
+                return;
+            }
+            try {
+                applyPersisted(promptExperimentStatRepository.findAll());
+            } catch (RuntimeException e) {
+                // 조회 실패 시 메모리 카운터만으로 배분 (다음 flush에서 다시 읽음)
+                log.warn("[프롬프트 실험] 누적 집계 조회 실패 - 메모리 카운터로 시작", e);
+            }
+            loaded = true;
+        }
+    }
+
+    private void applyPersisted(List<PromptExperimentStat> stats) {
+        for (PromptExperimentStat stat : stats) {
+            VersionCounters versionCounters = counters.get(stat.getPromptVersion());
+            if (versionCounters != null) {
+                versionCounters.persisted = new long[]{
+                        stat.getImpressions(), stat.getClicks(), stat.getHelpfulCount(), stat.getNotHelpfulCount()
+                };
+            }
+        }
+    }
+
+    private PromptVersion select(Random random) {
+        Strategy strategy = properties.getStrategy();
+        if (strategy == Strategy.UNIFORM || isWarmingUp()) {
+            return VERSIONS[random.nextInt(VERSIONS.length)];
+        }
+
+        if (strategy == Strategy.EPSILON_GREEDY) {
+            if (random.nextDouble() < properties.getEpsilon()) {
+                return VERSIONS[random.nextInt(VERSIONS.length)];
+            }
+            PromptVersion best = VERSIONS[0];
+            double bestMean = -1;
+            for (PromptVersion version : VERSIONS) {
+                double mean = posteriorMean(counters.get(version));
+                if (mean > bestMean) {
+                    best = version;
+                    bestMean = mean;
+                }
+            }
+            return best;
+        }
+
+        // THOMPSON: 버전별 Beta(1 + 성공, 1 + 실패)에서 하나씩 뽑아 가장 큰 버전 선택
+        PromptVersion best = VERSIONS[0];
+        double bestSample = -1;
+        for (PromptVersion version : VERSIONS) {
+            VersionCounters c = counters.get(version);
+            long successes = successes(c);
+            double sample = sampleBeta(random, 1 + successes, 1 + c.impressions() - successes);
+            if (sample > bestSample) {
+                best = version;
+                bestSample = sample;
+            }
+        }
+        return best;
+    }
+
+    private boolean isWarmingUp() {
+        for (PromptVersion version : VERSIONS) {
+            if (counters.get(version).impressions() < properties.getMinImpressions()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long successes(VersionCounters c) {
+        return Math.min(c.clicks(), c.impressions());
+    }
+
+    private static double posteriorMean(VersionCounters c) {
+        return (1.0 + successes(c)) / (2.0 + c.impressions());
+    }
+
+    // Beta(a, b) = X / (X + Y), X ~ Gamma(a), Y ~ Gamma(b)
+    private static double sampleBeta(Random random, double alpha, double beta) {
+        double x = sampleGamma(random, alpha);
+        double y = sampleGamma(random, beta);
+        return x / (x + y);
+    }
+
+    // Marsaglia-Tsang (shape >= 1, 사전분포가 Beta(1, 1)이므로 항상 만족)
+    private static double sampleGamma(Random random, double shape) {
+        double d = shape - 1.0 / 3.0;
+        double c = 1.0 / Math.sqrt(9.0 * d);
+        while (true) {
+            double x;
+            double v;
+            do {
+                x = random.nextGaussian();
+                v = 1.0 + c * x;
+            } while (v <= 0);
+            v = v * v * v;
+            double u = random.nextDouble();
+            if (u < 1 - 0.0331 * x * x * x * x || Math.log(u) < 0.5 * x * x + d * (1 - v + Math.log(v))) {
+                return d * v;
+            }
+        }
+    }
+
+    /**
+     * 버전 1개의 카운터 (롤업 테이블 누적값 + 아직 반영 안 된 메모리 증분)
+     * 배열 순서: 노출, 클릭, 도움됨, 도움 안 됨
+     */
+    private static final class VersionCounters {
+        private volatile long[] persisted = new long[4];
+        private final LongAdder pendingImpressions = new LongAdder();
+        private final LongAdder pendingClicks = new LongAdder();
+        private final LongAdder pendingHelpful = new LongAdder();
+        private final LongAdder pendingNotHelpful = new LongAdder();
+
+        private long impressions() {
+            return persisted[0] + pendingImpressions.sum();
+        }
+
+        private long clicks() {
+            return persisted[1] + pendingClicks.sum();
+        }
+
+        private long helpful() {
+            return persisted[2] + pendingHelpful.sum();
+        }
+
+        private long notHelpful() {
+            return persisted[3] + pendingNotHelpful.sum();
+        }
+
+        private long[] drainPending() {
+            return new long[]{
+                    pendingImpressions.sumThenReset(),
+                    pendingClicks.sumThenReset(),
+                    pendingHelpful.sumThenReset(),
+                    pendingNotHelpful.sumThenReset()
+            };
+        }
+
+        private void restorePending(long[] delta) {
+            pendingImpressions.add(delta[0]);
+            pendingClicks.add(delta[1]);
+            pendingHelpful.add(delta[2]);
+            pendingNotHelpful.add(delta[3]);
+        }
+    }
+}
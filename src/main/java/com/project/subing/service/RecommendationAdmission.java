@@ -0,0 +1,222 @@
+package com.project.subing.service;
+
+import com.project.subing.config.RecommendationProperties;
+import com.project.subing.domain.user.entity.User;
+import com.project.subing.domain.user.entity.UserTier;
+import com.project.subing.exception.entity.UserNotFoundException;
+import com.project.subing.exception.tier.GptRecommendationLimitException;
+import com.project.subing.exception.tier.RecommendationCapacityExceededException;
+import com.project.subing.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * GPT 추천 요청 수락 제어
+ *
+ * 1. 월 사용량 1회 선점(조건부 UPDATE) - 한도에 도달했으면 GptRecommendationLimitException
+ * 2. 등급별 세마포어 → 전체 세마포어 순으로 자리 확보 - maxWaitMillis 안에 못 얻으면 선점을 반환하고 429 + Retry-After
+ * 무한 대기하지 않고 빠르게 거절하며, 확보한 자리는 Permit.release()로 반환한다 (여러 번 호출해도 한 번만 반환).
+ * 선점한 사용량은 GPT 결과를 제공했을 때 Permit.commitUsage()로 확정하고, 확정 없이 release되면 반환한다
+ * (동시 요청이 모두 한도 확인을 통과한 뒤 초과 사용하는 경쟁을 막음).
+ */
+@Slf4j
+@Component
+public class RecommendationAdmission {
+
+    private static final String SCOPE_GLOBAL = "GLOBAL";
+
+    private final UserRepository userRepository;
+    private final TierLimitService tierLimitService;
+    private final RecommendationProperties.Admission properties;
+
+    private final Semaphore globalPermits;
+    private final Map<UserTier, Semaphore> tierPermits = new EnumMap<>(UserTier.class);
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    private final Map<UserTier, Counter> acceptedCounters = new EnumMap<>(UserTier.class);
+    private final Map<UserTier, Counter> capacityRejectedCounters = new EnumMap<>(UserTier.class);
+    private final Map<UserTier, Counter> quotaRejectedCounters = new EnumMap<>(UserTier.class);
+
+    public RecommendationAdmission(UserRepository userRepository,
+                                   TierLimitService tierLimitService,
+                                   RecommendationProperties recommendationProperties,
+                                   MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.tierLimitService = tierLimitService;
+        this.properties = recommendationProperties.getAdmission();
+        this.globalPermits = new Semaphore(Math.max(1, properties.getGlobalMaxConcurrent()));
+
+        for (UserTier tier : UserTier.values()) {
+            int limit = properties.getTierMaxConcurrent().getOrDefault(tier, properties.getGlobalMaxConcurrent());
+            Semaphore semaphore = new Semaphore(Math.max(1, limit));
+            tierPermits.put(tier, semaphore);
+
+            Gauge.builder("recommendation.admission.active", semaphore, s -> Math.max(1, limit) - s.availablePermits())
+                    .tag("tier", tier.name())
+                    .description("등급별 처리 중인 GPT 추천 요청 수")
+                    .register(meterRegistry);
+            acceptedCounters.put(tier, Counter.builder("recommendation.admission.accepted")
+                    .tag("tier", tier.name())
+                    .description("수락된 GPT 추천 요청 수")
+                    .register(meterRegistry));
+            capacityRejectedCounters.put(tier, Counter.builder("recommendation.admission.rejected")
+                    .tag("tier", tier.name())
+                    .tag("reason", "capacity")
+                    .description("거절된 GPT 추천 요청 수")
+                    .register(meterRegistry));
+            quotaRejectedCounters.put(tier, Counter.builder("recommendation.admission.rejected")
+                    .tag("tier", tier.name())
+                    .tag("reason", "quota")
+                    .description("거절된 GPT 추천 요청 수")
+                    .register(meterRegistry));
+        }
+        Gauge.builder("recommendation.admission.waiting", waiting, AtomicInteger::get)
+                .description("자리를 기다리는 GPT 추천 요청 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 요청 수락 (한도 초과 시 예외)
+     */
+    public Permit acquire(Long userId) {
+        if (!properties.isEnabled()) {
+            return new Permit(tierLimitService, userId, null, null, null);
+        }
+
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException(userId));
+        UserTier tier = user.getTier();
+
+        // 1. 월 사용량 선점
+        YearMonth reservedMonth = tierLimitService.reserveGptRecommendation(userId);
+        if (reservedMonth == null) {
+            quotaRejectedCounters.get(tier).increment();
+            int used = tierLimitService.getCurrentMonthUsage(userId).getGptRecommendationCount();
+            throw new GptRecommendationLimitException(used, tier.getMaxGptRecommendations());
+        }
+
+        // 2. 등급별 → 전체 순으로 자리 확보 (실패 시 선점 반환)
+        Semaphore tierSemaphore = tierPermits.get(tier);
+        if (!tryAcquire(tierSemaphore)) {
+            tierLimitService.refundGptRecommendation(userId, reservedMonth);
+            throw reject(tier, tier.name());
+        }
+        if (!tryAcquire(globalPermits)) {
+            tierSemaphore.release();
+            tierLimitService.refundGptRecommendation(userId, reservedMonth);
+            throw reject(tier, SCOPE_GLOBAL);
+        }
+
+        acceptedCounters.get(tier).increment();
+        return new Permit(tierLimitService, userId, reservedMonth, tierSemaphore, globalPermits);
+    }
+
+    private boolean tryAcquire(Semaphore semaphore) {
+        if (semaphore.tryAcquire()) {
+            return true;
+        }
+        if (properties.getMaxWaitMillis() <= 0) {
+            return false;
+        }
+        waiting.incrementAndGet();
+        try {
+            return semaphore.tryAcquire(properties.getMaxWaitMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    private RecommendationCapacityExceededException reject(UserTier tier, String scope) {
+        capacityRejectedCounters.get(tier).increment();
+        log.warn("[GPT 추천] 동시 처리 한도 초과로 거절 - tier: {}, scope: {}", tier, scope);
+        return new RecommendationCapacityExceededException(scope, properties.getRetryAfterSeconds());
+    }
+
+    /**
+     * 확보한 자리와 선점한 사용량 (요청 종료 시 release)
+     * 수락 제어가 꺼져 있으면 자리/선점 없이 commitUsage() 시점에 사용량만 증가시킨다.
+     */
+    public static final class Permit implements AutoCloseable {
+
+        private final TierLimitService tierLimitService;
+        private final Long userId;
+        private final YearMonth reservedMonth;
+        private final Semaphore tierSemaphore;
+        private final Semaphore globalSemaphore;
+        private final AtomicBoolean committed = new AtomicBoolean();
+        private final AtomicBoolean released = new AtomicBoolean();
+        private final AtomicBoolean deferred = new AtomicBoolean();
+
+        private Permit(TierLimitService tierLimitService, Long userId, YearMonth reservedMonth,
+                       Semaphore tierSemaphore, Semaphore globalSemaphore) {
+            this.tierLimitService = tierLimitService;
+            this.userId = userId;
+            this.reservedMonth = reservedMonth;
+            this.tierSemaphore = tierSemaphore;
+            this.globalSemaphore = globalSemaphore;
+        }
+
+        /**
+         * GPT 결과를 제공했을 때 사용량 확정 (한 번만 반영)
+         * 사용량 반영 실패가 추천 응답을 막지 않도록 로그만 남긴다.
+         */
+        public void commitUsage() {
+            if (!committed.compareAndSet(false, true) || reservedMonth != null) {
+                return;
+            }
+            try {
+                tierLimitService.incrementGptRecommendation(userId);
+            } catch (Exception e) {
+                log.error("[GPT 추천] 사용량 반영 실패 - userId: {}", userId, e);
+            }
+        }
+
+        public void release() {
+            if (!released.compareAndSet(false, true)) {
+                return;
+            }
+            if (tierSemaphore != null) {
+                globalSemaphore.release();
+                tierSemaphore.release();
+            }
+            if (reservedMonth != null && !committed.get()) {
+                try {
+                    tierLimitService.refundGptRecommendation(userId, reservedMonth);
+                } catch (Exception e) {
+                    log.error("[GPT 추천] 선점 사용량 반환 실패 - userId: {}", userId, e);
+                }
+            }
+        }
+
+        /**
+         * 응답 후에도 계속되는 작업(SLO 초과 후 진행 중인 GPT 호출)이 끝날 때까지 자리를 유지
+         * 이후 close()는 무시되고 작업이 끝나면 반환한다 (확정되지 않은 선점도 그때 반환).
+         */
+        public void releaseOnCompletion(CompletableFuture<?> future) {
+            deferred.set(true);
+            future.whenComplete((result, error) -> release());
+        }
+
+        @Override
+        public void close() {
+            if (!deferred.get()) {
+                release();
+            }
+        }
+    }
+}
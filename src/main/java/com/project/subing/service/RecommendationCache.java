@@ -0,0 +1,221 @@
+package com.project.subing.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project.subing.config.RecommendationProperties;
+import com.project.subing.domain.preference.entity.UserPreference;
+import com.project.subing.domain.recommendation.enums.PromptVersion;
+import com.project.subing.dto.recommendation.PriorityDto;
+import com.project.subing.dto.recommendation.QuizRequest;
+import com.project.subing.dto.recommendation.RecommendationItem;
+import com.project.subing.dto.recommendation.RecommendationResponse;
+import com.project.subing.service.event.CatalogChangedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * 사용자 간 공유되는 GPT 추천 결과 캐시
+ *
+ * 키: 정규화된 퀴즈 지문(관심 분야 정렬, 예산 구간, 목적, 중요도 순서) + 성향 점수 구간 + 프롬프트 버전.
+ * 같은 답변을 고른 사용자끼리는 userId와 무관하게 결과를 공유한다.
+ * 값은 가격 보강 전의 원본 응답이며, 조회/저장 시 복사본을 주고받아 호출 측 변경(recommendationId, 가격)이
+ * 다른 사용자에게 새지 않도록 한다.
+ * 응답 추정 크기 기준(maximumWeight)으로 제거하며, 카탈로그 변경 시 전체 무효화한다.
+ */
+@Slf4j
+@Component
+public class RecommendationCache {
+
+    private static final String CACHE_NAME = "gptRecommendations";
+    // 월 예산 구간 경계 (원)
+    private static final int[] BUDGET_BUCKETS = {10_000, 20_000, 30_000, 50_000, 100_000};
+    // 성향 점수(0~100) 구간 크기
+    private static final int SCORE_BUCKET_SIZE = 20;
+
+    private final boolean enabled;
+    private final Cache<String, RecommendationResponse> cache;
+
+    public RecommendationCache(RecommendationProperties recommendationProperties, MeterRegistry meterRegistry) {
+        RecommendationProperties.Cache properties = recommendationProperties.getCache();
+        this.enabled = properties.isEnabled();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(Math.max(1L, properties.getMaxWeightBytes()))
+                .weigher((String key, RecommendationResponse value) -> estimateBytes(key, value))
+                .expireAfterWrite(Duration.ofMinutes(Math.max(1, properties.getTtlMinutes())))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        Gauge.builder("recommendation.cache.hit.ratio", this, RecommendationCache::getHitRatio)
+                .description("GPT 추천 캐시 적중률")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 정규화된 캐시 키
+     */
+    public String keyOf(QuizRequest quiz, UserPreference userPreference, PromptVersion promptVersion) {
+        StringBuilder key = new StringBuilder(128);
+        key.append(promptVersion.name());
+
+        key.append("|i=");
+        if (quiz.getInterests() != null) {
+            quiz.getInterests().stream()
+                    .filter(Objects::nonNull)
+                    .map(interest -> interest.trim().toLowerCase(Locale.ROOT))
+                    .filter(interest -> !interest.isEmpty())
+                    .distinct()
+                    .sorted()
+                    .forEach(interest -> key.append(interest).append(','));
+        }
+
+        key.append("|b=").append(budgetBucket(quiz.getBudget()));
+        key.append("|p=").append(quiz.getPurpose() != null ? normalize(quiz.getPurpose().getValue()) : "");
+
+        key.append("|r=");
+        if (quiz.getPriorities() != null) {
+            quiz.getPriorities().stream()
+                    .filter(Objects::nonNull)
+                    .sorted(Comparator.comparing(PriorityDto::getRank, Comparator.nullsLast(Comparator.naturalOrder())))
+                    .forEach(priority -> key.append(normalize(priority.getValue())).append('>'));
+        }
+
+        key.append("|u=");
+        if (userPreference == null) {
+            key.append("none");
+        } else {
+            key.append(userPreference.getProfileType() != null ? userPreference.getProfileType().name() : "")
+                    .append(':').append(scoreBucket(userPreference.getContentScore()))
+                    .append(scoreBucket(userPreference.getPriceSensitivityScore()))
+                    .append(scoreBucket(userPreference.getHealthScore()))
+                    .append(scoreBucket(userPreference.getSelfDevelopmentScore()))
+                    .append(scoreBucket(userPreference.getDigitalToolScore()))
+                    .append(':').append(normalizeCompact(userPreference.getInterestedCategories()))
+                    .append(':').append(normalizeCompact(userPreference.getBudgetRange()));
+        }
+        return key.toString();
+    }
+
+    /**
+     * 캐시 조회 (적중 시 복사본 반환)
+     */
+    public Optional<RecommendationResponse> find(String key) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        RecommendationResponse cached = cache.getIfPresent(key);
+        return cached == null ? Optional.empty() : Optional.of(copyOf(cached));
+    }
+
+    /**
+     * 가격 보강/ID 부여 전의 원본 응답을 저장 (복사본 보관)
+     */
+    public void put(String key, RecommendationResponse response) {
+        if (!enabled || response == null || response.getRecommendations() == null) {
+            return;
+        }
+        cache.put(key, copyOf(response));
+    }
+
+    public void evictAll() {
+        cache.invalidateAll();
+    }
+
+    public double getHitRatio() {
+        return cache.stats().hitRate();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        // 프롬프트의 서비스 목록이 바뀌므로 기존 추천은 더 이상 유효하지 않음
+        evictAll();
+    }
+
+    private static int budgetBucket(Integer budget) {
+        if (budget == null) {
+            return -1;
+        }
+        for (int i = 0; i < BUDGET_BUCKETS.length; i++) {
+            if (budget <= BUDGET_BUCKETS[i]) {
+                return i;
+            }
+        }
+        return BUDGET_BUCKETS.length;
+    }
+
+    private static String scoreBucket(Integer score) {
+        if (score == null) {
+            return "-";
+        }
+        return Integer.toString(Math.max(0, Math.min(100, score)) / SCORE_BUCKET_SIZE);
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String normalizeCompact(String value) {
+        return value == null ? "" : value.replaceAll("\\s+", "").toLowerCase(Locale.ROOT);
+    }
+
+    static RecommendationResponse copyOf(RecommendationResponse source) {
+        List<RecommendationItem> items = null;
+        if (source.getRecommendations() != null) {
+            items = new ArrayList<>(source.getRecommendations().size());
+            for (RecommendationItem item : source.getRecommendations()) {
+                items.add(RecommendationItem.builder()
+                        .serviceId(item.getServiceId())
+                        .serviceName(item.getServiceName())
+                        .score(item.getScore())
+                        .mainReason(item.getMainReason())
+                        .pros(item.getPros() != null ? new ArrayList<>(item.getPros()) : null)
+                        .cons(item.getCons() != null ? new ArrayList<>(item.getCons()) : null)
+                        .tip(item.getTip())
+                        .minPrice(item.getMinPrice())
+                        .hasFreePlan(item.getHasFreePlan())
+                        .priceRange(item.getPriceRange())
+                        .build());
+            }
+        }
+        return RecommendationResponse.builder()
+                .recommendations(items)
+                .summary(source.getSummary())
+                .alternatives(source.getAlternatives())
+                .build();
+    }
+
+    // 문자열은 UTF-16 기준 2byte/char, 객체 헤더/참조는 고정값으로 근사
+    private static int estimateBytes(String key, RecommendationResponse value) {
+        long bytes = 64L + charBytes(key) + charBytes(value.getSummary()) + charBytes(value.getAlternatives());
+        if (value.getRecommendations() != null) {
+            for (RecommendationItem item : value.getRecommendations()) {
+                bytes += 96L + charBytes(item.getServiceName()) + charBytes(item.getMainReason())
+                        + charBytes(item.getTip()) + charBytes(item.getPriceRange());
+                bytes += listBytes(item.getPros()) + listBytes(item.getCons());
+            }
+        }
+        return (int) Math.min(Integer.MAX_VALUE, bytes);
+    }
+
+    private static long listBytes(List<String> values) {
+        if (values == null) {
+            return 0L;
+        }
+        long bytes = 16L;
+        for (String value : values) {
+            bytes += 16L + charBytes(value);
+        }
+        return bytes;
+    }
+
+    private static long charBytes(String value) {
+        return value == null ? 0L : 40L + 2L * value.length();
+    }
+}
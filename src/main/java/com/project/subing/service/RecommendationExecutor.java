@@ -0,0 +1,204 @@
+package com.project.subing.service;
+
+import com.project.subing.config.RecommendationProperties;
+import com.project.subing.config.RecommendationProperties.Execution.Mode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * GPT 추천 비동기 실행기
+ *
+ * 실행 방식은 설정으로 고른다.
+ * - VIRTUAL: 작업마다 가상 스레드 (Java 21 이상, 리플렉션으로 생성하므로 Java 17 빌드에서도 컴파일됨)
+ * - BOUNDED_ELASTIC: Reactor boundedElastic 스케줄러 (스레드 상한 = maxConcurrency)
+ * 어느 방식이든 동시 실행은 maxConcurrency, 대기는 maxQueued로 제한하고 초과 요청은 즉시 거절한다
+ * (요청 스레드가 대신 실행하지 않음). 스트리밍 작업은 executeUntilReleased()로 실행해 스트림이 끝나거나
+ * 취소될 때까지 자리를 유지하므로, maxConcurrency는 열려 있는 GPT 스트림 수의 상한이 된다. 스트림 완료 후 DB 작업처럼 이미 수락된 요청의 후속 작업은
+ * continueWith()로 별도 스케줄러에서 실행해 신규 요청 한도와 섞이지 않게 한다.
+ */
+@Slf4j
+@Component
+public class RecommendationExecutor {
+
+    private final Mode mode;
+    private final int maxConcurrency;
+    private final int maxQueued;
+    private final ExecutorService virtualThreadExecutor;
+    private final Scheduler scheduler;
+    private final Scheduler continuationScheduler;
+    private final Semaphore permits;
+
+    // 수락 후 종료 전 / 실행 대기 / 실행 중
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final Counter rejectedCounter;
+
+    public RecommendationExecutor(RecommendationProperties recommendationProperties, MeterRegistry meterRegistry) {
+        RecommendationProperties.Execution properties = recommendationProperties.getExecution();
+        this.maxConcurrency = Math.max(1, properties.getMaxConcurrency());
+        this.maxQueued = Math.max(0, properties.getMaxQueued());
+        this.permits = new Semaphore(maxConcurrency);
+
+        ExecutorService virtualExecutor = null;
+        if (properties.getMode() != Mode.BOUNDED_ELASTIC) {
+            virtualExecutor = createVirtualThreadExecutor();
+            if (virtualExecutor == null && properties.getMode() == Mode.VIRTUAL) {
+                log.warn("가상 스레드를 사용할 수 없는 런타임(Java {}) - BOUNDED_ELASTIC으로 실행", Runtime.version().feature());
+            }
+        }
+        this.virtualThreadExecutor = virtualExecutor;
+        this.mode = virtualExecutor != null ? Mode.VIRTUAL : Mode.BOUNDED_ELASTIC;
+        this.scheduler = virtualExecutor != null
+                ? Schedulers.fromExecutorService(virtualExecutor, "gpt-recommendation")
+                : Schedulers.newBoundedElastic(maxConcurrency, maxConcurrency + maxQueued, "gpt-recommendation");
+        this.continuationScheduler = virtualExecutor != null ? scheduler : Schedulers.boundedElastic();
+
+        String modeTag = mode.name();
+        Gauge.builder("recommendation.executor.active", active, AtomicInteger::get)
+                .tag("mode", modeTag)
+                .description("실행 중인 GPT 추천 작업 수")
+                .register(meterRegistry);
+        Gauge.builder("recommendation.executor.queued", queued, AtomicInteger::get)
+                .tag("mode", modeTag)
+                .description("실행 대기 중인 GPT 추천 작업 수")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("recommendation.executor.rejected")
+                .tag("mode", modeTag)
+                .description("대기 한도 초과로 거절된 GPT 추천 작업 수")
+                .register(meterRegistry);
+
+        log.info("GPT 추천 실행기 초기화 - mode: {}, maxConcurrency: {}, maxQueued: {}", mode, maxConcurrency, maxQueued);
+    }
+
+    /**
+     * 신규 요청 작업 실행 (한도 초과 시 RejectedExecutionException)
+     */
+    public void execute(Runnable task) {
+        executeUntilReleased(release -> {
+            try {
+                runSafely(task);
+            } finally {
+                release.run();
+            }
+        });
+    }
+
+    /**
+     * 신규 요청 작업 실행 - 작업이 반환된 뒤에도 release가 호출될 때까지 자리를 유지한다
+     * (스트림 종료/취소 시 doFinally에서 호출). release는 여러 번 호출해도 한 번만 반영되며,
+     * 작업이 예외로 끝나면 자동으로 호출된다. 한도 초과 시 RejectedExecutionException.
+     */
+    public void executeUntilReleased(Consumer<Runnable> task) {
+        if (inFlight.incrementAndGet() > maxConcurrency + maxQueued) {
+            inFlight.decrementAndGet();
+            rejectedCounter.increment();
+            throw new RejectedExecutionException("GPT 추천 대기 한도 초과");
+        }
+        queued.incrementAndGet();
+        try {
+            scheduler.schedule(() -> runLimited(task));
+        } catch (RejectedExecutionException e) {
+            queued.decrementAndGet();
+            inFlight.decrementAndGet();
+            rejectedCounter.increment();
+            throw e;
+        }
+    }
+
+    /**
+     * 이미 수락된 요청의 후속 작업 실행 (한도 미적용, Reactor 스레드에서 블로킹 작업을 넘길 때 사용)
+     */
+    public void continueWith(Runnable task) {
+        continuationScheduler.schedule(() -> runSafely(task));
+    }
+
+    /**
+     * 이미 수락된 요청의 작업을 별도 스레드에서 실행하고 결과를 Future로 반환 (호출 측이 대기 시간을 제한할 때 사용)
+     */
+    public <T> CompletableFuture<T> supplyAccepted(Supplier<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        continuationScheduler.schedule(() -> {
+            try {
+                future.complete(task.get());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.dispose();
+        if (virtualThreadExecutor != null) {
+            virtualThreadExecutor.shutdown();
+        }
+    }
+
+    private void runLimited(Consumer<Runnable> task) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            queued.decrementAndGet();
+            inFlight.decrementAndGet();
+            Thread.currentThread().interrupt();
+            return;
+        }
+        queued.decrementAndGet();
+        active.incrementAndGet();
+
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                active.decrementAndGet();
+                permits.release();
+                inFlight.decrementAndGet();
+            }
+        };
+        try {
+            task.accept(release);
+        } catch (RuntimeException e) {
+            log.error("[GPT 추천] 비동기 작업 실패", e);
+            release.run();
+        }
+    }
+
+    private void runSafely(Runnable task) {
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            log.error("[GPT 추천] 비동기 작업 실패", e);
+        }
+    }
+
+    // Java 21 Executors.newVirtualThreadPerTaskExecutor() (하위 런타임이면 null)
+    private static ExecutorService createVirtualThreadExecutor() {
+        if (Runtime.version().feature() < 21) {
+            return null;
+        }
+        try {
+            return (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.project.subing.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.core.json.JsonReadFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.project.subing.dto.recommendation.RecommendationItem;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * GPT 스트리밍 응답 증분 파서 (스트림 1개당 인스턴스 1개, 단일 스레드 사용)
+ *
+ * Jackson 논블로킹 파서에 청크를 그대로 넣고, 루트 객체의 recommendations[] 원소가 닫히는 시점마다
+ * RecommendationItem으로 변환해 돌려준다. 전체 응답을 기다리지 않고 카드 단위로 먼저 보낼 수 있다.
+ * 루트 '{' 이전 텍스트(코드펜스 등)는 무시하고, 루트 객체가 닫히면 이후 입력은 받지 않는다.
+ * 형식이 깨진 경우 더 이상 원소를 만들지 않으며, 최종 결과는 기존 전체 파싱(parseResponse)이 책임진다.
+ */
+@Slf4j
+public final class RecommendationItemStreamParser {
+
+    private static final JsonFactory JSON_FACTORY = JsonFactory.builder()
+            // GPT가 문자열 안에 개행을 그대로 넣는 경우 허용 (전체 파싱 전 fixKoreanSpacing과 동일한 관용)
+            .enable(JsonReadFeature.ALLOW_UNESCAPED_CONTROL_CHARS)
+            .build();
+    private static final String RECOMMENDATIONS_FIELD = "recommendations";
+    // 루트 객체(1) → recommendations 배열(2) → 원소 객체
+    private static final int ITEM_DEPTH = 2;
+
+    private final ObjectMapper objectMapper;
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+
+    private boolean started;
+    private boolean finished;
+    private int depth;
+    private boolean inRecommendations;
+    private TokenBuffer itemBuffer;
+
+    public RecommendationItemStreamParser(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        try {
+            this.parser = JSON_FACTORY.createNonBlockingByteArrayParser();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    /**
+     * 청크를 입력하고, 이번 입력으로 완성된 추천 원소를 반환
+     */
+    public List<RecommendationItem> feed(String chunk) {
+        if (finished || chunk == null || chunk.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        String input = chunk;
+        if (!started) {
+            int rootStart = chunk.indexOf('{');
+            if (rootStart < 0) {
+                return Collections.emptyList();
+            }
+            started = true;
+            input = chunk.substring(rootStart);
+        }
+
+        List<RecommendationItem> completed = new ArrayList<>(1);
+        byte[] bytes = input.getBytes(StandardCharsets.UTF_8);
+        try {
+            feeder.feedInput(bytes, 0, bytes.length);
+            JsonToken token;
+            while (!finished && (token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                handle(token, completed);
+            }
+        } catch (IOException e) {
+            finished = true;
+            log.debug("[GPT 스트리밍] 증분 파싱 중단 - {}", e.getMessage());
+        }
+        return completed;
+    }
+
+    private void handle(JsonToken token, List<RecommendationItem> completed) throws IOException {
+        if (itemBuffer != null) {
+            itemBuffer.copyCurrentEvent(parser);
+        }
+
+        switch (token) {
+            case START_OBJECT -> {
+                if (inRecommendations && depth == ITEM_DEPTH && itemBuffer == null) {
+                    itemBuffer = new TokenBuffer(parser);
+                    itemBuffer.copyCurrentEvent(parser);
+                }
+                depth++;
+            }
+            case START_ARRAY -> {
+                if (depth == 1 && RECOMMENDATIONS_FIELD.equals(parser.currentName())) {
+                    inRecommendations = true;
+                }
+                depth++;
+            }
+            case END_OBJECT -> {
+                depth--;
+                if (itemBuffer != null && depth == ITEM_DEPTH) {
+                    RecommendationItem item = toItem(itemBuffer);
+                    itemBuffer = null;
+                    if (item != null) {
+                        completed.add(item);
+                    }
+                } else if (depth == 0) {
+                    finished = true;
+                }
+            }
+            case END_ARRAY -> {
+                depth--;
+                if (inRecommendations && depth == 1) {
+                    inRecommendations = false;
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    private RecommendationItem toItem(TokenBuffer buffer) throws IOException {
+        try (JsonParser itemParser = buffer.asParser()) {
+            return objectMapper.readValue(itemParser, RecommendationItem.class);
+        } catch (JsonProcessingException e) {
+            // 원소 하나의 타입 불일치는 건너뛰고 다음 원소는 계속 처리
+            log.debug("[GPT 스트리밍] 추천 원소 변환 실패 - {}", e.getOriginalMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,348 @@
+package com.project.subing.service;
+
+import com.project.subing.config.RecommendationProperties;
+import com.project.subing.domain.common.ServiceCategory;
+import com.project.subing.domain.preference.entity.UserPreference;
+import com.project.subing.domain.recommendation.enums.PromptVersion;
+import com.project.subing.domain.service.entity.ServiceEntity;
+import com.project.subing.dto.recommendation.QuizRequest;
+import com.project.subing.repository.ServiceRepository;
+import com.project.subing.service.event.CatalogChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * GPT 추천 프롬프트 조립
+ *
+ * 서비스 목록 섹션은 카탈로그 버전(세대)마다 한 번만 줄 단위로 만들어 두고, 요청마다 번호만 붙여 이어 붙인다.
+ * 퀴즈 관심 분야에 해당하는 카테고리의 서비스만 포함하며(부족하면 나머지로 채움),
+ * 입력 토큰 추정치가 상한을 넘으면 설명을 뺀 축약 줄로 바꾸고 그래도 넘으면 뒤쪽 서비스부터 제외한다.
+ * 프롬프트 버전별 추정 토큰 수/서비스 수를 메트릭으로 기록한다.
+ */
+@Slf4j
+@Component
+public class RecommendationPromptBuilder {
+
+    private static final String INSTRUCTIONS = """
+
+
+            상위 3-5개 서비스를 JSON 형식으로 추천해주세요.
+
+            중요: JSON만 응답하세요. 마크다운 코드블록(```)이나 설명 텍스트를 포함하지 마세요.
+            반드시 아래 출력 형식을 따라주세요.
+            한글 문장(mainReason, pros, cons, tip, summary, alternatives)은 올바른 띄어쓰기를 적용하세요.
+
+            출력 형식:
+            {
+              "recommendations": [
+                {
+                  "serviceId": 숫자 (필수: 위 서비스 목록의 [ID: X] 값을 정확히 사용),
+                  "serviceName": "서비스명",
+                  "score": 0-100 점수,
+                  "mainReason": "추천 이유",
+                  "pros": ["장점1", "장점2", "장점3"],
+                  "cons": ["단점1", "단점2"],
+                  "tip": "실용적인 팁"
+                }
+              ],
+              "summary": "전체 요약",
+              "alternatives": "대안 제안"
+            }
+
+            중요: serviceId는 반드시 위 서비스 목록의 [ID: X] 값을 정확하게 사용하세요.
+
+            한글 띄어쓰기 규칙 (반드시 준수):
+            ❌ 잘못된 예: "구글드라이브는클라우드저장소와파일공유가매우유용하며업무효율성을높일수있습니다"
+            ✅ 올바른 예: "구글드라이브는 클라우드 저장소와 파일 공유가 매우 유용하며 업무 효율성을 높일 수 있습니다"
+            모든 한글 값(mainReason, pros, cons, tip, summary, alternatives)에 적용하세요.
+            """;
+    private static final int INSTRUCTIONS_TOKENS = estimateTokens(INSTRUCTIONS);
+    // 줄 앞 번호("12. ") 추정 토큰
+    private static final int LINE_NUMBER_TOKENS = 2;
+
+    private final ServiceRepository serviceRepository;
+    private final RecommendationProperties.Prompt properties;
+
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong versionSequence = new AtomicLong();
+    private volatile CatalogSection catalogSection;
+
+    private final Map<PromptVersion, DistributionSummary> tokenSummaries = new EnumMap<>(PromptVersion.class);
+    private final Map<PromptVersion, DistributionSummary> serviceSummaries = new EnumMap<>(PromptVersion.class);
+    private final Map<PromptVersion, Counter> truncatedCounters = new EnumMap<>(PromptVersion.class);
+
+    public RecommendationPromptBuilder(ServiceRepository serviceRepository,
+                                       RecommendationProperties recommendationProperties,
+                                       MeterRegistry meterRegistry) {
+        this.serviceRepository = serviceRepository;
+        this.properties = recommendationProperties.getPrompt();
+        for (PromptVersion version : PromptVersion.values()) {
+            tokenSummaries.put(version, DistributionSummary.builder("recommendation.prompt.tokens")
+                    .tag("promptVersion", version.name())
+                    .baseUnit("tokens")
+                    .description("시스템 프롬프트 포함 입력 토큰 추정치")
+                    .register(meterRegistry));
+            serviceSummaries.put(version, DistributionSummary.builder("recommendation.prompt.services")
+                    .tag("promptVersion", version.name())
+                    .description("프롬프트에 포함된 서비스 수")
+                    .register(meterRegistry));
+            truncatedCounters.put(version, Counter.builder("recommendation.prompt.truncated")
+                    .tag("promptVersion", version.name())
+                    .description("토큰 상한으로 서비스가 제외된 프롬프트 수")
+                    .register(meterRegistry));
+        }
+    }
+
+    public String build(QuizRequest quiz, UserPreference userPreference, PromptVersion promptVersion) {
+        String userSection = buildUserSection(quiz, userPreference);
+        List<ServiceLine> candidates = selectServices(catalogSection().lines, quiz.getInterests());
+
+        // 1. 토큰 예산 계산 (시스템 프롬프트 + 사용자 입력 + 지시문을 제외한 나머지가 서비스 목록 몫)
+        int fixedTokens = estimateTokens(promptVersion.getSystemPrompt()) + estimateTokens(userSection) + INSTRUCTIONS_TOKENS;
+        int catalogBudget = properties.getMaxInputTokens() - fixedTokens;
+
+        // 2. 설명 포함 줄이 넘치면 축약 줄로, 그래도 넘치면 뒤쪽부터 제외 (최소 개수는 유지)
+        boolean compact = sumTokens(candidates, false) > catalogBudget;
+        int count = 0;
+        int catalogTokens = 0;
+        for (ServiceLine line : candidates) {
+            int lineTokens = line.tokens(compact) + LINE_NUMBER_TOKENS;
+            if (catalogTokens + lineTokens > catalogBudget && count >= Math.min(properties.getMinServices(), candidates.size())) {
+                break;
+            }
+            catalogTokens += lineTokens;
+            count++;
+        }
+
+        StringBuilder prompt = new StringBuilder(userSection.length() + INSTRUCTIONS.length() + catalogTokens * 2);
+        prompt.append(userSection);
+        for (int i = 0; i < count; i++) {
+            prompt.append(i + 1).append(". ").append(candidates.get(i).text(compact));
+        }
+        prompt.append(INSTRUCTIONS);
+
+        // 3. 메트릭
+        int totalTokens = fixedTokens + catalogTokens;
+        tokenSummaries.get(promptVersion).record(totalTokens);
+        serviceSummaries.get(promptVersion).record(count);
+        if (count < candidates.size()) {
+            truncatedCounters.get(promptVersion).increment();
+            log.warn("[GPT 추천] 프롬프트 토큰 상한으로 서비스 목록 축소 - {}/{}개, 추정 토큰: {}",
+                    count, candidates.size(), totalTokens);
+        }
+        log.debug("[GPT 추천] 프롬프트 조립 - promptVersion: {}, 서비스: {}개, 축약: {}, 추정 토큰: {}",
+                promptVersion, count, compact, totalTokens);
+
+        return prompt.toString();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        generation.incrementAndGet();
+    }
+
+    /**
+     * 토큰 수 근사치: ASCII는 4자당 1토큰, 한글 등 그 외 문자는 1자당 1토큰
+     * (실제 토크나이저보다 약간 크게 잡히도록 보수적으로 계산)
+     */
+    static int estimateTokens(String text) {
+        if (text == null || text.isEmpty()) {
+            return 0;
+        }
+        int ascii = 0;
+        int other = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) < 0x80) {
+                ascii++;
+            } else {
+                other++;
+            }
+        }
+        return (ascii + 3) / 4 + other;
+    }
+
+    private CatalogSection catalogSection() {
+        CatalogSection local = catalogSection;
+        if (local != null && local.generation == generation.get()) {
+            return local;
+        }
+
+        synchronized (this) {
+            local = catalogSection;
+            long currentGeneration = generation.get();
+            if (local != null && local.generation == currentGeneration) {
+                return local;
+            }
+
+            List<ServiceEntity> services = serviceRepository.findAll();
+            List<ServiceLine> lines = new ArrayList<>(services.size());
+            for (ServiceEntity service : services) {
+                lines.add(toLine(service));
+            }
+            CatalogSection rebuilt = new CatalogSection(currentGeneration, versionSequence.incrementAndGet(),
+                    Collections.unmodifiableList(lines));
+            catalogSection = rebuilt;
+            log.info("추천 프롬프트 서비스 목록 구축 - version: {}, 서비스 수: {}", rebuilt.version, lines.size());
+            return rebuilt;
+        }
+    }
+
+    private ServiceLine toLine(ServiceEntity service) {
+        String compactLine = String.format("[ID: %d] %s - %s\n",
+                service.getId(), service.getServiceName(), service.getCategory());
+        String description = service.getDescription() != null ? service.getDescription() : "서비스 설명 없음";
+        if (description.length() > properties.getMaxDescriptionLength()) {
+            description = description.substring(0, Math.max(0, properties.getMaxDescriptionLength())) + "…";
+        }
+        String fullLine = String.format("[ID: %d] %s - %s - %s\n",
+                service.getId(), service.getServiceName(), service.getCategory(), description);
+        return new ServiceLine(service.getCategory(), fullLine, compactLine);
+    }
+
+    /**
+     * 관심 분야 카테고리 서비스 우선, 부족하면 나머지 카테고리 서비스를 뒤에 붙임
+     */
+    private List<ServiceLine> selectServices(List<ServiceLine> lines, List<String> interests) {
+        if (!properties.isFilterByInterests()) {
+            return lines;
+        }
+        Set<ServiceCategory> categories = resolveCategories(interests);
+        if (categories.isEmpty()) {
+            return lines;
+        }
+
+        List<ServiceLine> matched = new ArrayList<>();
+        List<ServiceLine> others = new ArrayList<>();
+        for (ServiceLine line : lines) {
+            (line.category != null && categories.contains(line.category) ? matched : others).add(line);
+        }
+        if (matched.size() < properties.getMinServices()) {
+            matched.addAll(others);
+        }
+        return matched;
+    }
+
+    // 관심 분야 문자열을 카테고리 코드(OTT) 또는 표시명(뉴스·독서, 부분 일치 포함)으로 매칭
+    static Set<ServiceCategory> resolveCategories(List<String> interests) {
+        Set<ServiceCategory> categories = EnumSet.noneOf(ServiceCategory.class);
+        if (interests == null) {
+            return categories;
+        }
+        for (String interest : interests) {
+            String normalized = normalizeLabel(interest);
+            if (normalized.isEmpty()) {
+                continue;
+            }
+            for (ServiceCategory category : ServiceCategory.values()) {
+                String code = normalizeLabel(category.name());
+                String label = normalizeLabel(category.getDescription());
+                if (normalized.equals(code) || label.contains(normalized) || normalized.contains(label)) {
+                    categories.add(category);
+                }
+            }
+        }
+        return categories;
+    }
+
+    private static String normalizeLabel(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.replaceAll("[\\s·_/]", "").toLowerCase(Locale.ROOT);
+    }
+
+    private static int sumTokens(List<ServiceLine> lines, boolean compact) {
+        int sum = 0;
+        for (ServiceLine line : lines) {
+            sum += line.tokens(compact) + LINE_NUMBER_TOKENS;
+        }
+        return sum;
+    }
+
+    private String buildUserSection(QuizRequest quiz, UserPreference userPreference) {
+        StringBuilder preferenceSection = new StringBuilder();
+        if (userPreference != null) {
+            preferenceSection.append("\n사용자 성향 프로필:\n");
+            preferenceSection.append(String.format("- 프로필 타입: %s (%s)\n",
+                    userPreference.getProfileType().name(),
+                    userPreference.getProfileType().getDisplayName()));
+            preferenceSection.append(String.format("- 콘텐츠 소비 점수: %d/100\n", userPreference.getContentScore()));
+            preferenceSection.append(String.format("- 가성비 선호 점수: %d/100\n", userPreference.getPriceSensitivityScore()));
+            preferenceSection.append(String.format("- 건강 관심 점수: %d/100\n", userPreference.getHealthScore()));
+            preferenceSection.append(String.format("- 자기계발 점수: %d/100\n", userPreference.getSelfDevelopmentScore()));
+            preferenceSection.append(String.format("- 디지털 도구 점수: %d/100\n", userPreference.getDigitalToolScore()));
+
+            if (userPreference.getInterestedCategories() != null) {
+                preferenceSection.append(String.format("- 관심 카테고리: %s\n", userPreference.getInterestedCategories()));
+            }
+            if (userPreference.getBudgetRange() != null) {
+                preferenceSection.append(String.format("- 예산 범위: %s\n", userPreference.getBudgetRange()));
+            }
+
+            preferenceSection.append("\n위 성향 데이터를 적극 활용하여 사용자에게 가장 적합한 서비스를 추천해주세요.\n");
+        }
+
+        return String.format("""
+                사용자 입력:
+                - 관심 분야: %s
+                - 월 예산: %,d원
+                - 사용 목적: %s
+                - 중요도: %s
+                %s
+                사용 가능한 서비스 목록:
+                """,
+                String.join(", ", quiz.getInterests()),
+                quiz.getBudget(),
+                quiz.getPurposeLabel(),
+                quiz.getPrioritiesFormatted(),
+                preferenceSection.toString()
+        );
+    }
+
+    private static final class CatalogSection {
+        private final long generation;
+        private final long version;
+        private final List<ServiceLine> lines;
+
+        private CatalogSection(long generation, long version, List<ServiceLine> lines) {
+            this.generation = generation;
+            this.version = version;
+            this.lines = lines;
+        }
+    }
+
+    /**
+     * 서비스 1건의 목록 줄 (번호 제외) - 설명 포함/축약 두 형태와 토큰 추정치를 미리 계산
+     */
+    private static final class ServiceLine {
+        private final ServiceCategory category;
+        private final String fullLine;
+        private final String compactLine;
+        private final int fullTokens;
+        private final int compactTokens;
+
+        private ServiceLine(ServiceCategory category, String fullLine, String compactLine) {
+            this.category = category;
+            this.fullLine = fullLine;
+            this.compactLine = compactLine;
+            this.fullTokens = estimateTokens(fullLine);
+            this.compactTokens = estimateTokens(compactLine);
+        }
+
+        private String text(boolean compact) {
+            return compact ? compactLine : fullLine;
+        }
+
+        private int tokens(boolean compact) {
+            return compact ? compactTokens : fullTokens;
+        }
+    }
+}
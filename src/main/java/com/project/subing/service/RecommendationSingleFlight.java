@@ -0,0 +1,132 @@
+package com.project.subing.service;
+
+import com.project.subing.config.RecommendationProperties;
+import com.project.subing.dto.recommendation.RecommendationResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * 동일 GPT 추천 호출 병합 (single-flight)
+ *
+ * 같은 캐시 키(정규화된 퀴즈 지문 + 프롬프트 버전)로 진행 중인 호출이 있으면 새로 호출하지 않고 결과를 공유한다.
+ * - 일반 호출: 선행 호출의 CompletableFuture를 함께 기다리고, 각자 복사본을 받는다.
+ * - 스트리밍: 선행 호출의 Flux를 replay().refCount()로 공유해, 뒤늦게 합류한 구독자도 지금까지의 청크부터 받는다.
+ *   모든 구독자가 취소하면 GPT 스트림도 취소된다.
+ * 진행 중 항목은 호출이 끝나면(성공/실패/취소) 즉시 제거되며, 이후 요청은 RecommendationCache가 처리한다.
+ */
+@Slf4j
+@Component
+public class RecommendationSingleFlight {
+
+    private final boolean enabled;
+    private final long waitTimeoutSeconds;
+    private final ConcurrentHashMap<String, CompletableFuture<RecommendationResponse>> inFlightCalls = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Flux<String>> inFlightStreams = new ConcurrentHashMap<>();
+    private final Counter coalescedCalls;
+    private final Counter coalescedStreams;
+
+    public RecommendationSingleFlight(RecommendationProperties recommendationProperties, MeterRegistry meterRegistry) {
+        RecommendationProperties.SingleFlight properties = recommendationProperties.getSingleFlight();
+        this.enabled = properties.isEnabled();
+        this.waitTimeoutSeconds = Math.max(1, properties.getWaitTimeoutSeconds());
+        this.coalescedCalls = Counter.builder("recommendation.singleflight.coalesced")
+                .tag("mode", "call")
+                .description("진행 중인 GPT 호출에 합류한 요청 수")
+                .register(meterRegistry);
+        this.coalescedStreams = Counter.builder("recommendation.singleflight.coalesced")
+                .tag("mode", "stream")
+                .description("진행 중인 GPT 호출에 합류한 요청 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 일반 호출 병합 - 선행 호출자가 loader를 직접 실행하고, 나머지는 결과를 기다린다.
+     * 반환값은 호출자별 복사본이므로 가격 보강/ID 세팅을 해도 서로 영향이 없다.
+     */
+    public RecommendationResponse call(String key, Supplier<RecommendationResponse> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        CompletableFuture<RecommendationResponse> created = new CompletableFuture<>();
+        CompletableFuture<RecommendationResponse> existing = inFlightCalls.putIfAbsent(key, created);
+        if (existing != null) {
+            coalescedCalls.increment();
+            log.debug("[GPT 추천] 진행 중인 호출에 합류 - key: {}", key);
+            return awaitShared(existing, loader);
+        }
+
+        try {
+            RecommendationResponse response = loader.get();
+            created.complete(response);
+            return RecommendationCache.copyOf(response);
+        } catch (RuntimeException e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightCalls.remove(key, created);
+        }
+    }
+
+    /**
+     * 스트리밍 호출 병합 - 같은 키의 스트림이 진행 중이면 그 Flux를 그대로 반환한다.
+     * 구독 시점과 무관하게 모든 구독자가 전체 청크를 순서대로 받는다.
+     */
+    public Flux<String> stream(String key, Supplier<Flux<String>> source) {
+        if (!enabled) {
+            return source.get();
+        }
+
+        Flux<String> existing = inFlightStreams.get(key);
+        if (existing != null) {
+            return joinStream(key, existing);
+        }
+
+        AtomicReference<Flux<String>> self = new AtomicReference<>();
+        Flux<String> shared = Flux.defer(source)
+                .doFinally(signal -> inFlightStreams.remove(key, self.get()))
+                .replay()
+                .refCount();
+        self.set(shared);
+
+        Flux<String> raced = inFlightStreams.putIfAbsent(key, shared);
+        return raced != null ? joinStream(key, raced) : shared;
+    }
+
+    private Flux<String> joinStream(String key, Flux<String> shared) {
+        coalescedStreams.increment();
+        log.debug("[GPT 스트리밍] 진행 중인 스트림에 합류 - key: {}", key);
+        return shared;
+    }
+
+    private RecommendationResponse awaitShared(CompletableFuture<RecommendationResponse> shared,
+                                               Supplier<RecommendationResponse> loader) {
+        try {
+            return RecommendationCache.copyOf(shared.get(waitTimeoutSeconds, TimeUnit.SECONDS));
+        } catch (TimeoutException e) {
+            log.warn("[GPT 추천] 선행 호출 대기 시간 초과 - 직접 호출");
+            return loader.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        } catch (ExecutionException e) {
+            // 선행 호출 실패는 같은 예외로 전달 (GptApiException 등 기존 예외 처리 유지)
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new CompletionException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,378 @@
+package com.project.subing.service;
+
+import com.project.subing.config.RecommendationProperties;
+import com.project.subing.domain.recommendation.entity.RecommendationResult;
+import com.project.subing.domain.recommendation.enums.PromptVersion;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 추천 결과/피드백/클릭 write-behind 저장
+ *
+ * 요청 경로는 행을 메모리 큐에 넣고 바로 반환하며, 전용 스레드가 주기(flushIntervalMillis) 또는
+ * 적재량(batchSize) 기준으로 큐를 비워 JDBC 배치 insert로 한 트랜잭션에 저장한다.
+ * - 추천 결과 ID는 시퀀스에서 블록 단위로 선할당하므로 저장 전에도 recommendationId를 응답할 수 있다.
+ * - 아직 저장되지 않은 결과의 소유자/프롬프트 버전은 pendingResults로 확인한다 (피드백/클릭 권한 검사용).
+ * - 한 번에 꺼낸 항목은 결과 → 피드백 → 클릭 순으로 저장해 FK 순서를 보장한다.
+ * - 큐가 가득 차면 호출 스레드에서 직접 저장하고(유실 없음), 종료 시 남은 항목을 모두 저장한다.
+ * - 저장은 항상 별도 트랜잭션(REQUIRES_NEW)으로 실행한다. 비활성/큐 초과 시에는 호출 스레드에서 저장하므로
+ *   호출자의 읽기 전용 트랜잭션에 합류하거나 호출자 롤백에 휩쓸리지 않게 하기 위함.
+ * IDENTITY 키인 피드백/클릭은 Hibernate insert 배치가 적용되지 않으므로 엔티티 대신 ID 값으로 직접 insert한다.
+ */
+@Slf4j
+@Component
+public class RecommendationWriteBehind {
+
+    private static final String INSERT_RESULT_SQL =
+            "INSERT INTO recommendation_results (id, user_id, quiz_data, result_data, prompt_version, created_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?)";
+    // 기존 동작과 동일하게 사용자당 추천 1건에 첫 피드백만 유지
+    private static final String INSERT_FEEDBACK_SQL =
+            "INSERT INTO recommendation_feedback (recommendation_id, user_id, is_helpful, comment, created_at) "
+                    + "SELECT ?, ?, ?, ?, ? WHERE NOT EXISTS "
+                    + "(SELECT 1 FROM recommendation_feedback WHERE recommendation_id = ? AND user_id = ?)";
+    private static final String INSERT_CLICK_SQL =
+            "INSERT INTO recommendation_clicks (recommendation_result_id, user_id, service_id, clicked_at) "
+                    + "VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RecommendationProperties.WriteBehind properties;
+    private final String nextIdSql;
+
+    private final BlockingQueue<PendingWrite> queue;
+    private final ConcurrentHashMap<Long, PendingResult> pendingResults = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flusher;
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final Object flushLock = new Object();
+
+    // 선할당 ID 블록 (nextId..maxId)
+    private long nextId = 1;
+    private long maxId = 0;
+
+    private final Timer flushTimer;
+    private final Counter overflowCounter;
+    private final Map<String, Counter> writtenCounters = new HashMap<>();
+    private final Map<String, Counter> failedCounters = new HashMap<>();
+
+    public RecommendationWriteBehind(JdbcTemplate jdbcTemplate,
+                                     TransactionTemplate transactionTemplate,
+                                     EntityManagerFactory entityManagerFactory,
+                                     RecommendationProperties recommendationProperties,
+                                     MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.properties = recommendationProperties.getWriteBehind();
+        // DB별 시퀀스 조회 구문 (PostgreSQL: nextval('...'), H2: next value for ...)
+        this.nextIdSql = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect().getSequenceSupport()
+                .getSequenceNextValString(RecommendationResult.ID_SEQUENCE);
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, properties.getCapacity()));
+
+        Gauge.builder("recommendation.writebehind.backlog", queue, BlockingQueue::size)
+                .description("저장 대기 중인 추천 결과/피드백/클릭 수")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("recommendation.writebehind.flush")
+                .description("write-behind 배치 저장 소요 시간")
+                .register(meterRegistry);
+        this.overflowCounter = Counter.builder("recommendation.writebehind.overflow")
+                .description("큐가 가득 차 호출 스레드에서 직접 저장한 건수")
+                .register(meterRegistry);
+        for (String type : List.of("result", "feedback", "click")) {
+            writtenCounters.put(type, Counter.builder("recommendation.writebehind.written")
+                    .tag("type", type)
+                    .register(meterRegistry));
+            failedCounters.put(type, Counter.builder("recommendation.writebehind.failed")
+                    .tag("type", type)
+                    .register(meterRegistry));
+        }
+
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "recommendation-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = Math.max(10, properties.getFlushIntervalMillis());
+        flusher.scheduleWithFixedDelay(this::flushQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 추천 결과 저장 예약 (선할당 ID 반환)
+     */
+    public Long enqueueResult(Long userId, String quizJson, String resultJson, PromptVersion promptVersion) {
+        Long id = allocateResultId();
+        PendingResult result = new PendingResult(id, userId, quizJson, resultJson, promptVersion, LocalDateTime.now());
+        pendingResults.put(id, result);
+        submit(result);
+        return id;
+    }
+
+    public void enqueueFeedback(Long recommendationId, Long userId, Boolean isHelpful, String comment) {
+        submit(new PendingFeedback(recommendationId, userId, isHelpful, comment, LocalDateTime.now()));
+    }
+
+    public void enqueueClick(Long recommendationId, Long userId, Long serviceId) {
+        submit(new PendingClick(recommendationId, userId, serviceId, LocalDateTime.now()));
+    }
+
+    /**
+     * 아직 저장되지 않은 추천 결과의 소유자 (없으면 null → DB 조회 필요)
+     */
+    public Long findPendingOwner(Long recommendationId) {
+        PendingResult result = pendingResults.get(recommendationId);
+        return result != null ? result.userId : null;
+    }
+
+    /**
+     * 아직 저장되지 않은 추천 결과의 프롬프트 버전 (없으면 null)
+     */
+    public PromptVersion findPendingPromptVersion(Long recommendationId) {
+        PendingResult result = pendingResults.get(recommendationId);
+        return result != null ? result.promptVersion : null;
+    }
+
+    /**
+     * 큐에 남은 항목을 모두 저장
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            flushRequested.set(false);
+            List<PendingWrite> drained = new ArrayList<>(Math.min(queue.size(), properties.getBatchSize()));
+            while (queue.drainTo(drained, Math.max(1, properties.getBatchSize())) > 0) {
+                write(drained);
+                drained.clear();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        log.info("추천 write-behind 종료 - 남은 항목 저장 완료");
+    }
+
+    private void submit(PendingWrite write) {
+        if (!properties.isEnabled()) {
+            write(List.of(write));
+            return;
+        }
+        if (!queue.offer(write)) {
+            // 앞서 쌓인 항목(이 항목이 참조하는 결과 포함)을 먼저 저장한 뒤 직접 저장
+            overflowCounter.increment();
+            synchronized (flushLock) {
+                flush();
+                write(List.of(write));
+            }
+            return;
+        }
+        if (queue.size() >= properties.getBatchSize() && flushRequested.compareAndSet(false, true)) {
+            try {
+                flusher.execute(this::flushQuietly);
+            } catch (RejectedExecutionException e) {
+                // 종료 중이면 shutdown()의 마지막 flush가 처리
+                flushRequested.set(false);
+            }
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("[추천 write-behind] flush 실패", e);
+        }
+    }
+
+    private synchronized Long allocateResultId() {
+        if (nextId > maxId) {
+            // pooled 최적화와 같은 해석: 시퀀스 값 v는 블록의 상한 (v-49..v), 시작값(1)처럼 블록이 안 되는 값은 건너뜀
+            long value;
+            do {
+                value = jdbcTemplate.queryForObject(nextIdSql, Long.class);
+            } while (value < RecommendationResult.ID_ALLOCATION_SIZE);
+            nextId = value - RecommendationResult.ID_ALLOCATION_SIZE + 1;
+            maxId = value;
+        }
+        return nextId++;
+    }
+
+    private void write(List<PendingWrite> writes) {
+        List<PendingResult> results = new ArrayList<>();
+        List<PendingFeedback> feedbacks = new ArrayList<>();
+        List<PendingClick> clicks = new ArrayList<>();
+        Set<String> feedbackKeys = new HashSet<>();
+        for (PendingWrite write : writes) {
+            if (write instanceof PendingResult result) {
+                results.add(result);
+            } else if (write instanceof PendingFeedback feedback) {
+                // 같은 배치 안의 중복 피드백은 첫 건만
+                if (feedbackKeys.add(feedback.recommendationId + ":" + feedback.userId)) {
+                    feedbacks.add(feedback);
+                }
+            } else if (write instanceof PendingClick click) {
+                clicks.add(click);
+            }
+        }
+
+        Timer.Sample sample = Timer.start();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                insertResults(results);
+                insertFeedbacks(feedbacks);
+                insertClicks(clicks);
+            });
+            writtenCounters.get("result").increment(results.size());
+            writtenCounters.get("feedback").increment(feedbacks.size());
+            writtenCounters.get("click").increment(clicks.size());
+        } catch (RuntimeException e) {
+            log.error("[추천 write-behind] 배치 저장 실패 - 건별 저장으로 재시도 (결과: {}, 피드백: {}, 클릭: {})",
+                    results.size(), feedbacks.size(), clicks.size(), e);
+            writeIndividually(results, feedbacks, clicks);
+        } finally {
+            sample.stop(flushTimer);
+            for (PendingResult result : results) {
+                pendingResults.remove(result.id);
+            }
+        }
+    }
+
+    // 배치 실패 시 문제 행만 버리고 나머지는 저장
+    private void writeIndividually(List<PendingResult> results, List<PendingFeedback> feedbacks, List<PendingClick> clicks) {
+        for (PendingResult result : results) {
+            writeOne("result", () -> insertResults(List.of(result)));
+        }
+        for (PendingFeedback feedback : feedbacks) {
+            writeOne("feedback", () -> insertFeedbacks(List.of(feedback)));
+        }
+        for (PendingClick click : clicks) {
+            writeOne("click", () -> insertClicks(List.of(click)));
+        }
+    }
+
+    private void writeOne(String type, Runnable insert) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert.run());
+            writtenCounters.get(type).increment();
+        } catch (RuntimeException e) {
+            failedCounters.get(type).increment();
+            log.error("[추천 write-behind] {} 저장 실패", type, e);
+        }
+    }
+
+    private void insertResults(List<PendingResult> results) {
+        if (results.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_RESULT_SQL, results, results.size(), (ps, result) -> {
+            ps.setLong(1, result.id);
+            ps.setLong(2, result.userId);
+            ps.setString(3, result.quizJson);
+            ps.setString(4, result.resultJson);
+            ps.setString(5, result.promptVersion != null ? result.promptVersion.name() : null);
+            ps.setTimestamp(6, Timestamp.valueOf(result.createdAt));
+        });
+    }
+
+    private void insertFeedbacks(List<PendingFeedback> feedbacks) {
+        if (feedbacks.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_FEEDBACK_SQL, feedbacks, feedbacks.size(), (ps, feedback) -> {
+            ps.setLong(1, feedback.recommendationId);
+            ps.setLong(2, feedback.userId);
+            ps.setBoolean(3, feedback.isHelpful);
+            ps.setString(4, feedback.comment);
+            ps.setTimestamp(5, Timestamp.valueOf(feedback.createdAt));
+            ps.setLong(6, feedback.recommendationId);
+            ps.setLong(7, feedback.userId);
+        });
+    }
+
+    private void insertClicks(List<PendingClick> clicks) {
+        if (clicks.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_CLICK_SQL, clicks, clicks.size(), (ps, click) -> {
+            ps.setLong(1, click.recommendationId);
+            ps.setLong(2, click.userId);
+            ps.setLong(3, click.serviceId);
+            ps.setTimestamp(4, Timestamp.valueOf(click.clickedAt));
+        });
+    }
+
+    private interface PendingWrite {
+    }
+
+    private static final class PendingResult implements PendingWrite {
+        private final Long id;
+        private final Long userId;
+        private final String quizJson;
+        private final String resultJson;
+        private final PromptVersion promptVersion;
+        private final LocalDateTime createdAt;
+
+        private PendingResult(Long id, Long userId, String quizJson, String resultJson,
+                              PromptVersion promptVersion, LocalDateTime createdAt) {
+            this.id = id;
+            this.userId = userId;
+            this.quizJson = quizJson;
+            this.resultJson = resultJson;
+            this.promptVersion = promptVersion;
+            this.createdAt = createdAt;
+        }
+    }
+
+    private static final class PendingFeedback implements PendingWrite {
+        private final Long recommendationId;
+        private final Long userId;
+        private final Boolean isHelpful;
+        private final String comment;
+        private final LocalDateTime createdAt;
+
+        private PendingFeedback(Long recommendationId, Long userId, Boolean isHelpful, String comment,
+                                LocalDateTime createdAt) {
+            this.recommendationId = recommendationId;
+            this.userId = userId;
+            this.isHelpful = isHelpful;
+            this.comment = comment;
+            this.createdAt = createdAt;
+        }
+    }
+
+    private static final class PendingClick implements PendingWrite {
+        private final Long recommendationId;
+        private final Long userId;
+        private final Long serviceId;
+        private final LocalDateTime clickedAt;
+
+        private PendingClick(Long recommendationId, Long userId, Long serviceId, LocalDateTime clickedAt) {
+            this.recommendationId = recommendationId;
+            this.userId = userId;
+            this.serviceId = serviceId;
+            this.clickedAt = clickedAt;
+        }
+    }
+}
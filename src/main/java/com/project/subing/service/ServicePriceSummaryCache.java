@@ -0,0 +1,179 @@
+package com.project.subing.service;
+
+import com.project.subing.domain.service.entity.SubscriptionPlan;
+import com.project.subing.dto.recommendation.RecommendationItem;
+import com.project.subing.repository.SubscriptionPlanRepository;
+import com.project.subing.service.event.CatalogChangedEvent;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 추천 결과 가격 보강용 서비스별 가격 요약 캐시
+ *
+ * 서비스 ID → 최저가/최고가/무료 플랜 여부/표시용 가격 범위 문자열을 불변 맵으로 보관한다.
+ * 기동 완료 시 한 번 구축하고, 요금제 변경이 커밋되면 커밋한 스레드에서 한 번의 쿼리로 즉시 다시 만든다.
+ * 조회 경로(스트리밍 응답을 처리하는 Reactor 스레드 포함)에서는 DB 조회나 문자열 포맷 없이 맵 조회만 수행한다.
+ */
+@Slf4j
+@Component
+public class ServicePriceSummaryCache {
+
+    private final SubscriptionPlanRepository subscriptionPlanRepository;
+    // AFTER_COMMIT 시점에는 끝난 트랜잭션의 세션이 남아 있으므로 새 트랜잭션에서 조회
+    private final TransactionTemplate rebuildTransaction;
+
+    private volatile Snapshot snapshot;
+
+    public ServicePriceSummaryCache(SubscriptionPlanRepository subscriptionPlanRepository,
+                                    TransactionTemplate transactionTemplate) {
+        this.subscriptionPlanRepository = subscriptionPlanRepository;
+        this.rebuildTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.rebuildTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.rebuildTransaction.setReadOnly(true);
+    }
+
+    /**
+     * 서비스 가격 요약 조회 (플랜이 없는 서비스는 null)
+     */
+    public ServicePriceSummary find(Long serviceId) {
+        return serviceId == null ? null : snapshot().summaries.get(serviceId);
+    }
+
+    /**
+     * 추천 원소에 가격 정보 설정 (요약이 없으면 그대로 둠)
+     */
+    public void applyTo(RecommendationItem item) {
+        ServicePriceSummary summary = find(item.getServiceId());
+        if (summary == null) {
+            return;
+        }
+        item.setMinPrice(summary.getMinPrice());
+        item.setHasFreePlan(summary.isHasFreePlan());
+        item.setPriceRange(summary.getPriceRange());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        rebuild();
+    }
+
+    /**
+     * 요금제 변경 커밋 후 캐시 재구축
+     * 재구축은 직렬화되므로 동시에 여러 변경이 커밋되어도 마지막 재구축이 모든 변경을 반영한다.
+     * 재구축에 실패하면 기존 요약을 유지하고 다음 변경 시 다시 시도한다.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.error("서비스 가격 요약 캐시 재구축 실패 - 기존 요약 유지", e);
+        }
+    }
+
+    private Snapshot snapshot() {
+        Snapshot local = snapshot;
+        if (local != null) {
+            return local;
+        }
+        // 기동 완료 전 조회만 여기서 구축
+        synchronized (this) {
+            return snapshot != null ? snapshot : rebuild();
+        }
+    }
+
+    private synchronized Snapshot rebuild() {
+        Snapshot rebuilt = rebuildTransaction.execute(status -> build());
+        snapshot = rebuilt;
+        return rebuilt;
+    }
+
+    private Snapshot build() {
+        List<SubscriptionPlan> plans = subscriptionPlanRepository.findAll();
+
+        Map<Long, PriceAccumulator> accumulators = new HashMap<>();
+        for (SubscriptionPlan plan : plans) {
+            if (plan.getService() == null) {
+                continue;
+            }
+            accumulators.computeIfAbsent(plan.getService().getId(), id -> new PriceAccumulator())
+                    .add(plan.getMonthlyPrice());
+        }
+
+        Map<Long, ServicePriceSummary> summaries = new HashMap<>();
+        accumulators.forEach((serviceId, accumulator) -> summaries.put(serviceId, accumulator.toSummary()));
+
+        log.info("서비스 가격 요약 캐시 구축 완료 - 서비스 수: {}, 플랜 수: {}", summaries.size(), plans.size());
+        return new Snapshot(summaries);
+    }
+
+    private static class Snapshot {
+        private final Map<Long, ServicePriceSummary> summaries;
+
+        private Snapshot(Map<Long, ServicePriceSummary> summaries) {
+            this.summaries = Map.copyOf(summaries);
+        }
+    }
+
+    // 무료(0원) 플랜은 최저가 계산에서 제외하고 hasFreePlan으로만 표시
+    private static class PriceAccumulator {
+        private boolean hasFreePlan;
+        private int minPrice;
+        private int maxPrice;
+
+        private void add(Integer price) {
+            if (price == null) {
+                return;
+            }
+            if (price == 0) {
+                hasFreePlan = true;
+            } else {
+                if (minPrice == 0 || price < minPrice) minPrice = price;
+                if (price > maxPrice) maxPrice = price;
+            }
+        }
+
+        private ServicePriceSummary toSummary() {
+            String priceRange;
+            if (hasFreePlan && minPrice > 0) {
+                priceRange = String.format("무료 ~ ₩%,d/월", maxPrice);
+            } else if (hasFreePlan) {
+                priceRange = "무료";
+            } else if (minPrice == maxPrice) {
+                priceRange = String.format("₩%,d/월", minPrice);
+            } else {
+                priceRange = String.format("₩%,d ~ ₩%,d/월", minPrice, maxPrice);
+            }
+            return new ServicePriceSummary(minPrice > 0 ? minPrice : null, maxPrice, hasFreePlan, priceRange);
+        }
+    }
+
+    /**
+     * 서비스 1개의 가격 요약 (불변)
+     */
+    @Getter
+    public static class ServicePriceSummary {
+        private final Integer minPrice;      // 유료 플랜 최저 월 요금 (유료 플랜이 없으면 null)
+        private final int maxPrice;          // 유료 플랜 최고 월 요금
+        private final boolean hasFreePlan;
+        private final String priceRange;     // "무료 ~ ₩22,000/월" 형태
+
+        private ServicePriceSummary(Integer minPrice, int maxPrice, boolean hasFreePlan, String priceRange) {
+            this.minPrice = minPrice;
+            this.maxPrice = maxPrice;
+            this.hasFreePlan = hasFreePlan;
+            this.priceRange = priceRange;
+        }
+    }
+}
@@ -5,18 +5,21 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.project.subing.domain.common.BillingCycle;
 import com.project.subing.domain.common.ServiceCategory;
 import com.project.subing.domain.optimization.entity.OptimizationEventType;
+import com.project.subing.domain.optimization.entity.OptimizationReasonCode;
 import com.project.subing.domain.service.entity.ServiceEntity;
 import com.project.subing.domain.service.entity.SubscriptionPlan;
 import com.project.subing.domain.subscription.entity.UserSubscription;
 import com.project.subing.dto.optimization.OptimizationEventRequest;
-import com.project.subing.repository.SubscriptionPlanRepository;
 import com.project.subing.repository.UserSubscriptionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,28 +29,181 @@ import java.util.stream.Collectors;
 public class SubscriptionOptimizationService {
 
     private static final int MAX_METADATA_JSON_LENGTH = 500;
+    // 병렬 탐색은 구독 수가 이 값 이상일 때만 사용 (작은 목록은 작업 분배 비용이 더 큼)
+    private static final int PARALLEL_MIN_SUBSCRIPTIONS = 8;
 
     private final UserSubscriptionRepository userSubscriptionRepository;
-    private final SubscriptionPlanRepository subscriptionPlanRepository;
+    private final PlanPriceIndex planPriceIndex;
+    private final CandidateSearchPool candidateSearchPool;
+    private final OptimizationCandidateStateStore candidateStateStore;
     private final OptimizationEngineConfigService optimizationEngineConfigService;
     private final ObjectMapper objectMapper;
 
+    /**
+     * 최적화 파이프라인 (제안 화면용 단일 진입점)
+     * 활성 구독을 한 번만 조회하고, 한 번의 순회로 중복 그룹/대안 후보를 함께 계산한 뒤
+     * 포트폴리오 최적화까지 수행한다.
+     *
+     * 증분 모드에서는 사용자별 카테고리 후보 상태를 보관해 두고,
+     * 이후 호출에서는 구독 변경으로 dirty 표시된 카테고리만 다시 조회/탐색한다.
+     * 포트폴리오 선택은 최대 변경 건수가 전체 제약이므로 병합된 후보로 다시 수행한다.
+     */
+    public OptimizationPipelineResult runOptimizationPipeline(Long userId) {
+        // 버전을 먼저 읽어 두면, 그 사이 정책이 바뀌어도 다음 호출에서 버전 불일치로 전체 재계산된다
+        long policyVersion = optimizationEngineConfigService.getEffectivePolicyVersion();
+        OptimizationEnginePolicy policy = optimizationEngineConfigService.getEffectivePolicy();
+        PlanPriceIndex.Snapshot index = planPriceIndex.snapshot();
+
+        if (!candidateStateStore.isEnabled()) {
+            List<UserSubscription> paidSubscriptions =
+                    filterPaid(userSubscriptionRepository.findByUserIdAndIsActiveTrueWithService(userId));
+            return runOptimizationPipeline(userId, paidSubscriptions, policy, index);
+        }
+
+        OptimizationCandidateStateStore.UserCandidateState state =
+                candidateStateStore.get(userId, policyVersion, index.getVersion());
+        if (state != null) {
+            synchronized (state) {
+                try {
+                    // dirty 카테고리만 재조회 - 카테고리당 1 쿼리
+                    for (ServiceCategory category : state.drainDirtyCategories()) {
+                        List<UserSubscription> subscriptions = filterPaid(userSubscriptionRepository
+                                .findByUserIdAndServiceCategoryAndIsActive(userId, category, true));
+                        refreshCategory(userId, state, category, subscriptions, policy, index);
+                    }
+                } catch (RuntimeException e) {
+                    // dirty 표시는 이미 비웠으므로 남은 상태를 버려 다음 호출에서 전체 재계산
+                    candidateStateStore.evictUser(userId);
+                    throw e;
+                }
+                return assemble(userId, state, policy);
+            }
+        }
+
+        state = new OptimizationCandidateStateStore.UserCandidateState(policyVersion, index.getVersion());
+        synchronized (state) {
+            // 조회 전에 먼저 등록해 두어야 계산 중 커밋된 구독 변경도 dirty로 반영된다
+            candidateStateStore.put(userId, state);
+
+            try {
+                List<UserSubscription> paidSubscriptions =
+                        filterPaid(userSubscriptionRepository.findByUserIdAndIsActiveTrueWithService(userId));
+                Map<ServiceCategory, List<UserSubscription>> categoryMap = new EnumMap<>(ServiceCategory.class);
+                for (UserSubscription subscription : paidSubscriptions) {
+                    categoryMap.computeIfAbsent(subscription.getService().getCategory(), category -> new ArrayList<>())
+                            .add(subscription);
+                }
+                for (Map.Entry<ServiceCategory, List<UserSubscription>> entry : categoryMap.entrySet()) {
+                    refreshCategory(userId, state, entry.getKey(), entry.getValue(), policy, index);
+                }
+            } catch (RuntimeException e) {
+                // 비었거나 일부만 채워진 상태가 TTL 동안 쓰이지 않도록 제거 (다음 호출에서 다시 계산)
+                candidateStateStore.evictUser(userId);
+                throw e;
+            }
+            return assemble(userId, state, policy);
+        }
+    }
+
+    /**
+     * 이미 조회된 유료 활성 구독 목록으로 파이프라인 실행 (배치/시뮬레이션용)
+     * 정책과 가격 인덱스 스냅샷은 호출 측에서 한 번만 준비해 여러 사용자에 재사용한다.
+     * DB 접근이 없으므로 호출 측 트랜잭션이 없으면 새로 열지 않는다.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public OptimizationPipelineResult runOptimizationPipeline(Long userId, List<UserSubscription> paidSubscriptions,
+                                                              OptimizationEnginePolicy policy,
+                                                              PlanPriceIndex.Snapshot index) {
+        if (paidSubscriptions.isEmpty()) {
+            return OptimizationPipelineResult.empty();
+        }
+
+        Map<ServiceCategory, List<UserSubscription>> categoryMap = new EnumMap<>(ServiceCategory.class);
+        CandidateSearch search = new CandidateSearch(userId, policy, index);
+        boolean parallel = search.isParallel(paidSubscriptions.size());
+        for (UserSubscription subscription : paidSubscriptions) {
+            categoryMap.computeIfAbsent(subscription.getService().getCategory(), category -> new ArrayList<>())
+                    .add(subscription);
+            if (!parallel) {
+                search.visit(subscription);
+            }
+        }
+        if (parallel) {
+            search.visitAll(paidSubscriptions);
+        }
+
+        List<DuplicateServiceGroup> duplicates = toDuplicateGroups(userId, categoryMap);
+        AlternativeCandidates candidates = search.finish();
+        PortfolioOptimizer.PortfolioSelection portfolio = optimizePortfolio(candidates, policy);
+
+        return new OptimizationPipelineResult(duplicates, candidates, portfolio);
+    }
+
     /**
      * 중복 서비스 감지
      * 같은 카테고리의 활성 구독이 2개 이상인 경우 중복으로 판단
      */
     public List<DuplicateServiceGroup> detectDuplicateServices(Long userId) {
-        List<UserSubscription> activeSubscriptions =
-                userSubscriptionRepository.findByUserIdAndIsActiveTrueWithService(userId);
-
         // 0원(무료) 구독은 중복 감지 대상에서 제외
-        List<UserSubscription> paidSubscriptions = filterPaid(activeSubscriptions);
+        List<UserSubscription> paidSubscriptions =
+                filterPaid(userSubscriptionRepository.findByUserIdAndIsActiveTrueWithService(userId));
 
         // 카테고리별로 그룹화
         Map<ServiceCategory, List<UserSubscription>> categoryMap = paidSubscriptions.stream()
-                .collect(Collectors.groupingBy(sub -> sub.getService().getCategory()));
+                .collect(Collectors.groupingBy(sub -> sub.getService().getCategory(),
+                        () -> new EnumMap<>(ServiceCategory.class), Collectors.toList()));
+
+        return toDuplicateGroups(userId, categoryMap);
+    }
+
+    /**
+     * 저렴한 대안 제안 (요금제 가격 인덱스 기반 + 동일 서비스 다운그레이드 포함)
+     * 플랜 목록은 PlanPriceIndex 스냅샷을 사용하므로 요청당 추가 쿼리는 활성 구독 조회 1회뿐이다.
+     */
+    public List<CheaperAlternative> findCheaperAlternatives(Long userId) {
+        OptimizationEnginePolicy policy = optimizationEngineConfigService.getEffectivePolicy();
+
+        // 활성 구독 조회 (Service JOIN FETCH) - 1 쿼리
+        List<UserSubscription> activeSubscriptions =
+                filterPaid(userSubscriptionRepository.findByUserIdAndIsActiveTrueWithService(userId));
+
+        if (activeSubscriptions.isEmpty()) return Collections.emptyList();
+
+        // 가격 인덱스 스냅샷 (카탈로그 변경 전까지 재사용)
+        CandidateSearch search = new CandidateSearch(userId, policy, planPriceIndex.snapshot());
+        search.visitAll(activeSubscriptions);
+        return search.finish().materializeAll();
+    }
+
+    private void refreshCategory(Long userId, OptimizationCandidateStateStore.UserCandidateState state,
+                                 ServiceCategory category, List<UserSubscription> subscriptions,
+                                 OptimizationEnginePolicy policy, PlanPriceIndex.Snapshot index) {
+        CandidateSearch search = new CandidateSearch(userId, policy, index);
+        search.visitAll(subscriptions);
+        AlternativeCandidates candidates = search.finish();
+        state.replaceCategory(category, subscriptions, candidates, search.isComplete());
+        candidateStateStore.recordRefresh(category);
+    }
+
+    // 카테고리별 상태를 병합해 중복 그룹/후보/포트폴리오 결과 구성
+    private OptimizationPipelineResult assemble(Long userId, OptimizationCandidateStateStore.UserCandidateState state,
+                                                OptimizationEnginePolicy policy) {
+        Map<ServiceCategory, List<UserSubscription>> categoryMap = new EnumMap<>(ServiceCategory.class);
+        AlternativeCandidates candidates = new AlternativeCandidates();
+        for (Map.Entry<ServiceCategory, OptimizationCandidateStateStore.CategorySlice> entry : state.getSlices().entrySet()) {
+            categoryMap.put(entry.getKey(), entry.getValue().getSubscriptions());
+            candidates.addAll(entry.getValue().getCandidates());
+        }
+        candidates.sortForDisplay();
+
+        List<DuplicateServiceGroup> duplicates = toDuplicateGroups(userId, categoryMap);
+        PortfolioOptimizer.PortfolioSelection portfolio = optimizePortfolio(candidates, policy);
+        return new OptimizationPipelineResult(duplicates, candidates, portfolio);
+    }
 
-        // 2개 이상인 카테고리만 필터링
+    // 2개 이상인 카테고리만 중복 그룹으로 변환
+    private List<DuplicateServiceGroup> toDuplicateGroups(Long userId,
+                                                          Map<ServiceCategory, List<UserSubscription>> categoryMap) {
         List<DuplicateServiceGroup> duplicates = new ArrayList<>();
         for (Map.Entry<ServiceCategory, List<UserSubscription>> entry : categoryMap.entrySet()) {
             if (entry.getValue().size() >= 2) {
@@ -64,66 +220,95 @@ public class SubscriptionOptimizationService {
                         totalCost
                 ));
 
-                log.info("중복 서비스 감지 - userId: {}, 카테고리: {}, 구독 수: {}, 총 비용: {}",
+                log.debug("중복 서비스 감지 - userId: {}, 카테고리: {}, 구독 수: {}, 총 비용: {}",
                         userId, category.getDescription(), subscriptions.size(), totalCost);
             }
         }
-
         return duplicates;
     }
 
     /**
-     * 저렴한 대안 제안 (N+1 쿼리 최적화 + 동일 서비스 다운그레이드 포함)
+     * 구독 단위 대안 후보 탐색 상태
+     * 구독 단위로만 마감 시각을 확인한다 (후보 범위는 이진 탐색으로 이미 제한됨).
+     * 병렬 모드에서는 구독 목록을 연속 구간으로 나눠 전용 풀에서 탐색하고,
+     * 구독 순서대로 병합해 순차 탐색과 동일한 결과 순서를 보장한다.
      */
-    public List<CheaperAlternative> findCheaperAlternatives(Long userId) {
-        OptimizationEnginePolicy policy = optimizationEngineConfigService.getEffectivePolicy();
-        long startedAtNs = System.nanoTime();
-        long searchTimeoutNs = toNanoTimeout(policy.getCandidateSearchTimeoutMs());
+    private class CandidateSearch {
+        private final Long userId;
+        private final OptimizationEnginePolicy policy;
+        private final PlanPriceIndex.Snapshot index;
+        private final int topKPlansPerService;
+        private final long deadlineNs;
+        private final AlternativeCandidates candidates = new AlternativeCandidates();
+        private final AtomicBoolean deadlineReached = new AtomicBoolean();
 
-        // 1. 활성 구독 조회 (Service JOIN FETCH) - 1 쿼리
-        List<UserSubscription> activeSubscriptions =
-                filterPaid(userSubscriptionRepository.findByUserIdAndIsActiveTrueWithService(userId));
+        private CandidateSearch(Long userId, OptimizationEnginePolicy policy, PlanPriceIndex.Snapshot index) {
+            this.userId = userId;
+            this.policy = policy;
+            this.index = index;
+            this.topKPlansPerService = Math.max(1, policy.getTopKPlansPerService());
+            this.deadlineNs = System.nanoTime() + toNanoTimeout(policy.getCandidateSearchTimeoutMs());
+        }
 
-        if (activeSubscriptions.isEmpty()) return Collections.emptyList();
+        private boolean isParallel(int subscriptionCount) {
+            return subscriptionCount >= PARALLEL_MIN_SUBSCRIPTIONS
+                    && candidateSearchPool.effectiveParallelism(policy.getParallelism()) > 1;
+        }
 
-        // 2. 구독 중인 카테고리 수집
-        Set<ServiceCategory> categories = activeSubscriptions.stream()
-                .map(sub -> sub.getService().getCategory())
-                .collect(Collectors.toSet());
-
-        // 3. 해당 카테고리의 모든 플랜 한 번에 조회 - 1 쿼리
-        List<SubscriptionPlan> allCategoryPlans =
-                subscriptionPlanRepository.findByServiceCategoryIn(categories);
-
-        // 4. Map 변환 (서비스ID → 플랜 목록)
-        Map<Long, List<SubscriptionPlan>> plansByServiceId = allCategoryPlans.stream()
-                .collect(Collectors.groupingBy(plan -> plan.getService().getId()));
-
-        int topKPlansPerService = Math.max(1, policy.getTopKPlansPerService());
-        Map<Long, List<SubscriptionPlan>> candidatePlansByServiceId = plansByServiceId.entrySet().stream()
-                .collect(Collectors.toMap(
-                        Map.Entry::getKey,
-                        entry -> entry.getValue().stream()
-                                .sorted(Comparator.comparingInt(SubscriptionPlan::getMonthlyPrice))
-                                .limit(topKPlansPerService)
-                                .collect(Collectors.toList())
-                ));
+        private void visit(UserSubscription subscription) {
+            searchSubscription(subscription, candidates);
+        }
 
-        // 5. 서비스ID → ServiceEntity Map
-        Map<Long, ServiceEntity> serviceById = allCategoryPlans.stream()
-                .map(SubscriptionPlan::getService)
-                .collect(Collectors.toMap(ServiceEntity::getId, s -> s, (a, b) -> a));
+        private void visitAll(List<UserSubscription> subscriptions) {
+            if (!isParallel(subscriptions.size())) {
+                for (UserSubscription subscription : subscriptions) {
+                    visit(subscription);
+                }
+                return;
+            }
 
-        // 6. 루프에서 Map 조회만 사용 (추가 쿼리 없음)
-        List<CheaperAlternative> alternatives = new ArrayList<>();
+            int parallelism = candidateSearchPool.effectiveParallelism(policy.getParallelism());
+            int size = subscriptions.size();
+            int sliceSize = (size + parallelism - 1) / parallelism;
+
+            AlternativeCandidates[] resultsBySubscription = new AlternativeCandidates[size];
+            List<ForkJoinTask<?>> tasks = new ArrayList<>(parallelism);
+            for (int from = 0; from < size; from += sliceSize) {
+                int sliceFrom = from;
+                int sliceTo = Math.min(size, from + sliceSize);
+                tasks.add(candidateSearchPool.submit(() -> {
+                    for (int i = sliceFrom; i < sliceTo; i++) {
+                        AlternativeCandidates found = new AlternativeCandidates();
+                        if (!searchSubscription(subscriptions.get(i), found)) {
+                            return;
+                        }
+                        resultsBySubscription[i] = found;
+                    }
+                }));
+            }
+            for (ForkJoinTask<?> task : tasks) {
+                task.join();
+            }
 
-        boolean timeoutReached = false;
+            // 결정적 병합: 구독 순서대로, 마감 시 순차 탐색과 같이 완료된 앞 구간만 반영
+            for (AlternativeCandidates found : resultsBySubscription) {
+                if (found == null) {
+                    break;
+                }
+                candidates.addAll(found);
+            }
+        }
 
-        outer:
-        for (UserSubscription subscription : activeSubscriptions) {
-            if (isTimeout(startedAtNs, searchTimeoutNs)) {
-                timeoutReached = true;
-                break;
+        /**
+         * @return 마감 전에 탐색을 마쳤으면 true
+         */
+        private boolean searchSubscription(UserSubscription subscription, AlternativeCandidates out) {
+            if (deadlineReached.get()) {
+                return false;
+            }
+            if (System.nanoTime() - deadlineNs > 0) {
+                deadlineReached.set(true);
+                return false;
             }
 
             int currentMonthlyCost = normalizeMonthlyCost(subscription.getMonthlyPrice(), subscription.getBillingCycle(), policy);
@@ -131,156 +316,128 @@ public class SubscriptionOptimizationService {
             ServiceCategory currentCategory = subscription.getService().getCategory();
 
             // 1단계: 동일 서비스 내 더 저렴한 플랜 (다운그레이드)
-            List<SubscriptionPlan> sameServicePlans =
-                    candidatePlansByServiceId.getOrDefault(currentServiceId, Collections.emptyList());
-            for (SubscriptionPlan plan : sameServicePlans) {
-                if (isTimeout(startedAtNs, searchTimeoutNs)) {
-                    timeoutReached = true;
-                    break outer;
-                }
-                int alternativeMonthlyCost = normalizeMonthlyCost(plan.getMonthlyPrice(), BillingCycle.MONTHLY, policy);
-                if (alternativeMonthlyCost < currentMonthlyCost) {
-                    int savings = currentMonthlyCost - alternativeMonthlyCost;
-                    int switchCost = calculateSwitchCost(subscription, subscription.getService(), true, policy);
-                    int netSavings = savings - switchCost;
-                    if (netSavings <= 0) {
-                        continue;
-                    }
-                    int confidenceScore = calculateConfidenceScore(subscription, savings, netSavings, switchCost, true);
-                    List<String> reasonCodes = buildReasonCodes(subscription, true, switchCost, confidenceScore);
-
-                    alternatives.add(new CheaperAlternative(
-                            subscription, subscription.getService(), plan,
-                            currentMonthlyCost, alternativeMonthlyCost, savings, true,
-                            switchCost, netSavings, confidenceScore, reasonCodes
-                    ));
-
-                    log.info("다운그레이드 대안 발견 - userId: {}, 서비스: {}, 현재: {}원, 대안 플랜: {} ({}원), 절약: {}원, 순절약: {}원",
-                            userId, subscription.getService().getServiceName(),
-                            currentMonthlyCost, plan.getPlanName(), alternativeMonthlyCost, savings, netSavings);
-                }
+            PlanPriceIndex.ServicePlans sameServicePlans = index.service(currentServiceId);
+            if (sameServicePlans != null) {
+                collectAlternatives(userId, subscription, sameServicePlans, true,
+                        currentMonthlyCost, topKPlansPerService, policy, out);
             }
 
             // 2단계: 타 서비스 대안 (같은 카테고리, 다른 서비스)
-            for (Map.Entry<Long, List<SubscriptionPlan>> entry : candidatePlansByServiceId.entrySet()) {
-                if (isTimeout(startedAtNs, searchTimeoutNs)) {
-                    timeoutReached = true;
-                    break outer;
-                }
-                Long serviceId = entry.getKey();
-                if (serviceId.equals(currentServiceId)) continue;
-
-                ServiceEntity altService = serviceById.get(serviceId);
-                if (altService == null || !altService.getCategory().equals(currentCategory)) continue;
-
-                for (SubscriptionPlan plan : entry.getValue()) {
-                    if (isTimeout(startedAtNs, searchTimeoutNs)) {
-                        timeoutReached = true;
-                        break outer;
-                    }
-                    int alternativeMonthlyCost = normalizeMonthlyCost(plan.getMonthlyPrice(), BillingCycle.MONTHLY, policy);
-                    if (alternativeMonthlyCost < currentMonthlyCost) {
-                        int savings = currentMonthlyCost - alternativeMonthlyCost;
-                        int switchCost = calculateSwitchCost(subscription, altService, false, policy);
-                        int netSavings = savings - switchCost;
-                        if (netSavings <= 0) {
-                            continue;
-                        }
-                        int confidenceScore = calculateConfidenceScore(subscription, savings, netSavings, switchCost, false);
-                        List<String> reasonCodes = buildReasonCodes(subscription, false, switchCost, confidenceScore);
-
-                        alternatives.add(new CheaperAlternative(
-                                subscription, altService, plan,
-                                currentMonthlyCost, alternativeMonthlyCost, savings, false,
-                                switchCost, netSavings, confidenceScore, reasonCodes
-                        ));
-
-                        log.info("저렴한 대안 발견 - userId: {}, 현재: {} ({}원), 대안: {} {} ({}원), 절약: {}원, 순절약: {}원",
-                                userId, subscription.getService().getServiceName(), currentMonthlyCost,
-                                altService.getServiceName(), plan.getPlanName(),
-                                alternativeMonthlyCost, savings, netSavings);
-                    }
-                }
+            // 순절약이 양수가 되려면 최저가가 (현재 비용 - 전환 비용)보다 싸야 하므로 해당 접두 구간만 탐색
+            int crossSwitchCost = calculateSwitchCost(subscription, subscription.getService(), false, policy);
+            PlanPriceIndex.CategoryPlans categoryPlans = index.category(currentCategory);
+            int candidateServiceCount = categoryPlans.countServicesCheaperThan(currentMonthlyCost - crossSwitchCost);
+            for (int i = 0; i < candidateServiceCount; i++) {
+                PlanPriceIndex.ServicePlans altServicePlans = categoryPlans.serviceAt(i);
+                if (altServicePlans.getService().getId().equals(currentServiceId)) continue;
+
+                collectAlternatives(userId, subscription, altServicePlans, false,
+                        currentMonthlyCost, topKPlansPerService, policy, out);
             }
+            return true;
         }
 
-        // 정렬: 동일 서비스 다운그레이드 우선, 그 안에서 절약 금액 내림차순
-        alternatives.sort((a, b) -> {
-            if (a.isSameService() != b.isSameService()) {
-                return a.isSameService() ? -1 : 1;
-            }
-            return Integer.compare(b.getNetSavings(), a.getNetSavings());
-        });
-
-        if (timeoutReached) {
-            log.warn("최적화 후보 탐색 타임아웃 - userId: {}, timeoutMs: {}, partialResultCount: {}",
-                    userId, policy.getCandidateSearchTimeoutMs(), alternatives.size());
+        private boolean isComplete() {
+            return !deadlineReached.get();
         }
 
-        return alternatives;
+        private AlternativeCandidates finish() {
+            // 정렬: 동일 서비스 다운그레이드 우선, 그 안에서 절약 금액 내림차순
+            candidates.sortForDisplay();
+
+            if (deadlineReached.get()) {
+                log.warn("최적화 후보 탐색 타임아웃 - userId: {}, timeoutMs: {}, partialResultCount: {}",
+                        userId, policy.getCandidateSearchTimeoutMs(), candidates.size());
+            } else {
+                log.debug("최적화 후보 탐색 완료 - userId: {}, 후보 수: {}", userId, candidates.size());
+            }
+            return candidates;
+        }
     }
 
     /**
-     * 전역 최적화 MVP:
-     * - 구독 1건당 최적 대안 1개 선택
-     * - 최대 변경 건수 제약 적용
-     * - 타임아웃 시 정렬 기반 fallback
+     * 한 서비스의 플랜 중 순절약이 양수인 후보 수집
+     * 플랜은 가격 오름차순이므로 "상위 K개 ∩ 순절약 양수" 구간은 항상 배열의 접두 구간이다.
+     * 후보는 원시 값으로만 기록하고, 후보별 로그는 TRACE 레벨에서만 남긴다.
      */
-    public List<CheaperAlternative> selectPortfolioOptimizedAlternatives(List<CheaperAlternative> alternatives) {
-        OptimizationEnginePolicy policy = optimizationEngineConfigService.getEffectivePolicy();
-        if (alternatives == null || alternatives.isEmpty()) {
-            return Collections.emptyList();
-        }
-
-        long startedAtNs = System.nanoTime();
-        long optimizeTimeoutNs = toNanoTimeout(policy.getPortfolioOptimizeTimeoutMs());
+    private void collectAlternatives(Long userId, UserSubscription subscription,
+                                     PlanPriceIndex.ServicePlans servicePlans, boolean sameService,
+                                     int currentMonthlyCost, int topKPlansPerService,
+                                     OptimizationEnginePolicy policy, AlternativeCandidates candidates) {
+        ServiceEntity altService = servicePlans.getService();
+        int switchCost = calculateSwitchCost(subscription, altService, sameService, policy);
+        int candidateCount = Math.min(topKPlansPerService,
+                servicePlans.countCheaperThan(currentMonthlyCost - switchCost));
+
+        for (int i = 0; i < candidateCount; i++) {
+            SubscriptionPlan plan = servicePlans.planAt(i);
+            int alternativeMonthlyCost = normalizeMonthlyCost(servicePlans.priceAt(i), BillingCycle.MONTHLY, policy);
+            int savings = currentMonthlyCost - alternativeMonthlyCost;
+            int netSavings = savings - switchCost;
+            if (netSavings <= 0) {
+                continue;
+            }
+            int confidenceScore = calculateConfidenceScore(subscription, savings, netSavings, switchCost, sameService);
+            int reasonMask = buildReasonMask(subscription, sameService, switchCost, confidenceScore);
 
-        Map<Long, CheaperAlternative> bestBySubscription = new HashMap<>();
-        boolean timeoutReached = false;
+            candidates.add(subscription, altService, plan,
+                    currentMonthlyCost, alternativeMonthlyCost, switchCost, netSavings, confidenceScore, reasonMask);
 
-        for (CheaperAlternative alternative : alternatives) {
-            if (isTimeout(startedAtNs, optimizeTimeoutNs)) {
-                timeoutReached = true;
-                break;
+            if (!log.isTraceEnabled()) {
+                continue;
             }
-
-            Long subscriptionId = alternative.getCurrentSubscription().getId();
-            bestBySubscription.merge(subscriptionId, alternative, this::pickBetterAlternative);
-        }
-
-        // 순절약 기준 내림차순 정렬 (다운그레이드 우선)
-        List<CheaperAlternative> sorted = new ArrayList<>(bestBySubscription.values());
-        sorted.sort((a, b) -> {
-            int netSavingsDiff = Integer.compare(b.getNetSavings(), a.getNetSavings());
-            if (netSavingsDiff != 0) return netSavingsDiff;
-            if (a.isSameService() != b.isSameService()) return a.isSameService() ? -1 : 1;
-            return Integer.compare(b.getConfidenceScore(), a.getConfidenceScore());
-        });
-
-        // 대안 서비스 충돌 제거: 서로 다른 구독이 같은 대안 서비스를 추천하는 경우 상위 1개만 유지
-        Set<Long> usedAlternativeServiceIds = new HashSet<>();
-        List<CheaperAlternative> selected = new ArrayList<>();
-        for (CheaperAlternative alt : sorted) {
-            Long altServiceId = alt.getAlternativeService().getId();
-            if (alt.isSameService() || usedAlternativeServiceIds.add(altServiceId)) {
-                selected.add(alt);
+            if (sameService) {
+                log.trace("다운그레이드 대안 발견 - userId: {}, 서비스: {}, 현재: {}원, 대안 플랜: {} ({}원), 절약: {}원, 순절약: {}원",
+                        userId, altService.getServiceName(),
+                        currentMonthlyCost, plan.getPlanName(), alternativeMonthlyCost, savings, netSavings);
             } else {
-                log.info("포트폴리오 충돌 제거 - 대안 서비스 '{}' 중복으로 제외 (구독: {})",
-                        alt.getAlternativeService().getServiceName(),
-                        alt.getCurrentSubscription().getPlanName());
+                log.trace("저렴한 대안 발견 - userId: {}, 현재: {} ({}원), 대안: {} {} ({}원), 절약: {}원, 순절약: {}원",
+                        userId, subscription.getService().getServiceName(), currentMonthlyCost,
+                        altService.getServiceName(), plan.getPlanName(),
+                        alternativeMonthlyCost, savings, netSavings);
             }
         }
+    }
+
+    /**
+     * 전역 최적화:
+     * - 구독 1건당 대안 최대 1개, 대안 서비스 1개당 구독 1건, 최대 변경 건수 제약
+     * - 분기 한정법으로 순절약 합계 최대 조합 탐색
+     * - 타임아웃 시 그때까지의 최선 해 반환 (provenOptimal=false)
+     */
+    public PortfolioOptimizer.PortfolioSelection optimizePortfolio(List<CheaperAlternative> alternatives) {
+        return optimizePortfolio(alternatives, optimizationEngineConfigService.getEffectivePolicy());
+    }
+
+    private PortfolioOptimizer.PortfolioSelection optimizePortfolio(List<CheaperAlternative> alternatives,
+                                                                     OptimizationEnginePolicy policy) {
+        if (alternatives == null || alternatives.isEmpty()) {
+            return new PortfolioOptimizer.PortfolioSelection(Collections.emptyList(), true, 0);
+        }
+        return optimizePortfolio(AlternativeCandidates.from(alternatives), policy);
+    }
 
-        int maxChangesPerRun = Math.max(1, policy.getMaxChangesPerRun());
-        if (selected.size() > maxChangesPerRun) {
-            selected = new ArrayList<>(selected.subList(0, maxChangesPerRun));
+    private PortfolioOptimizer.PortfolioSelection optimizePortfolio(AlternativeCandidates candidates,
+                                                                     OptimizationEnginePolicy policy) {
+        if (candidates.isEmpty()) {
+            return new PortfolioOptimizer.PortfolioSelection(Collections.emptyList(), true, 0);
         }
 
-        if (timeoutReached) {
-            log.warn("포트폴리오 최적화 타임아웃 - timeoutMs: {}, fallbackCount: {}",
-                    policy.getPortfolioOptimizeTimeoutMs(), selected.size());
+        PortfolioOptimizer.PortfolioSelection selection = PortfolioOptimizer.optimize(
+                candidates,
+                policy.getMaxChangesPerRun(),
+                toNanoTimeout(policy.getPortfolioOptimizeTimeoutMs())
+        );
+
+        if (!selection.isProvenOptimal()) {
+            log.warn("포트폴리오 최적화 타임아웃 - timeoutMs: {}, visitedNodes: {}, incumbentCount: {}",
+                    policy.getPortfolioOptimizeTimeoutMs(), selection.getVisitedNodes(), selection.getSelected().size());
         }
-        return selected;
+        return selection;
+    }
+
+    public List<CheaperAlternative> selectPortfolioOptimizedAlternatives(List<CheaperAlternative> alternatives) {
+        return optimizePortfolio(alternatives).getSelected();
     }
 
     public void trackOptimizationEvent(Long userId, OptimizationEventRequest request) {
@@ -327,23 +484,6 @@ public class SubscriptionOptimizationService {
         return Math.max(1, timeoutMs) * 1_000_000L;
     }
 
-    private boolean isTimeout(long startedAtNs, long timeoutNs) {
-        return System.nanoTime() - startedAtNs > timeoutNs;
-    }
-
-    private CheaperAlternative pickBetterAlternative(CheaperAlternative a, CheaperAlternative b) {
-        int netSavingsDiff = Integer.compare(a.getNetSavings(), b.getNetSavings());
-        if (netSavingsDiff != 0) {
-            return netSavingsDiff >= 0 ? a : b;
-        }
-
-        if (a.isSameService() != b.isSameService()) {
-            return a.isSameService() ? a : b;
-        }
-
-        return a.getConfidenceScore() >= b.getConfidenceScore() ? a : b;
-    }
-
     private int normalizeMonthlyCost(int price, BillingCycle billingCycle, OptimizationEnginePolicy policy) {
         if (billingCycle == BillingCycle.YEARLY) {
             int divisor = Math.max(1, policy.getYearlyDivisor());
@@ -381,28 +521,29 @@ public class SubscriptionOptimizationService {
         return Math.max(0, Math.min(100, score));
     }
 
-    private List<String> buildReasonCodes(UserSubscription subscription, boolean sameService, int switchCost, int confidenceScore) {
-        List<String> reasonCodes = new ArrayList<>();
-        reasonCodes.add(sameService ? "SAME_SERVICE_DOWNGRADE" : "CATEGORY_SWITCH");
+    private int buildReasonMask(UserSubscription subscription, boolean sameService, int switchCost, int confidenceScore) {
+        int mask = sameService
+                ? OptimizationReasonCode.SAME_SERVICE_DOWNGRADE.bit()
+                : OptimizationReasonCode.CATEGORY_SWITCH.bit();
 
         if (subscription.getBillingCycle() == BillingCycle.YEARLY) {
-            reasonCodes.add("YEARLY_BILLING_NORMALIZED");
+            mask |= OptimizationReasonCode.YEARLY_BILLING_NORMALIZED.bit();
         } else {
-            reasonCodes.add("MONTHLY_BILLING_BASE");
+            mask |= OptimizationReasonCode.MONTHLY_BILLING_BASE.bit();
         }
 
         if (switchCost > 0) {
-            reasonCodes.add("SWITCH_COST_APPLIED");
+            mask |= OptimizationReasonCode.SWITCH_COST_APPLIED.bit();
         }
 
         if (confidenceScore >= 80) {
-            reasonCodes.add("HIGH_CONFIDENCE");
+            mask |= OptimizationReasonCode.HIGH_CONFIDENCE.bit();
         } else if (confidenceScore >= 60) {
-            reasonCodes.add("MEDIUM_CONFIDENCE");
+            mask |= OptimizationReasonCode.MEDIUM_CONFIDENCE.bit();
         } else {
-            reasonCodes.add("LOW_CONFIDENCE");
+            mask |= OptimizationReasonCode.LOW_CONFIDENCE.bit();
         }
-        return reasonCodes;
+        return mask;
     }
 
     // DTO 클래스들
@@ -504,4 +645,58 @@ public class SubscriptionOptimizationService {
             return reasonCodes;
         }
     }
+
+    public static class OptimizationPipelineResult {
+        private final List<DuplicateServiceGroup> duplicateServices;
+        private final AlternativeCandidates candidates;
+        private final PortfolioOptimizer.PortfolioSelection portfolio;
+        private final int totalPotentialSavings;
+        private List<CheaperAlternative> cheaperAlternatives;
+
+        public OptimizationPipelineResult(List<DuplicateServiceGroup> duplicateServices,
+                                          AlternativeCandidates candidates,
+                                          PortfolioOptimizer.PortfolioSelection portfolio) {
+            this.duplicateServices = duplicateServices;
+            this.candidates = candidates;
+            this.portfolio = portfolio;
+            // 포트폴리오는 구독당 대안 1개만 포함하므로 순절약 합계가 곧 구독별 최대 절감 합계
+            this.totalPotentialSavings = portfolio.getSelected().stream()
+                    .mapToInt(CheaperAlternative::getNetSavings)
+                    .sum();
+        }
+
+        private static OptimizationPipelineResult empty() {
+            return new OptimizationPipelineResult(Collections.emptyList(), new AlternativeCandidates(),
+                    new PortfolioOptimizer.PortfolioSelection(Collections.emptyList(), true, 0));
+        }
+
+        public List<DuplicateServiceGroup> getDuplicateServices() {
+            return duplicateServices;
+        }
+
+        /**
+         * 전체 후보 DTO 목록 (최초 호출 시 한 번만 변환, 포트폴리오 선택 후보는 같은 객체 재사용)
+         */
+        public List<CheaperAlternative> getCheaperAlternatives() {
+            if (cheaperAlternatives == null) {
+                cheaperAlternatives = candidates.materializeAll();
+            }
+            return cheaperAlternatives;
+        }
+
+        /**
+         * 후보 수 (DTO 변환 없이 조회)
+         */
+        public int getAlternativeCount() {
+            return candidates.size();
+        }
+
+        public PortfolioOptimizer.PortfolioSelection getPortfolio() {
+            return portfolio;
+        }
+
+        public int getTotalPotentialSavings() {
+            return totalPotentialSavings;
+        }
+    }
 }
@@ -12,7 +12,9 @@ import com.project.subing.exception.entity.UserNotFoundException;
 import com.project.subing.repository.ServiceRepository;
 import com.project.subing.repository.UserRepository;
 import com.project.subing.repository.UserSubscriptionRepository;
+import com.project.subing.service.event.SubscriptionChangedEvent;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -30,6 +32,7 @@ public class SubscriptionService {
     private final UserSubscriptionRepository userSubscriptionRepository;
     private final UserRepository userRepository;
     private final ServiceRepository serviceRepository;
+    private final ApplicationEventPublisher eventPublisher;
     
     public SubscriptionResponse createSubscription(Long userId, SubscriptionRequest request) {
         // 사용자 조회
@@ -59,6 +62,7 @@ public class SubscriptionService {
                 .build();
         
         UserSubscription savedSubscription = userSubscriptionRepository.save(subscription);
+        publishChanged(savedSubscription);
         
         return SubscriptionResponse.builder()
                 .id(savedSubscription.getId())
@@ -185,6 +189,7 @@ public class SubscriptionService {
         subscription.setEndedAt(parseStartedAt(request.getEndedAt()));
 
         UserSubscription savedSubscription = userSubscriptionRepository.save(subscription);
+        publishChanged(savedSubscription);
 
         return convertToResponse(savedSubscription);
     }
@@ -198,6 +203,7 @@ public class SubscriptionService {
         }
 
         userSubscriptionRepository.delete(subscription);
+        publishChanged(subscription);
     }
 
     public SubscriptionResponse toggleSubscriptionStatus(Long id, Long principalUserId, Boolean isActive) {
@@ -215,6 +221,7 @@ public class SubscriptionService {
         }
 
         UserSubscription savedSubscription = userSubscriptionRepository.save(subscription);
+        publishChanged(savedSubscription);
 
         return convertToResponse(savedSubscription);
     }
@@ -240,6 +247,14 @@ public class SubscriptionService {
                 .build();
     }
 
+    private void publishChanged(UserSubscription subscription) {
+        eventPublisher.publishEvent(new SubscriptionChangedEvent(
+                subscription.getUser().getId(),
+                subscription.getId(),
+                subscription.getService() != null ? subscription.getService().getCategory() : null
+        ));
+    }
+
     private static LocalDate parseStartedAt(String startedAt) {
         if (startedAt == null || startedAt.isBlank()) {
             return null;
@@ -10,6 +10,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
 
 @Service
 @RequiredArgsConstructor
@@ -58,6 +59,27 @@ public class TierLimitService {
         usageRepository.save(usage);
     }
 
+    /**
+     * GPT 추천 사용량 선점 (한도 확인과 증가를 조건부 UPDATE 한 번으로 처리)
+     * 무제한 티어도 사용량은 집계한다.
+     *
+     * @return 선점한 월 (한도 초과면 null)
+     */
+    public YearMonth reserveGptRecommendation(Long userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+
+        UserTierUsage usage = getCurrentMonthUsage(userId);
+        int limit = user.getTier().isUnlimited("gpt") ? Integer.MAX_VALUE : user.getTier().getMaxGptRecommendations();
+        int updated = usageRepository.reserveGptRecommendation(userId, usage.getYear(), usage.getMonth(), limit);
+        return updated == 1 ? YearMonth.of(usage.getYear(), usage.getMonth()) : null;
+    }
+
+    // 선점한 GPT 추천 사용량 반환 (실패/로컬 추천 대체 등 GPT 결과를 제공하지 못한 경우)
+    public void refundGptRecommendation(Long userId, YearMonth reservedMonth) {
+        usageRepository.refundGptRecommendation(userId, reservedMonth.getYear(), reservedMonth.getMonthValue());
+    }
+
     // 최적화 체크 사용 가능 여부 체크
     public boolean canUseOptimizationCheck(Long userId) {
         User user = userRepository.findById(userId)
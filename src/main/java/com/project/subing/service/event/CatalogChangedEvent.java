@@ -0,0 +1,15 @@
+package com.project.subing.service.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 서비스/요금제 카탈로그 변경 이벤트
+ * 커밋 이후(AFTER_COMMIT) 가격 인덱스 등 카탈로그 기반 메모리 캐시를 무효화하는 데 사용
+ */
+@Getter
+@RequiredArgsConstructor
+public class CatalogChangedEvent {
+
+    private final Long serviceId;
+}
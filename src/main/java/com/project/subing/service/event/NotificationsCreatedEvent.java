@@ -0,0 +1,21 @@
+package com.project.subing.service.event;
+
+import com.project.subing.domain.notification.entity.Notification;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 알림 일괄 생성 이벤트
+ * 커밋 이후(AFTER_COMMIT) 사용자별 읽지 않은 알림 카운터에 생성 개수를 더하고,
+ * 생성된 알림과 읽지 않은 알림 개수를 WebSocket으로 전송하는 데 사용
+ */
+@Getter
+@RequiredArgsConstructor
+public class NotificationsCreatedEvent {
+
+    private final Map<Long, List<Notification>> notificationsByUser;  // 사용자 ID → 생성된 알림
+    private final Map<Long, Long> createdCounts;  // 사용자 ID → 생성된 알림 수 (읽지 않은 개수 증가분)
+}
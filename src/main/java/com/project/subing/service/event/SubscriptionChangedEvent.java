@@ -0,0 +1,18 @@
+package com.project.subing.service.event;
+
+import com.project.subing.domain.common.ServiceCategory;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 사용자 구독 변경 이벤트 (생성/수정/삭제/상태 변경)
+ * 커밋 이후(AFTER_COMMIT) 사용자별 최적화 결과 캐시를 무효화하는 데 사용
+ */
+@Getter
+@RequiredArgsConstructor
+public class SubscriptionChangedEvent {
+
+    private final Long userId;
+    private final Long subscriptionId;
+    private final ServiceCategory category;
+}
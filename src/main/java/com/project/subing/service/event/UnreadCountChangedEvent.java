@@ -0,0 +1,26 @@
+package com.project.subing.service.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 읽지 않은 알림 개수 변경 이벤트 (단건 생성/읽음/모두 읽음)
+ * 커밋 이후(AFTER_COMMIT) 메모리 카운터에 반영하고 WebSocket으로 개수를 전송하는 데 사용
+ * (롤백된 변경은 카운터에 반영하지 않음)
+ */
+@Getter
+@RequiredArgsConstructor
+public class UnreadCountChangedEvent {
+
+    private final Long userId;
+    private final long delta;      // 증감 (reset이면 무시)
+    private final boolean reset;   // 모두 읽음 - 0으로 설정
+
+    public static UnreadCountChangedEvent adjust(Long userId, long delta) {
+        return new UnreadCountChangedEvent(userId, delta, false);
+    }
+
+    public static UnreadCountChangedEvent reset(Long userId) {
+        return new UnreadCountChangedEvent(userId, 0, true);
+    }
+}
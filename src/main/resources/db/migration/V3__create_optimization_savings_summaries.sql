@@ -0,0 +1,18 @@
+-- Per-user optimization savings summary (batch precomputed)
+-- 운영 배포 전 본 SQL이 적용되어야 합니다 (prod는 ddl-auto=validate).
+
+CREATE TABLE IF NOT EXISTS optimization_savings_summaries (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    total_potential_savings INTEGER NOT NULL,
+    alternative_count INTEGER NOT NULL,
+    duplicate_category_count INTEGER NOT NULL,
+    top_alternatives TEXT,
+    proven_optimal BOOLEAN NOT NULL,
+    computed_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_opt_savings_summary_user
+    ON optimization_savings_summaries (user_id);
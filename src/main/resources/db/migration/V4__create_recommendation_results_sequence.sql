@@ -0,0 +1,7 @@
+-- recommendation_results ID 시퀀스 (저장 전 ID 선할당 / write-behind 저장용)
+-- 운영 배포 전 본 SQL이 적용되어야 합니다 (prod는 ddl-auto=validate).
+-- allocationSize(50)와 INCREMENT BY가 같아야 하며, 기존 ID와 겹치지 않도록 현재 최대값 이후로 이동합니다.
+
+CREATE SEQUENCE IF NOT EXISTS recommendation_results_seq START WITH 1 INCREMENT BY 50;
+
+SELECT setval('recommendation_results_seq', COALESCE((SELECT MAX(id) FROM recommendation_results), 0) + 50);
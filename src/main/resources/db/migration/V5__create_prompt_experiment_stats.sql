@@ -0,0 +1,37 @@
+-- Per-prompt-version experiment counters (rollup of impressions/clicks/feedback)
+-- 운영 배포 전 본 SQL이 적용되어야 합니다 (prod는 ddl-auto=validate).
+
+CREATE TABLE IF NOT EXISTS prompt_experiment_stats (
+    id BIGSERIAL PRIMARY KEY,
+    prompt_version VARCHAR(20) NOT NULL,
+    impressions BIGINT NOT NULL DEFAULT 0,
+    clicks BIGINT NOT NULL DEFAULT 0,
+    helpful_count BIGINT NOT NULL DEFAULT 0,
+    not_helpful_count BIGINT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_prompt_experiment_stat_version
+    ON prompt_experiment_stats (prompt_version);
+
+-- 기존 원본 데이터로 초기값 채움 (이후에는 애플리케이션이 증분만 반영)
+-- 클릭은 한 추천에 여러 번 기록될 수 있으므로 노출 수를 넘지 않게 자름 (Beta 사후분포의 실패 수가 음수가 되지 않도록)
+INSERT INTO prompt_experiment_stats (prompt_version, impressions, clicks, helpful_count, not_helpful_count)
+SELECT r.prompt_version,
+       COUNT(*),
+       LEAST(COALESCE(SUM(c.click_count), 0), COUNT(*)),
+       COALESCE(SUM(f.helpful_count), 0),
+       COALESCE(SUM(f.not_helpful_count), 0)
+FROM recommendation_results r
+LEFT JOIN (SELECT recommendation_result_id, COUNT(*) AS click_count
+           FROM recommendation_clicks GROUP BY recommendation_result_id) c
+       ON c.recommendation_result_id = r.id
+LEFT JOIN (SELECT recommendation_id,
+                  SUM(CASE WHEN is_helpful THEN 1 ELSE 0 END) AS helpful_count,
+                  SUM(CASE WHEN is_helpful THEN 0 ELSE 1 END) AS not_helpful_count
+           FROM recommendation_feedback GROUP BY recommendation_id) f
+       ON f.recommendation_id = r.id
+WHERE r.prompt_version IS NOT NULL
+GROUP BY r.prompt_version
+ON CONFLICT (prompt_version) DO NOTHING;
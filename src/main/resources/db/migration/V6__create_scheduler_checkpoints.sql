@@ -0,0 +1,16 @@
+-- Resumable progress checkpoints for chunked scheduler jobs
+-- 운영 배포 전 본 SQL이 적용되어야 합니다 (prod는 ddl-auto=validate).
+
+CREATE TABLE IF NOT EXISTS scheduler_checkpoints (
+    id BIGSERIAL PRIMARY KEY,
+    job_name VARCHAR(100) NOT NULL,
+    run_date DATE NOT NULL,
+    last_user_id BIGINT NOT NULL,
+    processed_users BIGINT NOT NULL,
+    completed BOOLEAN NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_scheduler_checkpoint_job
+    ON scheduler_checkpoints (job_name);
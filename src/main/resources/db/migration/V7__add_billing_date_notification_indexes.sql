@@ -0,0 +1,8 @@
+-- Indexes for date-targeted notification queries (payment due / renewal) and the budget keyset scan
+-- 운영 배포 전 본 SQL이 적용되어야 합니다 (prod는 ddl-auto=validate).
+
+CREATE INDEX IF NOT EXISTS idx_us_active_billing_date
+    ON user_subscriptions (is_active, billing_date);
+
+CREATE INDEX IF NOT EXISTS idx_budget_year_month_user
+    ON budgets (year, month, user_id);
@@ -0,0 +1,14 @@
+-- Lease table electing a single runner per scheduler job / partition across instances
+-- 운영 배포 전 본 SQL이 적용되어야 합니다 (prod는 ddl-auto=validate).
+
+CREATE TABLE IF NOT EXISTS scheduler_leases (
+    id BIGSERIAL PRIMARY KEY,
+    lease_name VARCHAR(100) NOT NULL,
+    owner VARCHAR(200) NOT NULL,
+    lease_until TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_scheduler_lease_name
+    ON scheduler_leases (lease_name);
@@ -2,12 +2,20 @@ package com.project.subing.controller;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.subing.domain.common.BillingCycle;
+import com.project.subing.domain.common.ServiceCategory;
 import com.project.subing.domain.optimization.entity.OptimizationEngineConfig;
+import com.project.subing.domain.service.entity.ServiceEntity;
+import com.project.subing.domain.service.entity.SubscriptionPlan;
+import com.project.subing.domain.subscription.entity.UserSubscription;
 import com.project.subing.domain.user.entity.User;
 import com.project.subing.domain.user.entity.UserRole;
 import com.project.subing.domain.user.entity.UserTier;
 import com.project.subing.repository.OptimizationEngineConfigRepository;
+import com.project.subing.repository.ServiceRepository;
+import com.project.subing.repository.SubscriptionPlanRepository;
 import com.project.subing.repository.UserRepository;
+import com.project.subing.repository.UserSubscriptionRepository;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -39,6 +47,15 @@ class AdminOptimizationConfigControllerTest {
     @Autowired
     private OptimizationEngineConfigRepository optimizationEngineConfigRepository;
 
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private SubscriptionPlanRepository subscriptionPlanRepository;
+
+    @Autowired
+    private UserSubscriptionRepository userSubscriptionRepository;
+
     private Long adminUserId;
     private String baseUrl;
 
@@ -267,4 +284,94 @@ class AdminOptimizationConfigControllerTest {
                 .isEqualTo(data.path("defaultPolicy").path("crossCategoryPenalty").asInt());
         assertThat(data.path("activeOverrides").has(legacyKey)).isFalse();
     }
+
+    @Test
+    void 정책_시뮬레이션은_저장없이_전체_사용자_집계_차이를_반환한다() throws Exception {
+        // given - 다운그레이드 대안 2건을 가진 사용자 (OTT 15000 → 5000, MUSIC 12000 → 4000)
+        User user = userRepository.save(User.builder()
+                .name("시뮬레이션 대상 사용자")
+                .email("simulation-" + System.nanoTime() + "@example.com")
+                .password("password123!")
+                .tier(UserTier.FREE)
+                .role(UserRole.USER)
+                .build());
+        saveDowngradeSubscription(user, ServiceCategory.OTT, 15000, 5000);
+        saveDowngradeSubscription(user, ServiceCategory.MUSIC, 12000, 4000);
+
+        HttpHeaders headers = authHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        String simulateRequest = """
+                {
+                  "overrides": {
+                    "portfolio.maxChangesPerRun": "1"
+                  }
+                }
+                """;
+
+        // when
+        ResponseEntity<String> response = restTemplate.exchange(
+                baseUrl + "/simulate",
+                HttpMethod.POST,
+                new HttpEntity<>(simulateRequest, headers),
+                String.class
+        );
+
+        // then - 변경 건수 제한으로 제안 수가 줄고, 실제 정책은 바뀌지 않음
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        JsonNode data = objectMapper.readTree(response.getBody()).path("data");
+        assertThat(data.path("candidatePolicy").path("maxChangesPerRun").asInt()).isEqualTo(1);
+        assertThat(data.path("userCount").asInt()).isGreaterThanOrEqualTo(1);
+        assertThat(data.path("delta").path("suggestionCount").asInt()).isLessThanOrEqualTo(-1);
+        assertThat(data.path("delta").path("totalPotentialSavings").asLong()).isLessThan(0);
+        assertThat(data.path("changedUserCount").asInt()).isGreaterThanOrEqualTo(1);
+        assertThat(data.path("candidate").path("confidenceDistribution").has("HIGH")).isTrue();
+
+        ResponseEntity<String> configResponse = restTemplate.exchange(
+                baseUrl,
+                HttpMethod.GET,
+                new HttpEntity<>(authHeaders()),
+                String.class
+        );
+        JsonNode configData = objectMapper.readTree(configResponse.getBody()).path("data");
+        assertThat(configData.path("activeOverrides").has("portfolio.maxChangesPerRun")).isFalse();
+    }
+
+    @Test
+    void 정책_시뮬레이션_허용되지_않은_키면_400() {
+        HttpHeaders headers = authHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        String simulateRequest = """
+                {
+                  "overrides": {
+                    "unknown.key": "1"
+                  }
+                }
+                """;
+
+        ResponseEntity<String> response = restTemplate.exchange(
+                baseUrl + "/simulate",
+                HttpMethod.POST,
+                new HttpEntity<>(simulateRequest, headers),
+                String.class
+        );
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    private void saveDowngradeSubscription(User user, ServiceCategory category, int currentPrice, int planPrice) {
+        ServiceEntity service = serviceRepository.save(ServiceEntity.builder()
+                .serviceName("Simulation-" + category + "-" + System.nanoTime())
+                .category(category)
+                .description("시뮬레이션 서비스")
+                .officialUrl("https://simulation.example.com")
+                .iconUrl("icon.png")
+                .build());
+        subscriptionPlanRepository.save(SubscriptionPlan.builder()
+                .service(service).planName("라이트").monthlyPrice(planPrice).build());
+        userSubscriptionRepository.save(UserSubscription.builder()
+                .user(user).service(service)
+                .planName("프리미엄").monthlyPrice(currentPrice)
+                .billingDate(10).billingCycle(BillingCycle.MONTHLY)
+                .isActive(true).build());
+    }
 }
@@ -0,0 +1,135 @@
+package com.project.subing.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.subing.domain.recommendation.entity.PromptExperimentStat;
+import com.project.subing.domain.recommendation.enums.PromptVersion;
+import com.project.subing.domain.user.entity.User;
+import com.project.subing.domain.user.entity.UserRole;
+import com.project.subing.domain.user.entity.UserTier;
+import com.project.subing.repository.PromptExperimentStatRepository;
+import com.project.subing.repository.UserRepository;
+import com.project.subing.service.PromptExperimentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.*;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class AdminPromptExperimentControllerTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PromptExperimentStatRepository promptExperimentStatRepository;
+
+    @Autowired
+    private PromptExperimentService promptExperimentService;
+
+    private Long adminUserId;
+    private String baseUrl;
+
+    @BeforeEach
+    void setUp() {
+        baseUrl = "http://localhost:" + port + "/api/v1/admin/prompt-experiments";
+
+        User admin = userRepository.save(User.builder()
+                .name("프롬프트 실험 관리자")
+                .email("admin-prompt-" + System.nanoTime() + "@example.com")
+                .password("password123!")
+                .tier(UserTier.PRO)
+                .role(UserRole.ADMIN)
+                .build());
+
+        adminUserId = admin.getId();
+    }
+
+    private HttpHeaders authHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Test-User-Id", String.valueOf(adminUserId));
+        return headers;
+    }
+
+    @Test
+    void 프롬프트_실험_현황_조회_성공() throws Exception {
+        ResponseEntity<String> response = restTemplate.exchange(
+                baseUrl,
+                HttpMethod.GET,
+                new HttpEntity<>(authHeaders()),
+                String.class
+        );
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        JsonNode body = objectMapper.readTree(response.getBody());
+        assertThat(body.path("success").asBoolean()).isTrue();
+        assertThat(body.path("data").path("strategy").asText()).isEqualTo("THOMPSON");
+
+        JsonNode versions = body.path("data").path("versions");
+        assertThat(versions.size()).isEqualTo(PromptVersion.values().length);
+        double allocation = 0;
+        for (JsonNode version : versions) {
+            allocation += version.path("allocationProbability").asDouble();
+        }
+        assertThat(allocation).isCloseTo(1.0, offset(0.001));
+    }
+
+    @Test
+    void 즉시_반영_후_롤업_테이블에_증분이_누적() throws Exception {
+        // given - 다른 테스트의 증분까지 먼저 반영해 기준값을 고정
+        promptExperimentService.flush();
+        long impressionsBefore = persistedImpressions(PromptVersion.V2);
+        long clicksBefore = persistedClicks(PromptVersion.V2);
+
+        promptExperimentService.recordImpression(PromptVersion.V2);
+        promptExperimentService.recordImpression(PromptVersion.V2);
+        promptExperimentService.recordClick(PromptVersion.V2);
+
+        // when
+        ResponseEntity<String> response = restTemplate.exchange(
+                baseUrl + "/flush",
+                HttpMethod.POST,
+                new HttpEntity<>(authHeaders()),
+                String.class
+        );
+
+        // then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(persistedImpressions(PromptVersion.V2)).isGreaterThanOrEqualTo(impressionsBefore + 2);
+        assertThat(persistedClicks(PromptVersion.V2)).isGreaterThanOrEqualTo(clicksBefore + 1);
+
+        JsonNode body = objectMapper.readTree(response.getBody());
+        assertThat(body.path("data").hasNonNull("lastFlushedAt")).isTrue();
+    }
+
+    private long persistedImpressions(PromptVersion version) {
+        return promptExperimentStatRepository.findAll().stream()
+                .filter(stat -> stat.getPromptVersion() == version)
+                .mapToLong(PromptExperimentStat::getImpressions)
+                .sum();
+    }
+
+    private long persistedClicks(PromptVersion version) {
+        return promptExperimentStatRepository.findAll().stream()
+                .filter(stat -> stat.getPromptVersion() == version)
+                .mapToLong(PromptExperimentStat::getClicks)
+                .sum();
+    }
+}
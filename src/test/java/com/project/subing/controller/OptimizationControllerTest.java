@@ -14,6 +14,8 @@ import com.project.subing.repository.ServiceRepository;
 import com.project.subing.repository.SubscriptionPlanRepository;
 import com.project.subing.repository.UserRepository;
 import com.project.subing.repository.UserSubscriptionRepository;
+import com.project.subing.service.OptimizationBatchService;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -54,6 +56,12 @@ public class OptimizationControllerTest {
     @Autowired
     private UserSubscriptionRepository userSubscriptionRepository;
 
+    @Autowired
+    private OptimizationBatchService optimizationBatchService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     private Long testUserId;
     private String baseUrl;
 
@@ -399,6 +407,291 @@ public class OptimizationControllerTest {
         assertThat(optimizedAlternatives.size()).isEqualTo(3);
     }
 
+    @Test
+    void 전역최적화는_대안서비스_충돌시_순절약_합계가_최대인_조합을_선택한다() throws Exception {
+        // given - 두 구독이 같은 최저가 대안 서비스(X)를 두고 경쟁 (타 서비스 전환 비용 2000)
+        // 탐욕 선택: A→X(7000)만 선택, B는 충돌로 제외 → 7000
+        // 최적 조합: A→X(7000) + B→Y(1500) 또는 A→Y(2000) + B→X(6500) → 8500
+        long suffix = System.nanoTime();
+        ServiceEntity currentA = saveDesignService("Design-current-A-" + suffix);
+        ServiceEntity currentB = saveDesignService("Design-current-B-" + suffix);
+        ServiceEntity altX = saveDesignService("Design-alt-X-" + suffix);
+        ServiceEntity altY = saveDesignService("Design-alt-Y-" + suffix);
+
+        subscriptionPlanRepository.save(SubscriptionPlan.builder()
+                .service(altX).planName("라이트").monthlyPrice(1000).build());
+        subscriptionPlanRepository.save(SubscriptionPlan.builder()
+                .service(altY).planName("스탠다드").monthlyPrice(6000).build());
+
+        User user = userRepository.findById(testUserId).orElseThrow();
+        userSubscriptionRepository.save(UserSubscription.builder()
+                .user(user).service(currentA)
+                .planName("프로").monthlyPrice(10000)
+                .billingDate(5).billingCycle(BillingCycle.MONTHLY)
+                .isActive(true).build());
+        userSubscriptionRepository.save(UserSubscription.builder()
+                .user(user).service(currentB)
+                .planName("프로").monthlyPrice(9500)
+                .billingDate(5).billingCycle(BillingCycle.MONTHLY)
+                .isActive(true).build());
+
+        // when
+        ResponseEntity<String> response = restTemplate.exchange(
+                baseUrl + "/suggestions",
+                HttpMethod.GET,
+                new HttpEntity<>(authHeaders()),
+                String.class
+        );
+
+        // then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        JsonNode data = objectMapper.readTree(response.getBody()).path("data");
+        JsonNode optimizedAlternatives = data.path("optimizedAlternatives");
+
+        assertThat(optimizedAlternatives.size()).isEqualTo(2);
+        assertThat(optimizedAlternatives.get(0).path("alternativeServiceId").asLong())
+                .isNotEqualTo(optimizedAlternatives.get(1).path("alternativeServiceId").asLong());
+        assertThat(data.path("totalPotentialSavings").asInt()).isEqualTo(8500);
+        assertThat(data.path("portfolioProvenOptimal").asBoolean()).isTrue();
+    }
+
+    private ServiceEntity saveDesignService(String serviceName) {
+        return serviceRepository.save(ServiceEntity.builder()
+                .serviceName(serviceName)
+                .category(ServiceCategory.DESIGN)
+                .description("디자인 툴")
+                .officialUrl("https://design.example.com")
+                .iconUrl("icon.png")
+                .build());
+    }
+
+    @Test
+    void 구독_변경시_캐시된_최적화_제안이_무효화된다() throws Exception {
+        // given - 구독이 없는 상태로 최적화 제안을 한 번 조회해 캐시에 적재
+        ServiceEntity music = serviceRepository.save(ServiceEntity.builder()
+                .serviceName("Music-cache-" + System.nanoTime())
+                .category(ServiceCategory.MUSIC)
+                .description("음악 스트리밍")
+                .officialUrl("https://music.example.com")
+                .iconUrl("icon.png")
+                .build());
+        subscriptionPlanRepository.save(SubscriptionPlan.builder()
+                .service(music).planName("라이트").monthlyPrice(6000).build());
+
+        ResponseEntity<String> before = restTemplate.exchange(
+                baseUrl + "/suggestions",
+                HttpMethod.GET,
+                new HttpEntity<>(authHeaders()),
+                String.class
+        );
+        assertThat(objectMapper.readTree(before.getBody()).path("data").path("cheaperAlternatives")).isEmpty();
+
+        // when - 구독 API로 구독 추가 후 다시 조회
+        HttpHeaders headers = authHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        String requestJson = String.format("""
+                {
+                    "serviceId": %d,
+                    "planName": "프리미엄",
+                    "monthlyPrice": 15000,
+                    "billingDate": 10,
+                    "billingCycle": "MONTHLY",
+                    "startedAt": "2024-01"
+                }
+                """, music.getId());
+        ResponseEntity<String> created = restTemplate.exchange(
+                "http://localhost:" + port + "/api/v1/subscriptions",
+                HttpMethod.POST,
+                new HttpEntity<>(requestJson, headers),
+                String.class
+        );
+        assertThat(created.getStatusCode().is2xxSuccessful()).isTrue();
+
+        ResponseEntity<String> after = restTemplate.exchange(
+                baseUrl + "/suggestions",
+                HttpMethod.GET,
+                new HttpEntity<>(authHeaders()),
+                String.class
+        );
+
+        // then - 캐시가 무효화되어 새 구독 기준 대안이 계산됨
+        assertThat(after.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(objectMapper.readTree(after.getBody()).path("data").path("cheaperAlternatives")).isNotEmpty();
+    }
+
+    @Test
+    void 구독_수정시_변경된_카테고리만_재계산되고_나머지_대안은_유지된다() throws Exception {
+        // given - CLOUD(10000 → 3000 다운그레이드), MUSIC(12000 → 4000 다운그레이드) 구독
+        ServiceEntity cloud = serviceRepository.save(ServiceEntity.builder()
+                .serviceName("Cloud-incremental-" + System.nanoTime())
+                .category(ServiceCategory.CLOUD)
+                .description("클라우드 저장소")
+                .officialUrl("https://cloud.example.com")
+                .iconUrl("icon.png")
+                .build());
+        ServiceEntity music = serviceRepository.save(ServiceEntity.builder()
+                .serviceName("Music-incremental-" + System.nanoTime())
+                .category(ServiceCategory.MUSIC)
+                .description("음악 스트리밍")
+                .officialUrl("https://music.example.com")
+                .iconUrl("icon.png")
+                .build());
+        subscriptionPlanRepository.save(SubscriptionPlan.builder()
+                .service(cloud).planName("베이직").monthlyPrice(3000).build());
+        subscriptionPlanRepository.save(SubscriptionPlan.builder()
+                .service(music).planName("라이트").monthlyPrice(4000).build());
+
+        User user = userRepository.findById(testUserId).orElseThrow();
+        UserSubscription cloudSubscription = userSubscriptionRepository.save(UserSubscription.builder()
+                .user(user).service(cloud)
+                .planName("프로").monthlyPrice(10000)
+                .billingDate(5).billingCycle(BillingCycle.MONTHLY)
+                .isActive(true).build());
+        UserSubscription musicSubscription = userSubscriptionRepository.save(UserSubscription.builder()
+                .user(user).service(music)
+                .planName("프리미엄").monthlyPrice(12000)
+                .billingDate(5).billingCycle(BillingCycle.MONTHLY)
+                .isActive(true).build());
+
+        JsonNode before = fetchSuggestions();
+        assertThat(alternativeCountFor(before, cloudSubscription.getId())).isPositive();
+        assertThat(alternativeCountFor(before, musicSubscription.getId())).isPositive();
+
+        double cloudRefreshesBefore = refreshCount(ServiceCategory.CLOUD);
+        double musicRefreshesBefore = refreshCount(ServiceCategory.MUSIC);
+
+        // when - MUSIC 구독을 최저가보다 싸게 수정
+        HttpHeaders headers = authHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        String requestJson = String.format("""
+                {
+                    "serviceId": %d,
+                    "planName": "학생",
+                    "monthlyPrice": 500,
+                    "billingDate": 5,
+                    "billingCycle": "MONTHLY",
+                    "startedAt": "2024-01"
+                }
+                """, music.getId());
+        ResponseEntity<String> updated = restTemplate.exchange(
+                "http://localhost:" + port + "/api/v1/subscriptions/" + musicSubscription.getId(),
+                HttpMethod.PUT,
+                new HttpEntity<>(requestJson, headers),
+                String.class
+        );
+        assertThat(updated.getStatusCode().is2xxSuccessful()).isTrue();
+
+        JsonNode after = fetchSuggestions();
+
+        // then - MUSIC 대안은 사라지고 CLOUD 대안은 그대로 유지
+        assertThat(alternativeCountFor(after, musicSubscription.getId())).isZero();
+        assertThat(alternativeCountFor(after, cloudSubscription.getId()))
+                .isEqualTo(alternativeCountFor(before, cloudSubscription.getId()));
+        assertThat(after.path("totalPotentialSavings").asInt()).isEqualTo(7000);
+
+        // 변경된 MUSIC만 재계산되고 CLOUD는 재계산되지 않음
+        assertThat(refreshCount(ServiceCategory.MUSIC) - musicRefreshesBefore).isEqualTo(1.0);
+        assertThat(refreshCount(ServiceCategory.CLOUD) - cloudRefreshesBefore).isZero();
+    }
+
+    private double refreshCount(ServiceCategory category) {
+        return meterRegistry.get("optimization.incremental.refresh")
+                .tag("category", category.name())
+                .counter()
+                .count();
+    }
+
+    private JsonNode fetchSuggestions() throws Exception {
+        ResponseEntity<String> response = restTemplate.exchange(
+                baseUrl + "/suggestions",
+                HttpMethod.GET,
+                new HttpEntity<>(authHeaders()),
+                String.class
+        );
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return objectMapper.readTree(response.getBody()).path("data");
+    }
+
+    private int alternativeCountFor(JsonNode suggestions, Long subscriptionId) {
+        int count = 0;
+        for (JsonNode alternative : suggestions.path("cheaperAlternatives")) {
+            if (alternative.path("currentSubscription").path("id").asLong() == subscriptionId) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Test
+    void 배치_실행후_사전계산된_절약_요약을_조회한다() throws Exception {
+        // given - 동일 서비스 다운그레이드 대안(8000 → 3000, 순절약 5000)
+        ServiceEntity lifeService = serviceRepository.save(ServiceEntity.builder()
+                .serviceName("Life-batch-" + System.nanoTime())
+                .category(ServiceCategory.LIFE)
+                .description("생활 서비스")
+                .officialUrl("https://life.example.com")
+                .iconUrl("icon.png")
+                .build());
+        subscriptionPlanRepository.save(SubscriptionPlan.builder()
+                .service(lifeService).planName("베이직").monthlyPrice(3000).build());
+
+        User user = userRepository.findById(testUserId).orElseThrow();
+        userSubscriptionRepository.save(UserSubscription.builder()
+                .user(user).service(lifeService)
+                .planName("프리미엄").monthlyPrice(8000)
+                .billingDate(20).billingCycle(BillingCycle.MONTHLY)
+                .isActive(true).build());
+
+        // when
+        int processedUsers = optimizationBatchService.runBatch();
+        ResponseEntity<String> response = restTemplate.exchange(
+                baseUrl + "/savings-summary",
+                HttpMethod.GET,
+                new HttpEntity<>(authHeaders()),
+                String.class
+        );
+
+        // then
+        assertThat(processedUsers).isGreaterThanOrEqualTo(1);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        JsonNode data = objectMapper.readTree(response.getBody()).path("data");
+        assertThat(data.path("totalPotentialSavings").asInt()).isEqualTo(5000);
+        assertThat(data.path("topAlternatives").size()).isEqualTo(1);
+        assertThat(data.path("topAlternatives").get(0).path("isSameService").asBoolean()).isTrue();
+        assertThat(data.path("computedAt").isNull()).isFalse();
+    }
+
+    @Test
+    void 구독을_모두_해지한_사용자의_요약은_다음_배치에서_삭제된다() throws Exception {
+        // given - 대안이 있는 구독으로 요약 생성
+        ServiceEntity lifeService = serviceRepository.save(ServiceEntity.builder()
+                .serviceName("Life-stale-" + System.nanoTime())
+                .category(ServiceCategory.LIFE)
+                .description("생활 서비스")
+                .officialUrl("https://life.example.com")
+                .iconUrl("icon.png")
+                .build());
+        subscriptionPlanRepository.save(SubscriptionPlan.builder()
+                .service(lifeService).planName("베이직").monthlyPrice(3000).build());
+
+        User user = userRepository.findById(testUserId).orElseThrow();
+        UserSubscription subscription = userSubscriptionRepository.save(UserSubscription.builder()
+                .user(user).service(lifeService)
+                .planName("프리미엄").monthlyPrice(8000)
+                .billingDate(20).billingCycle(BillingCycle.MONTHLY)
+                .isActive(true).build());
+        optimizationBatchService.runBatch();
+        assertThat(optimizationBatchService.getSummary(testUserId)).isPresent();
+
+        // when - 구독 해지 후 다시 배치 실행
+        subscription.cancel();
+        userSubscriptionRepository.save(subscription);
+        optimizationBatchService.runBatch();
+
+        // then - 이전 요약이 남아 있지 않음
+        assertThat(optimizationBatchService.getSummary(testUserId)).isEmpty();
+    }
+
     @Test
     void 최적화_이벤트_기록_성공() {
         HttpHeaders headers = authHeaders();
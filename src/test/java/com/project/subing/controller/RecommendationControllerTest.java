@@ -0,0 +1,257 @@
+package com.project.subing.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.subing.domain.common.ServiceCategory;
+import com.project.subing.domain.service.entity.ServiceEntity;
+import com.project.subing.domain.service.entity.SubscriptionPlan;
+import com.project.subing.domain.user.entity.User;
+import com.project.subing.domain.user.entity.UserRole;
+import com.project.subing.domain.user.entity.UserTier;
+import com.project.subing.domain.user.entity.UserTierUsage;
+import com.project.subing.exception.tier.GptRecommendationLimitException;
+import com.project.subing.repository.ServiceRepository;
+import com.project.subing.repository.SubscriptionPlanRepository;
+import com.project.subing.repository.UserRepository;
+import com.project.subing.repository.UserTierUsageRepository;
+import com.project.subing.service.RecommendationAdmission;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.*;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * AI 추천 API 통합 테스트.
+ * GPT 호출 전에 수행되는 수락 제어(월 사용량 한도)와 GPT 실패 시 로컬 추천 대체를 검증.
+ * 외부 호출이 없도록 ChatModel은 목으로 대체한다.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+public class RecommendationControllerTest {
+
+    private static final String QUIZ_JSON = """
+            {
+                "interests": ["OTT"],
+                "budget": 20000,
+                "purpose": {"value": "entertainment", "label": "여가"},
+                "priorities": [{"value": "price", "label": "가격", "rank": 1}]
+            }
+            """;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserTierUsageRepository userTierUsageRepository;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private SubscriptionPlanRepository subscriptionPlanRepository;
+
+    @Autowired
+    private RecommendationAdmission recommendationAdmission;
+
+    @MockitoBean
+    private ChatModel chatModel;
+
+    private Long testUserId;
+    private String baseUrl;
+
+    @BeforeEach
+    void setUp() {
+        baseUrl = "http://localhost:" + port + "/api/v1/recommendations";
+
+        String email = "recommendation-test-" + System.nanoTime() + "@example.com";
+        User user = userRepository.save(User.builder()
+                .name("추천 테스트 사용자")
+                .email(email)
+                .password("password123!")
+                .tier(UserTier.FREE)
+                .role(UserRole.USER)
+                .build());
+        testUserId = user.getId();
+    }
+
+    private HttpHeaders authHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Test-User-Id", String.valueOf(testUserId));
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return headers;
+    }
+
+    @Test
+    void 무료_등급_월_추천_한도를_모두_쓰면_GPT_호출없이_429() throws Exception {
+        // given - 이번 달 사용량을 FREE 한도까지 채움
+        LocalDate now = LocalDate.now();
+        UserTierUsage usage = UserTierUsage.builder()
+                .userId(testUserId)
+                .year(now.getYear())
+                .month(now.getMonthValue())
+                .build();
+        for (int i = 0; i < UserTier.FREE.getMaxGptRecommendations(); i++) {
+            usage.incrementGptRecommendation();
+        }
+        userTierUsageRepository.save(usage);
+
+        // when
+        ResponseEntity<String> response = restTemplate.exchange(
+                baseUrl + "/ai",
+                HttpMethod.POST,
+                new HttpEntity<>(QUIZ_JSON, authHeaders()),
+                String.class
+        );
+
+        // then - GPT 호출 전에 거절 (호출까지 갔다면 실패해도 로컬 추천으로 200이 반환됨)
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        verify(chatModel, never()).call(any(Prompt.class));
+        JsonNode body = objectMapper.readTree(response.getBody());
+        assertThat(body.path("success").asBoolean()).isFalse();
+        assertThat(body.path("data").path("errorCode").asText()).isEqualTo("GPT_RECOMMENDATION_LIMIT_EXCEEDED");
+    }
+
+    @Test
+    void GPT_응답을_받지_못하면_로컬_추천으로_대체() throws Exception {
+        // given - 관심 분야(OTT)에 해당하고 예산 안에 드는 서비스
+        ServiceEntity service = serviceRepository.save(ServiceEntity.builder()
+                .serviceName("로컬추천 OTT " + System.nanoTime())
+                .description("영화와 드라마 스트리밍")
+                .category(ServiceCategory.OTT)
+                .officialUrl("https://example.com")
+                .iconUrl("https://example.com/logo.png")
+                .build());
+        subscriptionPlanRepository.save(SubscriptionPlan.builder()
+                .service(service)
+                .planName("Basic")
+                .description("기본 플랜")
+                .monthlyPrice(9500)
+                .features("HD 화질")
+                .build());
+
+        // GPT 호출 실패
+        when(chatModel.call(any(Prompt.class))).thenThrow(new IllegalStateException("GPT 장애"));
+
+        // when
+        ResponseEntity<String> response = restTemplate.exchange(
+                baseUrl + "/ai",
+                HttpMethod.POST,
+                new HttpEntity<>(QUIZ_JSON, authHeaders()),
+                String.class
+        );
+
+        // then - 오류 대신 같은 응답 형태의 로컬 추천
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        JsonNode data = objectMapper.readTree(response.getBody()).path("data");
+        assertThat(data.path("recommendationId").isNumber()).isTrue();
+        JsonNode recommendations = data.path("recommendations");
+        assertThat(recommendations.isArray()).isTrue();
+        assertThat(recommendations.size()).isGreaterThan(0);
+        assertThat(recommendations.get(0).path("serviceId").isNumber()).isTrue();
+        assertThat(recommendations.get(0).path("priceRange").asText()).isNotBlank();
+        verify(chatModel, atLeastOnce()).call(any(Prompt.class));
+    }
+
+    @Test
+    void 등급별_동시_처리_한도를_넘으면_429와_Retry_After를_반환하고_선점을_반환() throws Exception {
+        // given - 다른 FREE 사용자들이 FREE 등급 자리를 모두 차지 (test 프로필: FREE 8자리)
+        List<RecommendationAdmission.Permit> held = new ArrayList<>();
+        try {
+            for (int i = 0; i < 8; i++) {
+                User other = userRepository.save(User.builder()
+                        .name("동시 처리 사용자 " + i)
+                        .email("admission-holder-" + i + "-" + System.nanoTime() + "@example.com")
+                        .password("password123!")
+                        .tier(UserTier.FREE)
+                        .role(UserRole.USER)
+                        .build());
+                held.add(recommendationAdmission.acquire(other.getId()));
+            }
+
+            // when
+            ResponseEntity<String> response = restTemplate.exchange(
+                    baseUrl + "/ai",
+                    HttpMethod.POST,
+                    new HttpEntity<>(QUIZ_JSON, authHeaders()),
+                    String.class
+            );
+
+            // then - 대기 시간(max-wait-millis) 안에 자리를 얻지 못해 429 + Retry-After
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+            assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("5");
+            JsonNode body = objectMapper.readTree(response.getBody());
+            assertThat(body.path("data").path("errorCode").asText()).isEqualTo("RECOMMENDATION_CAPACITY_EXCEEDED");
+
+            // 거절된 요청의 사용량 선점은 반환됨
+            assertThat(currentGptUsage(testUserId)).isZero();
+        } finally {
+            held.forEach(RecommendationAdmission.Permit::release);
+        }
+    }
+
+    @Test
+    void 월_한도_직전의_동시_요청은_선점한_만큼만_수락하고_확정되지_않은_선점은_반환() {
+        // given - FREE 한도까지 2회 남음
+        LocalDate now = LocalDate.now();
+        UserTierUsage usage = UserTierUsage.builder()
+                .userId(testUserId)
+                .year(now.getYear())
+                .month(now.getMonthValue())
+                .build();
+        for (int i = 0; i < UserTier.FREE.getMaxGptRecommendations() - 2; i++) {
+            usage.incrementGptRecommendation();
+        }
+        userTierUsageRepository.save(usage);
+
+        // when - 응답 전 두 요청이 진행 중이면 세 번째 요청은 한도 확인 단계에서 거절
+        RecommendationAdmission.Permit first = recommendationAdmission.acquire(testUserId);
+        RecommendationAdmission.Permit second = recommendationAdmission.acquire(testUserId);
+        assertThatThrownBy(() -> recommendationAdmission.acquire(testUserId))
+                .isInstanceOf(GptRecommendationLimitException.class);
+        assertThat(currentGptUsage(testUserId)).isEqualTo(UserTier.FREE.getMaxGptRecommendations());
+
+        // then - 확정된 선점은 유지, 확정 전 종료(실패/로컬 추천)된 선점은 반환
+        first.commitUsage();
+        first.release();
+        second.release();
+        assertThat(currentGptUsage(testUserId)).isEqualTo(UserTier.FREE.getMaxGptRecommendations() - 1);
+
+        RecommendationAdmission.Permit third = recommendationAdmission.acquire(testUserId);
+        third.release();
+    }
+
+    private int currentGptUsage(Long userId) {
+        LocalDate now = LocalDate.now();
+        return userTierUsageRepository.findByUserIdAndYearAndMonth(userId, now.getYear(), now.getMonthValue())
+                .map(UserTierUsage::getGptRecommendationCount)
+                .orElse(0);
+    }
+}
@@ -0,0 +1,246 @@
+package com.project.subing.scheduler;
+
+import com.project.subing.config.NotificationProperties;
+import com.project.subing.config.SchedulerProperties;
+import com.project.subing.domain.common.BillingCycle;
+import com.project.subing.domain.common.ServiceCategory;
+import com.project.subing.domain.notification.entity.NotificationType;
+import com.project.subing.domain.scheduler.entity.SchedulerCheckpoint;
+import com.project.subing.domain.service.entity.ServiceEntity;
+import com.project.subing.domain.subscription.entity.UserSubscription;
+import com.project.subing.domain.user.entity.User;
+import com.project.subing.domain.user.entity.UserRole;
+import com.project.subing.domain.user.entity.UserTier;
+import com.project.subing.repository.BudgetRepository;
+import com.project.subing.repository.NotificationRepository;
+import com.project.subing.repository.SchedulerCheckpointRepository;
+import com.project.subing.repository.ServiceRepository;
+import com.project.subing.repository.UserRepository;
+import com.project.subing.repository.UserSubscriptionRepository;
+import com.project.subing.service.NotificationBatchService;
+import com.project.subing.service.NotificationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 알림 스케줄러 파티션 실행 테스트 (H2 임대 테이블).
+ * 소유자를 달리한 두 인스턴스가 파티션을 나눠 실행하고,
+ * 임대가 만료돼 다른 인스턴스가 이어받으면 앞선 인스턴스는 멈추고 새 소유자가 체크포인트부터 이어서 처리하는지 검증.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+public class NotificationSchedulerTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SchedulerProperties schedulerProperties;
+
+    @Autowired
+    private UserSubscriptionRepository userSubscriptionRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private SchedulerCheckpointRepository schedulerCheckpointRepository;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private SchedulerLeaseManager leaseA;
+    private SchedulerLeaseManager leaseB;
+
+    @BeforeEach
+    void setUp() {
+        leaseA = new SchedulerLeaseManager(jdbcTemplate, schedulerProperties, "instance-a");
+        leaseB = new SchedulerLeaseManager(jdbcTemplate, schedulerProperties, "instance-b");
+    }
+
+    @Test
+    void 두_인스턴스는_임대를_잡은_파티션만_실행() {
+        // given - 파티션 2개
+        NotificationProperties properties = new NotificationProperties();
+        properties.getBatch().setPartitions(2);
+        NotificationScheduler schedulerA = new NotificationScheduler(null, leaseA, properties);
+        NotificationScheduler schedulerB = new NotificationScheduler(null, leaseB, properties);
+        String baseJobName = "test.partitioned-" + System.nanoTime();
+
+        List<Integer> runByA = new ArrayList<>();
+        List<Integer> runByB = new ArrayList<>();
+
+        // when - B가 첫 파티션을 실행하는 도중 A가 실행
+        int usersB = schedulerB.runPartitions(baseJobName, (partition, leaseName) -> {
+            runByB.add(partition.getIndex());
+            if (runByB.size() == 1) {
+                schedulerA.runPartitions(baseJobName, (partitionA, leaseNameA) -> {
+                    runByA.add(partitionA.getIndex());
+                    return 1;
+                });
+            }
+            return 1;
+        });
+
+        // then - A는 B가 잡고 있던 파티션을 건너뛰고 나머지만 실행
+        int heldByB = runByB.get(0);
+        assertThat(heldByB).isEqualTo(Math.floorMod("instance-b".hashCode(), 2));
+        assertThat(runByA).containsExactly(1 - heldByB);
+        // A가 끝내고 반납한 파티션은 B도 이어서 시도할 수 있음 (중복 실행은 체크포인트 완료 표시로 막음)
+        assertThat(runByB).containsExactly(heldByB, 1 - heldByB);
+        assertThat(usersB).isEqualTo(2);
+
+        // 실행이 끝나면 모든 파티션 임대를 반납
+        assertThat(leaseA.tryAcquire(baseJobName + "#0/2")).isTrue();
+        assertThat(leaseA.tryAcquire(baseJobName + "#1/2")).isTrue();
+    }
+
+    @Test
+    void 다른_인스턴스가_잡은_파티션은_건너뜀() {
+        NotificationProperties properties = new NotificationProperties();
+        properties.getBatch().setPartitions(2);
+        NotificationScheduler schedulerB = new NotificationScheduler(null, leaseB, properties);
+        String baseJobName = "test.partitioned-" + System.nanoTime();
+        assertThat(leaseA.tryAcquire(baseJobName + "#0/2")).isTrue();
+
+        List<Integer> runByB = new ArrayList<>();
+        schedulerB.runPartitions(baseJobName, (partition, leaseName) -> {
+            runByB.add(partition.getIndex());
+            return 0;
+        });
+
+        assertThat(runByB).containsExactly(1);
+        // A의 임대는 그대로 유지
+        assertThat(leaseA.renew(baseJobName + "#0/2")).isTrue();
+    }
+
+    @Test
+    void 임대를_이어받은_인스턴스가_체크포인트부터_이어서_처리() {
+        // given - 청크 1명, 단일 파티션, 활성 구독 보유 사용자 3명
+        NotificationProperties properties = new NotificationProperties();
+        properties.getBatch().setChunkSize(1);
+        NotificationBatchService batchService = new NotificationBatchService(userSubscriptionRepository,
+                budgetRepository, schedulerCheckpointRepository, notificationService, properties, transactionTemplate);
+        NotificationScheduler schedulerA = new NotificationScheduler(batchService, leaseA, properties);
+        NotificationScheduler schedulerB = new NotificationScheduler(batchService, leaseB, properties);
+
+        LocalDate runDate = LocalDate.now().plusYears(3);
+        List<Long> userIds = createUsersWithActiveSubscription(3);
+        seedCheckpoint(runDate, userIds.get(0) - 1);
+
+        // when - A가 첫 청크를 처리한 뒤 임대가 만료되고 B가 이어받음
+        int processedByA = schedulerA.runPartitions(NotificationBatchService.WEEKLY_JOB,
+                (partition, leaseName) -> batchService.runWeekly(runDate, partition, () -> {
+                    expire(leaseName);
+                    assertThat(leaseB.tryAcquire(leaseName)).isTrue();
+                    return leaseA.renew(leaseName);
+                }));
+
+        // then - A는 한 명만 처리하고 멈춤, 체크포인트는 미완료
+        assertThat(processedByA).isEqualTo(1);
+        SchedulerCheckpoint stopped = checkpoint();
+        assertThat(stopped.getLastUserId()).isEqualTo(userIds.get(0));
+        assertThat(stopped.getCompleted()).isFalse();
+
+        // when - 임대를 가진 B가 실행
+        int processedByB = schedulerB.runPartitions(NotificationBatchService.WEEKLY_JOB,
+                (partition, leaseName) -> batchService.runWeekly(runDate, partition,
+                        () -> leaseB.renew(leaseName)));
+
+        // then - B는 A가 멈춘 다음 사용자부터 처리해 완료, 사용자마다 알림은 한 번씩
+        assertThat(processedByB).isEqualTo(2);
+        SchedulerCheckpoint completed = checkpoint();
+        assertThat(completed.getCompleted()).isTrue();
+        assertThat(completed.getLastUserId()).isEqualTo(userIds.get(2));
+        assertThat(completed.getProcessedUsers()).isEqualTo(3L);
+        for (Long userId : userIds) {
+            assertThat(unusedNotifications(userId)).isEqualTo(1);
+        }
+    }
+
+    private void expire(String leaseName) {
+        jdbcTemplate.update("UPDATE scheduler_leases SET lease_until = ? WHERE lease_name = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusMinutes(1)), leaseName);
+    }
+
+    private List<Long> createUsersWithActiveSubscription(int count) {
+        ServiceEntity service = serviceRepository.save(ServiceEntity.builder()
+                .serviceName("스케줄러-" + System.nanoTime())
+                .category(ServiceCategory.OTT)
+                .description("스케줄러 인계 테스트")
+                .officialUrl("https://example.com")
+                .iconUrl("icon.png")
+                .build());
+
+        List<Long> userIds = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            User user = userRepository.save(User.builder()
+                    .name("스케줄러 사용자 " + i)
+                    .email("notification-scheduler-" + i + "-" + System.nanoTime() + "@example.com")
+                    .password("password123!")
+                    .tier(UserTier.FREE)
+                    .role(UserRole.USER)
+                    .build());
+            userSubscriptionRepository.save(UserSubscription.builder()
+                    .user(user).service(service)
+                    .planName("베이직").monthlyPrice(9900)
+                    .billingDate(10).billingCycle(BillingCycle.MONTHLY)
+                    .isActive(true).build());
+            userIds.add(user.getId());
+        }
+        return userIds;
+    }
+
+    // 앞선 테스트 데이터와 분리: 이 테스트 사용자 직전까지 처리된 미완료 실행으로 체크포인트를 둠
+    private void seedCheckpoint(LocalDate runDate, long lastUserId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            SchedulerCheckpoint checkpoint = schedulerCheckpointRepository
+                    .findByJobName(NotificationBatchService.WEEKLY_JOB)
+                    .orElseGet(() -> SchedulerCheckpoint.builder()
+                            .jobName(NotificationBatchService.WEEKLY_JOB)
+                            .runDate(runDate)
+                            .lastUserId(0L)
+                            .processedUsers(0L)
+                            .completed(false)
+                            .build());
+            checkpoint.restart(runDate);
+            checkpoint.advance(lastUserId, 0);
+            schedulerCheckpointRepository.save(checkpoint);
+        });
+    }
+
+    private SchedulerCheckpoint checkpoint() {
+        return schedulerCheckpointRepository.findByJobName(NotificationBatchService.WEEKLY_JOB).orElseThrow();
+    }
+
+    private long unusedNotifications(Long userId) {
+        return notificationRepository.findByUser_IdOrderByCreatedAtDesc(userId).stream()
+                .filter(notification -> notification.getType() == NotificationType.UNUSED_SUBSCRIPTION)
+                .count();
+    }
+}
@@ -0,0 +1,148 @@
+package com.project.subing.scheduler;
+
+import com.project.subing.config.SchedulerProperties;
+import com.project.subing.domain.common.BillingCycle;
+import com.project.subing.domain.common.ServiceCategory;
+import com.project.subing.domain.service.entity.ServiceEntity;
+import com.project.subing.domain.subscription.entity.UserSubscription;
+import com.project.subing.domain.user.entity.User;
+import com.project.subing.domain.user.entity.UserRole;
+import com.project.subing.domain.user.entity.UserTier;
+import com.project.subing.repository.ServiceRepository;
+import com.project.subing.repository.UserRepository;
+import com.project.subing.repository.UserSubscriptionRepository;
+import com.project.subing.service.NotificationBatchService.Partition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 다중 인스턴스 스케줄러 조정 테스트 (H2 임대 테이블).
+ * 인스턴스(소유자)를 달리한 SchedulerLeaseManager 두 개로 임대 획득/연장/반납/만료 인계와
+ * user_id 파티션 분할을 검증.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+public class SchedulerLeaseManagerTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SchedulerProperties schedulerProperties;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private UserSubscriptionRepository userSubscriptionRepository;
+
+    private SchedulerLeaseManager instanceA;
+    private SchedulerLeaseManager instanceB;
+    private String leaseName;
+
+    @BeforeEach
+    void setUp() {
+        instanceA = new SchedulerLeaseManager(jdbcTemplate, schedulerProperties, "instance-a");
+        instanceB = new SchedulerLeaseManager(jdbcTemplate, schedulerProperties, "instance-b");
+        leaseName = "test.job-" + System.nanoTime();
+    }
+
+    @Test
+    void 한_인스턴스만_임대를_획득() {
+        assertThat(instanceA.tryAcquire(leaseName)).isTrue();
+        assertThat(instanceB.tryAcquire(leaseName)).isFalse();
+
+        // 소유자만 연장 가능
+        assertThat(instanceA.renew(leaseName)).isTrue();
+        assertThat(instanceB.renew(leaseName)).isFalse();
+
+        // 소유자는 다시 획득해도 성공 (연장)
+        assertThat(instanceA.tryAcquire(leaseName)).isTrue();
+    }
+
+    @Test
+    void 반납한_임대는_다른_인스턴스가_획득() {
+        assertThat(instanceA.tryAcquire(leaseName)).isTrue();
+
+        // 소유자가 아닌 반납은 무시
+        instanceB.release(leaseName);
+        assertThat(instanceB.tryAcquire(leaseName)).isFalse();
+
+        instanceA.release(leaseName);
+        assertThat(instanceB.tryAcquire(leaseName)).isTrue();
+        assertThat(instanceA.tryAcquire(leaseName)).isFalse();
+    }
+
+    @Test
+    void 만료된_임대는_다른_인스턴스가_이어받음() {
+        assertThat(instanceA.tryAcquire(leaseName)).isTrue();
+
+        // A가 연장하지 못한 채 만료됨
+        jdbcTemplate.update("UPDATE scheduler_leases SET lease_until = ? WHERE lease_name = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusMinutes(1)), leaseName);
+
+        assertThat(instanceB.tryAcquire(leaseName)).isTrue();
+        assertThat(instanceA.renew(leaseName)).isFalse();
+    }
+
+    @Test
+    void 파티션별_사용자는_겹치지_않고_전체를_덮음() {
+        ServiceEntity service = serviceRepository.save(ServiceEntity.builder()
+                .serviceName("Partition-" + System.nanoTime())
+                .category(ServiceCategory.OTT)
+                .description("파티션 테스트")
+                .officialUrl("https://example.com")
+                .iconUrl("icon.png")
+                .build());
+
+        List<Long> userIds = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            User user = userRepository.save(User.builder()
+                    .name("파티션 사용자 " + i)
+                    .email("partition-test-" + i + "-" + System.nanoTime() + "@example.com")
+                    .password("password123!")
+                    .tier(UserTier.FREE)
+                    .role(UserRole.USER)
+                    .build());
+            userSubscriptionRepository.save(UserSubscription.builder()
+                    .user(user).service(service)
+                    .planName("베이직").monthlyPrice(9900)
+                    .billingDate(10).billingCycle(BillingCycle.MONTHLY)
+                    .isActive(true).build());
+            userIds.add(user.getId());
+        }
+
+        Long cursor = userIds.get(0) - 1;
+        List<Long> partition0 = userSubscriptionRepository.findActiveUserIdsAfter(
+                cursor, 2, 0, PageRequest.of(0, 1000));
+        List<Long> partition1 = userSubscriptionRepository.findActiveUserIdsAfter(
+                cursor, 2, 1, PageRequest.of(0, 1000));
+
+        assertThat(partition0).doesNotContainAnyElementsOf(partition1);
+        assertThat(partition0).allMatch(id -> id % 2 == 0);
+        assertThat(partition1).allMatch(id -> id % 2 == 1);
+
+        List<Long> union = new ArrayList<>(partition0);
+        union.addAll(partition1);
+        assertThat(union).containsAll(userIds);
+
+        // 파티션 이름: 단일 파티션은 기존 작업 이름 유지
+        assertThat(Partition.SINGLE.jobName("notification.daily")).isEqualTo("notification.daily");
+        assertThat(new Partition(1, 4).jobName("notification.daily")).isEqualTo("notification.daily#1/4");
+    }
+}
@@ -0,0 +1,149 @@
+package com.project.subing.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.subing.config.OptimizationEngineProperties;
+import com.project.subing.domain.common.BillingCycle;
+import com.project.subing.domain.common.ServiceCategory;
+import com.project.subing.domain.service.entity.ServiceEntity;
+import com.project.subing.domain.service.entity.SubscriptionPlan;
+import com.project.subing.domain.subscription.entity.UserSubscription;
+import com.project.subing.repository.SubscriptionPlanRepository;
+import com.project.subing.repository.UserSubscriptionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 후보 탐색 병렬화 결정성 테스트.
+ * 같은 구독 목록을 parallelism=1(순차)과 >1(ForkJoin 분할)로 탐색했을 때
+ * 후보 목록과 포트폴리오 선택이 순서까지 같아야 한다.
+ */
+public class CandidateSearchPoolTest {
+
+    private static final long USER_ID = 1L;
+    private static final int SUBSCRIPTION_COUNT = 40;
+
+    private final List<CandidateSearchPool> pools = new ArrayList<>();
+    private final List<SubscriptionPlan> plans = new ArrayList<>();
+    private final List<UserSubscription> subscriptions = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        SplittableRandom random = new SplittableRandom(42L);
+        ServiceCategory[] categories = ServiceCategory.values();
+        List<ServiceEntity> services = new ArrayList<>();
+
+        long planId = 1L;
+        for (int s = 0; s < 30; s++) {
+            ServiceEntity service = ServiceEntity.builder()
+                    .id((long) s + 1)
+                    .serviceName("service-" + s)
+                    .category(categories[s % categories.length])
+                    .build();
+            services.add(service);
+            for (int p = 0; p < 4; p++) {
+                plans.add(SubscriptionPlan.builder()
+                        .id(planId++)
+                        .service(service)
+                        .planName("plan-" + s + "-" + p)
+                        .monthlyPrice(1_000 + random.nextInt(200) * 100)
+                        .build());
+            }
+        }
+
+        for (int i = 0; i < SUBSCRIPTION_COUNT; i++) {
+            boolean yearly = random.nextInt(5) == 0;
+            int monthlyPrice = 5_000 + random.nextInt(200) * 100;
+            subscriptions.add(UserSubscription.builder()
+                    .id((long) i + 1)
+                    .service(services.get(random.nextInt(services.size())))
+                    .planName("current-" + i)
+                    .monthlyPrice(yearly ? monthlyPrice * 12 : monthlyPrice)
+                    .billingDate(1 + random.nextInt(28))
+                    .billingCycle(yearly ? BillingCycle.YEARLY : BillingCycle.MONTHLY)
+                    .isActive(true)
+                    .build());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        pools.forEach(CandidateSearchPool::shutdown);
+    }
+
+    @Test
+    void 병렬도와_무관하게_같은_후보를_같은_순서로_반환() {
+        CandidateSearchPool sequentialPool = newPool(1);
+        CandidateSearchPool parallelPool = newPool(CandidateSearchPool.MAX_PARALLELISM);
+        assertThat(parallelPool.effectiveParallelism(CandidateSearchPool.MAX_PARALLELISM)).isGreaterThan(1);
+
+        SubscriptionOptimizationService.OptimizationPipelineResult sequential =
+                run(sequentialPool, 1);
+        SubscriptionOptimizationService.OptimizationPipelineResult parallel =
+                run(parallelPool, CandidateSearchPool.MAX_PARALLELISM);
+
+        assertThat(sequential.getCheaperAlternatives()).isNotEmpty();
+        assertThat(keys(parallel.getCheaperAlternatives())).containsExactlyElementsOf(keys(sequential.getCheaperAlternatives()));
+        assertThat(keys(parallel.getPortfolio().getSelected()))
+                .containsExactlyElementsOf(keys(sequential.getPortfolio().getSelected()));
+        assertThat(parallel.getTotalPotentialSavings()).isEqualTo(sequential.getTotalPotentialSavings());
+
+        // 병렬 실행을 반복해도 결과가 흔들리지 않음
+        for (int i = 0; i < 5; i++) {
+            assertThat(keys(run(parallelPool, CandidateSearchPool.MAX_PARALLELISM).getCheaperAlternatives()))
+                    .containsExactlyElementsOf(keys(sequential.getCheaperAlternatives()));
+        }
+    }
+
+    private CandidateSearchPool newPool(int parallelism) {
+        CandidateSearchPool pool = new CandidateSearchPool(parallelism);
+        pools.add(pool);
+        return pool;
+    }
+
+    private SubscriptionOptimizationService.OptimizationPipelineResult run(CandidateSearchPool pool, int parallelism) {
+        SubscriptionPlanRepository subscriptionPlanRepository = mock(SubscriptionPlanRepository.class);
+        when(subscriptionPlanRepository.findAllWithService()).thenReturn(plans);
+        PlanPriceIndex planPriceIndex = new PlanPriceIndex(subscriptionPlanRepository);
+
+        SubscriptionOptimizationService service = new SubscriptionOptimizationService(
+                mock(UserSubscriptionRepository.class),
+                planPriceIndex,
+                pool,
+                new OptimizationCandidateStateStore(new OptimizationEngineProperties(), new SimpleMeterRegistry()),
+                mock(OptimizationEngineConfigService.class),
+                new ObjectMapper()
+        );
+        return service.runOptimizationPipeline(USER_ID, subscriptions, policy(parallelism), planPriceIndex.snapshot());
+    }
+
+    private static OptimizationEnginePolicy policy(int parallelism) {
+        return new OptimizationEnginePolicy(
+                12, 0, 2000, 2000, 1000, 3,
+                3,       // topKPlansPerService
+                60_000,  // candidateSearchTimeoutMs (마감으로 잘리지 않도록 넉넉히)
+                60_000,  // portfolioOptimizeTimeoutMs
+                30_000,
+                parallelism,
+                false
+        );
+    }
+
+    private static List<String> keys(List<SubscriptionOptimizationService.CheaperAlternative> alternatives) {
+        return alternatives.stream()
+                .map(alternative -> alternative.getCurrentSubscription().getId()
+                        + "->" + alternative.getAlternativePlan().getId()
+                        + ":" + alternative.getNetSavings())
+                .collect(Collectors.toList());
+    }
+}
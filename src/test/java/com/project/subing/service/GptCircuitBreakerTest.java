@@ -0,0 +1,105 @@
+package com.project.subing.service;
+
+import com.project.subing.config.RecommendationProperties;
+import com.project.subing.service.GptCircuitBreaker.State;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Sinks;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * GPT 호출 회로 차단기 테스트.
+ * 시험 호출이 취소되거나 결과 없이 시간을 넘기면 시험 자리가 반환되어 회로가 시험 상태에 머무르지 않는지 검증.
+ */
+public class GptCircuitBreakerTest {
+
+    private static final long OPEN_MILLIS = 30_000;
+    private static final long TRIAL_TIMEOUT_MILLIS = 60_000;
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private GptCircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        RecommendationProperties properties = new RecommendationProperties();
+        properties.getFallback().setFailureThreshold(1);
+        properties.getFallback().setOpenDurationSeconds((int) (OPEN_MILLIS / 1000));
+        properties.getFallback().setTrialTimeoutMillis(TRIAL_TIMEOUT_MILLIS);
+        breaker = new GptCircuitBreaker(properties, new SimpleMeterRegistry(), now::get);
+    }
+
+    @Test
+    void 열린_시간이_지나면_시험_호출_1건만_허용하고_성공하면_닫힘() {
+        openCircuit();
+        assertThat(breaker.allowRequest()).isFalse();
+
+        now.addAndGet(OPEN_MILLIS);
+        assertThat(breaker.allowRequest()).isTrue();
+        assertThat(breaker.getState()).isEqualTo(State.HALF_OPEN);
+        assertThat(breaker.allowRequest()).isFalse();
+
+        breaker.recordSuccess();
+        assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+        assertThat(breaker.allowRequest()).isTrue();
+    }
+
+    @Test
+    void 시험_스트림이_취소되면_시험_자리를_반환() {
+        openCircuit();
+        now.addAndGet(OPEN_MILLIS);
+        assertThat(breaker.allowRequest()).isTrue();
+
+        // 서비스와 같은 연결: 완료/오류/취소를 회로에 기록
+        Sinks.Many<String> sink = Sinks.many().unicast().onBackpressureBuffer();
+        Disposable subscription = sink.asFlux()
+                .doOnComplete(breaker::recordSuccess)
+                .doOnError(error -> breaker.recordFailure())
+                .doOnCancel(breaker::recordCancel)
+                .subscribe();
+        assertThat(breaker.allowRequest()).isFalse();
+
+        // SSE 연결 끊김
+        subscription.dispose();
+
+        assertThat(breaker.getState()).isEqualTo(State.HALF_OPEN);
+        assertThat(breaker.allowRequest()).isTrue();
+        assertThat(breaker.allowRequest()).isFalse();
+    }
+
+    @Test
+    void 시험_호출이_시간_안에_끝나지_않으면_새_시험_호출_허용() {
+        openCircuit();
+        now.addAndGet(OPEN_MILLIS);
+        assertThat(breaker.allowRequest()).isTrue();
+
+        now.addAndGet(TRIAL_TIMEOUT_MILLIS - 1);
+        assertThat(breaker.allowRequest()).isFalse();
+
+        now.addAndGet(1);
+        assertThat(breaker.allowRequest()).isTrue();
+        assertThat(breaker.allowRequest()).isFalse();
+
+        // 새 시험 호출 실패 시 다시 열림
+        breaker.recordFailure();
+        assertThat(breaker.getState()).isEqualTo(State.OPEN);
+        assertThat(breaker.allowRequest()).isFalse();
+    }
+
+    @Test
+    void 닫힌_상태의_취소는_상태를_바꾸지_않음() {
+        breaker.recordCancel();
+
+        assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+        assertThat(breaker.allowRequest()).isTrue();
+    }
+
+    private void openCircuit() {
+        breaker.recordFailure();
+        assertThat(breaker.getState()).isEqualTo(State.OPEN);
+    }
+}
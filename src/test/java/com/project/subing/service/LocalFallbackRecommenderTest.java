@@ -0,0 +1,186 @@
+package com.project.subing.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.subing.config.RecommendationProperties;
+import com.project.subing.domain.common.ServiceCategory;
+import com.project.subing.domain.service.entity.ServiceEntity;
+import com.project.subing.dto.recommendation.QuizRequest;
+import com.project.subing.dto.recommendation.RecommendationItem;
+import com.project.subing.dto.recommendation.RecommendationResponse;
+import com.project.subing.repository.ServiceRepository;
+import com.project.subing.repository.ServiceReviewRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 로컬 추천기 테스트 (네트워크/DB 없음).
+ * 관심 분야 일치, 예산 적합도, 리뷰 수로 보정한 평점 순으로 순위를 매기고,
+ * 같은 입력이면 같은 결과를, maxItems개까지만 반환하며, 요청 경로에서 DB를 조회하지 않는지 검증.
+ */
+public class LocalFallbackRecommenderTest {
+
+    private static final Long IN_BUDGET_OTT = 1L;           // OTT, ₩9,000, 리뷰 없음
+    private static final Long OVER_BUDGET_OTT = 2L;         // OTT, ₩30,000, 리뷰 없음
+    private static final Long IN_BUDGET_MUSIC = 3L;         // 음악, ₩5,000, 리뷰 없음
+    private static final Long WELL_REVIEWED_OTT = 4L;       // OTT, ₩9,000, 평점 5.0 (45건)
+    private static final Long SINGLE_REVIEW_OTT = 5L;       // OTT, ₩9,000, 평점 5.0 (1건)
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ServiceRepository serviceRepository;
+    private ServiceReviewRepository serviceReviewRepository;
+    private ServicePriceSummaryCache servicePriceSummaryCache;
+    private RecommendationProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        serviceRepository = mock(ServiceRepository.class);
+        serviceReviewRepository = mock(ServiceReviewRepository.class);
+        servicePriceSummaryCache = mock(ServicePriceSummaryCache.class);
+        properties = new RecommendationProperties();
+
+        when(serviceRepository.findAll()).thenReturn(List.of(
+                service(IN_BUDGET_OTT, ServiceCategory.OTT),
+                service(OVER_BUDGET_OTT, ServiceCategory.OTT),
+                service(IN_BUDGET_MUSIC, ServiceCategory.MUSIC),
+                service(WELL_REVIEWED_OTT, ServiceCategory.OTT),
+                service(SINGLE_REVIEW_OTT, ServiceCategory.OTT)));
+        when(serviceReviewRepository.findRatingSummaries()).thenReturn(rows(
+                new Object[]{WELL_REVIEWED_OTT, 5.0, 45L},
+                new Object[]{SINGLE_REVIEW_OTT, 5.0, 1L}));
+        price(IN_BUDGET_OTT, 9_000);
+        price(OVER_BUDGET_OTT, 30_000);
+        price(IN_BUDGET_MUSIC, 5_000);
+        price(WELL_REVIEWED_OTT, 9_000);
+        price(SINGLE_REVIEW_OTT, 9_000);
+    }
+
+    @Test
+    void 관심_분야_예산_보정_평점_순으로_추천() throws Exception {
+        properties.getFallback().setMaxItems(5);
+        LocalFallbackRecommender recommender = newRecommender();
+
+        RecommendationResponse response = recommender.recommend(quiz(), null, "error");
+
+        // 평점 5.0이라도 리뷰가 1건이면 사전 평균 쪽으로 보정되어 45건보다 낮음,
+        // 예산 초과 OTT도 관심 분야가 아닌 예산 내 음악 서비스보다는 높음
+        assertThat(serviceIds(response)).containsExactly(
+                WELL_REVIEWED_OTT, SINGLE_REVIEW_OTT, IN_BUDGET_OTT, OVER_BUDGET_OTT, IN_BUDGET_MUSIC);
+        RecommendationItem top = response.getRecommendations().get(0);
+        assertThat(top.getMainReason()).contains("관심 분야", "월 예산 안에서 이용 가능", "평균 평점");
+        assertThat(response.getRecommendations().get(3).getCons()).anyMatch(con -> con.contains("월 예산을 넘어요"));
+    }
+
+    @Test
+    void 같은_입력이면_같은_결과() throws Exception {
+        LocalFallbackRecommender recommender = newRecommender();
+
+        RecommendationResponse first = recommender.recommend(quiz(), null, "error");
+        RecommendationResponse second = recommender.recommend(quiz(), null, "slow");
+        RecommendationResponse fromAnotherInstance = newRecommender().recommend(quiz(), null, "circuit_open");
+
+        for (RecommendationResponse response : List.of(second, fromAnotherInstance)) {
+            assertThat(serviceIds(response)).containsExactlyElementsOf(serviceIds(first));
+            assertThat(response.getRecommendations()).extracting(RecommendationItem::getScore)
+                    .containsExactlyElementsOf(first.getRecommendations().stream().map(RecommendationItem::getScore).toList());
+            assertThat(response.getRecommendations()).extracting(RecommendationItem::getMainReason)
+                    .containsExactlyElementsOf(first.getRecommendations().stream().map(RecommendationItem::getMainReason).toList());
+            assertThat(response.getAlternatives()).isEqualTo(first.getAlternatives());
+        }
+    }
+
+    @Test
+    void 추천은_maxItems개까지만_나머지는_대안으로() throws Exception {
+        properties.getFallback().setMaxItems(2);
+        LocalFallbackRecommender recommender = newRecommender();
+
+        RecommendationResponse response = recommender.recommend(quiz(), null, "error");
+
+        assertThat(serviceIds(response)).containsExactly(WELL_REVIEWED_OTT, SINGLE_REVIEW_OTT);
+        assertThat(response.getAlternatives()).startsWith("서비스 " + IN_BUDGET_OTT + ", 서비스 " + OVER_BUDGET_OTT);
+    }
+
+    @Test
+    void 요청_경로에서는_DB를_조회하지_않고_카탈로그_변경시_재구축() throws Exception {
+        LocalFallbackRecommender recommender = newRecommender();
+        recommender.warmUp();
+
+        for (int i = 0; i < 3; i++) {
+            recommender.recommend(quiz(), null, "error");
+        }
+        verify(serviceRepository, times(1)).findAll();
+        verify(serviceReviewRepository, times(1)).findRatingSummaries();
+
+        recommender.onCatalogChanged(null);
+        verify(serviceRepository, times(2)).findAll();
+        recommender.recommend(quiz(), null, "error");
+        verify(serviceRepository, times(2)).findAll();
+    }
+
+    @Test
+    void 재구축_실패시_기존_후보_유지() throws Exception {
+        LocalFallbackRecommender recommender = newRecommender();
+        recommender.warmUp();
+        when(serviceRepository.findAll()).thenThrow(new IllegalStateException("DB 연결 실패"));
+
+        recommender.refresh();
+
+        assertThat(recommender.recommend(quiz(), null, "error").getRecommendations()).hasSize(3);
+    }
+
+    private LocalFallbackRecommender newRecommender() {
+        return new LocalFallbackRecommender(serviceRepository, serviceReviewRepository, servicePriceSummaryCache,
+                properties, new SimpleMeterRegistry(), new TransactionTemplate(mock(PlatformTransactionManager.class)));
+    }
+
+    private QuizRequest quiz() throws Exception {
+        return objectMapper.readValue("""
+                {
+                    "interests": ["OTT"],
+                    "budget": 20000,
+                    "purpose": {"value": "entertainment", "label": "여가"},
+                    "priorities": [{"value": "price", "label": "가격", "rank": 1}]
+                }
+                """, QuizRequest.class);
+    }
+
+    private void price(Long serviceId, int minPrice) {
+        ServicePriceSummaryCache.ServicePriceSummary summary = mock(ServicePriceSummaryCache.ServicePriceSummary.class);
+        when(summary.getMinPrice()).thenReturn(minPrice);
+        when(summary.isHasFreePlan()).thenReturn(false);
+        when(servicePriceSummaryCache.find(serviceId)).thenReturn(summary);
+    }
+
+    private static ServiceEntity service(Long id, ServiceCategory category) {
+        return ServiceEntity.builder()
+                .id(id)
+                .serviceName("서비스 " + id)
+                .category(category)
+                .description("서비스 " + id + " 설명")
+                .build();
+    }
+
+    private static List<Long> serviceIds(RecommendationResponse response) {
+        return response.getRecommendations().stream().map(RecommendationItem::getServiceId).toList();
+    }
+
+    private static List<Object[]> rows(Object[]... rows) {
+        List<Object[]> result = new ArrayList<>();
+        for (Object[] row : rows) {
+            result.add(row);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,323 @@
+package com.project.subing.service;
+
+import com.project.subing.config.NotificationProperties;
+import com.project.subing.domain.common.BillingCycle;
+import com.project.subing.domain.common.ServiceCategory;
+import com.project.subing.domain.notification.entity.NotificationType;
+import com.project.subing.domain.scheduler.entity.SchedulerCheckpoint;
+import com.project.subing.domain.service.entity.ServiceEntity;
+import com.project.subing.domain.subscription.entity.UserSubscription;
+import com.project.subing.domain.user.entity.User;
+import com.project.subing.domain.user.entity.UserRole;
+import com.project.subing.domain.user.entity.UserTier;
+import com.project.subing.repository.BudgetRepository;
+import com.project.subing.repository.NotificationRepository;
+import com.project.subing.repository.SchedulerCheckpointRepository;
+import com.project.subing.repository.ServiceRepository;
+import com.project.subing.repository.UserRepository;
+import com.project.subing.repository.UserSubscriptionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 알림 배치 테스트 (H2).
+ * 청크 처리 중 중단된 실행이 같은 기준일 재실행 시 마지막 user_id 다음부터 이어지고,
+ * 완료된 기준일은 다시 실행되지 않는지, 임대를 잃으면 결제일 알림 패스를 시작하지 않는지,
+ * 말일의 결제일 범위가 그 달에 없는 결제일을 포함하고 결제일 조회가 주기/활성/파티션 조건대로 걸러지는지 검증.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+public class NotificationBatchServiceTest {
+
+    @Autowired
+    private UserSubscriptionRepository userSubscriptionRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private SchedulerCheckpointRepository schedulerCheckpointRepository;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private NotificationBatchService batchService;
+
+    @BeforeEach
+    void setUp() {
+        // 청크 1명: 한 청크 처리 후 중단/재개 지점을 사용자 단위로 확인
+        NotificationProperties properties = new NotificationProperties();
+        properties.getBatch().setChunkSize(1);
+        batchService = new NotificationBatchService(userSubscriptionRepository, budgetRepository,
+                schedulerCheckpointRepository, notificationService, properties, transactionTemplate);
+    }
+
+    @Test
+    void 중단된_실행은_같은_기준일에_마지막_사용자_다음부터_이어서_처리하고_완료된_기준일은_건너뜀() {
+        // given - 활성 구독 보유 사용자 3명 (기준일을 먼 미래로 두어 모두 장기 구독 대상)
+        LocalDate runDate = LocalDate.now().plusYears(1);
+        List<Long> userIds = createUsersWithActiveSubscription(3);
+        // 앞선 테스트 데이터와 분리: 이 테스트 사용자 직전까지 처리된 미완료 실행으로 체크포인트를 둠
+        seedCheckpoint(NotificationBatchService.WEEKLY_JOB, runDate, userIds.get(0) - 1);
+
+        // when - 첫 청크 처리 후 임대 상실
+        int firstRun = batchService.runWeekly(runDate, NotificationBatchService.Partition.SINGLE, () -> false);
+
+        // then - 첫 사용자만 처리, 체크포인트는 미완료로 그 사용자 ID를 가리킴
+        assertThat(firstRun).isEqualTo(1);
+        SchedulerCheckpoint stopped = checkpoint(NotificationBatchService.WEEKLY_JOB);
+        assertThat(stopped.getLastUserId()).isEqualTo(userIds.get(0));
+        assertThat(stopped.getCompleted()).isFalse();
+        assertThat(unusedNotifications(userIds.get(1))).isZero();
+
+        // when - 같은 기준일 재실행
+        int resumed = batchService.runWeekly(runDate, NotificationBatchService.Partition.SINGLE, () -> true);
+
+        // then - 나머지 두 사용자만 처리 후 완료
+        assertThat(resumed).isEqualTo(2);
+        SchedulerCheckpoint completed = checkpoint(NotificationBatchService.WEEKLY_JOB);
+        assertThat(completed.getCompleted()).isTrue();
+        assertThat(completed.getLastUserId()).isEqualTo(userIds.get(2));
+        assertThat(completed.getProcessedUsers()).isEqualTo(3L);
+        for (Long userId : userIds) {
+            assertThat(unusedNotifications(userId)).isEqualTo(1);
+        }
+
+        // when - 완료된 기준일 재실행
+        int skipped = batchService.runWeekly(runDate, NotificationBatchService.Partition.SINGLE, () -> true);
+
+        // then - 아무것도 처리하지 않음
+        assertThat(skipped).isZero();
+        assertThat(checkpoint(NotificationBatchService.WEEKLY_JOB).getProcessedUsers()).isEqualTo(3L);
+    }
+
+    @Test
+    void 임대를_잃으면_결제일_알림_패스를_시작하지_않고_중단() {
+        // given - 3일 뒤(13일)가 결제일인 구독 보유 사용자
+        LocalDate runDate = LocalDate.now().plusYears(2).withMonth(3).withDayOfMonth(10);
+        Long userId = createUsersWithActiveSubscription(1, 13).get(0);
+        AtomicInteger heartbeats = new AtomicInteger();
+
+        // when - 첫 패스 전 확인에서 임대 상실
+        int processed = batchService.runDaily(runDate, NotificationBatchService.Partition.SINGLE, () -> {
+            heartbeats.incrementAndGet();
+            return false;
+        });
+
+        // then - 결제일 조회/알림 생성 없이 바로 반환, 예산 체크포인트도 만들지 않음
+        assertThat(processed).isZero();
+        assertThat(heartbeats.get()).isEqualTo(1);
+        assertThat(notifications(userId, NotificationType.PAYMENT_DUE_3DAYS)).isZero();
+        assertThat(schedulerCheckpointRepository.findByJobName(NotificationBatchService.DAILY_JOB)
+                .filter(checkpoint -> runDate.equals(checkpoint.getRunDate()))).isEmpty();
+    }
+
+    @Test
+    void 결제일_범위는_말일이_아니면_당일만() {
+        assertThat(NotificationBatchService.billingDayRange(LocalDate.of(2026, 4, 15))).containsExactly(15, 15);
+        assertThat(NotificationBatchService.billingDayRange(LocalDate.of(2026, 1, 30))).containsExactly(30, 30);
+        assertThat(NotificationBatchService.billingDayRange(LocalDate.of(2024, 2, 28))).containsExactly(28, 28);
+    }
+
+    @Test
+    void 결제일_범위는_말일이면_그_달에_없는_결제일까지_포함() {
+        // 30일인 달의 말일: 31일 결제 구독도 이날 결제
+        assertThat(NotificationBatchService.billingDayRange(LocalDate.of(2026, 4, 30))).containsExactly(30, 31);
+        // 31일인 달의 말일
+        assertThat(NotificationBatchService.billingDayRange(LocalDate.of(2026, 1, 31))).containsExactly(31, 31);
+        // 평년 2월 28일: 29~31일 결제 구독 포함
+        assertThat(NotificationBatchService.billingDayRange(LocalDate.of(2026, 2, 28))).containsExactly(28, 31);
+        // 윤년 2월 29일
+        assertThat(NotificationBatchService.billingDayRange(LocalDate.of(2024, 2, 29))).containsExactly(29, 31);
+    }
+
+    @Test
+    void 결제일_조회는_말일에_그_달에_없는_결제일까지_포함하고_주기와_활성_여부로_거름() {
+        // given - 한 사용자의 결제일/주기/활성 여부가 다른 구독
+        ServiceEntity service = createService();
+        User user = createUser(0);
+        Long day28 = subscribe(user, service, 28, BillingCycle.MONTHLY, true);
+        Long day29 = subscribe(user, service, 29, BillingCycle.MONTHLY, true);
+        Long day30 = subscribe(user, service, 30, BillingCycle.MONTHLY, true);
+        Long day31 = subscribe(user, service, 31, BillingCycle.MONTHLY, true);
+        Long day31Yearly = subscribe(user, service, 31, BillingCycle.YEARLY, true);
+        Long day31Inactive = subscribe(user, service, 31, BillingCycle.MONTHLY, false);
+        Set<Long> seeded = Set.of(day28, day29, day30, day31, day31Yearly, day31Inactive);
+
+        // 30일인 달의 말일: 31일 결제도 포함, 연간 결제는 결제 예정 대상 아님
+        LocalDate aprilEnd = LocalDate.of(2026, 4, 30);
+        assertThat(billingDay(aprilEnd, NotificationBatchService.PAYMENT_DUE_CYCLES, 1, 0, seeded))
+                .containsExactly(day30, day31);
+        // 갱신 알림은 연간 결제도 포함, 비활성 구독은 항상 제외
+        assertThat(billingDay(aprilEnd, NotificationBatchService.RENEWAL_CYCLES, 1, 0, seeded))
+                .containsExactly(day30, day31, day31Yearly);
+
+        // 평년 2월 28일: 28~31일 결제 모두 포함
+        assertThat(billingDay(LocalDate.of(2026, 2, 28), NotificationBatchService.PAYMENT_DUE_CYCLES, 1, 0, seeded))
+                .containsExactly(day28, day29, day30, day31);
+
+        // 말일이 아니면 당일 결제만
+        assertThat(billingDay(LocalDate.of(2026, 4, 29), NotificationBatchService.PAYMENT_DUE_CYCLES, 1, 0, seeded))
+                .containsExactly(day29);
+    }
+
+    @Test
+    void 결제일_조회는_user_id_파티션별로_나뉨() {
+        // given - user_id 홀짝이 다른 두 사용자의 같은 결제일 구독
+        ServiceEntity service = createService();
+        User first = createUser(0);
+        User second = createUser(1);
+        while (second.getId() % 2 == first.getId() % 2) {
+            second = createUser(1);
+        }
+        Long firstSubscription = subscribe(first, service, 15, BillingCycle.MONTHLY, true);
+        Long secondSubscription = subscribe(second, service, 15, BillingCycle.MONTHLY, true);
+        Set<Long> seeded = Set.of(firstSubscription, secondSubscription);
+        LocalDate date = LocalDate.of(2026, 4, 15);
+
+        // when
+        List<Long> firstPartition = billingDay(date, NotificationBatchService.PAYMENT_DUE_CYCLES,
+                2, (int) (first.getId() % 2), seeded);
+        List<Long> secondPartition = billingDay(date, NotificationBatchService.PAYMENT_DUE_CYCLES,
+                2, (int) (second.getId() % 2), seeded);
+
+        // then - 각 파티션은 자기 사용자 구독만
+        assertThat(firstPartition).containsExactly(firstSubscription);
+        assertThat(secondPartition).containsExactly(secondSubscription);
+    }
+
+    private List<Long> createUsersWithActiveSubscription(int count) {
+        return createUsersWithActiveSubscription(count, 10);
+    }
+
+    private List<Long> createUsersWithActiveSubscription(int count, int billingDate) {
+        ServiceEntity service = serviceRepository.save(ServiceEntity.builder()
+                .serviceName("알림배치-" + System.nanoTime())
+                .category(ServiceCategory.OTT)
+                .description("알림 배치 테스트")
+                .officialUrl("https://example.com")
+                .iconUrl("icon.png")
+                .build());
+
+        List<Long> userIds = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            User user = userRepository.save(User.builder()
+                    .name("알림 배치 사용자 " + i)
+                    .email("notification-batch-" + i + "-" + System.nanoTime() + "@example.com")
+                    .password("password123!")
+                    .tier(UserTier.FREE)
+                    .role(UserRole.USER)
+                    .build());
+            userSubscriptionRepository.save(UserSubscription.builder()
+                    .user(user).service(service)
+                    .planName("베이직").monthlyPrice(9900)
+                    .billingDate(billingDate).billingCycle(BillingCycle.MONTHLY)
+                    .isActive(true).build());
+            userIds.add(user.getId());
+        }
+        return userIds;
+    }
+
+    private ServiceEntity createService() {
+        return serviceRepository.save(ServiceEntity.builder()
+                .serviceName("결제일조회-" + System.nanoTime())
+                .category(ServiceCategory.OTT)
+                .description("결제일 조회 테스트")
+                .officialUrl("https://example.com")
+                .iconUrl("icon.png")
+                .build());
+    }
+
+    private User createUser(int index) {
+        return userRepository.save(User.builder()
+                .name("결제일 조회 사용자 " + index)
+                .email("billing-day-" + index + "-" + System.nanoTime() + "@example.com")
+                .password("password123!")
+                .tier(UserTier.FREE)
+                .role(UserRole.USER)
+                .build());
+    }
+
+    private Long subscribe(User user, ServiceEntity service, int billingDate, BillingCycle billingCycle,
+                           boolean active) {
+        return userSubscriptionRepository.save(UserSubscription.builder()
+                .user(user).service(service)
+                .planName("베이직").monthlyPrice(9900)
+                .billingDate(billingDate).billingCycle(billingCycle)
+                .isActive(active).build()).getId();
+    }
+
+    // 대상 날짜가 결제일인 구독 중 이 테스트가 만든 것만 (구독 ID 순)
+    private List<Long> billingDay(LocalDate date, Collection<BillingCycle> billingCycles,
+                                  int partitionCount, int partitionIndex, Set<Long> seeded) {
+        int[] dayRange = NotificationBatchService.billingDayRange(date);
+        long lastId = seeded.stream().mapToLong(Long::longValue).min().orElseThrow() - 1;
+        Set<Long> found = new HashSet<>();
+        List<Long> ids = new ArrayList<>();
+        for (UserSubscription subscription : userSubscriptionRepository.findActiveByBillingDayBetween(
+                dayRange[0], dayRange[1], billingCycles, lastId, partitionCount, partitionIndex,
+                PageRequest.of(0, 1000))) {
+            if (seeded.contains(subscription.getId()) && found.add(subscription.getId())) {
+                ids.add(subscription.getId());
+            }
+        }
+        return ids;
+    }
+
+    private void seedCheckpoint(String jobName, LocalDate runDate, long lastUserId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            SchedulerCheckpoint checkpoint = schedulerCheckpointRepository.findByJobName(jobName)
+                    .orElseGet(() -> SchedulerCheckpoint.builder()
+                            .jobName(jobName)
+                            .runDate(runDate)
+                            .lastUserId(0L)
+                            .processedUsers(0L)
+                            .completed(false)
+                            .build());
+            checkpoint.restart(runDate);
+            checkpoint.advance(lastUserId, 0);
+            schedulerCheckpointRepository.save(checkpoint);
+        });
+    }
+
+    private SchedulerCheckpoint checkpoint(String jobName) {
+        return schedulerCheckpointRepository.findByJobName(jobName).orElseThrow();
+    }
+
+    private long unusedNotifications(Long userId) {
+        return notifications(userId, NotificationType.UNUSED_SUBSCRIPTION);
+    }
+
+    private long notifications(Long userId, NotificationType type) {
+        return notificationRepository.findByUser_IdOrderByCreatedAtDesc(userId).stream()
+                .filter(notification -> notification.getType() == type)
+                .count();
+    }
+}
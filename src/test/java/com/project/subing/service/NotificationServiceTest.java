@@ -0,0 +1,230 @@
+package com.project.subing.service;
+
+import com.project.subing.domain.notification.entity.Notification;
+import com.project.subing.domain.notification.entity.NotificationType;
+import com.project.subing.domain.user.entity.User;
+import com.project.subing.domain.user.entity.UserRole;
+import com.project.subing.domain.user.entity.UserTier;
+import com.project.subing.dto.notification.NotificationDraft;
+import com.project.subing.repository.NotificationRepository;
+import com.project.subing.repository.UserRepository;
+import com.project.subing.service.event.NotificationsCreatedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 알림 일괄 생성 테스트 (H2).
+ * 기존 행/묶음 안 중복 제거, 탈퇴 사용자 제외, 생성 ID와 입력 순서 대응,
+ * 커밋 후에만 단건 생성과 같은 형태로 WebSocket 전송되는지,
+ * 읽지 않은 개수 카운터가 커밋된 변경만 반영하는지 검증.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@RecordApplicationEvents
+public class NotificationServiceTest {
+
+    private static final String NOTIFICATION_QUEUE = "/queue/notifications";
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
+    @MockitoSpyBean
+    private SimpMessagingTemplate messagingTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = createUser("알림 일괄 사용자");
+    }
+
+    @Test
+    void 기존_알림과_묶음_안의_중복은_제외() {
+        // given - 구독 100에 대한 결제 예정 알림이 이미 있음
+        notificationService.createNotification(user.getId(), NotificationType.PAYMENT_DUE_1DAY, "기존", "기존 알림", 100L);
+
+        // when
+        int created = notificationService.createNotifications(List.of(
+                draft(user.getId(), NotificationType.PAYMENT_DUE_1DAY, 100L, "기존과 중복"),
+                draft(user.getId(), NotificationType.PAYMENT_DUE_3DAYS, 100L, "새 알림"),
+                draft(user.getId(), NotificationType.PAYMENT_DUE_3DAYS, 100L, "묶음 안 중복"),
+                draft(user.getId(), NotificationType.BUDGET_EXCEEDED, null, "구독 무관 1"),
+                draft(user.getId(), NotificationType.BUDGET_EXCEEDED, null, "구독 무관 2")));
+
+        // then - 구독과 무관한 알림은 중복 검사 대상이 아님
+        assertThat(created).isEqualTo(3);
+        assertThat(titles(user.getId())).containsExactlyInAnyOrder("기존", "새 알림", "구독 무관 1", "구독 무관 2");
+    }
+
+    @Test
+    void 탈퇴한_사용자의_알림은_건너뜀() {
+        User withdrawn = createUser("탈퇴 사용자");
+        userRepository.delete(withdrawn);
+
+        int created = notificationService.createNotifications(List.of(
+                draft(withdrawn.getId(), NotificationType.BUDGET_EXCEEDED, null, "탈퇴 사용자 알림"),
+                draft(user.getId(), NotificationType.BUDGET_EXCEEDED, null, "활성 사용자 알림")));
+
+        assertThat(created).isEqualTo(1);
+        assertThat(titles(user.getId())).containsExactly("활성 사용자 알림");
+        assertThat(notificationRepository.findByUser_IdOrderByCreatedAtDesc(withdrawn.getId())).isEmpty();
+    }
+
+    @Test
+    void 생성된_ID는_입력_순서의_알림과_대응() {
+        User other = createUser("다른 사용자");
+
+        notificationService.createNotifications(List.of(
+                draft(user.getId(), NotificationType.PAYMENT_DUE_1DAY, 201L, "첫째"),
+                draft(other.getId(), NotificationType.PAYMENT_DUE_1DAY, 202L, "둘째"),
+                draft(user.getId(), NotificationType.PAYMENT_DUE_1DAY, 203L, "셋째")));
+
+        // 이벤트로 전송될 알림의 ID가 같은 제목의 저장된 행을 가리킴
+        NotificationsCreatedEvent event = applicationEvents.stream(NotificationsCreatedEvent.class)
+                .reduce((first, second) -> second)
+                .orElseThrow();
+        Map<Long, Notification> saved = notificationRepository.findAll().stream()
+                .collect(Collectors.toMap(Notification::getId, Function.identity()));
+        List<Notification> pushed = event.getNotificationsByUser().values().stream().flatMap(List::stream).toList();
+
+        assertThat(pushed).extracting(Notification::getTitle).containsExactlyInAnyOrder("첫째", "둘째", "셋째");
+        for (Notification notification : pushed) {
+            assertThat(saved.get(notification.getId()).getTitle()).isEqualTo(notification.getTitle());
+            assertThat(saved.get(notification.getId()).getRelatedSubscriptionId())
+                    .isEqualTo(notification.getRelatedSubscriptionId());
+        }
+        assertThat(event.getNotificationsByUser().get(user.getId()))
+                .extracting(Notification::getTitle).containsExactly("첫째", "셋째");
+        assertThat(event.getCreatedCounts()).containsEntry(user.getId(), 2L).containsEntry(other.getId(), 1L);
+    }
+
+    @Test
+    void 커밋되면_단건_생성과_같은_형태로_전송() {
+        notificationService.createNotifications(List.of(
+                draft(user.getId(), NotificationType.BUDGET_EXCEEDED, null, "일괄 알림")));
+
+        ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+        verify(messagingTemplate).convertAndSendToUser(eq(user.getId().toString()), eq(NOTIFICATION_QUEUE), payload.capture());
+        Notification pushed = (Notification) payload.getValue();
+        assertThat(pushed.getUser()).isNotNull();
+        assertThat(pushed.getUser().getId()).isEqualTo(user.getId());
+        assertThat(pushed.getIsRead()).isFalse();
+        assertThat(pushed.getCreatedAt()).isNotNull();
+        verify(messagingTemplate, atLeastOnce()).convertAndSendToUser(eq(user.getId().toString()), eq("/queue/unread-count"), any());
+    }
+
+    @Test
+    void 롤백되면_전송하지_않음() {
+        transactionTemplate.executeWithoutResult(status -> {
+            notificationService.createNotifications(List.of(
+                    draft(user.getId(), NotificationType.BUDGET_EXCEEDED, null, "롤백될 알림")));
+            status.setRollbackOnly();
+        });
+
+        verify(messagingTemplate, never()).convertAndSendToUser(eq(user.getId().toString()), any(), any());
+        assertThat(notificationRepository.findByUser_IdOrderByCreatedAtDesc(user.getId())).isEmpty();
+    }
+
+    @Test
+    void 읽지_않은_개수는_커밋된_생성과_읽음만_반영() {
+        // 카운터를 먼저 채워 둠 (이후 값은 증감으로만 바뀜)
+        assertThat(notificationService.getUnreadCount(user.getId())).isZero();
+
+        notificationService.createNotification(user.getId(), NotificationType.BUDGET_EXCEEDED, "단건", "단건 내용", null);
+        notificationService.createNotifications(List.of(
+                draft(user.getId(), NotificationType.BUDGET_EXCEEDED, null, "일괄 1"),
+                draft(user.getId(), NotificationType.BUDGET_EXCEEDED, null, "일괄 2")));
+        assertThat(notificationService.getUnreadCount(user.getId())).isEqualTo(3L);
+
+        Long notificationId = notificationRepository.findByUser_IdOrderByCreatedAtDesc(user.getId()).get(0).getId();
+        notificationService.markAsRead(notificationId, user.getId());
+        // 이미 읽은 알림을 다시 읽음 처리해도 변화 없음
+        notificationService.markAsRead(notificationId, user.getId());
+        assertThat(notificationService.getUnreadCount(user.getId())).isEqualTo(2L);
+
+        notificationService.markAllAsRead(user.getId());
+        assertThat(notificationService.getUnreadCount(user.getId())).isZero();
+        verify(messagingTemplate, atLeastOnce()).convertAndSendToUser(user.getId().toString(), "/queue/unread-count", 0L);
+    }
+
+    @Test
+    void 롤백된_변경은_읽지_않은_개수에_반영하지_않음() {
+        notificationService.createNotification(user.getId(), NotificationType.BUDGET_EXCEEDED, "커밋", "커밋 내용", null);
+        assertThat(notificationService.getUnreadCount(user.getId())).isEqualTo(1L);
+        Long committedId = notificationRepository.findByUser_IdOrderByCreatedAtDesc(user.getId()).get(0).getId();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            notificationService.createNotification(user.getId(), NotificationType.BUDGET_EXCEEDED, "롤백 단건", "내용", null);
+            notificationService.createNotifications(List.of(
+                    draft(user.getId(), NotificationType.BUDGET_EXCEEDED, null, "롤백 일괄")));
+            notificationService.markAsRead(committedId, user.getId());
+            status.setRollbackOnly();
+        });
+        transactionTemplate.executeWithoutResult(status -> {
+            notificationService.markAllAsRead(user.getId());
+            status.setRollbackOnly();
+        });
+
+        assertThat(notificationService.getUnreadCount(user.getId())).isEqualTo(1L);
+        assertThat(titles(user.getId())).containsExactly("커밋");
+    }
+
+    private User createUser(String name) {
+        return userRepository.save(User.builder()
+                .name(name)
+                .email("notification-bulk-" + System.nanoTime() + "@example.com")
+                .password("password123!")
+                .tier(UserTier.FREE)
+                .role(UserRole.USER)
+                .build());
+    }
+
+    private List<String> titles(Long userId) {
+        return notificationRepository.findByUser_IdOrderByCreatedAtDesc(userId).stream()
+                .map(Notification::getTitle)
+                .toList();
+    }
+
+    private static NotificationDraft draft(Long userId, NotificationType type, Long subscriptionId, String title) {
+        return NotificationDraft.builder()
+                .userId(userId)
+                .type(type)
+                .title(title)
+                .message(title + " 내용")
+                .relatedSubscriptionId(subscriptionId)
+                .build();
+    }
+}
@@ -0,0 +1,108 @@
+package com.project.subing.service;
+
+import com.project.subing.config.NotificationProperties;
+import com.project.subing.repository.NotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 읽지 않은 알림 카운터 테스트.
+ * 처음 조회 시 DB로 채우기, 증감과 음수 고정, 일괄 증감, 주기적 보정으로 DB 집계에 맞추는지 검증.
+ */
+public class NotificationUnreadCounterTest {
+
+    private static final Long USER_ID = 1L;
+    private static final Long OTHER_USER_ID = 2L;
+
+    private NotificationRepository notificationRepository;
+    private NotificationUnreadCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        notificationRepository = mock(NotificationRepository.class);
+        counter = new NotificationUnreadCounter(notificationRepository, new NotificationProperties());
+    }
+
+    @Test
+    void 처음_조회할_때만_DB에서_채움() {
+        when(notificationRepository.countByUser_IdAndIsReadFalse(USER_ID)).thenReturn(3L);
+
+        assertThat(counter.get(USER_ID)).isEqualTo(3L);
+        assertThat(counter.get(USER_ID)).isEqualTo(3L);
+
+        verify(notificationRepository, times(1)).countByUser_IdAndIsReadFalse(USER_ID);
+    }
+
+    @Test
+    void 증감은_보관된_값에_더하고_없으면_DB_값을_그대로_사용() {
+        // 카운터가 없으면 변경이 이미 반영된 DB 값을 읽으므로 증감을 더하지 않음
+        when(notificationRepository.countByUser_IdAndIsReadFalse(USER_ID)).thenReturn(2L);
+        assertThat(counter.adjust(USER_ID, 1)).isEqualTo(2L);
+
+        assertThat(counter.adjust(USER_ID, 1)).isEqualTo(3L);
+        assertThat(counter.adjust(USER_ID, -2)).isEqualTo(1L);
+        verify(notificationRepository, times(1)).countByUser_IdAndIsReadFalse(USER_ID);
+    }
+
+    @Test
+    void 음수가_되면_0으로_고정() {
+        when(notificationRepository.countByUser_IdAndIsReadFalse(USER_ID)).thenReturn(1L);
+        counter.get(USER_ID);
+
+        assertThat(counter.adjust(USER_ID, -3)).isZero();
+        assertThat(counter.get(USER_ID)).isZero();
+        assertThat(counter.adjust(USER_ID, 1)).isEqualTo(1L);
+    }
+
+    @Test
+    void 일괄_증감은_없는_사용자만_한_번에_DB에서_채움() {
+        when(notificationRepository.countByUser_IdAndIsReadFalse(USER_ID)).thenReturn(1L);
+        counter.get(USER_ID);
+        when(notificationRepository.countUnreadByUserIds(anyCollection()))
+                .thenReturn(rows(new Object[]{OTHER_USER_ID, 4L}));
+
+        Map<Long, Long> result = counter.adjustAll(Map.of(USER_ID, 2L, OTHER_USER_ID, 4L, 3L, 1L));
+
+        assertThat(result).containsEntry(USER_ID, 3L).containsEntry(OTHER_USER_ID, 4L).containsEntry(3L, 0L);
+        verify(notificationRepository, times(1)).countUnreadByUserIds(anyCollection());
+        assertThat(counter.get(OTHER_USER_ID)).isEqualTo(4L);
+    }
+
+    @Test
+    void 보정은_DB_집계와_다른_카운터만_맞춤() {
+        when(notificationRepository.countByUser_IdAndIsReadFalse(USER_ID)).thenReturn(5L);
+        when(notificationRepository.countByUser_IdAndIsReadFalse(OTHER_USER_ID)).thenReturn(1L);
+        counter.get(USER_ID);
+        counter.get(OTHER_USER_ID);
+        // USER_ID는 DB에서 2개, OTHER_USER_ID는 일치 (행이 없는 사용자는 0개)
+        when(notificationRepository.countUnreadByUserIds(anyCollection()))
+                .thenReturn(rows(new Object[]{USER_ID, 2L}, new Object[]{OTHER_USER_ID, 1L}))
+                .thenReturn(rows(new Object[]{USER_ID, 2L}, new Object[]{OTHER_USER_ID, 1L}));
+
+        assertThat(counter.reconcile()).isEqualTo(1);
+        assertThat(counter.get(USER_ID)).isEqualTo(2L);
+        assertThat(counter.get(OTHER_USER_ID)).isEqualTo(1L);
+
+        // 이미 맞으면 보정하지 않음
+        assertThat(counter.reconcile()).isZero();
+    }
+
+    private static List<Object[]> rows(Object[]... rows) {
+        List<Object[]> result = new ArrayList<>();
+        for (Object[] row : rows) {
+            result.add(row);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,153 @@
+package com.project.subing.service;
+
+import com.project.subing.config.RecommendationProperties;
+import com.project.subing.config.RecommendationProperties.Experiment.Strategy;
+import com.project.subing.domain.recommendation.entity.PromptExperimentStat;
+import com.project.subing.domain.recommendation.enums.PromptVersion;
+import com.project.subing.dto.recommendation.PromptExperimentResponse;
+import com.project.subing.repository.PromptExperimentStatRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 프롬프트 버전 실험 테스트.
+ * Thompson 배분(워밍업 균등 배분, 클릭 수 상한 처리)과 메모리 카운터의 롤업 반영/실패 시 재시도를 검증.
+ */
+public class PromptExperimentServiceTest {
+
+    private static final int DRAWS = 1_000;
+
+    private PromptExperimentStatRepository repository;
+    private RecommendationProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(PromptExperimentStatRepository.class);
+        properties = new RecommendationProperties();
+        properties.getExperiment().setStrategy(Strategy.THOMPSON);
+        properties.getExperiment().setMinImpressions(200);
+    }
+
+    @Test
+    void 톰슨_샘플링은_클릭률이_높은_버전에_배분() {
+        when(repository.findAll()).thenReturn(List.of(stat(PromptVersion.V1, 1_000, 300), stat(PromptVersion.V2, 1_000, 50)));
+
+        Map<PromptVersion, Integer> chosen = drawMany(newService());
+
+        assertThat(chosen.getOrDefault(PromptVersion.V1, 0)).isGreaterThanOrEqualTo(990);
+    }
+
+    @Test
+    void 최소_노출_전에는_균등_배분() {
+        when(repository.findAll()).thenReturn(List.of(stat(PromptVersion.V1, 1_000, 300), stat(PromptVersion.V2, 100, 0)));
+
+        Map<PromptVersion, Integer> chosen = drawMany(newService());
+
+        assertThat(chosen.getOrDefault(PromptVersion.V1, 0)).isBetween(400, 600);
+        assertThat(chosen.getOrDefault(PromptVersion.V2, 0)).isBetween(400, 600);
+    }
+
+    @Test
+    void 클릭_수가_노출_수를_넘어도_성공_수는_노출_수로_제한() {
+        // 한 추천에 여러 번 클릭된 경우 (클릭 5,000 > 노출 1,000)
+        when(repository.findAll()).thenReturn(List.of(stat(PromptVersion.V1, 1_000, 300), stat(PromptVersion.V2, 1_000, 5_000)));
+        PromptExperimentService service = newService();
+
+        Map<PromptVersion, Integer> chosen = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> drawMany(service));
+        assertThat(chosen.getOrDefault(PromptVersion.V2, 0)).isGreaterThanOrEqualTo(990);
+
+        PromptExperimentResponse report = service.getReport();
+        assertThat(report.getVersions())
+                .allSatisfy(version -> assertThat(version.getExpectedReward()).isBetween(0.0, 1.0));
+    }
+
+    @Test
+    void 메모리_카운터를_증분으로_반영하고_행이_없으면_생성() {
+        when(repository.addCounts(eq(PromptVersion.V1), anyLong(), anyLong(), anyLong(), anyLong(), any())).thenReturn(1);
+        when(repository.addCounts(eq(PromptVersion.V2), anyLong(), anyLong(), anyLong(), anyLong(), any())).thenReturn(0);
+        PromptExperimentService service = newService();
+
+        service.recordImpression(PromptVersion.V1);
+        service.recordImpression(PromptVersion.V1);
+        service.recordImpression(PromptVersion.V1);
+        service.recordClick(PromptVersion.V1);
+        service.recordFeedback(PromptVersion.V2, true);
+        service.recordFeedback(PromptVersion.V2, false);
+        service.flush();
+
+        verify(repository).addCounts(eq(PromptVersion.V1), eq(3L), eq(1L), eq(0L), eq(0L), any(LocalDateTime.class));
+        verify(repository).addCounts(eq(PromptVersion.V2), eq(0L), eq(0L), eq(1L), eq(1L), any(LocalDateTime.class));
+        ArgumentCaptor<PromptExperimentStat> created = ArgumentCaptor.forClass(PromptExperimentStat.class);
+        verify(repository).save(created.capture());
+        assertThat(created.getValue().getPromptVersion()).isEqualTo(PromptVersion.V2);
+        assertThat(created.getValue().getHelpfulCount()).isEqualTo(1L);
+
+        // 반영할 증분이 없으면 갱신하지 않음
+        service.flush();
+        verify(repository, times(2)).addCounts(any(), anyLong(), anyLong(), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void 반영_실패시_증분을_되돌려_다음_flush에서_재시도() {
+        when(repository.addCounts(eq(PromptVersion.V1), anyLong(), anyLong(), anyLong(), anyLong(), any()))
+                .thenThrow(new IllegalStateException("DB 연결 실패"))
+                .thenReturn(1);
+        PromptExperimentService service = newService();
+
+        service.recordImpression(PromptVersion.V1);
+        service.recordClick(PromptVersion.V1);
+        service.flush();
+        // 실패한 증분도 배분/현황에는 계속 반영
+        assertThat(service.getReport().getVersions().get(0).getImpressions()).isEqualTo(1L);
+
+        service.recordImpression(PromptVersion.V1);
+        service.flush();
+
+        verify(repository).addCounts(eq(PromptVersion.V1), eq(1L), eq(1L), eq(0L), eq(0L), any(LocalDateTime.class));
+        verify(repository).addCounts(eq(PromptVersion.V1), eq(2L), eq(1L), eq(0L), eq(0L), any(LocalDateTime.class));
+        verify(repository, never()).save(any());
+    }
+
+    private PromptExperimentService newService() {
+        return new PromptExperimentService(repository,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), properties);
+    }
+
+    private static Map<PromptVersion, Integer> drawMany(PromptExperimentService service) {
+        Map<PromptVersion, Integer> chosen = new EnumMap<>(PromptVersion.class);
+        for (int i = 0; i < DRAWS; i++) {
+            chosen.merge(service.choose(), 1, Integer::sum);
+        }
+        return chosen;
+    }
+
+    private static PromptExperimentStat stat(PromptVersion version, long impressions, long clicks) {
+        return PromptExperimentStat.builder()
+                .promptVersion(version)
+                .impressions(impressions)
+                .clicks(clicks)
+                .helpfulCount(0L)
+                .notHelpfulCount(0L)
+                .build();
+    }
+}
@@ -0,0 +1,87 @@
+package com.project.subing.service;
+
+import com.project.subing.config.RecommendationProperties;
+import com.project.subing.domain.user.entity.User;
+import com.project.subing.domain.user.entity.UserRole;
+import com.project.subing.domain.user.entity.UserTier;
+import com.project.subing.exception.tier.RecommendationCapacityExceededException;
+import com.project.subing.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.YearMonth;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * GPT 추천 수락 제어 테스트.
+ * SLO 초과로 로컬 추천을 먼저 응답해도 계속 진행되는 GPT 호출이 끝날 때까지 자리를 유지하는지 검증.
+ */
+public class RecommendationAdmissionTest {
+
+    private static final Long USER_ID = 1L;
+    private static final YearMonth MONTH = YearMonth.of(2026, 10);
+
+    private TierLimitService tierLimitService;
+    private RecommendationAdmission admission;
+
+    @BeforeEach
+    void setUp() {
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(User.builder()
+                .id(USER_ID)
+                .name("수락 제어 사용자")
+                .email("admission@example.com")
+                .password("password123!")
+                .tier(UserTier.FREE)
+                .role(UserRole.USER)
+                .build()));
+        tierLimitService = mock(TierLimitService.class);
+        when(tierLimitService.reserveGptRecommendation(USER_ID)).thenReturn(MONTH);
+
+        // FREE 1자리, 대기 없음
+        RecommendationProperties properties = new RecommendationProperties();
+        properties.getAdmission().getTierMaxConcurrent().put(UserTier.FREE, 1);
+        properties.getAdmission().setMaxWaitMillis(0);
+        admission = new RecommendationAdmission(userRepository, tierLimitService, properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void 백그라운드_작업에_넘긴_자리는_요청이_끝나도_작업_완료까지_유지() {
+        CompletableFuture<Object> background = new CompletableFuture<>();
+
+        try (RecommendationAdmission.Permit permit = admission.acquire(USER_ID)) {
+            permit.releaseOnCompletion(background);
+        }
+
+        // 요청은 끝났지만 GPT 호출이 진행 중이므로 자리 없음 (선점도 아직 유지)
+        assertThatThrownBy(() -> admission.acquire(USER_ID)).isInstanceOf(RecommendationCapacityExceededException.class);
+        verify(tierLimitService, times(1)).refundGptRecommendation(USER_ID, MONTH);
+
+        // GPT 호출 완료(실패 포함) 시 자리와 확정되지 않은 선점 반환
+        background.completeExceptionally(new IllegalStateException("GPT 호출 실패"));
+        verify(tierLimitService, times(2)).refundGptRecommendation(USER_ID, MONTH);
+
+        admission.acquire(USER_ID).release();
+    }
+
+    @Test
+    void 넘기지_않은_자리는_요청_종료시_바로_반환() {
+        try (RecommendationAdmission.Permit permit = admission.acquire(USER_ID)) {
+            permit.commitUsage();
+        }
+
+        admission.acquire(USER_ID).release();
+        // 확정된 첫 요청은 반환하지 않고, 확정 없이 끝난 두 번째 요청만 반환
+        verify(tierLimitService, times(1)).refundGptRecommendation(USER_ID, MONTH);
+        verify(tierLimitService, never()).incrementGptRecommendation(USER_ID);
+    }
+}
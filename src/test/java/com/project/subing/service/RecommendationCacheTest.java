@@ -0,0 +1,93 @@
+package com.project.subing.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.subing.config.RecommendationProperties;
+import com.project.subing.domain.recommendation.enums.PromptVersion;
+import com.project.subing.dto.recommendation.QuizRequest;
+import com.project.subing.dto.recommendation.RecommendationItem;
+import com.project.subing.dto.recommendation.RecommendationResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * GPT 추천 공유 캐시 테스트.
+ * 표기만 다른 퀴즈 응답은 같은 키로, 추천 결과가 달라질 수 있는 입력은 다른 키로 정규화되는지와
+ * 캐시 적중 시 호출자별 복사본을 돌려주는지 검증.
+ */
+public class RecommendationCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private RecommendationCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new RecommendationCache(new RecommendationProperties(), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void 표기만_다른_퀴즈는_같은_키() throws Exception {
+        QuizRequest quiz = quiz("[\"OTT\", \"음악\"]", 15000,
+                "[{\"value\":\"price\",\"label\":\"가격\",\"rank\":1},{\"value\":\"content\",\"label\":\"콘텐츠\",\"rank\":2}]");
+        // 관심 분야 순서/대소문자/공백/중복, 같은 예산 구간, 중요도 입력 순서만 다름
+        QuizRequest reordered = quiz("[\" 음악 \", \"ott\", \"OTT\"]", 19000,
+                "[{\"value\":\"content\",\"label\":\"콘텐츠\",\"rank\":2},{\"value\":\" PRICE \",\"label\":\"가격\",\"rank\":1}]");
+
+        assertThat(cache.keyOf(reordered, null, PromptVersion.V1)).isEqualTo(cache.keyOf(quiz, null, PromptVersion.V1));
+    }
+
+    @Test
+    void 결과가_달라질_수_있는_입력은_다른_키() throws Exception {
+        String priorities = "[{\"value\":\"price\",\"label\":\"가격\",\"rank\":1},{\"value\":\"content\",\"label\":\"콘텐츠\",\"rank\":2}]";
+        QuizRequest quiz = quiz("[\"OTT\"]", 15000, priorities);
+        String key = cache.keyOf(quiz, null, PromptVersion.V1);
+
+        // 다른 예산 구간
+        assertThat(cache.keyOf(quiz("[\"OTT\"]", 25000, priorities), null, PromptVersion.V1)).isNotEqualTo(key);
+        // 중요도 순위 변경
+        assertThat(cache.keyOf(quiz("[\"OTT\"]", 15000,
+                "[{\"value\":\"price\",\"label\":\"가격\",\"rank\":2},{\"value\":\"content\",\"label\":\"콘텐츠\",\"rank\":1}]"),
+                null, PromptVersion.V1)).isNotEqualTo(key);
+        // 프롬프트 버전
+        assertThat(cache.keyOf(quiz, null, PromptVersion.V2)).isNotEqualTo(key);
+    }
+
+    @Test
+    void 캐시_적중시_복사본을_반환() throws Exception {
+        String key = cache.keyOf(quiz("[\"OTT\"]", 15000, "[{\"value\":\"price\",\"label\":\"가격\",\"rank\":1}]"),
+                null, PromptVersion.V1);
+        List<RecommendationItem> items = new ArrayList<>();
+        items.add(RecommendationItem.builder().serviceId(1L).serviceName("넷플릭스").pros(new ArrayList<>(List.of("오리지널"))).build());
+        cache.put(key, RecommendationResponse.builder().recommendations(items).summary("요약").build());
+
+        RecommendationResponse first = cache.find(key).orElseThrow();
+        first.setRecommendationId(10L);
+        first.getRecommendations().get(0).setMinPrice(5500);
+        first.getRecommendations().get(0).getPros().add("변경");
+
+        RecommendationResponse second = cache.find(key).orElseThrow();
+        assertThat(second.getRecommendationId()).isNull();
+        assertThat(second.getRecommendations().get(0).getMinPrice()).isNull();
+        assertThat(second.getRecommendations().get(0).getPros()).containsExactly("오리지널");
+
+        // 카탈로그 변경 시 전체 무효화
+        cache.onCatalogChanged(null);
+        assertThat(cache.find(key)).isEmpty();
+    }
+
+    private QuizRequest quiz(String interests, int budget, String priorities) throws Exception {
+        return objectMapper.readValue(String.format("""
+                {
+                    "interests": %s,
+                    "budget": %d,
+                    "purpose": {"value": "personal", "label": "개인용"},
+                    "priorities": %s
+                }
+                """, interests, budget, priorities), QuizRequest.class);
+    }
+}
@@ -0,0 +1,118 @@
+package com.project.subing.service;
+
+import com.project.subing.config.RecommendationProperties;
+import com.project.subing.config.RecommendationProperties.Execution.Mode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Sinks;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * GPT 추천 실행기 동시성 상한 테스트.
+ * 스트리밍 작업은 작업 본문이 반환된 뒤에도 스트림이 끝나거나 취소될 때까지 자리를 유지해야 한다.
+ */
+public class RecommendationExecutorTest {
+
+    private MeterRegistry meterRegistry;
+    private RecommendationExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        RecommendationProperties properties = new RecommendationProperties();
+        properties.getExecution().setMode(Mode.BOUNDED_ELASTIC);
+        properties.getExecution().setMaxConcurrency(1);
+        properties.getExecution().setMaxQueued(0);
+        meterRegistry = new SimpleMeterRegistry();
+        executor = new RecommendationExecutor(properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void 스트림이_열려_있는_동안_최대_동시_실행을_넘는_요청은_거절() throws Exception {
+        Sinks.Many<String> sink = Sinks.many().unicast().onBackpressureBuffer();
+        CountDownLatch subscribed = new CountDownLatch(1);
+
+        executor.executeUntilReleased(release -> {
+            sink.asFlux().doFinally(signal -> release.run()).subscribe();
+            subscribed.countDown();
+        });
+        assertThat(subscribed.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // 작업 본문은 반환됐지만 스트림이 열려 있으므로 자리 유지
+        assertThat(active()).isEqualTo(1.0);
+        assertThatThrownBy(() -> executor.execute(() -> { })).isInstanceOf(RejectedExecutionException.class);
+
+        // 스트림 완료 후 자리 반환
+        sink.tryEmitNext("chunk");
+        sink.tryEmitComplete();
+        assertThat(active()).isZero();
+
+        CountDownLatch ran = new CountDownLatch(1);
+        executor.execute(ran::countDown);
+        assertThat(ran.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void 스트림_취소시_자리_반환() throws Exception {
+        Sinks.Many<String> sink = Sinks.many().unicast().onBackpressureBuffer();
+        AtomicReference<Disposable> subscription = new AtomicReference<>();
+        CountDownLatch subscribed = new CountDownLatch(1);
+
+        executor.executeUntilReleased(release -> {
+            subscription.set(sink.asFlux().doFinally(signal -> release.run()).subscribe());
+            subscribed.countDown();
+        });
+        assertThat(subscribed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThatThrownBy(() -> executor.execute(() -> { })).isInstanceOf(RejectedExecutionException.class);
+
+        // SSE 타임아웃/연결 끊김과 같은 취소
+        subscription.get().dispose();
+
+        CountDownLatch ran = new CountDownLatch(1);
+        executor.execute(ran::countDown);
+        assertThat(ran.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void 작업이_예외로_끝나면_자리_반환() throws Exception {
+        CountDownLatch failed = new CountDownLatch(1);
+        executor.executeUntilReleased(release -> {
+            failed.countDown();
+            throw new IllegalStateException("스트림 준비 실패");
+        });
+        assertThat(failed.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CountDownLatch ran = new CountDownLatch(1);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (true) {
+            try {
+                executor.execute(ran::countDown);
+                break;
+            } catch (RejectedExecutionException e) {
+                // 실패한 작업의 자리 반환 직전일 수 있으므로 잠시 재시도
+                assertThat(System.nanoTime()).isLessThan(deadline);
+                Thread.sleep(5);
+            }
+        }
+        assertThat(ran.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private double active() {
+        return meterRegistry.get("recommendation.executor.active").gauge().value();
+    }
+}
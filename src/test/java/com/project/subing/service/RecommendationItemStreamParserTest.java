@@ -0,0 +1,89 @@
+package com.project.subing.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.subing.dto.recommendation.RecommendationItem;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * GPT 스트리밍 응답 증분 파서 테스트.
+ * 청크 경계와 무관하게 recommendations[] 원소가 닫히는 즉시 변환되는지,
+ * 문자열 안의 따옴표/중괄호와 잘린 마지막 원소를 올바르게 처리하는지 검증.
+ */
+public class RecommendationItemStreamParserTest {
+
+    private static final String RESPONSE = "```json\n"
+            + "{\"recommendations\":["
+            + "{\"serviceId\":1,\"serviceName\":\"넷플릭스\",\"score\":92,\"mainReason\":\"콘텐츠가 많음\",\"pros\":[\"오리지널\"],\"cons\":[]},"
+            + "{\"serviceId\":2,\"serviceName\":\"왓챠\",\"score\":85,\"mainReason\":\"취향 추천\",\"pros\":[],\"cons\":[\"신작 적음\"]}"
+            + "],\"summary\":\"영상 위주 추천\",\"alternatives\":\"티빙\"}\n"
+            + "```";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void 청크로_나뉜_원소를_닫히는_시점마다_반환() {
+        for (int chunkSize : new int[]{1, 3, 7, 16, 64}) {
+            RecommendationItemStreamParser parser = new RecommendationItemStreamParser(objectMapper);
+            List<RecommendationItem> items = new ArrayList<>();
+            int firstItemAt = -1;
+
+            for (int from = 0; from < RESPONSE.length(); from += chunkSize) {
+                String chunk = RESPONSE.substring(from, Math.min(RESPONSE.length(), from + chunkSize));
+                items.addAll(parser.feed(chunk));
+                if (firstItemAt < 0 && !items.isEmpty()) {
+                    firstItemAt = from + chunk.length();
+                }
+            }
+
+            assertThat(items).extracting(RecommendationItem::getServiceName).containsExactly("넷플릭스", "왓챠");
+            assertThat(items.get(0).getScore()).isEqualTo(92);
+            assertThat(items.get(1).getCons()).containsExactly("신작 적음");
+            // 첫 원소는 두 번째 원소가 도착하기 전에 반환됨
+            assertThat(firstItemAt).isLessThanOrEqualTo(RESPONSE.indexOf("왓챠"));
+        }
+    }
+
+    @Test
+    void 문자열_안의_따옴표와_중괄호는_구조로_보지_않음() {
+        String response = "{\"recommendations\":["
+                + "{\"serviceId\":3,\"serviceName\":\"유튜브 \\\"프리미엄\\\"\","
+                + "\"mainReason\":\"광고 없음 {} ] [ },\",\"tip\":\"\\\\ 가족 요금 \\\"공유\\\"\"}"
+                + "]}";
+        RecommendationItemStreamParser parser = new RecommendationItemStreamParser(objectMapper);
+
+        List<RecommendationItem> items = new ArrayList<>();
+        for (int from = 0; from < response.length(); from += 5) {
+            items.addAll(parser.feed(response.substring(from, Math.min(response.length(), from + 5))));
+        }
+
+        assertThat(items).hasSize(1);
+        assertThat(items.get(0).getServiceName()).isEqualTo("유튜브 \"프리미엄\"");
+        assertThat(items.get(0).getMainReason()).isEqualTo("광고 없음 {} ] [ },");
+        assertThat(items.get(0).getTip()).isEqualTo("\\ 가족 요금 \"공유\"");
+    }
+
+    @Test
+    void 잘린_마지막_원소는_반환하지_않음() {
+        String truncated = RESPONSE.substring(0, RESPONSE.indexOf("\"score\":85"));
+        RecommendationItemStreamParser parser = new RecommendationItemStreamParser(objectMapper);
+
+        List<RecommendationItem> items = new ArrayList<>(parser.feed(truncated));
+
+        assertThat(items).extracting(RecommendationItem::getServiceName).containsExactly("넷플릭스");
+    }
+
+    @Test
+    void 루트_객체가_닫힌_뒤_입력은_무시() {
+        RecommendationItemStreamParser parser = new RecommendationItemStreamParser(objectMapper);
+
+        List<RecommendationItem> items = new ArrayList<>(parser.feed(RESPONSE));
+        items.addAll(parser.feed("{\"recommendations\":[{\"serviceId\":9,\"serviceName\":\"추가\"}]}"));
+
+        assertThat(items).extracting(RecommendationItem::getServiceName).containsExactly("넷플릭스", "왓챠");
+    }
+}
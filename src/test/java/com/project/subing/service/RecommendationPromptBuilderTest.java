@@ -0,0 +1,137 @@
+package com.project.subing.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.subing.config.RecommendationProperties;
+import com.project.subing.domain.common.ServiceCategory;
+import com.project.subing.domain.recommendation.enums.PromptVersion;
+import com.project.subing.domain.service.entity.ServiceEntity;
+import com.project.subing.dto.recommendation.QuizRequest;
+import com.project.subing.repository.ServiceRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 추천 프롬프트 조립 테스트.
+ * 서비스 목록 캐시/무효화, 관심 분야 필터, 토큰 상한에 따른 축약/제외를 검증.
+ */
+public class RecommendationPromptBuilderTest {
+
+    private static final Pattern SERVICE_ID = Pattern.compile("\\[ID: (\\d+)]");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ServiceRepository serviceRepository;
+    private RecommendationProperties properties;
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        List<ServiceEntity> services = new ArrayList<>();
+        long id = 1L;
+        for (int i = 0; i < 10; i++) {
+            services.add(service(id++, "OTT 서비스 " + i, ServiceCategory.OTT));
+        }
+        for (int i = 0; i < 10; i++) {
+            services.add(service(id++, "음악 서비스 " + i, ServiceCategory.MUSIC));
+        }
+        serviceRepository = mock(ServiceRepository.class);
+        when(serviceRepository.findAll()).thenReturn(services);
+
+        properties = new RecommendationProperties();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void 서비스_목록은_한번만_조회하고_카탈로그_변경시_재구축() throws Exception {
+        RecommendationPromptBuilder builder = newBuilder();
+
+        builder.build(quiz("[\"OTT\"]"), null, PromptVersion.V1);
+        builder.build(quiz("[\"음악\"]"), null, PromptVersion.V1);
+        verify(serviceRepository, times(1)).findAll();
+
+        builder.onCatalogChanged(null);
+        builder.build(quiz("[\"OTT\"]"), null, PromptVersion.V1);
+        verify(serviceRepository, times(2)).findAll();
+    }
+
+    @Test
+    void 관심_분야_카테고리_서비스만_포함() throws Exception {
+        String prompt = newBuilder().build(quiz("[\"OTT\"]"), null, PromptVersion.V1);
+
+        // OTT 서비스(ID 1~10)만 포함되고 음악 서비스는 제외
+        assertThat(serviceIds(prompt)).containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L);
+        assertThat(prompt).doesNotContain("음악 서비스");
+    }
+
+    @Test
+    void 토큰_상한을_넘으면_축약_후_최소_개수까지만_제외() throws Exception {
+        properties.getPrompt().setFilterByInterests(false);
+        RecommendationPromptBuilder unlimited = newBuilder();
+        String full = unlimited.build(quiz("[\"OTT\"]"), null, PromptVersion.V1);
+        assertThat(serviceIds(full)).hasSize(20);
+        assertThat(full).contains("서비스 설명입니다");
+
+        // 서비스 목록 몫이 거의 없는 상한: 설명을 뺀 축약 줄로, 최소 개수만 유지
+        properties.getPrompt().setMaxInputTokens(RecommendationPromptBuilder.estimateTokens(full) / 2);
+        String truncated = newBuilder().build(quiz("[\"OTT\"]"), null, PromptVersion.V1);
+
+        List<Long> ids = serviceIds(truncated);
+        assertThat(ids.size()).isBetween(properties.getPrompt().getMinServices(), 19);
+        assertThat(truncated).doesNotContain("서비스 설명입니다");
+        assertThat(meterRegistry.get("recommendation.prompt.truncated").tag("promptVersion", "V1").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void 토큰_추정은_ASCII_4자당_1토큰_그외_1자당_1토큰() {
+        assertThat(RecommendationPromptBuilder.estimateTokens(null)).isZero();
+        assertThat(RecommendationPromptBuilder.estimateTokens("abcd")).isEqualTo(1);
+        assertThat(RecommendationPromptBuilder.estimateTokens("abcde")).isEqualTo(2);
+        assertThat(RecommendationPromptBuilder.estimateTokens("넷플릭스")).isEqualTo(4);
+    }
+
+    private RecommendationPromptBuilder newBuilder() {
+        return new RecommendationPromptBuilder(serviceRepository, properties, meterRegistry);
+    }
+
+    private static ServiceEntity service(long id, String name, ServiceCategory category) {
+        return ServiceEntity.builder()
+                .id(id)
+                .serviceName(name)
+                .category(category)
+                .description(name + " 서비스 설명입니다")
+                .build();
+    }
+
+    private static List<Long> serviceIds(String prompt) {
+        List<Long> ids = new ArrayList<>();
+        Matcher matcher = SERVICE_ID.matcher(prompt);
+        while (matcher.find()) {
+            ids.add(Long.parseLong(matcher.group(1)));
+        }
+        return ids;
+    }
+
+    private QuizRequest quiz(String interests) throws Exception {
+        return objectMapper.readValue(String.format("""
+                {
+                    "interests": %s,
+                    "budget": 15000,
+                    "purpose": {"value": "personal", "label": "개인용"},
+                    "priorities": [{"value": "price", "label": "가격", "rank": 1}]
+                }
+                """, interests), QuizRequest.class);
+    }
+}
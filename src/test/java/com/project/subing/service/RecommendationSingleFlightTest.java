@@ -0,0 +1,176 @@
+package com.project.subing.service;
+
+import com.project.subing.config.RecommendationProperties;
+import com.project.subing.dto.recommendation.RecommendationResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * GPT 호출 병합(single-flight) 테스트.
+ * 같은 키의 동시 호출은 loader를 한 번만 실행하고, 결과/예외를 합류한 호출자에게 그대로 전달하는지 검증.
+ */
+public class RecommendationSingleFlightTest {
+
+    private static final String KEY = "quiz-fingerprint:v1";
+
+    private MeterRegistry meterRegistry;
+    private RecommendationSingleFlight singleFlight;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new RecommendationSingleFlight(new RecommendationProperties(), meterRegistry);
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void 같은_키의_동시_호출은_한번만_실행하고_복사본을_공유() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<RecommendationResponse> leader = executor.submit(() -> singleFlight.call(KEY, () -> {
+            loads.incrementAndGet();
+            leaderStarted.countDown();
+            await(release);
+            return RecommendationResponse.builder().summary("공유 결과").build();
+        }));
+        assertThat(leaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Future<RecommendationResponse> follower = executor.submit(() -> singleFlight.call(KEY, () -> {
+            loads.incrementAndGet();
+            return RecommendationResponse.builder().summary("직접 호출").build();
+        }));
+        awaitCoalesced("call", 1);
+        release.countDown();
+
+        RecommendationResponse leaderResult = leader.get(5, TimeUnit.SECONDS);
+        RecommendationResponse followerResult = follower.get(5, TimeUnit.SECONDS);
+
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(followerResult.getSummary()).isEqualTo("공유 결과");
+        assertThat(followerResult).isNotSameAs(leaderResult);
+
+        // 완료 후에는 진행 중 항목이 제거되어 다시 호출됨
+        singleFlight.call(KEY, () -> {
+            loads.incrementAndGet();
+            return RecommendationResponse.builder().summary("새 호출").build();
+        });
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void 선행_호출_실패는_합류한_호출자에게_같은_예외로_전달() throws Exception {
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        IllegalStateException failure = new IllegalStateException("GPT 호출 실패");
+
+        Future<RecommendationResponse> leader = executor.submit(() -> singleFlight.call(KEY, () -> {
+            leaderStarted.countDown();
+            await(release);
+            throw failure;
+        }));
+        assertThat(leaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Future<RecommendationResponse> follower = executor.submit(() -> singleFlight.call(KEY,
+                () -> RecommendationResponse.builder().summary("직접 호출").build()));
+        awaitCoalesced("call", 1);
+        release.countDown();
+
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCause(failure);
+        assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS)).hasCause(failure);
+
+        // 실패한 호출도 진행 중 항목에서 제거됨
+        assertThat(singleFlight.call(KEY, () -> RecommendationResponse.builder().summary("재시도").build())
+                .getSummary()).isEqualTo("재시도");
+    }
+
+    @Test
+    void 같은_키의_스트림은_한번만_구독하고_늦게_합류해도_전체_청크를_받음() {
+        AtomicInteger subscriptions = new AtomicInteger();
+        Sinks.Many<String> sink = Sinks.many().multicast().onBackpressureBuffer();
+
+        List<String> first = Collections.synchronizedList(new ArrayList<>());
+        singleFlight.stream(KEY, () -> {
+            subscriptions.incrementAndGet();
+            return sink.asFlux();
+        }).subscribe(first::add);
+        sink.tryEmitNext("a");
+
+        List<String> second = Collections.synchronizedList(new ArrayList<>());
+        singleFlight.stream(KEY, () -> {
+            subscriptions.incrementAndGet();
+            return Flux.just("직접 호출");
+        }).subscribe(second::add);
+        sink.tryEmitNext("b");
+        sink.tryEmitComplete();
+
+        assertThat(subscriptions.get()).isEqualTo(1);
+        assertThat(first).containsExactly("a", "b");
+        assertThat(second).containsExactly("a", "b");
+        assertThat(coalesced("stream")).isEqualTo(1.0);
+
+        // 완료된 스트림은 제거되어 다음 요청은 새로 호출
+        singleFlight.stream(KEY, () -> {
+            subscriptions.incrementAndGet();
+            return Flux.just("새 호출");
+        }).blockLast();
+        assertThat(subscriptions.get()).isEqualTo(2);
+    }
+
+    @Test
+    void 스트림_오류는_모든_구독자에게_전달() {
+        Sinks.Many<String> sink = Sinks.many().multicast().onBackpressureBuffer();
+        List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+
+        singleFlight.stream(KEY, sink::asFlux).subscribe(chunk -> { }, errors::add);
+        singleFlight.stream(KEY, () -> Flux.just("직접 호출")).subscribe(chunk -> { }, errors::add);
+        sink.tryEmitError(new IllegalStateException("스트림 실패"));
+
+        assertThat(errors).hasSize(2).allMatch(error -> error instanceof IllegalStateException);
+    }
+
+    private void awaitCoalesced(String mode, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (coalesced(mode) < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(coalesced(mode)).isEqualTo(expected);
+    }
+
+    private double coalesced(String mode) {
+        return meterRegistry.get("recommendation.singleflight.coalesced").tag("mode", mode).counter().count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
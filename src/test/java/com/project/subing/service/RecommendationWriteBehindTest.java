@@ -0,0 +1,156 @@
+package com.project.subing.service;
+
+import com.project.subing.config.RecommendationProperties;
+import com.project.subing.domain.common.ServiceCategory;
+import com.project.subing.domain.recommendation.enums.PromptVersion;
+import com.project.subing.domain.service.entity.ServiceEntity;
+import com.project.subing.domain.user.entity.User;
+import com.project.subing.domain.user.entity.UserRole;
+import com.project.subing.domain.user.entity.UserTier;
+import com.project.subing.repository.ServiceRepository;
+import com.project.subing.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 추천 write-behind 동기 저장 경로 테스트 (H2).
+ * 비활성/큐 초과로 호출 스레드에서 직접 저장할 때도 호출자의 읽기 전용 트랜잭션에 합류하지 않고
+ * 별도 트랜잭션으로 커밋되는지 검증 (호출자 트랜잭션을 롤백해도 저장된 행이 남아야 함).
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+public class RecommendationWriteBehindTest {
+
+    private static final String QUIZ_JSON = "{\"interests\":[\"OTT\"]}";
+    private static final String RESULT_JSON = "{\"recommendations\":[]}";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    private MeterRegistry meterRegistry;
+    private RecommendationWriteBehind writeBehind;
+    private Long userId;
+    private Long serviceId;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        userId = userRepository.save(User.builder()
+                .name("write-behind 사용자")
+                .email("write-behind-" + System.nanoTime() + "@example.com")
+                .password("password123!")
+                .tier(UserTier.FREE)
+                .role(UserRole.USER)
+                .build()).getId();
+        serviceId = serviceRepository.save(ServiceEntity.builder()
+                .serviceName("write-behind OTT " + System.nanoTime())
+                .description("영화와 드라마 스트리밍")
+                .category(ServiceCategory.OTT)
+                .officialUrl("https://example.com")
+                .iconUrl("https://example.com/logo.png")
+                .build()).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (writeBehind != null) {
+            writeBehind.shutdown();
+        }
+    }
+
+    @Test
+    void 비활성이면_읽기_전용_트랜잭션_안에서도_별도_트랜잭션으로_즉시_저장() {
+        writeBehind = newWriteBehind(false, 10_000);
+
+        AtomicReference<Long> resultId = new AtomicReference<>();
+        inReadOnlyTransactionThenRollback(() -> {
+            resultId.set(writeBehind.enqueueResult(userId, QUIZ_JSON, RESULT_JSON, PromptVersion.V1));
+            writeBehind.enqueueFeedback(resultId.get(), userId, true, "좋아요");
+            writeBehind.enqueueClick(resultId.get(), userId, serviceId);
+        });
+
+        assertThat(countResults(resultId.get())).isEqualTo(1);
+        assertThat(countFeedback(resultId.get())).isEqualTo(1);
+        assertThat(countClicks(resultId.get())).isEqualTo(1);
+        assertThat(writeBehind.findPendingOwner(resultId.get())).isNull();
+    }
+
+    @Test
+    void 큐가_가득_차면_앞선_항목부터_호출_스레드에서_별도_트랜잭션으로_저장() {
+        // 큐 1칸, flush 주기는 테스트 중 돌지 않도록 길게
+        writeBehind = newWriteBehind(true, 1);
+
+        AtomicReference<Long> resultId = new AtomicReference<>();
+        inReadOnlyTransactionThenRollback(() -> {
+            resultId.set(writeBehind.enqueueResult(userId, QUIZ_JSON, RESULT_JSON, PromptVersion.V1));
+            // 큐 초과 → 대기 중인 결과를 먼저 저장한 뒤 피드백을 직접 저장 (FK 순서 유지)
+            writeBehind.enqueueFeedback(resultId.get(), userId, false, "별로예요");
+        });
+
+        assertThat(meterRegistry.get("recommendation.writebehind.overflow").counter().count()).isEqualTo(1.0);
+        assertThat(countResults(resultId.get())).isEqualTo(1);
+        assertThat(countFeedback(resultId.get())).isEqualTo(1);
+        assertThat(writeBehind.findPendingOwner(resultId.get())).isNull();
+    }
+
+    private RecommendationWriteBehind newWriteBehind(boolean enabled, int capacity) {
+        RecommendationProperties properties = new RecommendationProperties();
+        properties.getWriteBehind().setEnabled(enabled);
+        properties.getWriteBehind().setCapacity(capacity);
+        properties.getWriteBehind().setBatchSize(200);
+        properties.getWriteBehind().setFlushIntervalMillis(60_000);
+        return new RecommendationWriteBehind(jdbcTemplate, new TransactionTemplate(transactionManager),
+                entityManagerFactory, properties, meterRegistry);
+    }
+
+    // saveFeedback/trackClick처럼 읽기 전용 트랜잭션에서 호출하고, 호출자 트랜잭션은 롤백
+    private void inReadOnlyTransactionThenRollback(Runnable action) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readOnly.executeWithoutResult(status -> {
+            action.run();
+            status.setRollbackOnly();
+        });
+    }
+
+    private int countResults(Long resultId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM recommendation_results WHERE id = ?", Integer.class, resultId);
+    }
+
+    private int countFeedback(Long resultId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM recommendation_feedback WHERE recommendation_id = ?", Integer.class, resultId);
+    }
+
+    private int countClicks(Long resultId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM recommendation_clicks WHERE recommendation_result_id = ?", Integer.class, resultId);
+    }
+}
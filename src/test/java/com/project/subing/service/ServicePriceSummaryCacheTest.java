@@ -0,0 +1,91 @@
+package com.project.subing.service;
+
+import com.project.subing.domain.service.entity.ServiceEntity;
+import com.project.subing.domain.service.entity.SubscriptionPlan;
+import com.project.subing.dto.recommendation.RecommendationItem;
+import com.project.subing.repository.SubscriptionPlanRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 서비스 가격 요약 캐시 테스트.
+ * 요금제 변경 커밋 시 조회 경로가 아닌 변경 이벤트에서 즉시 재구축하고,
+ * 조회 경로는 DB를 조회하지 않는지 검증.
+ */
+public class ServicePriceSummaryCacheTest {
+
+    private SubscriptionPlanRepository subscriptionPlanRepository;
+    private ServicePriceSummaryCache cache;
+    private ServiceEntity netflix;
+
+    @BeforeEach
+    void setUp() {
+        subscriptionPlanRepository = mock(SubscriptionPlanRepository.class);
+        cache = new ServicePriceSummaryCache(subscriptionPlanRepository,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        netflix = ServiceEntity.builder().id(1L).serviceName("넷플릭스").build();
+    }
+
+    @Test
+    void 기동시_한번_구축하고_조회는_DB를_조회하지_않음() {
+        when(subscriptionPlanRepository.findAll()).thenReturn(List.of(plan(netflix, 5500), plan(netflix, 17000)));
+
+        cache.warmUp();
+        for (int i = 0; i < 3; i++) {
+            assertThat(cache.find(1L).getMinPrice()).isEqualTo(5500);
+        }
+
+        verify(subscriptionPlanRepository, times(1)).findAll();
+        assertThat(cache.find(2L)).isNull();
+    }
+
+    @Test
+    void 요금제_변경_커밋시_조회_전에_즉시_재구축() {
+        when(subscriptionPlanRepository.findAll())
+                .thenReturn(List.of(plan(netflix, 5500), plan(netflix, 17000)))
+                .thenReturn(List.of(plan(netflix, 0), plan(netflix, 7000), plan(netflix, 13500)));
+        cache.warmUp();
+
+        cache.onCatalogChanged(null);
+        // 조회 전에 이미 재구축됨
+        verify(subscriptionPlanRepository, times(2)).findAll();
+
+        RecommendationItem item = RecommendationItem.builder().serviceId(1L).build();
+        cache.applyTo(item);
+        assertThat(item.getMinPrice()).isEqualTo(7000);
+        assertThat(item.getHasFreePlan()).isTrue();
+        assertThat(item.getPriceRange()).isEqualTo("무료 ~ ₩13,500/월");
+        verify(subscriptionPlanRepository, times(2)).findAll();
+    }
+
+    @Test
+    void 재구축_실패시_기존_요약_유지() {
+        when(subscriptionPlanRepository.findAll())
+                .thenReturn(List.of(plan(netflix, 5500)))
+                .thenThrow(new IllegalStateException("DB 연결 실패"));
+        cache.warmUp();
+
+        cache.onCatalogChanged(null);
+
+        assertThat(cache.find(1L).getPriceRange()).isEqualTo("₩5,500/월");
+        verify(subscriptionPlanRepository, times(2)).findAll();
+    }
+
+    private static SubscriptionPlan plan(ServiceEntity service, int monthlyPrice) {
+        return SubscriptionPlan.builder()
+                .service(service)
+                .planName("요금제 " + monthlyPrice)
+                .monthlyPrice(monthlyPrice)
+                .build();
+    }
+}
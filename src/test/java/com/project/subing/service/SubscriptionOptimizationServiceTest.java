@@ -0,0 +1,111 @@
+package com.project.subing.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.subing.config.OptimizationEngineProperties;
+import com.project.subing.domain.common.BillingCycle;
+import com.project.subing.domain.common.ServiceCategory;
+import com.project.subing.domain.service.entity.ServiceEntity;
+import com.project.subing.domain.service.entity.SubscriptionPlan;
+import com.project.subing.domain.subscription.entity.UserSubscription;
+import com.project.subing.repository.SubscriptionPlanRepository;
+import com.project.subing.repository.UserSubscriptionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 증분 최적화 파이프라인 테스트.
+ * 상태를 처음 채우는 도중 조회가 실패하면 빈 상태가 남지 않고 다음 호출에서 다시 계산하는지 검증.
+ */
+public class SubscriptionOptimizationServiceTest {
+
+    private static final Long USER_ID = 1L;
+
+    private UserSubscriptionRepository userSubscriptionRepository;
+    private CandidateSearchPool candidateSearchPool;
+    private SubscriptionOptimizationService service;
+    private UserSubscription subscription;
+
+    @BeforeEach
+    void setUp() {
+        ServiceEntity netflix = ServiceEntity.builder()
+                .id(1L)
+                .serviceName("넷플릭스")
+                .category(ServiceCategory.OTT)
+                .build();
+        SubscriptionPlanRepository subscriptionPlanRepository = mock(SubscriptionPlanRepository.class);
+        when(subscriptionPlanRepository.findAllWithService()).thenReturn(List.of(
+                SubscriptionPlan.builder().id(1L).service(netflix).planName("광고형").monthlyPrice(5_500).build(),
+                SubscriptionPlan.builder().id(2L).service(netflix).planName("프리미엄").monthlyPrice(17_000).build()));
+
+        subscription = UserSubscription.builder()
+                .id(10L)
+                .service(netflix)
+                .planName("프리미엄")
+                .monthlyPrice(17_000)
+                .billingDate(10)
+                .billingCycle(BillingCycle.MONTHLY)
+                .isActive(true)
+                .build();
+
+        OptimizationEngineConfigService configService = mock(OptimizationEngineConfigService.class);
+        when(configService.getEffectivePolicy()).thenReturn(policy());
+
+        userSubscriptionRepository = mock(UserSubscriptionRepository.class);
+        candidateSearchPool = new CandidateSearchPool(1);
+        service = new SubscriptionOptimizationService(
+                userSubscriptionRepository,
+                new PlanPriceIndex(subscriptionPlanRepository),
+                candidateSearchPool,
+                new OptimizationCandidateStateStore(new OptimizationEngineProperties(), new SimpleMeterRegistry()),
+                configService,
+                new ObjectMapper()
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        candidateSearchPool.shutdown();
+    }
+
+    @Test
+    void 상태_구축_중_조회가_실패하면_다음_호출에서_다시_계산() {
+        when(userSubscriptionRepository.findByUserIdAndIsActiveTrueWithService(USER_ID))
+                .thenThrow(new IllegalStateException("DB 연결 실패"))
+                .thenReturn(List.of(subscription));
+
+        assertThatThrownBy(() -> service.runOptimizationPipeline(USER_ID))
+                .isInstanceOf(IllegalStateException.class);
+
+        // 빈 상태가 남아 있었다면 조회 없이 빈 제안을 반환했을 것
+        SubscriptionOptimizationService.OptimizationPipelineResult result = service.runOptimizationPipeline(USER_ID);
+        assertThat(result.getCheaperAlternatives()).hasSize(1);
+        assertThat(result.getCheaperAlternatives().get(0).getAlternativePlan().getMonthlyPrice()).isEqualTo(5_500);
+
+        // 다시 채운 상태는 재사용
+        assertThat(service.runOptimizationPipeline(USER_ID).getCheaperAlternatives()).hasSize(1);
+        verify(userSubscriptionRepository, times(2)).findByUserIdAndIsActiveTrueWithService(USER_ID);
+    }
+
+    private static OptimizationEnginePolicy policy() {
+        return new OptimizationEnginePolicy(
+                12, 0, 2000, 2000, 1000, 3,
+                3,       // topKPlansPerService
+                60_000,  // candidateSearchTimeoutMs
+                60_000,  // portfolioOptimizeTimeoutMs
+                30_000,
+                1,
+                false
+        );
+    }
+}